@@ -0,0 +1,33 @@
+package kth.game.othello;
+
+import java.util.List;
+import java.util.Set;
+
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.Player;
+
+/**
+ * A factory for producing othello games between computers, which need no human
+ * to make their moves.
+ */
+public interface ComputerGameFactory {
+
+	/**
+	 * Creates an Othello game with two computers.
+	 *
+	 * @return An Othello game
+	 */
+	public Othello createComputerGame();
+
+	/**
+	 * Creates an Othello game with the given players on a board that contains
+	 * the given nodes
+	 *
+	 * @param nodesData
+	 *            the nodes of the board
+	 * @param players
+	 *            the players
+	 * @return An Othello game
+	 */
+	public Othello createGame(Set<NodeData> nodesData, List<Player> players);
+}
@@ -0,0 +1,358 @@
+package kth.game.othello;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.event.SubmissionMovePublisher;
+import kth.game.othello.model.GameState;
+import kth.game.othello.player.Player;
+import kth.game.othello.rules.ImmutableBoardRules;
+import kth.game.othello.score.BoardScore;
+import kth.game.othello.score.Score;
+
+/**
+ * An implementation of the {@link kth.game.othello.Othello} API that may be
+ * used from many threads at once. Every change of the game (moves, start and
+ * undo) is run as a command on a single writer per game, so the changes are
+ * made one at a time in the order they were asked for. After each command the
+ * writer publishes a snapshot of the new immutable state, and every read is
+ * answered from the latest snapshot without taking any lock. The board, its
+ * nodes and the score returned are views of one snapshot and never change.
+ * <p>
+ * The writers of many games may share a small pool of threads. The observers
+ * are notified on another executor, in the order of the moves, so a slow
+ * observer never holds up the writer. When an observer reads the game it sees
+ * the latest snapshot, which may be newer than the move it was notified of.
+ */
+public class ConcurrentOthello implements MovePublishingOthello, ReusableOthello {
+
+	/*
+	 * One immutable state of the game, with the views of its board and the
+	 * players of the game.
+	 */
+	private static final class Snapshot {
+		private final GameState gameState;
+		private final ImmutableBoardView boardView;
+		private final ImmutableBoardRules boardRules;
+		private final List<Player> players;
+		private final Map<String, Player> playersById;
+		private final List<String> playerIds;
+
+		private Snapshot(HeadlessOthello game) {
+			this.gameState = game.getGameState();
+			this.boardView = game.getBoardView();
+			this.boardRules = game.getBoardRules();
+			this.players = Collections.unmodifiableList(game.getPlayers());
+			Map<String, Player> playersById = new HashMap<>();
+			players.forEach(player -> playersById.put(player.getId(), player));
+			this.playersById = playersById;
+			this.playerIds = Collections.unmodifiableList(players.stream().map(Player::getId)
+					.collect(Collectors.toList()));
+		}
+
+		/*
+		 * The players only change when the game is reset, so the snapshot after
+		 * any other command keeps the players of the previous one.
+		 */
+		private Snapshot(HeadlessOthello game, Snapshot previous) {
+			this.gameState = game.getGameState();
+			this.boardView = game.getBoardView();
+			this.boardRules = game.getBoardRules();
+			this.players = previous.players;
+			this.playersById = previous.playersById;
+			this.playerIds = previous.playerIds;
+		}
+	}
+
+	// Only the commands run by the writer may touch the game
+	private final HeadlessOthello game;
+	private final SerialExecutor writer;
+	private final SerialExecutor notifier;
+	private final MoveNotifier moveNotifier;
+	private final GameFinishedNotifier gameFinishedNotifier;
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Creates a concurrent game around the given headless game, which must not
+	 * be used by anyone else afterwards.
+	 *
+	 * @param game
+	 *            the game to run the commands on.
+	 * @param writerExecutor
+	 *            the executor that runs the commands of the game, one at a
+	 *            time. It may be shared with other games.
+	 * @param notificationExecutor
+	 *            the executor that notifies the observers of the game, one
+	 *            notification at a time. It may be shared with other games.
+	 */
+	protected ConcurrentOthello(HeadlessOthello game, Executor writerExecutor, Executor notificationExecutor) {
+		this.game = game;
+		this.writer = new SerialExecutor(writerExecutor);
+		this.notifier = new SerialExecutor(notificationExecutor);
+		this.moveNotifier = new MoveNotifier();
+		this.gameFinishedNotifier = new GameFinishedNotifier();
+		moveNotifier.initiateUnderlyingOthello(this);
+		gameFinishedNotifier.initiateUnderlyingOthello(this);
+		this.snapshot = new Snapshot(game);
+	}
+
+	/*
+	 * Runs the command on the writer and publishes the state it leaves behind.
+	 */
+	private <T> CompletableFuture<T> submit(Supplier<T> command) {
+		Supplier<T> publishingCommand = () -> {
+			try {
+				return command.get();
+			} finally {
+				snapshot = new Snapshot(game, snapshot);
+			}
+		};
+		if (writer.isRunningInCurrentThread()) {
+			// A command of this game asking for another one must not wait for itself
+			return CompletableFuture.completedFuture(publishingCommand.get());
+		}
+		return CompletableFuture.supplyAsync(publishingCommand, writer);
+	}
+
+	/*
+	 * Runs the command on the writer and waits for it to finish.
+	 */
+	private <T> T execute(Supplier<T> command) {
+		try {
+			return submit(command).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/*
+	 * Notifies the observers of a move, and of the game being finished if no
+	 * one can move after it. Called by the writer.
+	 */
+	private List<Node> notifyMove(List<Node> swappedNodes) {
+		boolean gameIsFinished = !game.isActive();
+		notifier.execute(() -> moveNotifier.moveWasMade(swappedNodes));
+		if (gameIsFinished) {
+			notifier.execute(gameFinishedNotifier::gameDidFinish);
+		}
+		return swappedNodes;
+	}
+
+	/**
+	 * Adds an observer. The observer will be called when the game has finished.
+	 *
+	 * @param observer
+	 *            the observer
+	 */
+	@Override
+	public void addGameFinishedObserver(Observer observer) {
+		gameFinishedNotifier.addGameFinishedObserver(observer);
+	}
+
+	/**
+	 * Adds an observer. The observers update will be called when a move has
+	 * finished including the nodes that have changed by the move.
+	 *
+	 * @param observer
+	 *            the observer
+	 */
+	@Override
+	public void addMoveObserver(Observer observer) {
+		moveNotifier.addMoveObserver(observer);
+	}
+
+	/**
+	 * Returns a view of the board of the latest snapshot, which does not change
+	 * when moves are made.
+	 */
+	@Override
+	public Board getBoard() {
+		return snapshot.boardView;
+	}
+
+	/**
+	 * Returns the publisher of the moves of the game. The events are submitted
+	 * by the writer of the game.
+	 */
+	@Override
+	public SubmissionMovePublisher getMovePublisher() {
+		return game.getMovePublisher();
+	}
+
+	@Override
+	public String getId() {
+		return game.getId();
+	}
+
+	@Override
+	public List<Node> getNodesToSwap(String playerId, String nodeId) {
+		return snapshot.boardRules.getNodesToSwap(playerId, nodeId);
+	}
+
+	@Override
+	public Player getPlayerInTurn() {
+		Snapshot snapshot = this.snapshot;
+		return snapshot.gameState.getPlayerInTurn().map(snapshot.playersById::get).orElse(null);
+	}
+
+	/**
+	 * Returns the players of the latest snapshot.
+	 */
+	@Override
+	public List<Player> getPlayers() {
+		return new ArrayList<>(snapshot.players);
+	}
+
+	/**
+	 * Returns the score of the latest snapshot, which does not change when
+	 * moves are made.
+	 */
+	@Override
+	public Score getScore() {
+		Snapshot snapshot = this.snapshot;
+		return new BoardScore(snapshot.gameState.getBoard(), snapshot.playerIds);
+	}
+
+	@Override
+	public boolean hasValidMove(String playerId) {
+		return snapshot.gameState.hasValidMove(playerId);
+	}
+
+	@Override
+	public boolean isActive() {
+		return !snapshot.gameState.isGameOver();
+	}
+
+	@Override
+	public boolean isMoveValid(String playerId, String nodeId) {
+		return snapshot.boardRules.isMoveValid(playerId, nodeId);
+	}
+
+	/**
+	 * If the player in turn is a computer then this computer makes a move and
+	 * updates the player in turn. The move is made by the writer of the game,
+	 * and the calling thread waits for it. All observers will be notified with
+	 * the additional argument being the list of nodes that were swapped.
+	 *
+	 * @return the nodes that where swapped for this move, including the node
+	 *         where the player made the move
+	 * @throws IllegalStateException
+	 *             if there is not a computer in turn
+	 */
+	@Override
+	public List<Node> move() {
+		return execute(() -> notifyMove(game.move()));
+	}
+
+	/**
+	 * Asks the writer of the game to let the computer in turn make a move,
+	 * without waiting for it.
+	 *
+	 * @return the future nodes that where swapped for this move, completed
+	 *         exceptionally with an IllegalStateException if there is not a
+	 *         computer in turn
+	 */
+	public CompletableFuture<List<Node>> moveAsync() {
+		return submit(() -> notifyMove(game.move()));
+	}
+
+	/**
+	 * Validates if the move is correct and if the player is in turn. If so,
+	 * then the move is made which updates the board and the player in turn.
+	 * The move is made by the writer of the game, and the calling thread waits
+	 * for it. All observers will be notified with the additional argument
+	 * being the list of nodes that were swapped.
+	 *
+	 * @param playerId
+	 *            the id of the player that makes the move
+	 * @param nodeId
+	 *            the id of the node the player wants to play at
+	 * @return the nodes that where swapped for this move, including the node
+	 *         where the player made the move
+	 * @throws IllegalArgumentException
+	 *             if the move is not valid, or if the player is not in turn
+	 */
+	@Override
+	public List<Node> move(String playerId, String nodeId) throws IllegalArgumentException {
+		return execute(() -> notifyMove(game.move(playerId, nodeId)));
+	}
+
+	/**
+	 * Asks the writer of the game to make the given move, without waiting for
+	 * it.
+	 *
+	 * @param playerId
+	 *            the id of the player that makes the move
+	 * @param nodeId
+	 *            the id of the node the player wants to play at
+	 * @return the future nodes that where swapped for this move, completed
+	 *         exceptionally with an IllegalArgumentException if the move is not
+	 *         valid, or if the player is not in turn
+	 */
+	public CompletableFuture<List<Node>> moveAsync(String playerId, String nodeId) {
+		return submit(() -> notifyMove(game.move(playerId, nodeId)));
+	}
+
+	@Override
+	public void start() {
+		execute(() -> {
+			game.start();
+			return null;
+		});
+	}
+
+	@Override
+	public void start(String playerId) {
+		execute(() -> {
+			game.start(playerId);
+			return null;
+		});
+	}
+
+	/**
+	 * Resets the game on the writer, and waits for it and for the observers of
+	 * the previous game to be notified of its moves. Moves asked for before the
+	 * reset are made on the previous game.
+	 */
+	@Override
+	public void reset(List<Player> players) {
+		execute(() -> {
+			game.reset(players);
+			snapshot = new Snapshot(game);
+			return null;
+		});
+		Runnable deleteObservers = () -> {
+			moveNotifier.deleteObservers();
+			gameFinishedNotifier.deleteObservers();
+		};
+		if (notifier.isRunningInCurrentThread()) {
+			deleteObservers.run();
+		} else {
+			// The observers of the previous game are notified of its last moves first
+			CompletableFuture.runAsync(deleteObservers, notifier).join();
+		}
+	}
+
+	@Override
+	public void undo() {
+		execute(() -> {
+			game.undo();
+			return null;
+		});
+	}
+}
@@ -0,0 +1,56 @@
+package kth.game.othello;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.Player;
+
+/**
+ * A factory for producing {@link kth.game.othello.ConcurrentOthello} games,
+ * which may be played and read from many threads at once. The writers of all
+ * games of a factory share one executor, and so do their observers.
+ */
+public class ConcurrentOthelloFactory extends HeadlessOthelloFactory {
+
+	private final Executor writerExecutor;
+	private final Executor notificationExecutor;
+
+	/**
+	 * Creates a factory whose games run their commands and notify their
+	 * observers on the common fork join pool.
+	 */
+	public ConcurrentOthelloFactory() {
+		this(ForkJoinPool.commonPool(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a factory whose games run on the given executors.
+	 *
+	 * @param writerExecutor
+	 *            the executor that runs the commands of the games.
+	 * @param notificationExecutor
+	 *            the executor that notifies the observers of the games.
+	 */
+	public ConcurrentOthelloFactory(Executor writerExecutor, Executor notificationExecutor) {
+		this.writerExecutor = writerExecutor;
+		this.notificationExecutor = notificationExecutor;
+	}
+
+	/**
+	 * Creates a concurrent Othello game with the given players on a board that
+	 * contains the given nodes
+	 * 
+	 * @param nodesData
+	 *            the nodes of the board
+	 * @param players
+	 *            the players
+	 * @return An Othello game
+	 */
+	@Override
+	public Othello createGame(Set<NodeData> nodesData, List<Player> players) {
+		return new ConcurrentOthello(createHeadlessGame(nodesData, players), writerExecutor, notificationExecutor);
+	}
+}
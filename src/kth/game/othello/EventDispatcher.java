@@ -0,0 +1,289 @@
+package kth.game.othello;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches the notifications of the move and game finished events of one
+ * game to its observers on another thread, so that a slow observer does not
+ * hold up the game. The events are put in a bounded queue and delivered one
+ * at a time, in the order they were posted, on the given executor. When the
+ * queue is full a new event is handled according to the
+ * {@link OverflowPolicy} of the dispatcher.
+ * <p>
+ * Since the notifications are delivered after the move was made, an observer
+ * that reads the game when it is notified may see a later state.
+ */
+public class EventDispatcher {
+
+	/**
+	 * What to do with a new event when the queue is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The new event is dropped.
+		 */
+		DROP,
+		/**
+		 * The thread posting the event waits until there is room in the queue.
+		 */
+		BLOCK,
+		/**
+		 * The new event is merged with the last event in the queue, if both are
+		 * of the same kind, otherwise it is dropped. Two move events are merged
+		 * into one event of all the nodes swapped by the moves.
+		 */
+		COALESCE
+	}
+
+	/*
+	 * An event waiting to be delivered.
+	 */
+	private static final class Event {
+		private final OthelloFacadeNotifier notifier;
+		private final long postedNanos;
+		private Object arg;
+
+		private Event(OthelloFacadeNotifier notifier, Object arg, long postedNanos) {
+			this.notifier = notifier;
+			this.arg = arg;
+			this.postedNanos = postedNanos;
+		}
+	}
+
+	private final Executor executor;
+	private final int capacity;
+	private final OverflowPolicy overflowPolicy;
+	private final Deque<Event> queue = new ArrayDeque<>();
+	private boolean draining = false;
+	private volatile Thread drainingThread;
+
+	private final AtomicLong dispatchedEvents = new AtomicLong();
+	private final AtomicLong droppedEvents = new AtomicLong();
+	private final AtomicLong coalescedEvents = new AtomicLong();
+	private final AtomicLong failedEvents = new AtomicLong();
+	private volatile long lastDispatchLagNanos = 0;
+	private volatile long maxDispatchLagNanos = 0;
+
+	/**
+	 * Creates a dispatcher of the events of one game.
+	 *
+	 * @param executor
+	 *            the executor on which the observers are notified. It may be
+	 *            shared by the dispatchers of many games.
+	 * @param capacity
+	 *            the number of events that may wait in the queue.
+	 * @param overflowPolicy
+	 *            what to do with a new event when the queue is full.
+	 */
+	public EventDispatcher(Executor executor, int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The capacity of the queue must be positive: " + capacity);
+		}
+		this.executor = executor;
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Posts an event of the given notifier, which will notify its observers
+	 * with the given argument when the event is dispatched. Events that may
+	 * not be dropped, such as the game being finished, are always queued even
+	 * if the queue is full.
+	 *
+	 * @param notifier
+	 *            the notifier of the event.
+	 * @param arg
+	 *            the argument to the observers.
+	 */
+	void post(OthelloFacadeNotifier notifier, Object arg) {
+		Event event = new Event(notifier, arg, System.nanoTime());
+		synchronized (this) {
+			if (queue.size() >= capacity && notifier.mayBeDropped() && !handleOverflow(event)) {
+				return;
+			}
+			queue.addLast(event);
+			if (draining) {
+				return;
+			}
+			draining = true;
+		}
+		scheduleDrain();
+	}
+
+	/*
+	 * Asks the executor to drain the queue. If the executor refuses, the next
+	 * event posted asks it again.
+	 */
+	private void scheduleDrain() {
+		try {
+			executor.execute(this::drain);
+		} catch (RuntimeException e) {
+			synchronized (this) {
+				draining = false;
+				// Let a thread blocked on a full queue post its event and ask again
+				notifyAll();
+			}
+			throw e;
+		}
+	}
+
+	/*
+	 * Handles an event posted to a full queue. Returns true if the event is to
+	 * be queued.
+	 */
+	private boolean handleOverflow(Event event) {
+		switch (overflowPolicy) {
+		case BLOCK:
+			// The dispatching thread must not wait for itself, nor anyone for a drain that is not scheduled
+			while (queue.size() >= capacity && draining && drainingThread != Thread.currentThread()) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					droppedEvents.incrementAndGet();
+					return false;
+				}
+			}
+			return true;
+		case COALESCE:
+			Event last = queue.peekLast();
+			if (last.notifier == event.notifier) {
+				Object coalescedArg = event.notifier.coalesce(last.arg, event.arg);
+				if (coalescedArg != null) {
+					last.arg = coalescedArg;
+					coalescedEvents.incrementAndGet();
+					return false;
+				}
+			}
+			droppedEvents.incrementAndGet();
+			return false;
+		case DROP:
+		default:
+			droppedEvents.incrementAndGet();
+			return false;
+		}
+	}
+
+	/*
+	 * Delivers the queued events one at a time until the queue is empty. An
+	 * observer that throws is counted as a failed event, and the following
+	 * events are still delivered.
+	 */
+	private void drain() {
+		drainingThread = Thread.currentThread();
+		boolean isDrained = false;
+		try {
+			while (true) {
+				Event event;
+				synchronized (this) {
+					event = queue.pollFirst();
+					if (event == null) {
+						draining = false;
+						isDrained = true;
+						return;
+					}
+					// Let a thread blocked on a full queue post its event
+					notifyAll();
+				}
+				long lagNanos = System.nanoTime() - event.postedNanos;
+				lastDispatchLagNanos = lagNanos;
+				if (lagNanos > maxDispatchLagNanos) {
+					maxDispatchLagNanos = lagNanos;
+				}
+				dispatchedEvents.incrementAndGet();
+				try {
+					event.notifier.deliver(event.arg);
+				} catch (RuntimeException e) {
+					failedEvents.incrementAndGet();
+				}
+			}
+		} finally {
+			drainingThread = null;
+			if (!isDrained) {
+				// An error stopped the drain, so another one delivers the events left
+				boolean hasEventsLeft;
+				synchronized (this) {
+					hasEventsLeft = !queue.isEmpty();
+					draining = hasEventsLeft;
+					notifyAll();
+				}
+				if (hasEventsLeft) {
+					scheduleDrain();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the overflow policy of the dispatcher.
+	 */
+	public OverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * @return the number of events waiting to be dispatched.
+	 */
+	public synchronized int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * @return the number of events that have been dispatched.
+	 */
+	public long getDispatchedEvents() {
+		return dispatchedEvents.get();
+	}
+
+	/**
+	 * @return the number of events that have been dropped since the queue was
+	 *         full.
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+
+	/**
+	 * @return the number of events that have been merged into an earlier event
+	 *         since the queue was full.
+	 */
+	public long getCoalescedEvents() {
+		return coalescedEvents.get();
+	}
+
+	/**
+	 * @return the number of dispatched events of which an observer threw an
+	 *         exception.
+	 */
+	public long getFailedEvents() {
+		return failedEvents.get();
+	}
+
+	/**
+	 * Returns the time between the posting and the dispatching of the latest
+	 * dispatched event.
+	 *
+	 * @param unit
+	 *            the unit of the returned time.
+	 * @return the lag of the latest dispatched event.
+	 */
+	public long getLastDispatchLag(TimeUnit unit) {
+		return unit.convert(lastDispatchLagNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the longest time between the posting and the dispatching of any
+	 * dispatched event.
+	 *
+	 * @param unit
+	 *            the unit of the returned time.
+	 * @return the maximal lag of the dispatched events.
+	 */
+	public long getMaxDispatchLag(TimeUnit unit) {
+		return unit.convert(maxDispatchLagNanos, TimeUnit.NANOSECONDS);
+	}
+}
@@ -3,10 +3,12 @@ package kth.game.othello;
 import java.util.List;
 import java.util.Observer;
 import java.util.Optional;
+import java.util.Set;
 
 import kth.game.othello.board.BoardAdapter;
 import kth.game.othello.board.Coordinates;
 import kth.game.othello.board.Node;
+import kth.game.othello.event.SubmissionMovePublisher;
 import kth.game.othello.model.GameModel;
 import kth.game.othello.model.GameModelFactory;
 import kth.game.othello.player.Player;
@@ -23,11 +25,11 @@ public class GameController {
 	private GameModel gameModel;
 
 	private final BoardAdapter boardAdapter;
-	private final PlayerHandler playerHandler;
+	private PlayerHandler playerHandler;
 	private final Rules rules;
 	private final GameFinishedNotifier gameFinishedNotifier;
 	private final MoveNotifier moveNotifier;
-	private final GameModelFactory gameModelFactory;
+	private GameModelFactory gameModelFactory;
 
 	/**
 	 * Create a new GameController instance.
@@ -109,13 +111,14 @@ public class GameController {
 	 * and the board adapter.
 	 */
 	private List<Node> synchronizedMove(String playerId, Coordinates nodeCoordinates) {
-		gameModel.move(playerId, nodeCoordinates);
-		return updateBoardState();
+		Set<Coordinates> changedCoordinates = gameModel.move(playerId, nodeCoordinates);
+		return updateBoardState(changedCoordinates);
 	}
 
-	private List<Node> updateBoardState() {
-		List<Node> swapped = boardAdapter.setBoardState(gameModel.getGameState().getBoard());
-		moveNotifier.moveWasMade(swapped);
+	private List<Node> updateBoardState(Set<Coordinates> changedCoordinates) {
+		// Only the nodes changed by the move are synchronized
+		List<Node> swapped = boardAdapter.setBoardState(gameModel.getGameState().getBoard(), changedCoordinates);
+		moveNotifier.moveWasMade(swapped, gameModel.getGameState());
 		if (!gameModel.getPlayerInTurn().isPresent()) {
 			gameFinishedNotifier.gameDidFinish();
 		}
@@ -127,6 +130,7 @@ public class GameController {
 	 */
 	public void start() {
 		gameModel = gameModelFactory.newGameModel();
+		boardAdapter.setBoardState(gameModel.getGameState().getBoard());
 	}
 
 	/**
@@ -137,6 +141,28 @@ public class GameController {
 	 */
 	public void start(String playerId) {
 		gameModel = gameModelFactory.newGameModel(playerId);
+		boardAdapter.setBoardState(gameModel.getGameState().getBoard());
+	}
+
+	/**
+	 * Resets the game to a new game on the same board, played by the given
+	 * players. The game is not started, the board adapter is set to the
+	 * starting position of the new players and the observers of the previous
+	 * game are removed.
+	 *
+	 * @param newPlayerHandler
+	 *            the players of the new game.
+	 * @param playerIds
+	 *            the ids of the players of the new game, in the order of the
+	 *            players of the previous game whose nodes they start on.
+	 */
+	public void reset(PlayerHandler newPlayerHandler, List<String> playerIds) {
+		gameModelFactory = gameModelFactory.withPlayers(playerIds);
+		playerHandler = newPlayerHandler;
+		moveNotifier.deleteObservers();
+		gameFinishedNotifier.deleteObservers();
+		gameModel = gameModelFactory.newEmptyGameModel();
+		boardAdapter.setBoardState(gameModelFactory.getStartBoard());
 	}
 
 	/**
@@ -146,6 +172,13 @@ public class GameController {
 		gameModel.undo().ifPresent(gameState -> boardAdapter.setBoardState(gameState.getBoard()));
 	}
 
+	/**
+	 * Redo the last undone move.
+	 */
+	public void redo() {
+		gameModel.redo().ifPresent(gameState -> boardAdapter.setBoardState(gameState.getBoard()));
+	}
+
 	private Coordinates toCoordinates(Node node) {
 		return new Coordinates(node.getXCoordinate(), node.getYCoordinate());
 	}
@@ -171,6 +204,21 @@ public class GameController {
 		this.moveNotifier.addMoveObserver(observer);
 	}
 
+	/**
+	 * @return the publisher of the events of the moves.
+	 */
+	public SubmissionMovePublisher getMovePublisher() {
+		return moveNotifier.getMovePublisher();
+	}
+
+	/**
+	 * @return the dispatcher of the events of the game, if the observers are
+	 *         notified on another thread.
+	 */
+	public Optional<EventDispatcher> getEventDispatcher() {
+		return moveNotifier.getEventDispatcher();
+	}
+
 	/**
 	 * @return An optional containing the player in turn iff the game is not
 	 *         game over.
@@ -38,7 +38,14 @@ public class GameFinishedNotifier extends OthelloFacadeNotifier {
 	}
 
     public void gameDidFinish() {
-        setChanged();
-        notifyObservers();
+        notifyObserversOfEvent(null);
     }
+
+	/**
+	 * The end of a game is never dropped, since it happens once.
+	 */
+	@Override
+	boolean mayBeDropped() {
+		return false;
+	}
 }
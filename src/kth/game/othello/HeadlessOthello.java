@@ -0,0 +1,306 @@
+package kth.game.othello;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observer;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.event.MoveEvent;
+import kth.game.othello.event.SubmissionMovePublisher;
+import kth.game.othello.model.GameModel;
+import kth.game.othello.model.GameModelFactory;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ModelRules;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.PlayerHandler;
+import kth.game.othello.rules.ImmutableBoardRules;
+import kth.game.othello.rules.Rules;
+import kth.game.othello.score.BoardScore;
+import kth.game.othello.score.Score;
+
+/**
+ * An implementation of the {@link kth.game.othello.Othello} API for games
+ * that nobody is watching, such as games between computers in a tournament.
+ * The moves are made directly on the game model. No node adapters or observed
+ * score are kept in sync with the game; the board, its nodes and the score are
+ * views of the present state, made only when they are asked for, and never
+ * change. The notifiers of moves and of the end of the game are made when the
+ * first observer of each is added, so a game that nobody observes notifies
+ * nobody.
+ */
+public class HeadlessOthello implements MovePublishingOthello, ReusableOthello {
+
+	private final String id;
+	private PlayerHandler playerHandler;
+	private GameModelFactory gameModelFactory;
+	private final ModelRules rules;
+	private final SubmissionMovePublisher movePublisher = new SubmissionMovePublisher();
+	// The notifiers, made when their first observer is added
+	private MoveNotifier moveNotifier;
+	private GameFinishedNotifier gameFinishedNotifier;
+	private GameModel gameModel;
+	// The views of the present state, made the first time they are asked for
+	private ImmutableBoardView boardView;
+	private ImmutableBoardRules boardRules;
+
+	/**
+	 * Creates a new headless game. The game has an empty board until it is
+	 * started.
+	 *
+	 * @param id
+	 *            the id of the game.
+	 * @param playerHandler
+	 *            the players of the game.
+	 * @param gameModelFactory
+	 *            the factory of the game models of the game.
+	 * @param rules
+	 *            the rules of the game.
+	 */
+	protected HeadlessOthello(String id, PlayerHandler playerHandler, GameModelFactory gameModelFactory,
+			ModelRules rules) {
+		this.id = id;
+		this.playerHandler = playerHandler;
+		this.gameModelFactory = gameModelFactory;
+		this.rules = rules;
+		this.gameModel = gameModelFactory.newEmptyGameModel();
+	}
+
+	/**
+	 * @return the present state of the game.
+	 */
+	GameState getGameState() {
+		return gameModel.getGameState();
+	}
+
+	/**
+	 * @param playerId
+	 *            the id of a player of the game.
+	 * @return the player with the given id.
+	 */
+	Player getPlayer(String playerId) {
+		return playerHandler.getPlayer(playerId);
+	}
+
+	/**
+	 * @return a view of the present state of the board.
+	 */
+	ImmutableBoardView getBoardView() {
+		ImmutableBoard board = gameModel.getGameState().getBoard();
+		if (boardView == null || boardView.getImmutableBoard() != board) {
+			boardView = new ImmutableBoardView(board);
+			boardRules = new ImmutableBoardRules(rules, boardView);
+		}
+		return boardView;
+	}
+
+	/**
+	 * @return the rules of the present state of the board.
+	 */
+	ImmutableBoardRules getBoardRules() {
+		getBoardView();
+		return boardRules;
+	}
+
+	/**
+	 * Adds an observer. The observer will be called when the game has finished.
+	 *
+	 * @param observer
+	 *            the observer
+	 */
+	@Override
+	public void addGameFinishedObserver(Observer observer) {
+		if (gameFinishedNotifier == null) {
+			gameFinishedNotifier = new GameFinishedNotifier();
+			gameFinishedNotifier.initiateUnderlyingOthello(this);
+		}
+		gameFinishedNotifier.addGameFinishedObserver(observer);
+	}
+
+	/**
+	 * Adds an observer. The observers update will be called when a move has
+	 * finished including the nodes that have changed by the move, which are
+	 * views of the board after the move.
+	 *
+	 * @param observer
+	 *            the observer
+	 */
+	@Override
+	public void addMoveObserver(Observer observer) {
+		if (moveNotifier == null) {
+			moveNotifier = new MoveNotifier();
+			moveNotifier.initiateUnderlyingOthello(this);
+		}
+		moveNotifier.addMoveObserver(observer);
+	}
+
+	/**
+	 * Returns a view of the present state of the board, which does not change
+	 * when moves are made.
+	 */
+	@Override
+	public Board getBoard() {
+		return getBoardView();
+	}
+
+	/**
+	 * Returns the publisher of the moves of the game. Publishing is the only
+	 * way to follow a headless game as it is played.
+	 */
+	@Override
+	public SubmissionMovePublisher getMovePublisher() {
+		return movePublisher;
+	}
+
+	@Override
+	public String getId() {
+		return id;
+	}
+
+	@Override
+	public List<Node> getNodesToSwap(String playerId, String nodeId) {
+		return getBoardRules().getNodesToSwap(playerId, nodeId);
+	}
+
+	@Override
+	public Player getPlayerInTurn() {
+		return gameModel.getPlayerInTurn().map(playerHandler::getPlayer).orElse(null);
+	}
+
+	@Override
+	public List<Player> getPlayers() {
+		return playerHandler.getPlayers();
+	}
+
+	/**
+	 * Returns the score of the present state of the board, which does not
+	 * change when moves are made.
+	 */
+	@Override
+	public Score getScore() {
+		List<String> playerIds = getPlayers().stream().map(Player::getId).collect(Collectors.toList());
+		return new BoardScore(gameModel.getGameState().getBoard(), playerIds);
+	}
+
+	@Override
+	public boolean hasValidMove(String playerId) {
+		return gameModel.getGameState().hasValidMove(playerId);
+	}
+
+	@Override
+	public boolean isActive() {
+		return !gameModel.getGameState().isGameOver();
+	}
+
+	@Override
+	public boolean isMoveValid(String playerId, String nodeId) {
+		return getBoardRules().isMoveValid(playerId, nodeId);
+	}
+
+	/**
+	 * If the player in turn is a computer then this computer makes a move and
+	 * updates the player in turn.
+	 *
+	 * @return the nodes that where swapped for this move, including the node
+	 *         where the player made the move
+	 * @throws IllegalStateException
+	 *             if there is not a computer in turn
+	 */
+	@Override
+	public List<Node> move() {
+		Optional<String> maybePlayerIdInTurn = gameModel.getPlayerInTurn();
+		if (!maybePlayerIdInTurn.isPresent()) {
+			throw new IllegalStateException("Game is over no move is possible");
+		}
+		Player player = playerHandler.getPlayer(maybePlayerIdInTurn.get());
+		if (player.getType() != Player.Type.COMPUTER) {
+			throw new IllegalStateException("Tried to do a Computer move using a human player: " + player);
+		}
+		Rules rules = getBoardRules();
+		Node nodeToPlayAt = player.getMoveStrategy().move(player.getId(), rules, getBoardView());
+		return makeMove(player.getId(), new Coordinates(nodeToPlayAt.getXCoordinate(), nodeToPlayAt.getYCoordinate()));
+	}
+
+	/**
+	 * Validates if the move is correct and if the player is in turn. If so,
+	 * then the move is made which updates the board and the player in turn.
+	 *
+	 * @param playerId
+	 *            the id of the player that makes the move
+	 * @param nodeId
+	 *            the id of the node the player wants to play at
+	 * @return the nodes that where swapped for this move, including the node
+	 *         where the player made the move
+	 * @throws IllegalArgumentException
+	 *             if the move is not valid, or if the player is not in turn
+	 */
+	@Override
+	public List<Node> move(String playerId, String nodeId) throws IllegalArgumentException {
+		Node nodeToPlayAt = getBoardView().getNodeById(nodeId);
+		if (!gameModel.getPlayerInTurn().equals(Optional.of(playerId)) || !isMoveValid(playerId, nodeId)) {
+			throw new IllegalArgumentException("The player was not allowed to make a move at the given node.");
+		}
+		return makeMove(playerId, new Coordinates(nodeToPlayAt.getXCoordinate(), nodeToPlayAt.getYCoordinate()));
+	}
+
+	private List<Node> makeMove(String playerId, Coordinates nodeCoordinates) {
+		Set<Coordinates> changedCoordinates = gameModel.move(playerId, nodeCoordinates);
+		if (movePublisher.hasSubscribers()) {
+			movePublisher.submit(MoveEvent.of(id, gameModel.getGameState()));
+		}
+		ImmutableBoardView newBoardView = getBoardView();
+		List<Node> changedNodes = new ArrayList<>(changedCoordinates.size());
+		for (Coordinates coordinates : changedCoordinates) {
+			changedNodes.add(newBoardView.getNode(coordinates));
+		}
+		if (moveNotifier != null) {
+			moveNotifier.moveWasMade(changedNodes);
+		}
+		if (gameFinishedNotifier != null && gameModel.getGameState().isGameOver()) {
+			gameFinishedNotifier.gameDidFinish();
+		}
+		return changedNodes;
+	}
+
+	@Override
+	public void start() {
+		gameModel = gameModelFactory.newGameModel();
+	}
+
+	@Override
+	public void start(String playerId) {
+		gameModel = gameModelFactory.newGameModel(playerId);
+	}
+
+	@Override
+	public void undo() {
+		gameModel.undo();
+	}
+
+	@Override
+	public void reset(List<Player> players) {
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+		gameModelFactory = gameModelFactory.withPlayers(playerIds);
+		playerHandler = new PlayerHandler(players);
+		gameModel = gameModelFactory.newEmptyGameModel();
+		boardView = null;
+		boardRules = null;
+		// The observers of the previous game do not observe the new one
+		moveNotifier = null;
+		gameFinishedNotifier = null;
+	}
+
+	/**
+	 * Redo the last undone move. Nothing happens if no move has been undone
+	 * since the last move was made.
+	 */
+	public void redo() {
+		gameModel.redo();
+	}
+}
@@ -0,0 +1,82 @@
+package kth.game.othello;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.model.GameModelFactory;
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ModelRules;
+import kth.game.othello.model.ModelRulesFactory;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.PlayerHandler;
+import kth.game.othello.player.SimplePlayer;
+import kth.game.othello.player.movestrategy.MoveStrategy;
+import kth.game.othello.player.movestrategy.SimpleStrategy;
+
+/**
+ * A factory for producing {@link kth.game.othello.HeadlessOthello} games,
+ * which are fast to play since no node adapters are kept in sync with them.
+ * Use it when nobody is watching the games, such as for games between
+ * computers in a tournament. Since no human can play a game without watching
+ * it, the factory only makes games between computers.
+ */
+public class HeadlessOthelloFactory implements ComputerGameFactory {
+
+	public HeadlessOthelloFactory() {
+	}
+
+	/**
+	 * Creates a headless Othello game with two computers.
+	 * 
+	 * @return An Othello game
+	 */
+	@Override
+	public Othello createComputerGame() {
+		MoveStrategy moveStrategy = new SimpleStrategy();
+		List<Player> players = new ArrayList<>();
+		players.add(new SimplePlayer("computer1", "computer1ID", moveStrategy));
+		players.add(new SimplePlayer("computer2", "computer2ID", moveStrategy));
+		return createGame(new Square().getNodes(8, players), players);
+	}
+
+	/**
+	 * Creates a headless Othello game with the given players on a board that
+	 * contains the given nodes
+	 * 
+	 * @param nodesData
+	 *            the nodes of the board
+	 * @param players
+	 *            the players
+	 * @return An Othello game
+	 */
+	@Override
+	public Othello createGame(Set<NodeData> nodesData, List<Player> players) {
+		return createHeadlessGame(nodesData, players);
+	}
+
+	/**
+	 * Creates a headless Othello game with the given players on a board that
+	 * contains the given nodes
+	 * 
+	 * @param nodesData
+	 *            the nodes of the board
+	 * @param players
+	 *            the players
+	 * @return A headless Othello game
+	 */
+	protected HeadlessOthello createHeadlessGame(Set<NodeData> nodesData, List<Player> players) {
+		ImmutableBoard immutableBoard = new ImmutableBoard(ImmutableNodes.of(nodesData));
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+		ModelRules rules = new ModelRulesFactory().createRules(immutableBoard);
+		GameModelFactory gameModelFactory = new GameModelFactory(immutableBoard, playerIds, rules);
+
+		String othelloId = Instant.now().toString() + Long.toString((new Random()).nextLong());
+		return new HeadlessOthello(othelloId, new PlayerHandler(players), gameModelFactory, rules);
+	}
+}
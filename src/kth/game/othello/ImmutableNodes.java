@@ -0,0 +1,37 @@
+package kth.game.othello;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.model.ImmutableNode;
+
+/**
+ * Builds the immutable nodes of the model from the node data of the board
+ * factories, for the factories of games.
+ */
+final class ImmutableNodes {
+
+	private ImmutableNodes() {
+
+	}
+
+	/**
+	 * Creates the immutable nodes of the given node data.
+	 *
+	 * @param nodesData
+	 *            the data of the nodes.
+	 * @return the immutable nodes.
+	 */
+	static Set<ImmutableNode> of(Set<NodeData> nodesData) {
+		return nodesData.stream().map(ImmutableNodes::of).collect(Collectors.toSet());
+	}
+
+	private static ImmutableNode of(NodeData nodeData) {
+		Optional<String> occupantPlayerId = Optional.ofNullable(nodeData.getOccupantPlayerId());
+		return new ImmutableNode(new Coordinates(nodeData.getXCoordinate(), nodeData.getYCoordinate()),
+				occupantPlayerId);
+	}
+}
@@ -1,9 +1,15 @@
 package kth.game.othello;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Observer;
 
 import kth.game.othello.board.Node;
+import kth.game.othello.event.MoveEvent;
+import kth.game.othello.event.SubmissionMovePublisher;
+import kth.game.othello.model.GameState;
 
 /**
  * Responsible for keeping track of and notifying observers of move events. This
@@ -13,6 +19,8 @@ import kth.game.othello.board.Node;
  */
 public class MoveNotifier extends OthelloFacadeNotifier {
 
+	private final SubmissionMovePublisher movePublisher = new SubmissionMovePublisher();
+
 	/**
 	 * Adds an observer. The observer will be called when the game has finished.
 	 *
@@ -47,7 +55,47 @@ public class MoveNotifier extends OthelloFacadeNotifier {
 	 *            the nodes to attach to the notification.
 	 */
 	public void moveWasMade(List<Node> swappedNodes) {
-		setChanged();
-		notifyObservers(swappedNodes);
+		notifyObserversOfEvent(swappedNodes);
+	}
+
+	/**
+	 * Notifies the observers of a move having been made, passing the swapped
+	 * nodes as an argument to the notification, and publishes the event of
+	 * the move if anyone subscribes to it.
+	 *
+	 * @param swappedNodes
+	 *            the nodes to attach to the notification.
+	 * @param gameState
+	 *            the state of the game after the move.
+	 */
+	public void moveWasMade(List<Node> swappedNodes, GameState gameState) {
+		moveWasMade(swappedNodes);
+		if (movePublisher.hasSubscribers()) {
+			movePublisher.submit(MoveEvent.of(getUnderlyingOthello().getId(), gameState));
+		}
+	}
+
+	/**
+	 * @return the publisher of the events of the moves.
+	 */
+	public SubmissionMovePublisher getMovePublisher() {
+		return movePublisher;
+	}
+
+	/**
+	 * Merges two move events into one event of the nodes swapped by both
+	 * moves, each node given once.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	Object coalesce(Object earlierSwappedNodes, Object laterSwappedNodes) {
+		Map<String, Node> swappedNodes = new LinkedHashMap<>();
+		for (Node node : (List<Node>) earlierSwappedNodes) {
+			swappedNodes.put(node.getId(), node);
+		}
+		for (Node node : (List<Node>) laterSwappedNodes) {
+			swappedNodes.put(node.getId(), node);
+		}
+		return new ArrayList<>(swappedNodes.values());
 	}
 }
@@ -0,0 +1,18 @@
+package kth.game.othello;
+
+import kth.game.othello.event.SubmissionMovePublisher;
+
+/**
+ * An Othello game that publishes its moves as typed events, besides notifying
+ * its move observers.
+ */
+public interface MovePublishingOthello extends Othello {
+
+	/**
+	 * Returns the publisher of the moves of the game. The events are only made
+	 * while the publisher has subscribers.
+	 *
+	 * @return the publisher of the moves.
+	 */
+	public SubmissionMovePublisher getMovePublisher();
+}
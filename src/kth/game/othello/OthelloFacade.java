@@ -1,28 +1,32 @@
 package kth.game.othello;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.Observer;
+import java.util.Optional;
 
 import kth.game.othello.board.Board;
 import kth.game.othello.board.BoardAdapter;
 import kth.game.othello.board.Node;
+import kth.game.othello.event.SubmissionMovePublisher;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.PlayerHandler;
 import kth.game.othello.rules.RulesAdapter;
 import kth.game.othello.score.Score;
+import kth.game.othello.score.SimpleScore;
 
 /**
  * This class provides a facade that implements the
  * {@link kth.game.othello.Othello} API. Use it to play Othello.
  */
-public class OthelloFacade implements Othello {
+public class OthelloFacade implements MovePublishingOthello, ReusableOthello {
 
 	private final String id;
 	private final BoardAdapter boardAdapter;
 	private final RulesAdapter rulesAdapter;
 	private final GameController gameController;
-	private final Score score;
-	private final PlayerHandler playerHandler;
+	private final SimpleScore score;
+	private PlayerHandler playerHandler;
 
 	/**
 	 * Creates a new OthelloFacade game. Assumes the GameModelFactory to always
@@ -38,7 +42,7 @@ public class OthelloFacade implements Othello {
 	 * @param gameController
 	 *            the gameController to be used for the game.
 	 */
-	protected OthelloFacade(String id, PlayerHandler playerHandler, BoardAdapter board, Score score,
+	protected OthelloFacade(String id, PlayerHandler playerHandler, BoardAdapter board, SimpleScore score,
                             RulesAdapter rules, GameController gameController) {
 		this.id = id;
 		this.score = score;
@@ -229,4 +233,43 @@ public class OthelloFacade implements Othello {
 		gameController.undo();
 	}
 
+	/**
+	 * Redo the last undone move. Nothing happens if no move has been undone
+	 * since the last move was made.
+	 */
+	public void redo() {
+		gameController.redo();
+	}
+
+	/**
+	 * Resets the game to a new game on the same board, played by the given
+	 * players. The board adapter, its nodes and the score are kept and set to
+	 * the starting position of the new players, and the observers of the
+	 * previous game, including the observers of the score, are removed.
+	 *
+	 * @param players
+	 *            the players of the new game.
+	 */
+	@Override
+	public void reset(List<Player> players) {
+		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
+		playerHandler = new PlayerHandler(players);
+		gameController.reset(playerHandler, playerIds);
+		score.deleteObservers();
+		score.recount(boardAdapter.getNodes());
+	}
+
+	@Override
+	public SubmissionMovePublisher getMovePublisher() {
+		return gameController.getMovePublisher();
+	}
+
+	/**
+	 * @return the dispatcher of the events of the game, if the observers are
+	 *         notified on another thread than the one making the moves.
+	 */
+	public Optional<EventDispatcher> getEventDispatcher() {
+		return gameController.getEventDispatcher();
+	}
+
 }
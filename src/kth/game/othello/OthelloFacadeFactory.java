@@ -2,16 +2,14 @@ package kth.game.othello;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import kth.game.othello.EventDispatcher.OverflowPolicy;
 import kth.game.othello.board.BoardAdapter;
-import kth.game.othello.board.Coordinates;
-import kth.game.othello.board.Node;
 import kth.game.othello.board.NodeAdapter;
 import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.board.factory.Square;
@@ -20,6 +18,7 @@ import kth.game.othello.model.GameModelFactory;
 import kth.game.othello.model.ImmutableBoard;
 import kth.game.othello.model.ImmutableNode;
 import kth.game.othello.model.ModelRules;
+import kth.game.othello.model.ModelRulesFactory;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.PlayerHandler;
 import kth.game.othello.player.SimplePlayer;
@@ -33,7 +32,40 @@ import kth.game.othello.score.SimpleScore;
  */
 public class OthelloFacadeFactory implements OthelloFactory {
 
+	private final Executor observerExecutor;
+	private final int eventQueueCapacity;
+	private final OverflowPolicy overflowPolicy;
+
+	/**
+	 * Creates a factory of games that notify their observers on the thread
+	 * making the moves.
+	 */
 	public OthelloFacadeFactory() {
+		this.observerExecutor = null;
+		this.eventQueueCapacity = 0;
+		this.overflowPolicy = null;
+	}
+
+	/**
+	 * Creates a factory of games that notify their observers on the given
+	 * executor. The events of each game wait in a bounded queue of their own
+	 * and are delivered in order.
+	 *
+	 * @param observerExecutor
+	 *            the executor on which the observers are notified.
+	 * @param eventQueueCapacity
+	 *            the number of events of a game that may wait to be delivered.
+	 * @param overflowPolicy
+	 *            what to do with an event when the queue of its game is full.
+	 */
+	public OthelloFacadeFactory(Executor observerExecutor, int eventQueueCapacity, OverflowPolicy overflowPolicy) {
+		if (eventQueueCapacity < 1) {
+			throw new IllegalArgumentException("The capacity of the event queue must be positive: "
+					+ eventQueueCapacity);
+		}
+		this.observerExecutor = observerExecutor;
+		this.eventQueueCapacity = eventQueueCapacity;
+		this.overflowPolicy = overflowPolicy;
 	}
 
 	/**
@@ -111,18 +143,18 @@ public class OthelloFacadeFactory implements OthelloFactory {
 	public Othello createGame(Set<NodeData> nodesData, List<Player> players) {
 
 		// Create the gameModelFactory
-		Set<ImmutableNode> immutableNodes = nodesData.stream().map(this::getImmutableNodeFromNodeData)
-				.collect(Collectors.toSet());
+		Set<ImmutableNode> immutableNodes = ImmutableNodes.of(nodesData);
 		ImmutableBoard immutableBoard = new ImmutableBoard(immutableNodes);
 		List<String> playerIds = players.stream().map(Player::getId).collect(Collectors.toList());
-		ModelRules rules = new ModelRules();
+		ModelRules rules = new ModelRulesFactory().createRules(immutableBoard);
 		GameModelFactory gameModelFactory = new GameModelFactory(immutableBoard, playerIds, rules);
 
 		// Create adapters
 		List<NodeAdapter> nodeAdapters = immutableNodes.stream().map(NodeAdapter::new).collect(Collectors.toList());
-		Set<Node> nodeAdapterSet = new HashSet<>(nodeAdapters);
-		SimpleScore score = new SimpleScore(nodeAdapterSet);
 		BoardAdapter boardAdapter = new BoardAdapter(immutableBoard, nodeAdapters);
+		// Notify the changes of a move at once, so the score notifies once per move
+		boardAdapter.setBatchNotifications(true);
+		SimpleScore score = new SimpleScore(boardAdapter);
 		RulesAdapter rulesAdapter = new RulesAdapter(rules, boardAdapter);
 
 		// Create empty game model and init the boardAdapter
@@ -132,6 +164,12 @@ public class OthelloFacadeFactory implements OthelloFactory {
 		PlayerHandler playerHandler = new PlayerHandler(players);
 		MoveNotifier moveNotifier = new MoveNotifier();
 		GameFinishedNotifier gameFinishedNotifier = new GameFinishedNotifier();
+		if (observerExecutor != null) {
+			// Both notifiers share the queue so the game finished event follows the last move
+			EventDispatcher eventDispatcher = new EventDispatcher(observerExecutor, eventQueueCapacity, overflowPolicy);
+			moveNotifier.setEventDispatcher(eventDispatcher);
+			gameFinishedNotifier.setEventDispatcher(eventDispatcher);
+		}
 		GameController gameController = new GameController(initGameModel, boardAdapter, playerHandler, rulesAdapter,
 				gameFinishedNotifier, moveNotifier, gameModelFactory);
 
@@ -145,10 +183,4 @@ public class OthelloFacadeFactory implements OthelloFactory {
 		return othelloFacade;
 
 	}
-
-	private ImmutableNode getImmutableNodeFromNodeData(NodeData nodeData) {
-		Optional<String> occupantPlayerId = Optional.ofNullable(nodeData.getOccupantPlayerId());
-		return new ImmutableNode(new Coordinates(nodeData.getXCoordinate(), nodeData.getYCoordinate()),
-				occupantPlayerId);
-	}
 }
@@ -2,6 +2,7 @@ package kth.game.othello;
 
 import java.util.List;
 import java.util.Observable;
+import java.util.Optional;
 
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
@@ -17,6 +18,7 @@ import kth.game.othello.score.Score;
  */
 public abstract class OthelloFacadeNotifier extends Observable implements Othello {
 	private Othello underlyingOthello;
+	private EventDispatcher eventDispatcher;
 
 	protected Othello getUnderlyingOthello() {
 		assert (underlyingOthello != null) : "The move notifier must be connected to the othello before it can be used.";
@@ -34,6 +36,69 @@ public abstract class OthelloFacadeNotifier extends Observable implements Othell
 		this.underlyingOthello = underlyingOthello;
 	}
 
+	/**
+	 * Lets the given dispatcher notify the observers on another thread. Without
+	 * a dispatcher the observers are notified by the thread making the move.
+	 *
+	 * @param eventDispatcher
+	 *            the dispatcher of the events of the game.
+	 */
+	public void setEventDispatcher(EventDispatcher eventDispatcher) {
+		this.eventDispatcher = eventDispatcher;
+	}
+
+	/**
+	 * @return the dispatcher of the events of the game, if the observers are
+	 *         notified on another thread.
+	 */
+	public Optional<EventDispatcher> getEventDispatcher() {
+		return Optional.ofNullable(eventDispatcher);
+	}
+
+	/**
+	 * Notifies the observers with the given argument, through the event
+	 * dispatcher if there is one.
+	 *
+	 * @param arg
+	 *            the argument to the observers.
+	 */
+	protected void notifyObserversOfEvent(Object arg) {
+		if (eventDispatcher == null) {
+			deliver(arg);
+		} else {
+			eventDispatcher.post(this, arg);
+		}
+	}
+
+	/**
+	 * Notifies the observers with the given argument at once.
+	 *
+	 * @param arg
+	 *            the argument to the observers.
+	 */
+	void deliver(Object arg) {
+		setChanged();
+		notifyObservers(arg);
+	}
+
+	/**
+	 * Merges the arguments of two events into the argument of one event that
+	 * replaces both, when the event queue of the dispatcher is full.
+	 *
+	 * @return the merged argument, or null if the events cannot be merged.
+	 */
+	Object coalesce(Object earlierArg, Object laterArg) {
+		return null;
+	}
+
+	/**
+	 * @return true if the events may be dropped when the event queue of the
+	 *         dispatcher is full.
+	 */
+	boolean mayBeDropped() {
+		return true;
+	}
+
 	/**
 	 * The board on which the game is played.
 	 *
@@ -11,7 +11,7 @@ import java.util.Set;
  *
  * @author Tomas Ekholm
  */
-public interface OthelloFactory {
+public interface OthelloFactory extends ComputerGameFactory {
 
     /**
      * Creates an Othello game with two computer.
@@ -0,0 +1,29 @@
+package kth.game.othello;
+
+import java.util.List;
+
+import kth.game.othello.player.Player;
+
+/**
+ * An Othello game that may be played again by other players, instead of
+ * building a new game with the same board. The adapters, topology and rules
+ * made when the game was built are kept, so resetting a game costs far less
+ * than building one.
+ */
+public interface ReusableOthello extends Othello {
+
+	/**
+	 * Resets the game to a new game on the same board, played by the given
+	 * players. Player number i of the given players starts on the nodes of
+	 * player number i of the previous players. The game is not started, and
+	 * the observers of the previous game are removed. The id of the game and
+	 * the publisher of its moves are kept.
+	 *
+	 * @param players
+	 *            the players of the new game, as many as the players of the
+	 *            previous game.
+	 * @throws IllegalArgumentException
+	 *             if the number of players differs from the previous game.
+	 */
+	public void reset(List<Player> players);
+}
@@ -0,0 +1,61 @@
+package kth.game.othello;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * An executor that runs its tasks one at a time, in the order they were
+ * submitted, on an underlying executor. Many serial executors may share a
+ * small pool of threads, while the tasks of each of them never run at the same
+ * time.
+ */
+final class SerialExecutor implements Executor {
+
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+	private final Executor executor;
+	private Runnable active;
+	private volatile Thread runningThread;
+
+	/**
+	 * Creates a serial executor.
+	 *
+	 * @param executor
+	 *            the executor on which the tasks are run.
+	 */
+	SerialExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public synchronized void execute(Runnable task) {
+		tasks.add(() -> {
+			runningThread = Thread.currentThread();
+			try {
+				task.run();
+			} finally {
+				runningThread = null;
+				scheduleNext();
+			}
+		});
+		if (active == null) {
+			scheduleNext();
+		}
+	}
+
+	private synchronized void scheduleNext() {
+		active = tasks.poll();
+		if (active != null) {
+			executor.execute(active);
+		}
+	}
+
+	/**
+	 * Determines if the calling thread is running a task of this executor.
+	 *
+	 * @return true if called from within a task of this executor.
+	 */
+	boolean isRunningInCurrentThread() {
+		return runningThread == Thread.currentThread();
+	}
+}
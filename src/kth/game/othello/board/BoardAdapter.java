@@ -2,23 +2,42 @@ package kth.game.othello.board;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Observable;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import kth.game.othello.model.ImmutableBoard;
-import kth.game.othello.model.ImmutableNode;
 
 /**
  * This class adapts the {@link kth.game.othello.model.ImmutableBoard} class to
- * the {@link kth.game.othello.board.Board} API.
+ * the {@link kth.game.othello.board.Board} API. The node adapters are indexed
+ * by their coordinates and by their ids when the board adapter is created, so
+ * looking up a node takes the same time on boards of any size.
+ *
+ * By default every changed node notifies its own observers. In batch mode all
+ * nodes are changed first, and the board adapter notifies its observers once
+ * per change of its state with a {@link BoardChange}, before every changed node
+ * notifies its own observers. So the observers of a node see the whole board
+ * changed and the score of a {@link kth.game.othello.score.SimpleScore}
+ * observing the board already updated.
  */
-public class BoardAdapter implements Board {
+public class BoardAdapter extends Observable implements Board {
 
 	private ImmutableBoard boardState;
 	private List<NodeAdapter> nodeAdapters;
+	// The node adapters whose ids cannot be decoded to their coordinates
+	private Map<String, NodeAdapter> undecodableNodeAdapters;
+	// The node adapters laid out row by row in the bounding box of the nodes
+	private NodeAdapter[] grid;
+	private int minX;
+	private int minY;
+	private int maxX;
+	private int maxY;
+	private boolean batchNotifications;
     private static boolean printChanges = false;
 
 	/**
@@ -35,27 +54,64 @@ public class BoardAdapter implements Board {
 		boardState = startingBoard;
 		this.nodeAdapters = nodeAdapters;
 		this.nodeAdapters.sort(new NodeComparator());
+		indexNodeAdapters();
+	}
+
+	private void indexNodeAdapters() {
+		undecodableNodeAdapters = new HashMap<>();
+		minX = Integer.MAX_VALUE;
+		minY = Integer.MAX_VALUE;
+		maxX = Integer.MIN_VALUE;
+		maxY = Integer.MIN_VALUE;
+		for (NodeAdapter nodeAdapter : nodeAdapters) {
+			long packedId = NodeId.parse(nodeAdapter.getId());
+			if (packedId == NodeId.NOT_AN_ID || NodeId.getX(packedId) != nodeAdapter.getXCoordinate()
+					|| NodeId.getY(packedId) != nodeAdapter.getYCoordinate()) {
+				undecodableNodeAdapters.putIfAbsent(nodeAdapter.getId(), nodeAdapter);
+			}
+			minX = Math.min(minX, nodeAdapter.getXCoordinate());
+			minY = Math.min(minY, nodeAdapter.getYCoordinate());
+			maxX = Math.max(maxX, nodeAdapter.getXCoordinate());
+			maxY = Math.max(maxY, nodeAdapter.getYCoordinate());
+		}
+		if (nodeAdapters.isEmpty()) {
+			grid = new NodeAdapter[0];
+			return;
+		}
+		grid = new NodeAdapter[(maxX - minX + 1) * (maxY - minY + 1)];
+		for (NodeAdapter nodeAdapter : nodeAdapters) {
+			int gridIndex = getGridIndex(nodeAdapter.getXCoordinate(), nodeAdapter.getYCoordinate());
+			if (grid[gridIndex] == null) {
+				grid[gridIndex] = nodeAdapter;
+			}
+		}
+	}
+
+	/*
+	 * Returns the index in the grid of the given coordinates, or -1 if they
+	 * are outside the bounding box of the nodes.
+	 */
+	private int getGridIndex(int x, int y) {
+		if (x < minX || x > maxX || y < minY || y > maxY) {
+			return -1;
+		}
+		return (y - minY) * (maxX - minX + 1) + (x - minX);
 	}
 
 	@Override
 	public int getMaxX() {
-		Optional<NodeAdapter> node = nodeAdapters.stream().reduce(
-				(n1, n2) -> n1.getXCoordinate() > n2.getXCoordinate() ? n1 : n2);
-		if (!node.isPresent()) {
+		if (nodeAdapters.isEmpty()) {
 			throw new IllegalStateException();
 		}
-		return node.get().getXCoordinate();
+		return maxX;
 	}
 
 	@Override
 	public int getMaxY() {
-		Optional<NodeAdapter> node = nodeAdapters.stream().reduce(
-				(n1, n2) -> n1.getYCoordinate() > n2.getYCoordinate() ? n1 : n2);
-		if (!node.isPresent()) {
+		if (nodeAdapters.isEmpty()) {
 			throw new IllegalStateException();
 		}
-		return node.get().getYCoordinate();
-
+		return maxY;
 	}
 
 	@Override
@@ -135,8 +191,8 @@ public class BoardAdapter implements Board {
 	}
 
 	private Optional<NodeAdapter> getNodeAdapter(int x, int y) {
-		return nodeAdapters.stream().filter(node -> (node.getXCoordinate() == x) && (node.getYCoordinate() == y))
-				.findAny();
+		int gridIndex = getGridIndex(x, y);
+		return gridIndex < 0 ? Optional.empty() : Optional.ofNullable(grid[gridIndex]);
 	}
 
 	private Optional<NodeAdapter> getNodeAdapter(Coordinates coordinates) {
@@ -151,21 +207,49 @@ public class BoardAdapter implements Board {
 	 * @return Returns the nodes changed in the new board state.
 	 */
 	public List<Node> setBoardState(ImmutableBoard newBoardState) {
+		return setBoardState(newBoardState, ImmutableBoard.compare(boardState, newBoardState));
+	}
 
-		Set<Coordinates> changedCoordinates = ImmutableBoard.compare(boardState, newBoardState);
-		Set<ImmutableNode> newNodes = changedCoordinates.stream().map(newBoardState::getNodeAtCoordinates)
-				.collect(Collectors.toSet());
-
+	/**
+	 * Set the state of the board, when the nodes that differ between the
+	 * present state and the new state are already known. Only the node
+	 * adapters of the changed nodes are visited.
+	 *
+	 * @param newBoardState
+	 *            the new state of the board.
+	 * @param changedCoordinates
+	 *            the coordinates of the nodes that differ between the present
+	 *            state of the board and the new state.
+	 * @return Returns the nodes changed in the new board state.
+	 */
+	public List<Node> setBoardState(ImmutableBoard newBoardState, Set<Coordinates> changedCoordinates) {
 		List<Node> changedNodeAdapters = new ArrayList<>();
+		List<String> previousOccupantPlayerIds = new ArrayList<>();
 
-		for (ImmutableNode node : newNodes) {
-			Optional<NodeAdapter> maybeNodeAdapter = getNodeAdapter(node.getCoordinates());
-			maybeNodeAdapter.ifPresent(nodeAdapter -> nodeAdapter.setNode(node));
-			maybeNodeAdapter.ifPresent(changedNodeAdapters::add);
+		for (Coordinates coordinates : changedCoordinates) {
+			Optional<NodeAdapter> maybeNodeAdapter = getNodeAdapter(coordinates);
+			if (maybeNodeAdapter.isPresent()) {
+				NodeAdapter nodeAdapter = maybeNodeAdapter.get();
+				if (batchNotifications) {
+					previousOccupantPlayerIds.add(nodeAdapter.getOccupantPlayerId());
+					nodeAdapter.setNodeWithoutNotifying(newBoardState.getNodeAtCoordinates(coordinates));
+				} else {
+					nodeAdapter.setNode(newBoardState.getNodeAtCoordinates(coordinates));
+				}
+				changedNodeAdapters.add(nodeAdapter);
+			}
 		}
 
 		this.boardState = newBoardState;
 
+		if (batchNotifications && !changedNodeAdapters.isEmpty()) {
+			setChanged();
+			notifyObservers(new BoardChange(new ArrayList<>(changedNodeAdapters), previousOccupantPlayerIds));
+			for (int i = 0; i < changedNodeAdapters.size(); i++) {
+				((NodeAdapter) changedNodeAdapters.get(i)).notifyChange(previousOccupantPlayerIds.get(i));
+			}
+		}
+
         if (this.printChanges) {
             System.out.println(newBoardState);
         }
@@ -173,6 +257,18 @@ public class BoardAdapter implements Board {
 		return changedNodeAdapters;
 	}
 
+	/**
+	 * Sets if the changes of the nodes are notified once per change of the
+	 * state of this board to the observers of this board, before they are
+	 * notified once per node to the observers of each node.
+	 *
+	 * @param batchNotifications
+	 *            true to notify all changes of a state at once.
+	 */
+	public void setBatchNotifications(boolean batchNotifications) {
+		this.batchNotifications = batchNotifications;
+	}
+
 	/**
 	 * Returns an ordered list of rows using the natural order in x- and then
 	 * y-coordinate of the nodes.
@@ -187,14 +283,22 @@ public class BoardAdapter implements Board {
 	}
 
 	/**
-	 * Returns the distinct Node with the given node id.
+	 * Returns the distinct Node with the given node id. The id is decoded to
+	 * the coordinates of the node, which is then looked up in the grid.
 	 *
 	 * @param nodeId
 	 *            the node id of the node to fetch.
 	 * @return the Node with the given id.
 	 */
 	public Node getNodeById(String nodeId) {
-		Optional<NodeAdapter> maybeNode = nodeAdapters.stream().filter(node -> node.getId().equals(nodeId)).findAny();
+		long packedId = NodeId.parse(nodeId);
+		if (packedId != NodeId.NOT_AN_ID) {
+			int gridIndex = getGridIndex(NodeId.getX(packedId), NodeId.getY(packedId));
+			if (gridIndex >= 0 && grid[gridIndex] != null && grid[gridIndex].getId().equals(nodeId)) {
+				return grid[gridIndex];
+			}
+		}
+		Optional<NodeAdapter> maybeNode = Optional.ofNullable(undecodableNodeAdapters.get(nodeId));
 		return maybeNode.orElseThrow(() -> new NoSuchElementException("Node id \"" + nodeId + "\" does not exist."));
 	}
 
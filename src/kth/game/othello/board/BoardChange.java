@@ -0,0 +1,51 @@
+package kth.game.othello.board;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The nodes changed by one change of the state of a board, for example by a
+ * move, together with the players that occupied the nodes before the change.
+ * A {@link BoardAdapter} in batch mode notifies its observers with one board
+ * change per change of its state, instead of each node notifying its own
+ * observers.
+ */
+public final class BoardChange {
+
+	private final List<Node> changedNodes;
+	private final List<String> previousOccupantPlayerIds;
+
+	/**
+	 * Creates a new board change.
+	 *
+	 * @param changedNodes
+	 *            the nodes that changed.
+	 * @param previousOccupantPlayerIds
+	 *            the ids of the players that occupied the changed nodes before
+	 *            the change, in the same order as the nodes, where null means
+	 *            that the node was not occupied.
+	 */
+	public BoardChange(List<Node> changedNodes, List<String> previousOccupantPlayerIds) {
+		if (changedNodes.size() != previousOccupantPlayerIds.size()) {
+			throw new IllegalArgumentException("Every changed node must have a previous occupant");
+		}
+		this.changedNodes = Collections.unmodifiableList(changedNodes);
+		this.previousOccupantPlayerIds = Collections.unmodifiableList(previousOccupantPlayerIds);
+	}
+
+	/**
+	 * Returns the nodes that changed, with their new occupants.
+	 */
+	public List<Node> getChangedNodes() {
+		return changedNodes;
+	}
+
+	/**
+	 * Returns the ids of the players that occupied the changed nodes before
+	 * the change, in the order of {@link #getChangedNodes()}. An id is null if
+	 * the node was not occupied.
+	 */
+	public List<String> getPreviousOccupantPlayerIds() {
+		return previousOccupantPlayerIds;
+	}
+}
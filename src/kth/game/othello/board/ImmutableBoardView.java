@@ -0,0 +1,173 @@
+package kth.game.othello.board;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ImmutableNode;
+
+/**
+ * A read-only view of one {@link kth.game.othello.model.ImmutableBoard}
+ * through the {@link kth.game.othello.board.Board} API. Creating a view is
+ * cheap: the list of nodes and the index of the node ids are only built the
+ * first time they are asked for, and nodes looked up by coordinates are viewed
+ * one at a time. Unlike a {@link BoardAdapter} the view never changes, a new
+ * view is made for every state of the board.
+ */
+public final class ImmutableBoardView implements Board {
+
+	private final ImmutableBoard immutableBoard;
+	private List<Node> nodes;
+	private Map<String, Node> nodesById;
+	private int maxX;
+	private int maxY;
+
+	/**
+	 * Creates a view of the given board.
+	 *
+	 * @param immutableBoard
+	 *            the board to view.
+	 */
+	public ImmutableBoardView(ImmutableBoard immutableBoard) {
+		this.immutableBoard = immutableBoard;
+	}
+
+	/*
+	 * Builds the sorted list of nodes, the index of the ids and the bounds.
+	 */
+	private synchronized void viewNodes() {
+		if (nodes != null) {
+			return;
+		}
+		List<Node> viewedNodes = new ArrayList<>();
+		for (ImmutableNode immutableNode : immutableBoard.getNodes()) {
+			viewedNodes.add(new ImmutableNodeView(immutableNode));
+		}
+		viewedNodes.sort(Comparator.comparingInt(Node::getYCoordinate).thenComparingInt(Node::getXCoordinate));
+		nodesById = new HashMap<>();
+		maxX = Integer.MIN_VALUE;
+		maxY = Integer.MIN_VALUE;
+		for (Node node : viewedNodes) {
+			nodesById.put(node.getId(), node);
+			maxX = Math.max(maxX, node.getXCoordinate());
+			maxY = Math.max(maxY, node.getYCoordinate());
+		}
+		nodes = viewedNodes;
+	}
+
+	@Override
+	public int getMaxX() {
+		viewNodes();
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		return maxX;
+	}
+
+	@Override
+	public int getMaxY() {
+		viewNodes();
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException();
+		}
+		return maxY;
+	}
+
+	/**
+	 * Returns the node with the given x- and y-coordinate
+	 *
+	 * @param x
+	 *            the x-coordinate of the node
+	 * @param y
+	 *            the y-coordinate of the node
+	 * @return the node with given x- and y-coordinate
+	 * @throws IllegalArgumentException
+	 *             if there is no {@link kth.game.othello.board.Node} having the
+	 *             specific x- and y-coordinate
+	 */
+	@Override
+	public Node getNode(int x, int y) {
+		return getNode(new Coordinates(x, y));
+	}
+
+	/**
+	 * Returns the node with the given coordinates
+	 *
+	 * @param coordinates
+	 *            the coordinates of the node
+	 * @return the node with given coordinates
+	 * @throws IllegalArgumentException
+	 *             if there is no {@link kth.game.othello.board.Node} having the
+	 *             given coordinates
+	 */
+	public Node getNode(Coordinates coordinates) {
+		if (!immutableBoard.hasCoordinates(coordinates)) {
+			throw new IllegalArgumentException("There is no node with coordinates (" + coordinates.getX() + ","
+					+ coordinates.getY() + ")");
+		}
+		return new ImmutableNodeView(immutableBoard.getNodeAtCoordinates(coordinates));
+	}
+
+	/**
+	 * Returns an ordered list of rows using the natural order in x- and then
+	 * y-coordinate of the nodes.
+	 *
+	 * @return the nodes of the board
+	 */
+	@Override
+	public List<Node> getNodes() {
+		viewNodes();
+		return new ArrayList<>(nodes);
+	}
+
+	@Override
+	public boolean hasNode(int x, int y) {
+		return immutableBoard.hasCoordinates(new Coordinates(x, y));
+	}
+
+	/**
+	 * Returns the Node with the given node id. The id is decoded to the
+	 * coordinates of the node, so the nodes are only all viewed for the ids
+	 * that cannot be decoded.
+	 *
+	 * @param nodeId
+	 *            the node id of the node to fetch.
+	 * @return the Node with the given id.
+	 * @throws NoSuchElementException
+	 *             if there is no node with the given id.
+	 */
+	public Node getNodeById(String nodeId) {
+		// Most ids are decoded to the coordinates of their node
+		long packedId = NodeId.parse(nodeId);
+		if (packedId != NodeId.NOT_AN_ID) {
+			int x = NodeId.getX(packedId);
+			int y = NodeId.getY(packedId);
+			Coordinates coordinates = new Coordinates(x, y);
+			if (immutableBoard.hasCoordinates(coordinates) && NodeId.of(x, y).equals(nodeId)) {
+				return new ImmutableNodeView(immutableBoard.getNodeAtCoordinates(coordinates));
+			}
+		}
+		viewNodes();
+		Node node = nodesById.get(nodeId);
+		if (node == null) {
+			throw new NoSuchElementException("Node id \"" + nodeId + "\" does not exist.");
+		}
+		return node;
+	}
+
+	/**
+	 * @return the viewed board.
+	 */
+	public ImmutableBoard getImmutableBoard() {
+		return immutableBoard;
+	}
+
+	@Override
+	public String toString() {
+		return immutableBoard.toString();
+	}
+}
@@ -0,0 +1,83 @@
+package kth.game.othello.board;
+
+import java.util.Observer;
+
+import kth.game.othello.model.ImmutableNode;
+
+/**
+ * A read-only view of an {@link kth.game.othello.model.ImmutableNode} through
+ * the {@link kth.game.othello.board.Node} API. Unlike a {@link NodeAdapter} the
+ * view never changes, so its observers are never notified. Views of nodes with the same
+ * coordinates have the same id as the node adapters of those coordinates.
+ */
+public final class ImmutableNodeView implements Node {
+
+	private final ImmutableNode immutableNode;
+
+	/**
+	 * Creates a view of the given node.
+	 *
+	 * @param immutableNode
+	 *            the node to view.
+	 */
+	public ImmutableNodeView(ImmutableNode immutableNode) {
+		this.immutableNode = immutableNode;
+	}
+
+	/**
+	 * Does nothing, since the view never changes and so never notifies its
+	 * observers.
+	 */
+	@Override
+	public void addObserver(Observer observer) {
+
+	}
+
+	@Override
+	public String getId() {
+		return NodeId.of(getXCoordinate(), getYCoordinate());
+	}
+
+	@Override
+	public String getOccupantPlayerId() {
+		return immutableNode.getOccupantPlayerId().orElse(null);
+	}
+
+	@Override
+	public int getXCoordinate() {
+		return immutableNode.getCoordinates().getX();
+	}
+
+	@Override
+	public int getYCoordinate() {
+		return immutableNode.getCoordinates().getY();
+	}
+
+	@Override
+	public boolean isMarked() {
+		return immutableNode.isMarked();
+	}
+
+	/**
+	 * Returns the coordinates of the node.
+	 */
+	public Coordinates getCoordinates() {
+		return immutableNode.getCoordinates();
+	}
+
+	@Override
+	public int hashCode() {
+		return immutableNode.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ImmutableNodeView)) {
+			return false;
+		}
+		return immutableNode.equals(((ImmutableNodeView) obj).immutableNode);
+	}
+}
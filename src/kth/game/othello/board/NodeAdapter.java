@@ -1,5 +1,6 @@
 package kth.game.othello.board;
 
+import java.util.Objects;
 import java.util.Observable;
 
 import kth.game.othello.model.ImmutableNode;
@@ -11,9 +12,12 @@ import kth.game.othello.model.ImmutableNode;
 public class NodeAdapter extends Observable implements Node {
 
 	private ImmutableNode immutableNode;
+	// The coordinates of the node never change, so neither does its id
+	private final String id;
 
 	public NodeAdapter(ImmutableNode node) {
 		this.immutableNode = node;
+		this.id = NodeId.of(node.getCoordinates().getX(), node.getCoordinates().getY()).intern();
 	}
 
 	/**
@@ -23,11 +27,36 @@ public class NodeAdapter extends Observable implements Node {
 	 *            the node to act as the underlying data.
 	 */
 	public void setNode(ImmutableNode nodeData) {
-		if (!this.immutableNode.getOccupantPlayerId().equals(nodeData.getOccupantPlayerId())) {
-			this.setChanged();
-		}
 		String oldPlayerId = this.getOccupantPlayerId();
 		this.immutableNode = nodeData;
+		notifyChange(oldPlayerId);
+	}
+
+	/**
+	 * Set the underlying immutable node without notifying the observers of
+	 * this node. Used by a board adapter that notifies the changes of all its
+	 * nodes at once, before it notifies the observers of each node with
+	 * {@link #notifyChange(String)}.
+	 *
+	 * @param nodeData
+	 *            the node to act as the underlying data.
+	 */
+	void setNodeWithoutNotifying(ImmutableNode nodeData) {
+		this.immutableNode = nodeData;
+	}
+
+	/**
+	 * Notifies the observers of this node with the given previous occupant, if
+	 * the node is no longer occupied by it.
+	 *
+	 * @param oldPlayerId
+	 *            the id of the player that occupied this node before it was
+	 *            set, or null if it was not marked.
+	 */
+	void notifyChange(String oldPlayerId) {
+		if (!Objects.equals(oldPlayerId, this.getOccupantPlayerId())) {
+			this.setChanged();
+		}
 		this.notifyObservers(oldPlayerId);
 	}
 
@@ -38,17 +67,7 @@ public class NodeAdapter extends Observable implements Node {
 	 */
 	@Override
 	public String getId() {
-		int idInt = getXCoordinate();
-
-		// 32-bit idInt:
-		// 0000 0000 0000 0000 0000 0000 0000 0000
-		// | Y goes here | X goes here |
-		// Together they become some cryptic integer that does not tempt ppl to
-		// use the id to infer coordinates.
-		idInt = idInt | (getYCoordinate() << 16);
-
-		return Integer.toString(idInt);
-
+		return id;
 	}
 
 	/**
@@ -0,0 +1,113 @@
+package kth.game.othello.board;
+
+/**
+ * The ids of the nodes. The id of a node is made from its coordinates, so
+ * every node with the same coordinates has the same id, whichever class
+ * represents it. The format is expected by the view and must not change.
+ * <p>
+ * The ids of the nodes with small coordinates are made once and shared. An id
+ * can be decoded back to the coordinates it was made from, without looking at
+ * any node, as long as the x-coordinate fits in 16 unsigned bits and the
+ * y-coordinate in 16 signed bits.
+ */
+final class NodeId {
+
+	/**
+	 * Returned by {@link #parse(String)} for a string that is not an id.
+	 */
+	static final long NOT_AN_ID = Long.MIN_VALUE;
+
+	// The side of the square of coordinates whose ids are shared
+	private static final int SHARED_SIDE = 64;
+	private static final String[] SHARED_IDS = new String[SHARED_SIDE * SHARED_SIDE];
+
+	static {
+		for (int y = 0; y < SHARED_SIDE; y++) {
+			for (int x = 0; x < SHARED_SIDE; x++) {
+				SHARED_IDS[y * SHARED_SIDE + x] = Integer.toString(pack(x, y)).intern();
+			}
+		}
+	}
+
+	private NodeId() {
+	}
+
+	/*
+	 * 32-bit packed id:
+	 * 0000 0000 0000 0000 0000 0000 0000 0000
+	 * | Y goes here | X goes here |
+	 * Together they become some cryptic integer that does not tempt ppl to use
+	 * the id to infer coordinates.
+	 */
+	private static int pack(int x, int y) {
+		return x | (y << 16);
+	}
+
+	/**
+	 * Returns the id of the node with the given coordinates.
+	 *
+	 * @param x
+	 *            the x-coordinate of the node
+	 * @param y
+	 *            the y-coordinate of the node
+	 * @return the id
+	 */
+	static String of(int x, int y) {
+		if (x >= 0 && x < SHARED_SIDE && y >= 0 && y < SHARED_SIDE) {
+			return SHARED_IDS[y * SHARED_SIDE + x];
+		}
+		return Integer.toString(pack(x, y));
+	}
+
+	/**
+	 * Parses the integer that the given id was formatted from, without
+	 * throwing if the string is not an id.
+	 *
+	 * @param id
+	 *            the id
+	 * @return the packed id, or {@link #NOT_AN_ID}
+	 */
+	static long parse(String id) {
+		if (id == null) {
+			return NOT_AN_ID;
+		}
+		int length = id.length();
+		boolean negative = length > 0 && id.charAt(0) == '-';
+		int start = negative ? 1 : 0;
+		// Integer.toString gives at most 10 digits and no leading zeros
+		if (length == start || length - start > 10 || (id.charAt(start) == '0' && length - start > 1)) {
+			return NOT_AN_ID;
+		}
+		long value = 0;
+		for (int i = start; i < length; i++) {
+			char digit = id.charAt(i);
+			if (digit < '0' || digit > '9') {
+				return NOT_AN_ID;
+			}
+			value = value * 10 + (digit - '0');
+		}
+		value = negative ? -value : value;
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE || (negative && value == 0)) {
+			return NOT_AN_ID;
+		}
+		return value;
+	}
+
+	/**
+	 * @param packedId
+	 *            an id parsed by {@link #parse(String)}
+	 * @return the x-coordinate the id was made from, if it is decodable.
+	 */
+	static int getX(long packedId) {
+		return (int) packedId & 0xFFFF;
+	}
+
+	/**
+	 * @param packedId
+	 *            an id parsed by {@link #parse(String)}
+	 * @return the y-coordinate the id was made from, if it is decodable.
+	 */
+	static int getY(long packedId) {
+		return (int) packedId >> 16;
+	}
+}
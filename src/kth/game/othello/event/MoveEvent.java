@@ -0,0 +1,121 @@
+package kth.game.othello.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveDelta;
+
+/**
+ * A move made in a game: the player making it, the node played at, the nodes
+ * flipped by it and the number of nodes occupied by each player after it.
+ * Unlike the list of nodes given to the move observers, an event never
+ * changes and may be kept after the game has moved on.
+ */
+public final class MoveEvent {
+
+	private final String gameId;
+	private final String playerId;
+	private final Coordinates coordinates;
+	private final List<Coordinates> flips;
+	private final Map<String, Integer> discCounts;
+
+	/**
+	 * Creates a move event.
+	 *
+	 * @param gameId
+	 *            the id of the game of the move.
+	 * @param playerId
+	 *            the id of the player making the move.
+	 * @param coordinates
+	 *            the coordinates of the node played at.
+	 * @param flips
+	 *            the coordinates of the nodes flipped by the move.
+	 * @param discCounts
+	 *            the number of nodes occupied by each player after the move.
+	 */
+	public MoveEvent(String gameId, String playerId, Coordinates coordinates, List<Coordinates> flips,
+			Map<String, Integer> discCounts) {
+		this.gameId = gameId;
+		this.playerId = playerId;
+		this.coordinates = coordinates;
+		this.flips = Collections.unmodifiableList(new ArrayList<>(flips));
+		this.discCounts = Collections.unmodifiableMap(discCounts);
+	}
+
+	/**
+	 * Creates the event of the last move of the given game state.
+	 *
+	 * @param gameId
+	 *            the id of the game of the move.
+	 * @param gameState
+	 *            the state of the game after the move.
+	 * @return the event of the move.
+	 * @throws IllegalArgumentException
+	 *             if no move was made to reach the game state.
+	 */
+	public static MoveEvent of(String gameId, GameState gameState) {
+		MoveDelta move = gameState.getLastMove().orElseThrow(
+				() -> new IllegalArgumentException("No move was made to reach the game state"));
+		List<Coordinates> flips = new ArrayList<>(move.getChangedCoordinates());
+		flips.remove(move.getCoordinates());
+		return new MoveEvent(gameId, move.getPlayerId(), move.getCoordinates(), flips, gameState.getBoard()
+				.getDiscCounts());
+	}
+
+	/**
+	 * @return the id of the game of the move.
+	 */
+	public String getGameId() {
+		return gameId;
+	}
+
+	/**
+	 * @return the id of the player making the move.
+	 */
+	public String getPlayerId() {
+		return playerId;
+	}
+
+	/**
+	 * @return the coordinates of the node played at.
+	 */
+	public Coordinates getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * @return the coordinates of the nodes flipped by the move, not including
+	 *         the node played at.
+	 */
+	public List<Coordinates> getFlips() {
+		return flips;
+	}
+
+	/**
+	 * Returns the number of nodes occupied by the given player after the move.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the number of nodes occupied by the player.
+	 */
+	public int getDiscCount(String playerId) {
+		return discCounts.getOrDefault(playerId, 0);
+	}
+
+	/**
+	 * @return the number of nodes occupied by each player after the move.
+	 */
+	public Map<String, Integer> getDiscCounts() {
+		return discCounts;
+	}
+
+	@Override
+	public String toString() {
+		return "MoveEvent [gameId=" + gameId + ", playerId=" + playerId + ", coordinates=(" + coordinates.getX()
+				+ "," + coordinates.getY() + "), flips=" + flips.size() + ", discCounts=" + discCounts + "]";
+	}
+}
@@ -0,0 +1,19 @@
+package kth.game.othello.event;
+
+/**
+ * A publisher of the moves of one or more games, shaped like a reactive
+ * streams publisher. Every subscriber decides itself how many events it is
+ * ready to receive, and a subscriber that does not keep up misses events
+ * instead of making the publisher buffer them without bounds.
+ */
+public interface MovePublisher {
+
+	/**
+	 * Adds a subscriber. The subscriber is first given its subscription, and
+	 * receives the moves made after that when it requests them.
+	 *
+	 * @param subscriber
+	 *            the subscriber.
+	 */
+	public void subscribe(MoveSubscriber subscriber);
+}
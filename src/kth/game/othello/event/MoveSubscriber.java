@@ -0,0 +1,38 @@
+package kth.game.othello.event;
+
+/**
+ * A receiver of move events from a {@link MovePublisher}. The methods of one
+ * subscriber are called one at a time, in the order below.
+ */
+public interface MoveSubscriber {
+
+	/**
+	 * Called once when the subscriber has been added. No events are received
+	 * until they are requested from the subscription.
+	 *
+	 * @param subscription
+	 *            the subscription of the subscriber.
+	 */
+	public void onSubscribe(MoveSubscription subscription);
+
+	/**
+	 * Called with the next event, at most as many times as requested.
+	 *
+	 * @param moveEvent
+	 *            the event.
+	 */
+	public void onNext(MoveEvent moveEvent);
+
+	/**
+	 * Called if the subscription failed. No more events are received.
+	 *
+	 * @param throwable
+	 *            the failure.
+	 */
+	public void onError(Throwable throwable);
+
+	/**
+	 * Called when the publisher is closed and every event has been received.
+	 */
+	public void onComplete();
+}
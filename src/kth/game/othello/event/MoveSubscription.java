@@ -0,0 +1,21 @@
+package kth.game.othello.event;
+
+/**
+ * The link between a {@link MovePublisher} and one of its subscribers.
+ */
+public interface MoveSubscription {
+
+	/**
+	 * Requests that the given number of events more may be sent to the
+	 * subscriber.
+	 *
+	 * @param n
+	 *            the number of events, which must be positive.
+	 */
+	public void request(long n);
+
+	/**
+	 * Stops sending events to the subscriber.
+	 */
+	public void cancel();
+}
@@ -0,0 +1,266 @@
+package kth.game.othello.event;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MovePublisher} to which the moves are submitted as they are made.
+ * Every subscriber has a buffer of its own, bounded by the given capacity,
+ * from which the events it has requested are sent to it on the given
+ * executor. Submitting never waits for a subscriber: when the buffer of a
+ * subscriber is full the event is dropped for that subscriber only.
+ */
+public class SubmissionMovePublisher implements MovePublisher {
+
+	/**
+	 * The default capacity of the buffer of each subscriber.
+	 */
+	public static final int DEFAULT_BUFFER_CAPACITY = 256;
+
+	/*
+	 * The subscription of one subscriber, with the events waiting to be sent
+	 * to it.
+	 */
+	private final class BufferedSubscription implements MoveSubscription {
+		private final MoveSubscriber subscriber;
+		private final Queue<MoveEvent> buffer = new ArrayDeque<>();
+		private long demand = 0;
+		private boolean subscribed = false;
+		private boolean closing = false;
+		private boolean done = false;
+		private Throwable error;
+		private boolean scheduled = false;
+
+		private BufferedSubscription(MoveSubscriber subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			synchronized (this) {
+				if (done) {
+					return;
+				}
+				if (n <= 0) {
+					error = new IllegalArgumentException("The number of requested events must be positive: " + n);
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (this) {
+				done = true;
+				buffer.clear();
+			}
+			subscriptions.remove(this);
+		}
+
+		private void offer(MoveEvent moveEvent) {
+			synchronized (this) {
+				if (done || closing) {
+					return;
+				}
+				if (buffer.size() >= bufferCapacity) {
+					droppedEvents.incrementAndGet();
+					return;
+				}
+				buffer.add(moveEvent);
+			}
+			schedule();
+		}
+
+		private void close() {
+			synchronized (this) {
+				closing = true;
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			synchronized (this) {
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
+			executor.execute(this::drain);
+		}
+
+		/*
+		 * Sends the subscriber what it is waiting for, one call at a time.
+		 */
+		private void drain() {
+			while (true) {
+				MoveEvent moveEvent = null;
+				Throwable failure = null;
+				boolean subscribe = false;
+				boolean complete = false;
+				synchronized (this) {
+					if (!subscribed) {
+						subscribed = true;
+						subscribe = true;
+					} else if (done) {
+						scheduled = false;
+						return;
+					} else if (error != null) {
+						failure = error;
+					} else if (demand > 0 && !buffer.isEmpty()) {
+						moveEvent = buffer.poll();
+						demand--;
+					} else if (closing && buffer.isEmpty()) {
+						complete = true;
+					} else {
+						scheduled = false;
+						return;
+					}
+				}
+				if (subscribe) {
+					subscriber.onSubscribe(this);
+				} else if (failure != null) {
+					cancel();
+					subscriber.onError(failure);
+				} else if (complete) {
+					cancel();
+					subscriber.onComplete();
+				} else {
+					try {
+						subscriber.onNext(moveEvent);
+					} catch (RuntimeException e) {
+						cancel();
+						subscriber.onError(e);
+					}
+				}
+			}
+		}
+	}
+
+	private final Executor executor;
+	private final int bufferCapacity;
+	private final List<BufferedSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final AtomicLong droppedEvents = new AtomicLong();
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a publisher that sends the events on the common fork join pool,
+	 * with buffers of the default capacity.
+	 */
+	public SubmissionMovePublisher() {
+		this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_CAPACITY);
+	}
+
+	/**
+	 * Creates a publisher.
+	 *
+	 * @param executor
+	 *            the executor on which the events are sent to the subscribers.
+	 * @param bufferCapacity
+	 *            the number of events that may wait to be sent to each
+	 *            subscriber.
+	 */
+	public SubmissionMovePublisher(Executor executor, int bufferCapacity) {
+		if (bufferCapacity < 1) {
+			throw new IllegalArgumentException("The capacity of the buffers must be positive: " + bufferCapacity);
+		}
+		this.executor = executor;
+		this.bufferCapacity = bufferCapacity;
+	}
+
+	/**
+	 * Adds a subscriber. A subscriber added after the publisher was closed
+	 * completes at once.
+	 *
+	 * @param subscriber
+	 *            the subscriber.
+	 */
+	@Override
+	public void subscribe(MoveSubscriber subscriber) {
+		BufferedSubscription subscription = new BufferedSubscription(subscriber);
+		subscriptions.add(subscription);
+		if (closed) {
+			subscriptions.remove(subscription);
+			subscription.close();
+		} else {
+			subscription.schedule();
+		}
+	}
+
+	/**
+	 * Stops sending new events to the given subscriber, without closing the
+	 * publisher for the other subscribers. The subscriber is completed after
+	 * it has received the events already submitted, unless it has already
+	 * been completed or failed.
+	 *
+	 * @param subscriber
+	 *            the subscriber.
+	 */
+	public void unsubscribe(MoveSubscriber subscriber) {
+		for (BufferedSubscription subscription : subscriptions) {
+			if (subscription.subscriber == subscriber && subscriptions.remove(subscription)) {
+				subscription.close();
+			}
+		}
+	}
+
+	/**
+	 * Determines if anyone subscribes to the events, so that the events do not
+	 * have to be made when no one does.
+	 *
+	 * @return true if the publisher has at least one subscriber.
+	 */
+	public boolean hasSubscribers() {
+		return !subscriptions.isEmpty();
+	}
+
+	/**
+	 * Sends the given event to every subscriber, without waiting for any of
+	 * them.
+	 *
+	 * @param moveEvent
+	 *            the event.
+	 * @throws IllegalStateException
+	 *             if the publisher is closed.
+	 */
+	public void submit(MoveEvent moveEvent) {
+		if (closed) {
+			throw new IllegalStateException("The publisher is closed");
+		}
+		for (BufferedSubscription subscription : subscriptions) {
+			subscription.offer(moveEvent);
+		}
+	}
+
+	/**
+	 * Closes the publisher. Every subscriber is completed after it has
+	 * received the events already submitted.
+	 */
+	public void close() {
+		closed = true;
+		for (BufferedSubscription subscription : subscriptions) {
+			subscription.close();
+		}
+	}
+
+	/**
+	 * @return true if the publisher is closed.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * @return the number of times an event was dropped since the buffer of a
+	 *         subscriber was full.
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+}
@@ -0,0 +1,244 @@
+package kth.game.othello.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.model.ImmutableBoard.Direction;
+
+/**
+ * The shape of a board, compiled once into a dense index space. Every node of
+ * the board gets an index, ordered by y- and then x-coordinate, and the index
+ * of the next node in each direction is looked up in a precomputed neighbour
+ * table. All boards that are derived from each other share the same shape.
+ *
+ * The shape also defines the random keys used for Zobrist hashing of boards
+ * with the shape. The keys are derived from a seed computed from the
+ * coordinates of the shape, so equal shapes always get the same keys.
+ */
+final class BoardShape {
+
+	/**
+	 * The neighbour index used when there is no node in a direction.
+	 */
+	static final int NO_NODE = -1;
+
+	private final Coordinates[] coordinates;
+	private final int[][] neighbours;
+	private final int minX;
+	private final int minY;
+	private final int width;
+	private final int height;
+	private final int[] grid;
+	private final long zobristSeed;
+
+	/**
+	 * Compiles the shape consisting of the given coordinates.
+	 *
+	 * @param nodeCoordinates
+	 *            the coordinates of all nodes of the board.
+	 */
+	BoardShape(Collection<Coordinates> nodeCoordinates) {
+		List<Coordinates> sortedCoordinates = new ArrayList<>(nodeCoordinates);
+		sortedCoordinates.sort((c1, c2) -> c1.getY() != c2.getY() ? Integer.compare(c1.getY(), c2.getY()) : Integer
+				.compare(c1.getX(), c2.getX()));
+		this.coordinates = sortedCoordinates.toArray(new Coordinates[sortedCoordinates.size()]);
+
+		int minX = 0;
+		int maxX = -1;
+		int minY = 0;
+		int maxY = -1;
+		if (coordinates.length > 0) {
+			minX = minY = Integer.MAX_VALUE;
+			maxX = maxY = Integer.MIN_VALUE;
+		}
+		for (Coordinates c : coordinates) {
+			minX = Math.min(minX, c.getX());
+			maxX = Math.max(maxX, c.getX());
+			minY = Math.min(minY, c.getY());
+			maxY = Math.max(maxY, c.getY());
+		}
+		this.minX = minX;
+		this.minY = minY;
+		this.width = maxX - minX + 1;
+		this.height = maxY - minY + 1;
+
+		this.grid = new int[width * height];
+		Arrays.fill(grid, NO_NODE);
+		for (int index = 0; index < coordinates.length; index++) {
+			grid[toGridIndex(coordinates[index].getX(), coordinates[index].getY())] = index;
+		}
+
+		long seed = 0x9E3779B97F4A7C15L;
+		for (Coordinates c : coordinates) {
+			seed = mix(seed ^ (((long) c.getX() << 32) | (c.getY() & 0xFFFFFFFFL)));
+		}
+		this.zobristSeed = seed;
+
+		Direction[] directions = Direction.values();
+		this.neighbours = new int[directions.length][coordinates.length];
+		for (Direction direction : directions) {
+			int[] neighboursInDirection = neighbours[direction.ordinal()];
+			for (int index = 0; index < coordinates.length; index++) {
+				neighboursInDirection[index] = getIndex(coordinates[index].getX() + getDeltaX(direction),
+						coordinates[index].getY() + getDeltaY(direction));
+			}
+		}
+	}
+
+	private int toGridIndex(int x, int y) {
+		return (y - minY) * width + (x - minX);
+	}
+
+	/**
+	 * Returns the number of nodes of the shape.
+	 */
+	int size() {
+		return coordinates.length;
+	}
+
+	/**
+	 * Returns the index of the node with the given coordinates, or
+	 * {@link #NO_NODE} if the shape has no such node.
+	 */
+	int getIndex(int x, int y) {
+		if (x < minX || x >= minX + width || y < minY || y >= minY + height) {
+			return NO_NODE;
+		}
+		return grid[toGridIndex(x, y)];
+	}
+
+	/**
+	 * Returns the index of the node with the given coordinates, or
+	 * {@link #NO_NODE} if the shape has no such node.
+	 */
+	int getIndex(Coordinates nodeCoordinates) {
+		return getIndex(nodeCoordinates.getX(), nodeCoordinates.getY());
+	}
+
+	/**
+	 * Returns the coordinates of the node with the given index.
+	 */
+	Coordinates getCoordinates(int index) {
+		return coordinates[index];
+	}
+
+	/**
+	 * Returns the index of the next node in the given direction relative to the
+	 * node with the given index, or {@link #NO_NODE} if there is no such node.
+	 */
+	int getNeighbour(int index, Direction direction) {
+		return neighbours[direction.ordinal()][index];
+	}
+
+	/**
+	 * Returns the neighbour table of the given direction, where the element at
+	 * each index is the index of the next node in that direction. The returned
+	 * array must not be modified.
+	 */
+	int[] getNeighbours(Direction direction) {
+		return neighbours[direction.ordinal()];
+	}
+
+	/**
+	 * Returns the smallest x-coordinate of the shape.
+	 */
+	int getMinX() {
+		return minX;
+	}
+
+	/**
+	 * Returns the smallest y-coordinate of the shape.
+	 */
+	int getMinY() {
+		return minY;
+	}
+
+	/**
+	 * Returns the width of the bounding box of the shape.
+	 */
+	int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the bounding box of the shape.
+	 */
+	int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns true if the shape is the traditional 8x8 board with coordinates
+	 * ranging from 0 to 7. The index of a node is then y * 8 + x.
+	 */
+	boolean isTraditionalSquare() {
+		return coordinates.length == 64 && minX == 0 && minY == 0 && width == 8 && height == 8;
+	}
+
+	/**
+	 * Returns the Zobrist key of the node with the given index when it is
+	 * occupied by the given player.
+	 */
+	long getZobristKey(String playerId, int index) {
+		return mix(getPlayerSeed(playerId) + index + 1);
+	}
+
+	/**
+	 * Returns the Zobrist key of the given player being in turn.
+	 */
+	long getSideToMoveKey(String playerId) {
+		return mix(getPlayerSeed(playerId));
+	}
+
+	private long getPlayerSeed(String playerId) {
+		long seed = zobristSeed;
+		for (int i = 0; i < playerId.length(); i++) {
+			seed = mix(seed ^ playerId.charAt(i));
+		}
+		return mix(seed ^ playerId.length());
+	}
+
+	/*
+	 * The finalizer of the SplitMix64 generator, which spreads every bit of
+	 * the input over the whole output.
+	 */
+	private static long mix(long z) {
+		z += 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	static int getDeltaX(Direction direction) {
+		switch (direction) {
+		case NORTHEAST:
+		case EAST:
+		case SOUTHEAST:
+			return 1;
+		case SOUTHWEST:
+		case WEST:
+		case NORTHWEST:
+			return -1;
+		default:
+			return 0;
+		}
+	}
+
+	static int getDeltaY(Direction direction) {
+		switch (direction) {
+		case NORTHWEST:
+		case NORTH:
+		case NORTHEAST:
+			return -1;
+		case SOUTHEAST:
+		case SOUTH:
+		case SOUTHWEST:
+			return 1;
+		default:
+			return 0;
+		}
+	}
+}
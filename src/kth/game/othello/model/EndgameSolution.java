@@ -0,0 +1,98 @@
+package kth.game.othello.model;
+
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * The result of solving a game state to the end of the game with an
+ * {@link EndgameSolver}: a best move of the player in turn, the final disc
+ * difference it leads to, and how many game states were visited and how long
+ * it took to prove it.
+ */
+public final class EndgameSolution {
+
+	private final Coordinates bestMove;
+	private final int discDifference;
+	private final int emptyNodes;
+	private final long nodes;
+	private final long elapsedNanos;
+
+	/**
+	 * Creates the solution of a game state.
+	 *
+	 * @param bestMove
+	 *            the coordinates of a best move of the player in turn.
+	 * @param discDifference
+	 *            the final disc difference of the player in turn.
+	 * @param emptyNodes
+	 *            the number of empty nodes of the solved game state.
+	 * @param nodes
+	 *            the number of game states that were visited.
+	 * @param elapsedNanos
+	 *            the time the solving took, in nanoseconds.
+	 */
+	EndgameSolution(Coordinates bestMove, int discDifference, int emptyNodes, long nodes, long elapsedNanos) {
+		this.bestMove = bestMove;
+		this.discDifference = discDifference;
+		this.emptyNodes = emptyNodes;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * @return the coordinates of a move of the player in turn that leads to
+	 *         the final disc difference of the solution.
+	 */
+	public Coordinates getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return the number of discs of the player in turn minus the number of
+	 *         discs of the other players at the end of the game, when every
+	 *         player makes its best moves.
+	 */
+	public int getDiscDifference() {
+		return discDifference;
+	}
+
+	/**
+	 * @return the number of empty nodes of the solved game state.
+	 */
+	public int getEmptyNodes() {
+		return emptyNodes;
+	}
+
+	/**
+	 * @return the number of game states that were visited.
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the time the solving took.
+	 *
+	 * @param unit
+	 *            the unit of the returned time.
+	 * @return the time the solving took, in the given unit.
+	 */
+	public long getElapsedTime(TimeUnit unit) {
+		return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the number of game states visited per second.
+	 */
+	public long getNodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "EndgameSolution [bestMove=" + bestMove + ", discDifference=" + discDifference + ", emptyNodes="
+				+ emptyNodes + ", nodes=" + nodes + ", elapsedMillis=" + getElapsedTime(TimeUnit.MILLISECONDS)
+				+ ", nodesPerSecond=" + getNodesPerSecond() + "]";
+	}
+}
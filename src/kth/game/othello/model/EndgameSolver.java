@@ -0,0 +1,722 @@
+package kth.game.othello.model;
+
+import java.util.OptionalLong;
+
+import kth.game.othello.model.ImmutableBoard.Direction;
+
+/**
+ * Solves game states near the end of a game exactly: it searches every move to
+ * the end of the game with alpha-beta search and proves the final disc
+ * difference of the player in turn, which is the number of discs of the
+ * player minus the number of discs of the other players. With more than two
+ * players the other players are assumed to play together against the player
+ * in turn.
+ *
+ * The search is made on a board of arrays that is changed in place and
+ * changed back, so after a solver has grown to the size of a board it
+ * allocates nothing while it searches. Far from the end the moves are tried in
+ * the order of how few moves they leave to the next player. Near the end they
+ * are tried first in the regions of the board with an odd number of empty
+ * nodes, which lets the player in turn make the last move of the region, and
+ * the last empty node is solved by counting its flips without making the
+ * move.
+ *
+ * A game of two players on the traditional board is instead solved on the
+ * bits of the discs of the two players, with the moves and flips of the
+ * bitboard rules. Far from the end the results are kept in a table, whose best
+ * move is tried first, and the moves after it are first searched with a null
+ * window.
+ *
+ * A solver must only be used by one thread at a time.
+ */
+public final class EndgameSolver {
+
+	/**
+	 * The largest number of empty nodes solved unless another is given. On a
+	 * single core the traditional board is solved in at most about 100
+	 * milliseconds with 14 empty nodes, the default time budget of a move of
+	 * the strategies, but with 20 empty nodes it takes 1 to 10 seconds, and
+	 * each empty node more makes solving about twice as slow.
+	 */
+	public static final int DEFAULT_MAX_EMPTIES = 14;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+	// Moves are ordered by the moves they leave when more empty nodes than
+	// this are left, and only by the parity of their regions otherwise
+	private static final int FASTEST_FIRST_EMPTIES = 6;
+	private static final int INFINITY = Integer.MAX_VALUE;
+	// The results of the search on the bits of the traditional board are kept
+	// for boards with at least this many empty nodes, in a table of 2 to the
+	// power of SQUARE_TABLE_BITS entries
+	private static final int SQUARE_TABLE_EMPTIES = 7;
+	private static final int SQUARE_TABLE_BITS = 18;
+	// The data of an entry, from the lowest bits: the disc difference plus
+	// 64, the bound, and the bit number of the best move plus 1
+	private static final int EXACT = 1;
+	private static final int LOWER_BOUND = 2;
+	private static final int UPPER_BOUND = 3;
+	private static final int BOUND_SHIFT = 8;
+	private static final int MOVE_SHIFT = 10;
+	private static final int NO_MOVE = -1;
+	// The corners of the traditional board, which count as two moves when
+	// the moves are ordered, since they can never be taken back
+	private static final long SQUARE_CORNERS = 0x8100000000000081L;
+	// The four quarters of the traditional board, by bit number
+	private static final long[] SQUARE_REGIONS = { 0x0F0F0F0FL, 0xF0F0F0F0L, 0x0F0F0F0F00000000L,
+			0xF0F0F0F000000000L };
+
+	private final int maxEmpties;
+	private final int[][] neighbours = new int[DIRECTIONS.length][];
+	private byte[] occupants = new byte[0];
+	// The region of each node, one of four quarters of the board
+	private byte[] regions = new byte[0];
+	// The empty nodes as a linked list, which starts and ends at the node
+	// after the last node of the board
+	private int[] nextEmpty = new int[0];
+	private int[] previousEmpty = new int[0];
+	private int head;
+	private int numberOfEmpties;
+	// A bit for each region with an odd number of empty nodes
+	private int regionParity;
+	private int[] discCounts = new int[1];
+	private int numberOfPlayers;
+	private int solvingPlayer;
+	// The flipped nodes of the moves made, with their occupants before
+	private int[] flipped = new int[0];
+	private byte[] flippedOccupants = new byte[0];
+	private int numberOfFlipped;
+	// The ordered moves and their scores, by the number of empty nodes
+	private int[][] orderedMoves = new int[0][];
+	private int[][] moveScores = new int[0][];
+	private long nodes;
+	// The keys of the boards in the table and the data of their results. A
+	// result is exact whatever the search it was found by, so the table is
+	// kept between solutions. It is made by the first search that needs it.
+	private long[] squareKeys;
+	private int[] squareData;
+
+	/**
+	 * Creates a solver of game states with at most the default number of
+	 * empty nodes.
+	 */
+	public EndgameSolver() {
+		this(DEFAULT_MAX_EMPTIES);
+	}
+
+	/**
+	 * Creates a solver of game states with at most the given number of empty
+	 * nodes. Each empty node more makes solving a few times slower.
+	 *
+	 * @param maxEmpties
+	 *            the largest number of empty nodes of a game state to solve.
+	 */
+	public EndgameSolver(int maxEmpties) {
+		if (maxEmpties < 0) {
+			throw new IllegalArgumentException("The number of empty nodes must not be negative");
+		}
+		this.maxEmpties = maxEmpties;
+	}
+
+	/**
+	 * @return the largest number of empty nodes of a game state to solve.
+	 */
+	public int getMaxEmpties() {
+		return maxEmpties;
+	}
+
+	/**
+	 * Returns true if the given game state is not over and has few enough
+	 * empty nodes to be solved.
+	 *
+	 * @param state
+	 *            the game state to solve.
+	 * @return true if the game state may be solved.
+	 */
+	public boolean canSolve(GameState state) {
+		if (state.isGameOver()) {
+			return false;
+		}
+		ImmutableBoard board = state.getBoard();
+		int empties = board.getShape().size();
+		for (int discs : board.getDiscCounts().values()) {
+			empties -= discs;
+		}
+		return empties <= maxEmpties;
+	}
+
+	/**
+	 * Returns the solution of the given game state: a best move of the player
+	 * in turn and the final disc difference of the player when every player
+	 * makes its best moves.
+	 *
+	 * @param state
+	 *            the game state to solve.
+	 * @return the solution of the game state.
+	 * @throws IllegalArgumentException
+	 *             if the game is over or has too many empty nodes.
+	 */
+	public EndgameSolution solve(GameState state) throws IllegalArgumentException {
+		if (!canSolve(state)) {
+			throw new IllegalArgumentException("The game is over or has more than " + maxEmpties + " empty nodes");
+		}
+		long startTime = System.nanoTime();
+		reset(state);
+		nodes = 1;
+		OptionalLong own = state.getBoard().getSquareDiscs(state.getPlayerInTurn().get());
+		if (own.isPresent() && numberOfPlayers <= 2) {
+			return solveSquare(state, own.getAsLong(), startTime);
+		}
+		int count = orderMoves(solvingPlayer);
+		int[] moves = orderedMoves[numberOfEmpties];
+		int bestMove = moves[0];
+		int alpha = -INFINITY;
+		for (int move = 0; move < count; move++) {
+			int index = moves[move];
+			int mark = numberOfFlipped;
+			play(index, solvingPlayer);
+			int value = search(getNextPlayer(solvingPlayer), alpha, INFINITY, 0);
+			undo(index, solvingPlayer, mark);
+			if (value > alpha) {
+				alpha = value;
+				bestMove = index;
+			}
+		}
+		BoardShape shape = state.getBoard().getShape();
+		return new EndgameSolution(shape.getCoordinates(bestMove), alpha, numberOfEmpties, nodes, System.nanoTime()
+				- startTime);
+	}
+
+	/*
+	 * Solves the given game state of two players on the traditional board on
+	 * the bits of the discs of the players, where the player in turn has the
+	 * given own discs.
+	 */
+	private EndgameSolution solveSquare(GameState state, long own, long startTime) {
+		long opponents = ~own & ~getSquareEmpties(state.getBoard());
+		int count = orderSquareMoves(own, opponents, SquareBitboardRules.getMoves(own, opponents), numberOfEmpties,
+				NO_MOVE);
+		int[] moves = orderedMoves[numberOfEmpties];
+		int bestMove = moves[0];
+		int alpha = -INFINITY;
+		for (int move = 0; move < count; move++) {
+			long moveBit = 1L << moves[move];
+			long flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+			long nextOwn = opponents & ~flips;
+			long nextOpponents = own | moveBit | flips;
+			int value;
+			if (move == 0) {
+				value = -searchSquare(nextOwn, nextOpponents, -INFINITY, INFINITY);
+			} else {
+				// Only searched again if it is better than the best move
+				value = -searchSquare(nextOwn, nextOpponents, -alpha - 1, -alpha);
+				if (value > alpha) {
+					value = -searchSquare(nextOwn, nextOpponents, -INFINITY, -alpha);
+				}
+			}
+			if (value > alpha) {
+				alpha = value;
+				bestMove = moves[move];
+			}
+		}
+		BoardShape shape = state.getBoard().getShape();
+		return new EndgameSolution(shape.getCoordinates(bestMove), alpha, numberOfEmpties, nodes, System.nanoTime()
+				- startTime);
+	}
+
+	private static long getSquareEmpties(ImmutableBoard board) {
+		long empties = 0L;
+		for (int index = 0; index < board.getShape().size(); index++) {
+			if (board.getOccupant(index) == PlayerTable.EMPTY) {
+				// The index of a node on the traditional board equals its bit
+				// number
+				empties |= 1L << index;
+			}
+		}
+		return empties;
+	}
+
+	/*
+	 * Like search, on the bits of the traditional board in a game of two
+	 * players: returns the final disc difference of the player with the given
+	 * own discs, who is in turn unless the player has no valid move. The
+	 * difference is exact if it is between alpha and beta, and otherwise a
+	 * bound beyond them.
+	 */
+	private int searchSquare(long own, long opponents, int alpha, int beta) {
+		long empty = ~(own | opponents);
+		int empties = Long.bitCount(empty);
+		if (empties == 0) {
+			return Long.bitCount(own) - Long.bitCount(opponents);
+		}
+		if (empties == 1) {
+			return solveLastSquareEmpty(own, opponents, empty);
+		}
+		nodes++;
+		long validMoves = SquareBitboardRules.getMoves(own, opponents);
+		if (validMoves == 0) {
+			if (SquareBitboardRules.getMoves(opponents, own) == 0) {
+				return Long.bitCount(own) - Long.bitCount(opponents);
+			}
+			return -searchSquare(opponents, own, -beta, -alpha);
+		}
+		if (empties > FASTEST_FIRST_EMPTIES) {
+			return searchOrderedSquare(own, opponents, validMoves, empties, alpha, beta);
+		}
+		int best = -INFINITY;
+		// The moves in regions with an odd number of empty nodes first
+		for (int parity = 1; parity >= 0; parity--) {
+			for (long region : SQUARE_REGIONS) {
+				if ((Long.bitCount(empty & region) & 1) != parity) {
+					continue;
+				}
+				long regionMoves = validMoves & region;
+				while (regionMoves != 0) {
+					long moveBit = regionMoves & -regionMoves;
+					regionMoves ^= moveBit;
+					long flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+					int value = -searchSquare(opponents & ~flips, own | moveBit | flips, -beta, -alpha);
+					if (value > best) {
+						best = value;
+						alpha = Math.max(alpha, best);
+						if (alpha >= beta) {
+							return best;
+						}
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * Searches the given valid moves of the player with the given own discs
+	 * in the order of orderSquareMoves, the best move of an earlier search of
+	 * the board first. Each move after the first is only searched to show
+	 * that it is not better than alpha, and searched again if it is. Boards
+	 * with many empty nodes have their results kept in the table.
+	 */
+	private int searchOrderedSquare(long own, long opponents, long validMoves, int empties, int alpha, int beta) {
+		long key = 0L;
+		int slot = 0;
+		int tableMove = NO_MOVE;
+		if (empties >= SQUARE_TABLE_EMPTIES) {
+			if (squareKeys == null) {
+				squareKeys = new long[1 << SQUARE_TABLE_BITS];
+				squareData = new int[1 << SQUARE_TABLE_BITS];
+			}
+			key = SquareBitboardRules.getKey(own, opponents);
+			slot = (int) (key >>> (64 - SQUARE_TABLE_BITS));
+			int data = squareData[slot];
+			if (data != 0 && squareKeys[slot] == key) {
+				int value = (data & 0xFF) - 64;
+				int bound = data >>> BOUND_SHIFT & 0x3;
+				if (bound == EXACT || (bound == LOWER_BOUND && value >= beta) || (bound == UPPER_BOUND && value <= alpha)) {
+					return value;
+				}
+				tableMove = (data >>> MOVE_SHIFT) - 1;
+			}
+		}
+		int originalAlpha = alpha;
+		int count = orderSquareMoves(own, opponents, validMoves, empties, tableMove);
+		int[] moves = orderedMoves[empties];
+		int best = -INFINITY;
+		int bestMove = NO_MOVE;
+		for (int move = 0; move < count; move++) {
+			long moveBit = 1L << moves[move];
+			long flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+			long nextOwn = opponents & ~flips;
+			long nextOpponents = own | moveBit | flips;
+			int value;
+			if (move == 0) {
+				value = -searchSquare(nextOwn, nextOpponents, -beta, -alpha);
+			} else {
+				value = -searchSquare(nextOwn, nextOpponents, -alpha - 1, -alpha);
+				if (value > alpha && value < beta) {
+					value = -searchSquare(nextOwn, nextOpponents, -beta, -alpha);
+				}
+			}
+			if (value > best) {
+				best = value;
+				bestMove = moves[move];
+				alpha = Math.max(alpha, best);
+				if (alpha >= beta) {
+					break;
+				}
+			}
+		}
+		if (empties >= SQUARE_TABLE_EMPTIES) {
+			int bound = EXACT;
+			if (best <= originalAlpha) {
+				bound = UPPER_BOUND;
+			} else if (best >= beta) {
+				bound = LOWER_BOUND;
+			}
+			squareKeys[slot] = key;
+			squareData[slot] = (best + 64) | bound << BOUND_SHIFT | (bestMove + 1) << MOVE_SHIFT;
+		}
+		return best;
+	}
+
+	/*
+	 * Like solveLastEmpty, on the bits of the traditional board: returns the
+	 * final disc difference of the player with the given own discs, who is in
+	 * turn, when only the given empty node is left.
+	 */
+	private int solveLastSquareEmpty(long own, long opponents, long empty) {
+		nodes++;
+		int difference = Long.bitCount(own) - Long.bitCount(opponents);
+		long flips = SquareBitboardRules.getFlips(empty, own, opponents);
+		if (flips != 0) {
+			return difference + 2 * Long.bitCount(flips) + 1;
+		}
+		flips = SquareBitboardRules.getFlips(empty, opponents, own);
+		if (flips != 0) {
+			return difference - 2 * Long.bitCount(flips) - 1;
+		}
+		return difference;
+	}
+
+	/*
+	 * Like orderMoves, on the bits of the traditional board: puts the given
+	 * valid moves of the player with the given own discs in the row of the
+	 * ordered moves of the given number of empty nodes, by bit number, the
+	 * given move first and then the moves leaving the fewest moves to the
+	 * other player, and returns how many there are.
+	 */
+	private int orderSquareMoves(long own, long opponents, long validMoves, int empties, int firstMove) {
+		int[] moves = orderedMoves[empties];
+		int[] scores = moveScores[empties];
+		long empty = ~(own | opponents);
+		int count = 0;
+		while (validMoves != 0) {
+			int bitNumber = Long.numberOfTrailingZeros(validMoves);
+			long moveBit = 1L << bitNumber;
+			validMoves ^= moveBit;
+			long flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+			long nextMoves = SquareBitboardRules.getMoves(opponents & ~flips, own | moveBit | flips);
+			int score = 2 * (Long.bitCount(nextMoves) + Long.bitCount(nextMoves & SQUARE_CORNERS));
+			for (long region : SQUARE_REGIONS) {
+				if ((region & moveBit) != 0 && (Long.bitCount(empty & region) & 1) == 1) {
+					// A move in a region with an odd number of empty nodes
+					// wins ties
+					score--;
+				}
+			}
+			if (bitNumber == firstMove) {
+				score = Integer.MIN_VALUE;
+			}
+			int position = count++;
+			while (position > 0 && scores[position - 1] > score) {
+				moves[position] = moves[position - 1];
+				scores[position] = scores[position - 1];
+				position--;
+			}
+			moves[position] = bitNumber;
+			scores[position] = score;
+		}
+		return count;
+	}
+
+	/*
+	 * Sets the arrays of the solver to the board of the given game state.
+	 */
+	private void reset(GameState state) {
+		ImmutableBoard board = state.getBoard();
+		BoardShape shape = board.getShape();
+		PlayerTable players = board.getPlayerTable();
+		for (Direction direction : DIRECTIONS) {
+			neighbours[direction.ordinal()] = shape.getNeighbours(direction);
+		}
+		int size = shape.size();
+		if (occupants.length < size) {
+			occupants = new byte[size];
+			regions = new byte[size];
+			nextEmpty = new int[size + 1];
+			previousEmpty = new int[size + 1];
+		}
+		numberOfPlayers = players.getNumberOfPlayers();
+		if (discCounts.length <= numberOfPlayers) {
+			discCounts = new int[numberOfPlayers + 1];
+		}
+		for (int ordinal = 0; ordinal < discCounts.length; ordinal++) {
+			discCounts[ordinal] = 0;
+		}
+		head = size;
+		nextEmpty[head] = previousEmpty[head] = head;
+		numberOfEmpties = 0;
+		regionParity = 0;
+		for (int index = 0; index < size; index++) {
+			int ordinal = board.getOccupant(index);
+			occupants[index] = (byte) ordinal;
+			int x = shape.getCoordinates(index).getX() - shape.getMinX();
+			int y = shape.getCoordinates(index).getY() - shape.getMinY();
+			regions[index] = (byte) ((2 * x < shape.getWidth() ? 0 : 1) + (2 * y < shape.getHeight() ? 0 : 2));
+			if (ordinal == PlayerTable.EMPTY) {
+				insertEmpty(index, previousEmpty[head]);
+				regionParity ^= 1 << regions[index];
+				numberOfEmpties++;
+			} else {
+				discCounts[ordinal]++;
+			}
+		}
+		if (orderedMoves.length <= numberOfEmpties || flipped.length < size * (numberOfEmpties + 1)) {
+			orderedMoves = new int[numberOfEmpties + 1][numberOfEmpties];
+			moveScores = new int[numberOfEmpties + 1][numberOfEmpties];
+			flipped = new int[size * (numberOfEmpties + 1)];
+			flippedOccupants = new byte[flipped.length];
+		}
+		numberOfFlipped = 0;
+		solvingPlayer = players.getOrdinal(state.getPlayerInTurn().get());
+	}
+
+	/*
+	 * Returns the final disc difference of the solving player, when the given
+	 * player is in turn after the given number of players in a row could not
+	 * move. The difference is exact if it is between alpha and beta, and
+	 * otherwise a bound beyond them.
+	 */
+	private int search(int player, int alpha, int beta, int passes) {
+		if (numberOfEmpties == 0) {
+			return getDiscDifference();
+		}
+		if (numberOfEmpties == 1) {
+			return solveLastEmpty(player);
+		}
+		nodes++;
+		boolean isMaximizing = player == solvingPlayer;
+		int best = isMaximizing ? -INFINITY : INFINITY;
+		boolean hasMoved = false;
+		if (numberOfEmpties > FASTEST_FIRST_EMPTIES) {
+			int count = orderMoves(player);
+			int[] moves = orderedMoves[numberOfEmpties];
+			for (int move = 0; move < count; move++) {
+				int index = moves[move];
+				int mark = numberOfFlipped;
+				play(index, player);
+				int value = search(getNextPlayer(player), alpha, beta, 0);
+				undo(index, player, mark);
+				hasMoved = true;
+				if (isMaximizing ? value > best : value < best) {
+					best = value;
+					if (isMaximizing) {
+						alpha = Math.max(alpha, best);
+					} else {
+						beta = Math.min(beta, best);
+					}
+					if (alpha >= beta) {
+						return best;
+					}
+				}
+			}
+		} else {
+			// The moves in regions with an odd number of empty nodes first
+			for (int parity = 1; parity >= 0; parity--) {
+				for (int index = nextEmpty[head]; index != head; index = nextEmpty[index]) {
+					if ((regionParity >> regions[index] & 1) != parity) {
+						continue;
+					}
+					int mark = numberOfFlipped;
+					if (!play(index, player)) {
+						continue;
+					}
+					int value = search(getNextPlayer(player), alpha, beta, 0);
+					undo(index, player, mark);
+					hasMoved = true;
+					if (isMaximizing ? value > best : value < best) {
+						best = value;
+						if (isMaximizing) {
+							alpha = Math.max(alpha, best);
+						} else {
+							beta = Math.min(beta, best);
+						}
+						if (alpha >= beta) {
+							return best;
+						}
+					}
+				}
+			}
+		}
+		if (hasMoved) {
+			return best;
+		}
+		if (passes + 1 >= numberOfPlayers) {
+			// No player can move
+			return getDiscDifference();
+		}
+		return search(getNextPlayer(player), alpha, beta, passes + 1);
+	}
+
+	/*
+	 * Returns the final disc difference of the solving player when one empty
+	 * node is left and the given player is in turn, counting the flips of the
+	 * first player that can move there without making the move.
+	 */
+	private int solveLastEmpty(int player) {
+		nodes++;
+		int index = nextEmpty[head];
+		for (int i = 0; i < numberOfPlayers; i++) {
+			int mover = (player + i - 1) % numberOfPlayers + 1;
+			int flips = 0;
+			int solverFlips = 0;
+			for (int[] neighbour : neighbours) {
+				int lineFlips = 0;
+				int lineSolverFlips = 0;
+				int next = neighbour[index];
+				while (next != BoardShape.NO_NODE && occupants[next] != PlayerTable.EMPTY && occupants[next] != mover) {
+					lineFlips++;
+					if (occupants[next] == solvingPlayer) {
+						lineSolverFlips++;
+					}
+					next = neighbour[next];
+				}
+				if (next != BoardShape.NO_NODE && occupants[next] == mover) {
+					flips += lineFlips;
+					solverFlips += lineSolverFlips;
+				}
+			}
+			if (flips > 0) {
+				int difference = getDiscDifference();
+				return mover == solvingPlayer ? difference + 2 * flips + 1 : difference - 2 * solverFlips - 1;
+			}
+		}
+		return getDiscDifference();
+	}
+
+	/*
+	 * Puts the valid moves of the given player in the row of the ordered
+	 * moves of the current number of empty nodes, the moves leaving the
+	 * fewest moves to the next player first, and returns how many there are.
+	 */
+	private int orderMoves(int player) {
+		int[] moves = orderedMoves[numberOfEmpties];
+		int[] scores = moveScores[numberOfEmpties];
+		int count = 0;
+		for (int index = nextEmpty[head]; index != head; index = nextEmpty[index]) {
+			boolean isOddRegion = (regionParity >> regions[index] & 1) == 1;
+			int mark = numberOfFlipped;
+			if (!play(index, player)) {
+				continue;
+			}
+			// A move in a region with an odd number of empty nodes wins ties
+			int score = 2 * countMoves(getNextPlayer(player)) - (isOddRegion ? 1 : 0);
+			undo(index, player, mark);
+			int position = count++;
+			while (position > 0 && scores[position - 1] > score) {
+				moves[position] = moves[position - 1];
+				scores[position] = scores[position - 1];
+				position--;
+			}
+			moves[position] = index;
+			scores[position] = score;
+		}
+		return count;
+	}
+
+	private int countMoves(int player) {
+		if (discCounts[player] == 0) {
+			return 0;
+		}
+		int count = 0;
+		for (int index = nextEmpty[head]; index != head; index = nextEmpty[index]) {
+			if (isValidMove(index, player)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private boolean isValidMove(int index, int player) {
+		for (int[] neighbour : neighbours) {
+			int next = neighbour[index];
+			int length = 0;
+			while (next != BoardShape.NO_NODE && occupants[next] != PlayerTable.EMPTY && occupants[next] != player) {
+				next = neighbour[next];
+				length++;
+			}
+			if (length > 0 && next != BoardShape.NO_NODE && occupants[next] == player) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Makes the move of the given player at the given empty node if it is
+	 * valid, keeping the flipped nodes so the move can be undone, and returns
+	 * true if it was.
+	 */
+	private boolean play(int index, int player) {
+		int mark = numberOfFlipped;
+		for (int[] neighbour : neighbours) {
+			int next = neighbour[index];
+			while (next != BoardShape.NO_NODE && occupants[next] != PlayerTable.EMPTY && occupants[next] != player) {
+				next = neighbour[next];
+			}
+			if (next != BoardShape.NO_NODE && occupants[next] == player) {
+				for (int swapped = neighbour[index]; swapped != next; swapped = neighbour[swapped]) {
+					flipped[numberOfFlipped] = swapped;
+					flippedOccupants[numberOfFlipped++] = occupants[swapped];
+					discCounts[occupants[swapped]]--;
+					occupants[swapped] = (byte) player;
+				}
+			}
+		}
+		int flips = numberOfFlipped - mark;
+		if (flips == 0) {
+			return false;
+		}
+		occupants[index] = (byte) player;
+		discCounts[player] += flips + 1;
+		removeEmpty(index);
+		regionParity ^= 1 << regions[index];
+		numberOfEmpties--;
+		return true;
+	}
+
+	/*
+	 * Undoes the latest move, of the given player at the given node, whose
+	 * flipped nodes were kept from the given mark on.
+	 */
+	private void undo(int index, int player, int mark) {
+		discCounts[player] -= numberOfFlipped - mark + 1;
+		while (numberOfFlipped > mark) {
+			int swapped = flipped[--numberOfFlipped];
+			occupants[swapped] = flippedOccupants[numberOfFlipped];
+			discCounts[occupants[swapped]]++;
+		}
+		occupants[index] = PlayerTable.EMPTY;
+		insertEmpty(index, previousEmpty[index]);
+		regionParity ^= 1 << regions[index];
+		numberOfEmpties++;
+	}
+
+	/*
+	 * Links the given node into the list of empty nodes after the given node.
+	 * A removed node keeps its links, so the latest removed node is put back
+	 * where it was.
+	 */
+	private void insertEmpty(int index, int previous) {
+		int next = nextEmpty[previous];
+		previousEmpty[index] = previous;
+		nextEmpty[index] = next;
+		nextEmpty[previous] = index;
+		previousEmpty[next] = index;
+	}
+
+	private void removeEmpty(int index) {
+		nextEmpty[previousEmpty[index]] = nextEmpty[index];
+		previousEmpty[nextEmpty[index]] = previousEmpty[index];
+	}
+
+	private int getNextPlayer(int player) {
+		return player % numberOfPlayers + 1;
+	}
+
+	private int getDiscDifference() {
+		int discs = 0;
+		for (int ordinal = 1; ordinal <= numberOfPlayers; ordinal++) {
+			discs += discCounts[ordinal];
+		}
+		return 2 * discCounts[solvingPlayer] - discs;
+	}
+}
@@ -2,20 +2,26 @@ package kth.game.othello.model;
 
 import kth.game.othello.board.Coordinates;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Stack;
-import java.util.stream.Collectors;
 
 /**
  * This class represents a model of an Othello game. It is responsible for
  * updating the present game state of the model, and keeping the history of the
  * game.
+ *
+ * The history only keeps the delta of each move, that is the node played at
+ * and the previous occupants of the changed nodes, and undo takes the present
+ * board back one move at a time. Moves that are undone are kept until a new
+ * move is made, so that they can be redone.
  */
 public class GameModel {
 
 	private GameState presentGameState;
-	private Stack<GameState> history;
+	private final Deque<MoveDelta> history;
+	private final Deque<MoveDelta> undoneMoves;
 
 	/**
 	 * Create a new GameModel.
@@ -24,7 +30,8 @@ public class GameModel {
 	 *            the starting GameState of the game.
 	 */
 	protected GameModel(GameState startState) {
-		history = new Stack<>();
+		history = new ArrayDeque<>();
+		undoneMoves = new ArrayDeque<>();
 		this.presentGameState = startState;
 	}
 
@@ -63,13 +70,10 @@ public class GameModel {
 		Optional<GameState> maybeNewGameState = presentGameState.tryMove(playerId, nodeCoordinate);
 		GameState newGameState = maybeNewGameState.orElseThrow(() -> new IllegalArgumentException(
 				"Try to do an illegal move in the game model"));
-		history.push(presentGameState);
+		history.push(newGameState.getLastMove().get());
+		undoneMoves.clear();
 		presentGameState = newGameState;
-		return getSetOfCoordinatesFromNodes(newGameState.getBoard().getNodes());
-	}
-
-	private Set<Coordinates> getSetOfCoordinatesFromNodes(Set<ImmutableNode> nodes) {
-		return nodes.stream().map(ImmutableNode::getCoordinates).collect(Collectors.toSet());
+		return newGameState.getLastMove().get().getChangedCoordinates();
 	}
 
 	/**
@@ -82,7 +86,27 @@ public class GameModel {
 	 */
 	public Optional<GameState> undo() {
 		if (!history.isEmpty()) {
-			presentGameState = history.pop();
+			MoveDelta lastMove = history.pop();
+			presentGameState = presentGameState.revert(lastMove);
+			undoneMoves.push(lastMove);
+			return Optional.of(presentGameState);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Redo the last undone move and returns an optional game state with the
+	 * present game state after this action or an empty optional if no move
+	 * has been undone since the last move was made.
+	 * 
+	 * @return returns an optional game state with the present game state after
+	 *         this action or an empty optional if there is no move to redo.
+	 */
+	public Optional<GameState> redo() {
+		if (!undoneMoves.isEmpty()) {
+			MoveDelta undoneMove = undoneMoves.pop();
+			presentGameState = presentGameState.tryMove(undoneMove.getPlayerId(), undoneMove.getCoordinates()).get();
+			history.push(undoneMove);
 			return Optional.of(presentGameState);
 		}
 		return Optional.empty();
@@ -13,13 +13,15 @@ import java.util.stream.Collectors;
 
 public class GameModelFactory {
 	private ImmutableBoard startBoard;
-	private List<String> playerIds;
+	private PlayerRegistry players;
 	private ModelRules rules;
+	// Made the first time an empty game model is asked for
+	private ImmutableBoard emptyBoard;
 
 	/**
 	 * Generate a new GameModelFactory given its designated starting board, the
-	 * players and the rules of the game.
-	 * 
+	 * players and the rules of the game. The players are given their ordinals
+	 * here, once for all games made by the factory.
 	 * 
 	 * @param startBoard
 	 *            the board in starting position
@@ -29,11 +31,48 @@ public class GameModelFactory {
 	 *            the rules of the game
 	 */
 	public GameModelFactory(ImmutableBoard startBoard, List<String> playerIds, ModelRules rules) {
-		this.startBoard = startBoard;
-		this.playerIds = playerIds;
+		this.players = new PlayerRegistry(playerIds);
+		this.startBoard = startBoard.withPlayers(players);
 		this.rules = rules;
 	}
 
+	private GameModelFactory(GameModelFactory factory, PlayerRegistry players) {
+		this.players = players;
+		this.startBoard = factory.startBoard.replacePlayers(players);
+		this.rules = factory.rules;
+		if (factory.emptyBoard != null) {
+			this.emptyBoard = factory.emptyBoard.replacePlayers(players);
+		}
+	}
+
+	/**
+	 * Returns a factory of the same games as this factory, played by the given
+	 * players instead. Player number i of the given players starts on the
+	 * nodes of player number i of this factory. The board and the rules are
+	 * shared with this factory.
+	 *
+	 * @param playerIds
+	 *            the players of the game, as many as the players of this
+	 *            factory.
+	 * @return a factory of the games of the given players.
+	 * @throws IllegalArgumentException
+	 *             if the number of players differs from this factory.
+	 */
+	public GameModelFactory withPlayers(List<String> playerIds) {
+		if (playerIds.size() != players.getNumberOfPlayers()) {
+			throw new IllegalArgumentException("The game has " + players.getNumberOfPlayers() + " players, not "
+					+ playerIds.size());
+		}
+		return new GameModelFactory(this, new PlayerRegistry(playerIds));
+	}
+
+	/**
+	 * @return the board in starting position.
+	 */
+	public ImmutableBoard getStartBoard() {
+		return startBoard;
+	}
+
 	/**
 	 * Generates a new game model with the given starting player.
 	 *
@@ -53,8 +92,8 @@ public class GameModelFactory {
 	 */
 	public GameModel newGameModel() {
 		Random random = new Random();
-		int randomPlayerIndex = random.nextInt(playerIds.size());
-		String randomPlayerID = playerIds.get(randomPlayerIndex);
+		int randomPlayerIndex = random.nextInt(players.getNumberOfPlayers());
+		String randomPlayerID = players.getPlayerIds().get(randomPlayerIndex);
 		return newGameModel(randomPlayerID);
 	}
 
@@ -66,15 +105,17 @@ public class GameModelFactory {
 	 */
 
 	public GameModel newEmptyGameModel() {
-		Set<ImmutableNode> emptyNodes = startBoard.getNodes().stream()
-				.map(node -> new ImmutableNode(node.getCoordinates(), Optional.empty())).collect(Collectors.toSet());
-		ImmutableBoard emptyBoard = new ImmutableBoard(emptyNodes);
-
+		if (emptyBoard == null) {
+			Set<ImmutableNode> emptyNodes = startBoard.getNodes().stream()
+					.map(node -> new ImmutableNode(node.getCoordinates(), Optional.empty()))
+					.collect(Collectors.toSet());
+			emptyBoard = new ImmutableBoard(emptyNodes).withPlayers(players);
+		}
 		return newGameModel(Optional.empty(), emptyBoard);
 	}
 
 	private GameModel newGameModel(Optional<String> startPlayerId, ImmutableBoard startBoard) {
-		TurnCalculator turnCalculator = new TurnCalculator(playerIds);
+		TurnCalculator turnCalculator = new TurnCalculator(players);
 		GameState startState = new GameState(startBoard, turnCalculator, rules, startPlayerId);
 		return new GameModel(startState);
 	}
@@ -1,5 +1,7 @@
 package kth.game.othello.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -11,6 +13,12 @@ public class GameState {
 	private ModelRules rules;
 	private ImmutableBoard board;
 	private Optional<String> playerInTurn;
+	private Mobility mobility;
+	private ImmutableBoard previousBoard;
+	private String lastMovePlayerId;
+	private MoveDelta lastMove;
+	private long zobristKey;
+	private volatile boolean hasZobristKey;
 
 	/**
 	 * Creates a new game state with the given board and TurnCalculator. The
@@ -34,17 +42,44 @@ public class GameState {
 		this.board = board;
 		this.turnCalculator = turnCalculator;
 		this.rules = rules;
+		this.mobility = Mobility.of(board, rules);
 		if (startPlayerId.isPresent()) {
-			if (rules.hasValidMove(board, startPlayerId.get())) {
+			if (mobility.hasValidMove(startPlayerId.get())) {
 				playerInTurn = startPlayerId;
 			} else {
-				playerInTurn = turnCalculator.getPlayerInTurn(startPlayerId.get(), board, rules);
+				playerInTurn = turnCalculator.getPlayerInTurn(startPlayerId.get(), mobility);
 			}
 		} else {
 			playerInTurn = startPlayerId;
 		}
 	}
 
+	/**
+	 * Creates the game state of the given board with the given player in turn,
+	 * or the next player that has a valid move if the given player has none.
+	 * The players of the board take turns in the order they have on the
+	 * board, and the rules are the rules for the shape of the board. This is
+	 * how a strategy may search the game from a board it is given.
+	 *
+	 * @param board
+	 *            the board of the game state.
+	 * @param playerId
+	 *            the id of the wanted player in turn.
+	 * @return the game state of the board.
+	 */
+	public static GameState of(ImmutableBoard board, String playerId) {
+		PlayerTable players = board.getPlayerTable();
+		List<String> playerIds = new ArrayList<>(players.getNumberOfPlayers());
+		for (int ordinal = 1; ordinal <= players.getNumberOfPlayers(); ordinal++) {
+			playerIds.add(players.getPlayerId(ordinal));
+		}
+		if (!playerIds.contains(playerId)) {
+			playerIds.add(playerId);
+		}
+		return new GameState(board, new TurnCalculator(playerIds), new ModelRulesFactory().createRules(board),
+				Optional.of(playerId));
+	}
+
 	/**
 	 * Return the board of the gameState
 	 */
@@ -52,6 +87,28 @@ public class GameState {
 		return board;
 	}
 
+	/**
+	 * Returns an Optional with the delta of the move that produced this game
+	 * state from the previous one, or an empty optional if this game state
+	 * was not produced by a move.
+	 */
+	public synchronized Optional<MoveDelta> getLastMove() {
+		if (lastMove == null && previousBoard != null) {
+			lastMove = MoveDelta.between(previousBoard, board, lastMovePlayerId);
+			// The delta replaces the previous board, which is not kept
+			previousBoard = null;
+		}
+		return Optional.ofNullable(lastMove);
+	}
+
+	/**
+	 * Returns the mobility of the players in this game state, which caches
+	 * which players have a valid move.
+	 */
+	public Mobility getMobility() {
+		return mobility;
+	}
+
 	/**
 	 * Get an Optional with the id of the player in turn or an empty optional if
 	 * no player can move.
@@ -62,6 +119,26 @@ public class GameState {
 		return playerInTurn;
 	}
 
+	/**
+	 * Returns the Zobrist key of this game state, which is the key of the
+	 * board combined with the key of the player in turn. Game states with the
+	 * same nodes and the same player in turn have the same key. The key is
+	 * computed the first time it is asked for.
+	 *
+	 * @return the Zobrist key of this game state.
+	 */
+	public long getZobristKey() {
+		if (!hasZobristKey) {
+			long key = board.getZobristKey();
+			if (playerInTurn.isPresent()) {
+				key ^= board.getSideToMoveKey(playerInTurn.get());
+			}
+			zobristKey = key;
+			hasZobristKey = true;
+		}
+		return zobristKey;
+	}
+
 	/**
 	 * Determines if the player with given id has any valid move.
 	 * 
@@ -70,7 +147,7 @@ public class GameState {
 	 * @return true if the player with the given id has a valid move.
 	 */
 	public boolean hasValidMove(String playerId) {
-		return rules.hasValidMove(board, playerId);
+		return mobility.hasValidMove(playerId);
 	}
 
 	/**
@@ -79,7 +156,7 @@ public class GameState {
 	 * @return false if the game is over.
 	 */
 	public boolean isGameOver() {
-		return rules.isGameOver(board);
+		return mobility.isGameOver();
 	}
 
 	/**
@@ -123,8 +200,69 @@ public class GameState {
 		nodesToSwap.add(new ImmutableNode(nodeCoordinates, Optional.of(playerId)));
 		// Add the node played at
 		ImmutableBoard newBoard = board.swapNodes(nodesToSwap, playerId);
-		Optional<String> nextPlayerInTurn = turnCalculator.getPlayerInTurn(playerId, newBoard, rules);
+		Optional<String> nextPlayerInTurn = turnCalculator.getPlayerInTurn(playerId, Mobility.of(newBoard, rules));
 		GameState nextGameState = new GameState(newBoard, turnCalculator, rules, nextPlayerInTurn);
+		nextGameState.previousBoard = board;
+		nextGameState.lastMovePlayerId = playerId;
 		return Optional.of(nextGameState);
 	}
+
+	/**
+	 * Generates the valid moves of the player in turn into the given list, or
+	 * clears the list if the game is over. A search may reuse one list per
+	 * level, so that no list is made per game state.
+	 *
+	 * @param moves
+	 *            the list to fill with the moves.
+	 * @return the given list.
+	 */
+	public MoveList generateMoves(MoveList moves) {
+		if (!playerInTurn.isPresent()) {
+			moves.clear(board);
+			return moves;
+		}
+		return rules.generateMoves(board, playerInTurn.get(), moves);
+	}
+
+	/**
+	 * Returns the game state after the player in turn made the given move,
+	 * which is the state that {@link #tryMove(String, Coordinates)} would
+	 * return for the move. The nodes to swap are taken from the list, so the
+	 * move is made without being validated again.
+	 *
+	 * @param moves
+	 *            the moves generated for this game state by
+	 *            {@link #generateMoves(MoveList)}.
+	 * @param move
+	 *            the number of the move to make in the list.
+	 * @return the game state after the move.
+	 * @throws IllegalArgumentException
+	 *             if the moves were not generated for the board of this game
+	 *             state.
+	 */
+	public GameState play(MoveList moves, int move) {
+		if (moves.getBoard() != board || !playerInTurn.isPresent()) {
+			throw new IllegalArgumentException("The moves were not generated for this game state");
+		}
+		String playerId = playerInTurn.get();
+		ImmutableBoard newBoard = board.play(moves, move, playerId);
+		Optional<String> nextPlayerInTurn = turnCalculator.getPlayerInTurn(playerId, Mobility.of(newBoard, rules));
+		GameState nextGameState = new GameState(newBoard, turnCalculator, rules, nextPlayerInTurn);
+		nextGameState.previousBoard = board;
+		nextGameState.lastMovePlayerId = playerId;
+		return nextGameState;
+	}
+
+	/**
+	 * Returns the game state before the given move, which must be the move
+	 * that produced this game state. The player that made the move will be in
+	 * turn again.
+	 *
+	 * @param delta
+	 *            the delta of the move to take back.
+	 * @return the game state before the move.
+	 */
+	GameState revert(MoveDelta delta) {
+		return new GameState(board.revert(delta), turnCalculator, rules, Optional.of(delta.getPlayerId()));
+	}
 }
@@ -3,27 +3,59 @@ package kth.game.othello.model;
 import kth.game.othello.board.Coordinates;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 /**
  * ImmutableBoard is responsible for keeping track of the nodes in the game
  * state, it is an immutable class.
- * 
+ *
+ * The nodes are addressed by their index in a {@link BoardShape} that is
+ * shared by all boards derived from each other, and the state of the board is
+ * stored as one byte per node holding the ordinal of the occupant player in a
+ * {@link PlayerTable}. The bytes are kept in a {@link PersistentByteArray}, so
+ * a board created by {@link #swapNodes(Set, String)} shares all unchanged
+ * parts of its state with the board it was created from.
+ *
+ * Every board has a 64-bit Zobrist key, the XOR of one random key for each
+ * occupied node and occupant, which is updated incrementally when nodes are
+ * swapped. Boards with the same nodes have the same key, and the key is used
+ * as the hash code of the board.
+ *
+ * The board also keeps its frontier, the empty nodes with at least one
+ * occupied neighbour, as a bit set over the node indices. Only frontier nodes
+ * can be valid moves, and the frontier is updated incrementally when nodes
+ * are swapped.
+ *
+ * A move made on the traditional 8x8 board by play, as a search does, is only
+ * made on the bitboard of the board at first. The occupants and the frontier
+ * of the new board are made the first time they are needed.
  */
 public class ImmutableBoard {
-	private final HashMap<Coordinates, ImmutableNode> nodes;
+	private final PlayerTable players;
+	private final BoardShape shape;
+	// Made when first needed on boards made by play, see getOccupants
+	private volatile PersistentByteArray occupants;
+	private final long zobristKey;
+	private volatile long[] frontier;
+	// The move that made this board, until its occupants are made
+	private volatile PlayedMove playedMove;
+	private volatile Optional<SquareBitboard> squareBitboard;
+	private volatile MaskedBitboard maskedBitboard;
+	// The mobility of the players on this board, cached by Mobility.of
+	volatile Mobility mobility;
 
 	/**
 	 * The different type of directions on the board
-	 * 
+	 *
 	 * <pre>
-	 * 	 0 1 2 3 4 5 6 7 8  
+	 * 	 0 1 2 3 4 5 6 7 8
 	 * 0
 	 * 1
 	 * 2        NORTH
 	 * 3          ^
 	 * 4 WEST <       > EAST
-	 * 5          V			
+	 * 5          V
 	 * 6        SOUTH
 	 * 7
 	 * 8
@@ -33,33 +65,161 @@ public class ImmutableBoard {
 		NORTH, NORTHEAST, EAST, SOUTHEAST, SOUTH, SOUTHWEST, WEST, NORTHWEST
 	}
 
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/*
+	 * A move made on a traditional 8x8 board, with the bits of the nodes it
+	 * occupies.
+	 */
+	private static final class PlayedMove {
+		private final ImmutableBoard board;
+		private final long changed;
+		private final int ordinal;
+
+		private PlayedMove(ImmutableBoard board, long changed, int ordinal) {
+			this.board = board;
+			this.changed = changed;
+			this.ordinal = ordinal;
+		}
+	}
+
 	/**
 	 * Construct a new ImmutableBoard given all the ImmutableNodes that can ever
 	 * be played at on the board.
-	 * 
+	 *
 	 * @param nodes
 	 *            the nodes which the board should consist of.
 	 */
 	public ImmutableBoard(Set<ImmutableNode> nodes) {
-		this.nodes = new HashMap<>();
+		Map<Coordinates, Optional<String>> nodeOccupants = new HashMap<>();
 		for (ImmutableNode immutableNode : nodes) {
-			this.nodes.put(immutableNode.getCoordinates(), immutableNode);
+			nodeOccupants.put(immutableNode.getCoordinates(), immutableNode.getOccupantPlayerId());
+		}
+		this.shape = new BoardShape(nodeOccupants.keySet());
+
+		// Give the players ordinals in the order they first occur on the board
+		List<String> playerIds = new ArrayList<>();
+		for (int index = 0; index < shape.size(); index++) {
+			nodeOccupants.get(shape.getCoordinates(index)).filter(playerId -> !playerIds.contains(playerId))
+					.ifPresent(playerIds::add);
+		}
+		this.players = new PlayerTable(shape, playerIds);
+
+		byte[] occupantOrdinals = new byte[shape.size()];
+		for (int index = 0; index < shape.size(); index++) {
+			occupantOrdinals[index] = (byte) players.getOrdinal(nodeOccupants.get(shape.getCoordinates(index)));
+		}
+		this.occupants = PersistentByteArray.of(occupantOrdinals);
+
+		long key = 0L;
+		for (int index = 0; index < shape.size(); index++) {
+			key ^= players.getZobristKey(occupantOrdinals[index], index);
+		}
+		this.zobristKey = key;
+
+		this.frontier = new long[(shape.size() + 63) >>> 6];
+		for (int index = 0; index < shape.size(); index++) {
+			updateFrontier(frontier, occupants, index);
 		}
 	}
 
+	private ImmutableBoard(PlayerTable players, PersistentByteArray occupants, long zobristKey, long[] frontier) {
+		this.players = players;
+		this.shape = players.getShape();
+		this.occupants = occupants;
+		this.zobristKey = zobristKey;
+		this.frontier = frontier;
+	}
+
+	private ImmutableBoard(PlayerTable players, long zobristKey, PlayedMove playedMove) {
+		this.players = players;
+		this.shape = players.getShape();
+		this.zobristKey = zobristKey;
+		this.playedMove = playedMove;
+	}
+
+	/*
+	 * Returns the occupants of this board. The occupants and the frontier of a
+	 * board made by play are made from the board the move was made on the
+	 * first time they are needed, since most boards of a search never need
+	 * them.
+	 */
+	private PersistentByteArray getOccupants() {
+		PersistentByteArray result = occupants;
+		if (result == null) {
+			PlayedMove move = playedMove;
+			if (move == null) {
+				// Another thread made them after the first look
+				return occupants;
+			}
+			// The index of a node on the traditional board equals its bit number
+			int[] indices = new int[Long.bitCount(move.changed)];
+			long bits = move.changed;
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+			result = move.board.getOccupants().set(indices, (byte) move.ordinal);
+			// The frontier is published before the occupants, and the move is
+			// forgotten last
+			frontier = move.board.getSwappedFrontier(result, indices);
+			occupants = result;
+			playedMove = null;
+		}
+		return result;
+	}
+
 	/**
 	 * Returns the nodes of this board.
-	 * 
+	 *
 	 * @return the nodes of this board.
 	 */
 	public Set<ImmutableNode> getNodes() {
-		return new HashSet<>(this.nodes.values());
+		Set<ImmutableNode> nodes = new HashSet<>();
+		PersistentByteArray occupants = getOccupants();
+		for (int index = 0; index < occupants.length(); index++) {
+			nodes.add(players.getNode(occupants.get(index), index));
+		}
+		return nodes;
+	}
+
+	/**
+	 * Returns the frontier of this board, that is the empty nodes with at
+	 * least one occupied neighbour. These are the only nodes where a valid
+	 * move can be made.
+	 *
+	 * @return the frontier nodes of this board.
+	 */
+	public Set<ImmutableNode> getFrontierNodes() {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		long[] frontier = getFrontier();
+		for (int word = 0; word < frontier.length; word++) {
+			for (long bits = frontier[word]; bits != 0; bits &= bits - 1) {
+				int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+				nodes.add(players.getNode(PlayerTable.EMPTY, index));
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Returns the frontier of this board as a bit set, where bit i of word
+	 * i / 64 is set if the node with index i is in the frontier. The returned
+	 * array must not be modified.
+	 */
+	long[] getFrontier() {
+		long[] result = frontier;
+		if (result == null) {
+			getOccupants();
+			result = frontier;
+		}
+		return result;
 	}
 
 	/**
 	 * Return the coordinates of the nodes that differ between the two given
 	 * boards.
-	 * 
+	 *
 	 * @param board1
 	 *            a board
 	 * @param board2
@@ -67,36 +227,68 @@ public class ImmutableBoard {
 	 * @return the coordinates of the nodes that differ between the two nodes.
 	 */
 	public static Set<Coordinates> compare(ImmutableBoard board1, ImmutableBoard board2) {
-		Set<ImmutableNode> board1Nodes = board1.getNodes();
-		Set<ImmutableNode> board2Nodes = board2.getNodes();
-		board2Nodes.removeAll(board1Nodes);
-		return board2Nodes.stream().map(ImmutableNode::getCoordinates).collect(Collectors.toSet());
+		if (board1.shape == null || board1.shape != board2.shape) {
+			Set<ImmutableNode> board1Nodes = board1.getNodes();
+			Set<ImmutableNode> board2Nodes = board2.getNodes();
+			board2Nodes.removeAll(board1Nodes);
+			return board2Nodes.stream().map(ImmutableNode::getCoordinates).collect(Collectors.toSet());
+		}
+		Set<Coordinates> changedCoordinates = new HashSet<>();
+		IntConsumer addIfChanged = index -> {
+			if (!board1.getOccupantPlayerId(index).equals(board2.getOccupantPlayerId(index))) {
+				changedCoordinates.add(board2.shape.getCoordinates(index));
+			}
+		};
+		if (board1.players.hasSameOrdinals(board2.players)) {
+			PersistentByteArray.forEachDifference(board1.getOccupants(), board2.getOccupants(), addIfChanged);
+		} else {
+			// Equal ordinals may stand for different players, so every node is
+			// compared by its player id
+			for (int index = 0; index < board1.shape.size(); index++) {
+				addIfChanged.accept(index);
+			}
+		}
+		return changedCoordinates;
+	}
+
+	/**
+	 * Calls the given consumer with the index of every node where the two
+	 * boards have different occupants, in ascending order. The boards must be
+	 * derived from each other, and the parts of the boards that are shared are
+	 * skipped without being compared.
+	 */
+	static void forEachDifference(ImmutableBoard board1, ImmutableBoard board2, IntConsumer consumer) {
+		if (board1.shape != board2.shape) {
+			throw new IllegalArgumentException("The boards have different shapes");
+		}
+		PersistentByteArray.forEachDifference(board1.getOccupants(), board2.getOccupants(), consumer);
 	}
 
 	/**
 	 * Returns the node at the given coordinates. Throws
 	 * IllegalArgumentException if the given coordinates are not within the
 	 * board.
-	 * 
+	 *
 	 * @param coordinates
 	 *            the coordinates of the node that is to be returned.
-	 * 
+	 *
 	 * @return The node at the given coordinates.
-	 * 
+	 *
 	 * @throws IllegalArgumentException
 	 *             if the coordinates does not exist on the board.
 	 */
 	public ImmutableNode getNodeAtCoordinates(Coordinates coordinates) throws IllegalArgumentException {
-		if (!this.hasCoordinates(coordinates)) {
+		int index = shape.getIndex(coordinates);
+		if (index == BoardShape.NO_NODE) {
 			throw new IllegalArgumentException("Coordinates does not exist on board");
 		}
-		return nodes.get(coordinates);
+		return players.getNode(getOccupants().get(index), index);
 	}
 
 	/**
 	 * Return an Optional with the next node in the given direction relative to
 	 * the given node or an empty optional if no such node exists.
-	 * 
+	 *
 	 * @param originNode
 	 *            the node from which to get the next.
 	 * @param direction
@@ -109,86 +301,286 @@ public class ImmutableBoard {
 	 */
 	public Optional<ImmutableNode> getNextNodeInDirection(ImmutableNode originNode, Direction direction)
 			throws IllegalArgumentException {
-
-		Coordinates originCoordinates = originNode.getCoordinates();
-		int x = originCoordinates.getX();
-		int y = originCoordinates.getY();
-		if (!this.hasCoordinates(originCoordinates)) {
-			throw new IllegalArgumentException("Used a starting point that was outside of the board: " + x + ", " + y);
-		}
-
-		switch (direction) {
-		case NORTH:
-			y--;
-			break;
-		case EAST:
-			x++;
-			break;
-		case SOUTH:
-			y++;
-			break;
-		case WEST:
-			x--;
-			break;
-		case NORTHEAST:
-			y--;
-			x++;
-			break;
-		case SOUTHEAST:
-			y++;
-			x++;
-			break;
-		case SOUTHWEST:
-			y++;
-			x--;
-			break;
-		case NORTHWEST:
-			y--;
-			x--;
-			break;
-		}
-		Coordinates newCoordinates = new Coordinates(x, y);
-
-		if (!hasCoordinates(newCoordinates)) {
+		int originIndex = shape.getIndex(originNode.getCoordinates());
+		if (originIndex == BoardShape.NO_NODE) {
+			Coordinates originCoordinates = originNode.getCoordinates();
+			throw new IllegalArgumentException("Used a starting point that was outside of the board: "
+					+ originCoordinates.getX() + ", " + originCoordinates.getY());
+		}
+		int nextIndex = shape.getNeighbour(originIndex, direction);
+		if (nextIndex == BoardShape.NO_NODE) {
 			return Optional.empty();
-		} else {
-			return Optional.of(getNodeAtCoordinates(newCoordinates));
 		}
-
+		return players.getOptionalNode(getOccupants().get(nextIndex), nextIndex);
 	}
 
 	/**
 	 * Returns true if the given coordinates exist on this board, else false.
-	 * 
+	 *
 	 * @param coordinates
 	 *            the coordinates to check if they are on the board.
 	 * @return true if the coordinates exist on the board, else false.
 	 */
 	public boolean hasCoordinates(Coordinates coordinates) {
-		return nodes.containsKey(coordinates);
+		return shape.getIndex(coordinates) != BoardShape.NO_NODE;
+	}
+
+	/**
+	 * Returns the Zobrist key of this board. Boards with the same nodes have
+	 * the same key.
+	 *
+	 * @return the Zobrist key of this board.
+	 */
+	public long getZobristKey() {
+		return zobristKey;
+	}
+
+	/**
+	 * Returns the Zobrist key of the given player being in turn on boards with
+	 * the shape of this board. The key of a game state is the key of its board
+	 * XOR the key of its player in turn.
+	 *
+	 * @param playerId
+	 *            the id of the player in turn.
+	 * @return the Zobrist key of the given player being in turn.
+	 */
+	public long getSideToMoveKey(String playerId) {
+		int ordinal = players.getOrdinal(playerId);
+		if (ordinal == PlayerTable.NO_PLAYER) {
+			return shape.getSideToMoveKey(playerId);
+		}
+		return players.getSideToMoveKey(ordinal);
+	}
+
+	/**
+	 * Returns the nodes occupied by the given player if this is the
+	 * traditional 8x8 board, as the bits of a 64-bit word where the node with
+	 * coordinates (x, y) is bit number y * 8 + x. A search may then make moves
+	 * with {@link SquareBitboardRules#getMoves(long, long)} and
+	 * {@link SquareBitboardRules#getFlips(long, long, long)} on the bits alone.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return an OptionalLong with the bits of the nodes of the player, or an
+	 *         empty OptionalLong if this is not the traditional 8x8 board.
+	 */
+	public OptionalLong getSquareDiscs(String playerId) {
+		Optional<SquareBitboard> maybeBitboard = getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return OptionalLong.empty();
+		}
+		return OptionalLong.of(maybeBitboard.get().getDiscs(players.getOrdinal(playerId)));
+	}
+
+	/**
+	 * Returns an Optional with the bitboard representation of this board if
+	 * it is the traditional 8x8 board, or an empty optional otherwise. Since
+	 * the board is immutable the bitboard is only computed once.
+	 *
+	 * @return an Optional with the bitboard representation of this board.
+	 */
+	Optional<SquareBitboard> getSquareBitboard() {
+		Optional<SquareBitboard> bitboard = squareBitboard;
+		if (bitboard == null) {
+			bitboard = SquareBitboard.fromBoard(this);
+			squareBitboard = bitboard;
+		}
+		return bitboard;
+	}
+
+	/**
+	 * Returns the bitboard representation of this board, which can represent
+	 * boards of any shape. Since the board is immutable the bitboard is only
+	 * computed once.
+	 *
+	 * @return the bitboard representation of this board.
+	 */
+	MaskedBitboard getMaskedBitboard() {
+		MaskedBitboard bitboard = maskedBitboard;
+		if (bitboard == null) {
+			bitboard = MaskedBitboard.fromBoard(this);
+			maskedBitboard = bitboard;
+		}
+		return bitboard;
+	}
+
+	/**
+	 * Returns the shape of this board.
+	 */
+	BoardShape getShape() {
+		return shape;
+	}
+
+	/**
+	 * Returns the table of the players on this board.
+	 */
+	PlayerTable getPlayerTable() {
+		return players;
+	}
+
+	/**
+	 * Returns the ordinal of the player occupying the node with the given
+	 * index, or {@link PlayerTable#EMPTY} if the node is not occupied.
+	 */
+	int getOccupant(int index) {
+		return getOccupants().get(index);
+	}
+
+	/**
+	 * Returns the node with the given index.
+	 */
+	ImmutableNode getNodeAtIndex(int index) {
+		return players.getNode(getOccupants().get(index), index);
+	}
+
+	private Optional<String> getOccupantPlayerId(int index) {
+		return players.getNode(getOccupants().get(index), index).getOccupantPlayerId();
+	}
+
+	/**
+	 * Returns the ordinals of the players that occupy at least one node of
+	 * this board, in ascending order.
+	 */
+	int[] getPlayerOrdinals() {
+		Optional<SquareBitboard> bitboard = squareBitboard;
+		if (bitboard != null && bitboard.isPresent()) {
+			return bitboard.get().getPlayerOrdinals().clone();
+		}
+		boolean[] present = new boolean[players.getNumberOfPlayers() + 1];
+		PersistentByteArray occupants = getOccupants();
+		for (int index = 0; index < occupants.length(); index++) {
+			present[occupants.get(index)] = true;
+		}
+		int[] ordinals = new int[players.getNumberOfPlayers()];
+		int numberOfOrdinals = 0;
+		for (int ordinal = 1; ordinal < present.length; ordinal++) {
+			if (present[ordinal]) {
+				ordinals[numberOfOrdinals++] = ordinal;
+			}
+		}
+		return Arrays.copyOf(ordinals, numberOfOrdinals);
+	}
+
+	/**
+	 * Returns a board with the same nodes as this board, where the players of
+	 * the given registry have the ordinals of the registry. Players on this
+	 * board that are not in the registry get the ordinals after them. All
+	 * boards derived from the returned board keep the ordinals, so they can be
+	 * compared as ordinals instead of player ids.
+	 *
+	 * @param registry
+	 *            the players of the game of the board.
+	 * @return a board with the same nodes using the ordinals of the registry.
+	 */
+	ImmutableBoard withPlayers(PlayerRegistry registry) {
+		List<String> playerIds = new ArrayList<>(registry.getPlayerIds());
+		for (int ordinal = 1; ordinal <= players.getNumberOfPlayers(); ordinal++) {
+			if (!playerIds.contains(players.getPlayerId(ordinal))) {
+				playerIds.add(players.getPlayerId(ordinal));
+			}
+		}
+		PlayerTable newPlayers = new PlayerTable(shape, playerIds);
+		byte[] occupantOrdinals = new byte[shape.size()];
+		PersistentByteArray occupants = getOccupants();
+		for (int index = 0; index < shape.size(); index++) {
+			int ordinal = occupants.get(index);
+			if (ordinal != PlayerTable.EMPTY) {
+				occupantOrdinals[index] = (byte) newPlayers.getOrdinal(players.getPlayerId(ordinal));
+			}
+		}
+		// The Zobrist keys depend on the player ids, not on the ordinals
+		return new ImmutableBoard(newPlayers, PersistentByteArray.of(occupantOrdinals), zobristKey, getFrontier());
+	}
+
+	/**
+	 * Returns a board with the same nodes occupied in the same way as this
+	 * board, where the player of every ordinal is replaced by the player of
+	 * the same ordinal in the given registry. The occupants and the frontier
+	 * are shared, only the Zobrist key is computed again.
+	 *
+	 * @param registry
+	 *            the new players, as many as the players of this board.
+	 * @return a board with the same nodes occupied by the new players.
+	 * @throws IllegalArgumentException
+	 *             if the registry does not have as many players as this board.
+	 */
+	ImmutableBoard replacePlayers(PlayerRegistry registry) {
+		if (registry.getNumberOfPlayers() != players.getNumberOfPlayers()) {
+			throw new IllegalArgumentException("The board has " + players.getNumberOfPlayers()
+					+ " players, not " + registry.getNumberOfPlayers());
+		}
+		PlayerTable newPlayers = new PlayerTable(shape, registry.getPlayerIds());
+		PersistentByteArray occupants = getOccupants();
+		long key = 0L;
+		for (int index = 0; index < shape.size(); index++) {
+			key ^= newPlayers.getZobristKey(occupants.get(index), index);
+		}
+		return new ImmutableBoard(newPlayers, occupants, key, getFrontier());
 	}
 
 	public Set<String> getPlayerIDs() {
 		HashSet<String> playerIDs = new HashSet<>();
-		for (ImmutableNode node : this.nodes.values()) {
-			node.getOccupantPlayerId().ifPresent(playerIDs::add);
+		for (int ordinal : getPlayerOrdinals()) {
+			playerIDs.add(players.getPlayerId(ordinal));
 		}
 		return playerIDs;
 	}
 
+	/**
+	 * Returns the number of nodes occupied by each player of this board. The
+	 * players of the game that occupy no node are counted as well, if the
+	 * board knows of them.
+	 *
+	 * @return a map from the id of each player to the number of nodes it
+	 *         occupies.
+	 */
+	public Map<String, Integer> getDiscCounts() {
+		int[] counts = new int[players.getNumberOfPlayers() + 1];
+		PersistentByteArray occupants = getOccupants();
+		for (int index = 0; index < occupants.length(); index++) {
+			counts[occupants.get(index)]++;
+		}
+		Map<String, Integer> discCounts = new HashMap<>();
+		for (int ordinal = 1; ordinal < counts.length; ordinal++) {
+			discCounts.put(players.getPlayerId(ordinal), counts[ordinal]);
+		}
+		return discCounts;
+	}
+
 	@Override
-	public String toString() {
-		int minX = Integer.MAX_VALUE;
-		int maxX = Integer.MIN_VALUE;
-		int minY = Integer.MAX_VALUE;
-		int maxY = Integer.MIN_VALUE;
-		for (ImmutableNode node : nodes.values()) {
-			minX = Math.min(minX, node.getCoordinates().getX());
-			maxX = Math.max(maxX, node.getCoordinates().getX());
-			minY = Math.min(minY, node.getCoordinates().getY());
-			maxY = Math.max(maxY, node.getCoordinates().getY());
+	public int hashCode() {
+		return (int) (zobristKey ^ (zobristKey >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ImmutableBoard other = (ImmutableBoard) obj;
+		if (zobristKey != other.zobristKey)
+			return false;
+		if (shape != other.shape)
+			return getNodes().equals(other.getNodes());
+		if (players.hasSameOrdinals(other.players)) {
+			boolean[] equal = { true };
+			PersistentByteArray.forEachDifference(getOccupants(), other.getOccupants(), index -> equal[0] = false);
+			return equal[0];
+		}
+		// Equal ordinals may stand for different players, so every node is
+		// compared by its player id
+		for (int index = 0; index < shape.size(); index++) {
+			if (!getOccupantPlayerId(index).equals(other.getOccupantPlayerId(index)))
+				return false;
 		}
+		return true;
+	}
 
+	@Override
+	public String toString() {
 		Map<String, Character> playerSymbols = new HashMap<>();
 		Set<String> players = getPlayerIDs();
 		int minLength = players.stream().map(String::length)
@@ -213,11 +605,11 @@ public class ImmutableBoard {
 
 		StringBuilder sb = new StringBuilder();
 
-		for (int y = minY; y <= maxY; y++) {
-			for (int x = minX; x <= maxX; x++) {
-				Coordinates coordinates = new Coordinates(x, y);
-				if (nodes.containsKey(coordinates)) {
-					Optional<String> occupantPlayerId = nodes.get(coordinates).getOccupantPlayerId();
+		for (int y = shape.getMinY(); y < shape.getMinY() + shape.getHeight(); y++) {
+			for (int x = shape.getMinX(); x < shape.getMinX() + shape.getWidth(); x++) {
+				int index = shape.getIndex(x, y);
+				if (index != BoardShape.NO_NODE) {
+					Optional<String> occupantPlayerId = getOccupantPlayerId(index);
 					sb.append(occupantPlayerId.isPresent() ? playerSymbols.get(occupantPlayerId.get()) : "•");
 				} else {
 					sb.append(' ');
@@ -233,28 +625,186 @@ public class ImmutableBoard {
 	 * Create a new board from this board, with a given subset of the old nodes
 	 * to be occupied by a given playerID in the new board. All other nodes
 	 * remain in the same state.
-	 * 
+	 *
 	 * @param nodesToSwap
 	 *            nodes to get occupied by the given playerID.
 	 * @param playerId
 	 *            the playerID of the player to occupy the swapped nodes.
 	 * @return a new board with the given set of nodes now occupied by the
 	 *         chosen playerID.
+	 * @throws IllegalArgumentException
+	 *             if any of the nodes does not exist on the board.
 	 */
 	public ImmutableBoard swapNodes(Set<ImmutableNode> nodesToSwap, String playerId) {
-		Set<ImmutableNode> newNodes = new HashSet<>();
+		PlayerTable newPlayers = players;
+		int ordinal = players.getOrdinal(playerId);
+		if (ordinal == PlayerTable.NO_PLAYER) {
+			newPlayers = players.withPlayer(playerId);
+			ordinal = newPlayers.getOrdinal(playerId);
+		}
+		int[] indices = new int[nodesToSwap.size()];
+		int numberOfIndices = 0;
 		for (ImmutableNode node : nodesToSwap) {
-			ImmutableNode newNode = new ImmutableNode(node.getCoordinates(), Optional.of(playerId));
-			newNodes.add(newNode);
+			int index = shape.getIndex(node.getCoordinates());
+			if (index == BoardShape.NO_NODE) {
+				throw new IllegalArgumentException("Coordinates does not exist on board");
+			}
+			indices[numberOfIndices++] = index;
+		}
+		Arrays.sort(indices);
+		return swapIndices(newPlayers, indices, ordinal);
+	}
+
+	/**
+	 * Creates a new board from this board where the given move of the given
+	 * list is made. The move list must have been generated for this board.
+	 * Unlike {@link #swapNodes(Set, String)} no nodes are made, which makes
+	 * this the way to make moves when searching many boards.
+	 *
+	 * @param moves
+	 *            the moves generated for this board.
+	 * @param move
+	 *            the number of the move to make in the list.
+	 * @param playerId
+	 *            the player making the move, a player of this board.
+	 * @return a new board where the move is made.
+	 */
+	ImmutableBoard play(MoveList moves, int move, String playerId) {
+		int ordinal = players.getOrdinal(playerId);
+		int from = moves.getSwapOffset(move);
+		int to = moves.getSwapOffset(move + 1);
+		int[] nodesToSwap = moves.getNodeToSwapIndices();
+		Optional<SquareBitboard> maybeBitboard = getSquareBitboard();
+		if (maybeBitboard.isPresent()) {
+			// The index of a node on the traditional board equals its bit
+			// number, so the move is made on the bitboard alone
+			SquareBitboard bitboard = maybeBitboard.get();
+			long changed = 1L << moves.getIndex(move);
+			for (int i = from; i < to; i++) {
+				changed |= 1L << nodesToSwap[i];
+			}
+			long newZobristKey = zobristKey;
+			for (long bits = changed; bits != 0; bits &= bits - 1) {
+				int index = Long.numberOfTrailingZeros(bits);
+				newZobristKey ^= players.getZobristKey(bitboard.getOccupant(index), index)
+						^ players.getZobristKey(ordinal, index);
+			}
+			ImmutableBoard newBoard = new ImmutableBoard(players, newZobristKey, new PlayedMove(this, changed, ordinal));
+			newBoard.squareBitboard = Optional.of(bitboard.play(ordinal, changed));
+			return newBoard;
+		}
+		int[] indices = new int[to - from + 1];
+		System.arraycopy(nodesToSwap, from, indices, 0, to - from);
+		indices[to - from] = moves.getIndex(move);
+		// An insertion sort, since the nodes to swap are often in ascending
+		// order already
+		for (int i = 1; i < indices.length; i++) {
+			int index = indices[i];
+			int j = i;
+			while (j > 0 && indices[j - 1] > index) {
+				indices[j] = indices[j - 1];
+				j--;
+			}
+			indices[j] = index;
+		}
+		return swapIndices(players, indices, ordinal);
+	}
+
+	/*
+	 * Returns a board where the nodes of the given sorted indices are occupied
+	 * by the player of the given ordinal in the given table.
+	 */
+	private ImmutableBoard swapIndices(PlayerTable newPlayers, int[] indices, int ordinal) {
+		PersistentByteArray occupants = getOccupants();
+		long newZobristKey = zobristKey;
+		for (int i = 0; i < indices.length; i++) {
+			if (i == 0 || indices[i] != indices[i - 1]) {
+				newZobristKey ^= newPlayers.getZobristKey(occupants.get(indices[i]), indices[i])
+						^ newPlayers.getZobristKey(ordinal, indices[i]);
+			}
 		}
-		Set<Coordinates> newNodeCoordinates = getCoordinateSet(newNodes);
-		// if this node has not been swapped, add it to new nodes
-		newNodes.addAll(this.nodes.values().stream()
-				.filter(oldNode -> !newNodeCoordinates.contains(oldNode.getCoordinates())).collect(Collectors.toList()));
-		return new ImmutableBoard(newNodes);
+		PersistentByteArray newOccupants = occupants.set(indices, (byte) ordinal);
+		return new ImmutableBoard(newPlayers, newOccupants, newZobristKey, getSwappedFrontier(newOccupants, indices));
 	}
 
-	private Set<Coordinates> getCoordinateSet(Set<ImmutableNode> nodes) {
-		return nodes.stream().map(ImmutableNode::getCoordinates).collect(Collectors.toSet());
+	/*
+	 * Returns the frontier of the board with the given occupants, where the
+	 * nodes of the given indices have been occupied on this board.
+	 */
+	private long[] getSwappedFrontier(PersistentByteArray newOccupants, int[] indices) {
+		PersistentByteArray occupants = getOccupants();
+		long[] frontier = getFrontier();
+		// Nodes that become occupied leave the frontier and bring their empty
+		// neighbours into it, no other node can enter or leave the frontier
+		long[] newFrontier = frontier;
+		for (int index : indices) {
+			if (occupants.get(index) == PlayerTable.EMPTY) {
+				if (newFrontier == frontier) {
+					newFrontier = frontier.clone();
+				}
+				newFrontier[index >>> 6] &= ~(1L << index);
+				for (Direction direction : DIRECTIONS) {
+					int neighbour = shape.getNeighbour(index, direction);
+					if (neighbour != BoardShape.NO_NODE && newOccupants.get(neighbour) == PlayerTable.EMPTY) {
+						newFrontier[neighbour >>> 6] |= 1L << neighbour;
+					}
+				}
+			}
+		}
+		return newFrontier;
+	}
+
+	/**
+	 * Creates a new board from this board where the nodes changed by the given
+	 * move get back the occupants they had before the move. All other nodes
+	 * remain in the same state.
+	 *
+	 * @param delta
+	 *            the move to take back, made on a board with the shape of
+	 *            this board.
+	 * @return a new board as it was before the move.
+	 */
+	ImmutableBoard revert(MoveDelta delta) {
+		int[] indices = delta.getIndices();
+		byte[] previousOccupants = delta.getPreviousOccupants();
+		PersistentByteArray occupants = getOccupants();
+		PersistentByteArray newOccupants = occupants.set(indices, previousOccupants);
+
+		long newZobristKey = zobristKey;
+		long[] newFrontier = getFrontier().clone();
+		for (int i = 0; i < indices.length; i++) {
+			int index = indices[i];
+			newZobristKey ^= players.getZobristKey(occupants.get(index), index)
+					^ players.getZobristKey(previousOccupants[i], index);
+			if (previousOccupants[i] == PlayerTable.EMPTY) {
+				// The node and its neighbours may enter or leave the frontier
+				updateFrontier(newFrontier, newOccupants, index);
+				for (Direction direction : Direction.values()) {
+					int neighbour = shape.getNeighbour(index, direction);
+					if (neighbour != BoardShape.NO_NODE) {
+						updateFrontier(newFrontier, newOccupants, neighbour);
+					}
+				}
+			}
+		}
+		return new ImmutableBoard(players, newOccupants, newZobristKey, newFrontier);
+	}
+
+	private void updateFrontier(long[] frontier, PersistentByteArray occupants, int index) {
+		boolean inFrontier = false;
+		if (occupants.get(index) == PlayerTable.EMPTY) {
+			for (Direction direction : Direction.values()) {
+				int neighbour = shape.getNeighbour(index, direction);
+				if (neighbour != BoardShape.NO_NODE && occupants.get(neighbour) != PlayerTable.EMPTY) {
+					inFrontier = true;
+					break;
+				}
+			}
+		}
+		if (inFrontier) {
+			frontier[index >>> 6] |= 1L << index;
+		} else {
+			frontier[index >>> 6] &= ~(1L << index);
+		}
 	}
 }
@@ -0,0 +1,215 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.model.ImmutableBoard.Direction;
+
+/**
+ * An immutable bitboard representation of a board of any shape. The bounding
+ * box of the nodes is laid out row by row in an array of 64-bit words, with
+ * one extra column at the east side of every row that never contains a node.
+ * A validity mask marks the bits that represent nodes on the board, so that
+ * holes and edges stop lines of discs, and the extra column makes sure that a
+ * line never wraps around from one row to the next. The discs of the players
+ * are stored by their ordinals in the {@link PlayerTable} of the board.
+ */
+final class MaskedBitboard {
+
+	private final int minX;
+	private final int minY;
+	private final int stride;
+	private final int height;
+	private final long[] valid;
+	private final long[][] discs;
+	private final long[] occupied;
+	private int[] playerOrdinals;
+
+	private MaskedBitboard(int minX, int minY, int width, int height, int numberOfOrdinals) {
+		this.minX = minX;
+		this.minY = minY;
+		this.stride = width + 1;
+		this.height = height;
+		int numberOfWords = (stride * height + 63) / 64;
+		this.valid = new long[numberOfWords];
+		this.occupied = new long[numberOfWords];
+		this.discs = new long[numberOfOrdinals][];
+	}
+
+	/**
+	 * Returns the bitboard of the given board.
+	 *
+	 * @param board
+	 *            the board to represent as a bitboard.
+	 * @return the bitboard of the given board.
+	 */
+	static MaskedBitboard fromBoard(ImmutableBoard board) {
+		BoardShape shape = board.getShape();
+		MaskedBitboard bitboard = new MaskedBitboard(shape.getMinX(), shape.getMinY(), shape.getWidth(),
+				shape.getHeight(), board.getPlayerTable().getNumberOfPlayers() + 1);
+		for (int index = 0; index < shape.size(); index++) {
+			int bitNumber = bitboard.toBitNumber(shape.getCoordinates(index));
+			set(bitboard.valid, bitNumber);
+			int ordinal = board.getOccupant(index);
+			if (ordinal != PlayerTable.EMPTY) {
+				if (bitboard.discs[ordinal] == null) {
+					bitboard.discs[ordinal] = new long[bitboard.valid.length];
+				}
+				set(bitboard.discs[ordinal], bitNumber);
+				set(bitboard.occupied, bitNumber);
+			}
+		}
+		int[] playerOrdinals = new int[bitboard.discs.length];
+		int numberOfPlayers = 0;
+		for (int ordinal = 1; ordinal < bitboard.discs.length; ordinal++) {
+			if (bitboard.discs[ordinal] != null) {
+				playerOrdinals[numberOfPlayers++] = ordinal;
+			}
+		}
+		bitboard.playerOrdinals = Arrays.copyOf(playerOrdinals, numberOfPlayers);
+		return bitboard;
+	}
+
+	/**
+	 * Returns the bit number of the node with the given coordinates, or -1 if
+	 * there is no such node on the board.
+	 */
+	int getBitNumber(Coordinates coordinates) {
+		int x = coordinates.getX() - minX;
+		int y = coordinates.getY() - minY;
+		if (x < 0 || x >= stride - 1 || y < 0 || y >= height) {
+			return -1;
+		}
+		int bitNumber = y * stride + x;
+		return isSet(valid, bitNumber) ? bitNumber : -1;
+	}
+
+	private int toBitNumber(Coordinates coordinates) {
+		return (coordinates.getY() - minY) * stride + (coordinates.getX() - minX);
+	}
+
+	/**
+	 * Returns the coordinates of the node represented by the given bit number.
+	 */
+	Coordinates toCoordinates(int bitNumber) {
+		return new Coordinates(minX + bitNumber % stride, minY + bitNumber / stride);
+	}
+
+	/**
+	 * Returns the number of bits a line moves when taking one step in the
+	 * given direction. The number is negative for directions towards lower bit
+	 * numbers.
+	 */
+	int getStep(Direction direction) {
+		switch (direction) {
+		case NORTH:
+			return -stride;
+		case NORTHEAST:
+			return -stride + 1;
+		case EAST:
+			return 1;
+		case SOUTHEAST:
+			return stride + 1;
+		case SOUTH:
+			return stride;
+		case SOUTHWEST:
+			return stride - 1;
+		case WEST:
+			return -1;
+		case NORTHWEST:
+			return -stride - 1;
+		}
+		throw new IllegalArgumentException("Unknown direction: " + direction);
+	}
+
+	/**
+	 * Returns the number of 64-bit words used for each set of discs.
+	 */
+	int getNumberOfWords() {
+		return valid.length;
+	}
+
+	/**
+	 * Returns the bits of the nodes on the board. The returned array must not
+	 * be modified.
+	 */
+	long[] getValid() {
+		return valid;
+	}
+
+	/**
+	 * Returns the discs of the player with the given ordinal, or null if the
+	 * player has no discs on the board or the ordinal is
+	 * {@link PlayerTable#NO_PLAYER}. The returned array must not be modified.
+	 */
+	long[] getDiscs(int ordinal) {
+		return ordinal > 0 && ordinal < discs.length ? discs[ordinal] : null;
+	}
+
+	/**
+	 * Returns the discs of all players. The returned array must not be
+	 * modified.
+	 */
+	long[] getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Returns the ordinals of the players that have at least one disc on the
+	 * board. The returned array must not be modified.
+	 */
+	int[] getPlayerOrdinals() {
+		return playerOrdinals;
+	}
+
+	/**
+	 * Returns true if the given bit is set in the given words. Bit numbers
+	 * outside the words are never set.
+	 */
+	static boolean isSet(long[] words, int bitNumber) {
+		return bitNumber >= 0 && bitNumber < words.length * 64 && (words[bitNumber >>> 6] & (1L << bitNumber)) != 0;
+	}
+
+	private static void set(long[] words, int bitNumber) {
+		words[bitNumber >>> 6] |= 1L << bitNumber;
+	}
+
+	/**
+	 * Shifts all bits in the source the given number of steps, towards higher
+	 * bit numbers if steps is positive and towards lower bit numbers if it is
+	 * negative, and stores the result in the destination. Bits that are
+	 * shifted out of the words are lost. The source and destination may be the
+	 * same array.
+	 */
+	static void shift(long[] source, int steps, long[] destination) {
+		if (steps >= 0) {
+			int wordShift = steps >>> 6;
+			int bitShift = steps & 63;
+			for (int i = destination.length - 1; i >= 0; i--) {
+				int j = i - wordShift;
+				long value = 0L;
+				if (j >= 0) {
+					value = source[j] << bitShift;
+					if (bitShift != 0 && j > 0) {
+						value |= source[j - 1] >>> (64 - bitShift);
+					}
+				}
+				destination[i] = value;
+			}
+		} else {
+			int wordShift = (-steps) >>> 6;
+			int bitShift = (-steps) & 63;
+			for (int i = 0; i < destination.length; i++) {
+				int j = i + wordShift;
+				long value = 0L;
+				if (j < source.length) {
+					value = source[j] >>> bitShift;
+					if (bitShift != 0 && j + 1 < source.length) {
+						value |= source[j + 1] << (64 - bitShift);
+					}
+				}
+				destination[i] = value;
+			}
+		}
+	}
+}
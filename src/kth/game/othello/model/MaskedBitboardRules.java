@@ -0,0 +1,144 @@
+package kth.game.othello.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.model.ImmutableBoard.Direction;
+
+/**
+ * Represents the rules of simple Othello on a board of any shape, using a
+ * {@link MaskedBitboard}. Legal moves are found by shifting whole lines of
+ * discs one step at a time in each direction, where holes and edges of the
+ * board stop the lines.
+ */
+public class MaskedBitboardRules extends ModelRules {
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	/**
+	 * Creates an object with the responsibility of telling the rules of
+	 * Othello on a board of any shape.
+	 */
+	public MaskedBitboardRules() {
+
+	}
+
+	@Override
+	public boolean validMove(ImmutableBoard board, Coordinates nodeCoordinates, String playerId) {
+		MaskedBitboard bitboard = board.getMaskedBitboard();
+		int bitNumber = bitboard.getBitNumber(nodeCoordinates);
+		return bitNumber >= 0 && hasFlips(bitboard, bitNumber, board.getPlayerTable().getOrdinal(playerId));
+	}
+
+	@Override
+	public boolean hasValidMove(ImmutableBoard board, String playerId) {
+		return hasAnyMove(board.getMaskedBitboard(), board.getPlayerTable().getOrdinal(playerId));
+	}
+
+	@Override
+	public boolean isGameOver(ImmutableBoard board) {
+		MaskedBitboard bitboard = board.getMaskedBitboard();
+		for (int ordinal : bitboard.getPlayerOrdinals()) {
+			if (hasAnyMove(bitboard, ordinal)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Set<ImmutableNode> getNodesToSwap(ImmutableBoard board, Coordinates nodeCoordinates, String playerId) {
+		Set<ImmutableNode> result = new HashSet<>();
+		MaskedBitboard bitboard = board.getMaskedBitboard();
+		int bitNumber = bitboard.getBitNumber(nodeCoordinates);
+		long[] own = bitboard.getDiscs(board.getPlayerTable().getOrdinal(playerId));
+		if (bitNumber < 0 || own == null || MaskedBitboard.isSet(bitboard.getOccupied(), bitNumber)) {
+			return result;
+		}
+		long[] occupied = bitboard.getOccupied();
+		for (Direction direction : DIRECTIONS) {
+			int step = bitboard.getStep(direction);
+			int next = bitNumber + step;
+			int length = 0;
+			while (MaskedBitboard.isSet(occupied, next) && !MaskedBitboard.isSet(own, next)) {
+				next += step;
+				length++;
+			}
+			if (length > 0 && MaskedBitboard.isSet(own, next)) {
+				for (int swapped = bitNumber + step; swapped != next; swapped += step) {
+					result.add(board.getNodeAtCoordinates(bitboard.toCoordinates(swapped)));
+				}
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Returns true if a move by the player with the given ordinal at the given
+	 * bit would swap any nodes.
+	 */
+	private boolean hasFlips(MaskedBitboard bitboard, int bitNumber, int ordinal) {
+		long[] own = bitboard.getDiscs(ordinal);
+		long[] occupied = bitboard.getOccupied();
+		if (own == null || MaskedBitboard.isSet(occupied, bitNumber)) {
+			return false;
+		}
+		for (Direction direction : DIRECTIONS) {
+			int step = bitboard.getStep(direction);
+			int next = bitNumber + step;
+			int length = 0;
+			while (MaskedBitboard.isSet(occupied, next) && !MaskedBitboard.isSet(own, next)) {
+				next += step;
+				length++;
+			}
+			if (length > 0 && MaskedBitboard.isSet(own, next)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Returns true if the player with the given ordinal can make a valid move
+	 * anywhere on the board. Lines of opponent discs are grown from the own
+	 * discs in every direction until they stop growing, an empty node directly
+	 * after such a line is a valid move.
+	 */
+	private boolean hasAnyMove(MaskedBitboard bitboard, int ordinal) {
+		long[] own = bitboard.getDiscs(ordinal);
+		if (own == null) {
+			return false;
+		}
+		long[] occupied = bitboard.getOccupied();
+		long[] valid = bitboard.getValid();
+		int numberOfWords = bitboard.getNumberOfWords();
+		long[] line = new long[numberOfWords];
+		long[] next = new long[numberOfWords];
+		for (Direction direction : DIRECTIONS) {
+			int step = bitboard.getStep(direction);
+			MaskedBitboard.shift(own, step, line);
+			boolean lineIsEmpty = true;
+			for (int i = 0; i < numberOfWords; i++) {
+				line[i] &= occupied[i] & ~own[i];
+				lineIsEmpty &= line[i] == 0;
+			}
+			while (!lineIsEmpty) {
+				MaskedBitboard.shift(line, step, next);
+				boolean grew = false;
+				for (int i = 0; i < numberOfWords; i++) {
+					if ((next[i] & valid[i] & ~occupied[i]) != 0) {
+						return true;
+					}
+					long grown = line[i] | (next[i] & occupied[i] & ~own[i]);
+					grew |= grown != line[i];
+					line[i] = grown;
+				}
+				if (!grew) {
+					break;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,129 @@
+package kth.game.othello.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The mobility of the players in one position, that is which players have a
+ * valid move on a board under some rules. Each answer is computed the first
+ * time it is asked for and then cached, so the board is scanned at most once
+ * per player. The answers are kept by the ordinals of the players on the
+ * board, so looking one up does not hash the player id. A mobility can be
+ * shared between threads.
+ */
+public final class Mobility {
+
+	private static final byte UNKNOWN = 0;
+	private static final byte NO_MOVE = 1;
+	private static final byte HAS_MOVE = 2;
+
+	private final ImmutableBoard board;
+	private final ModelRules rules;
+	private final PlayerTable players;
+	// Written without locking, which is safe since every thread computing an
+	// answer computes the same answer
+	private final byte[] hasValidMoveByOrdinal;
+	// Players that are not in the player table, or boards without a table
+	private final ConcurrentHashMap<String, Boolean> hasValidMove = new ConcurrentHashMap<>();
+	private volatile Boolean isGameOver;
+
+	/**
+	 * Creates a new mobility of the players on the given board.
+	 *
+	 * @param board
+	 *            the board of the position.
+	 * @param rules
+	 *            the rules deciding which moves are valid.
+	 */
+	public Mobility(ImmutableBoard board, ModelRules rules) {
+		this.board = board;
+		this.rules = rules;
+		this.players = board == null ? null : board.getPlayerTable();
+		this.hasValidMoveByOrdinal = new byte[players == null ? 0 : players.getNumberOfPlayers() + 1];
+	}
+
+	/**
+	 * Returns the mobility of the players on the given board under the given
+	 * rules. The mobility is cached on the board, so every game state, turn
+	 * calculation and rules adapter looking at the same board under the same
+	 * rules shares the same mobility.
+	 *
+	 * @param board
+	 *            the board of the position.
+	 * @param rules
+	 *            the rules deciding which moves are valid.
+	 * @return the mobility of the players on the given board.
+	 */
+	public static Mobility of(ImmutableBoard board, ModelRules rules) {
+		Mobility mobility = board.mobility;
+		if (mobility == null || mobility.rules != rules) {
+			mobility = new Mobility(board, rules);
+			board.mobility = mobility;
+		}
+		return mobility;
+	}
+
+	/**
+	 * Returns the board of this mobility.
+	 */
+	public ImmutableBoard getBoard() {
+		return board;
+	}
+
+	/**
+	 * Determines if the player with the given id has any valid move.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return true if the player has a valid move.
+	 */
+	public boolean hasValidMove(String playerId) {
+		int ordinal = players == null ? PlayerTable.NO_PLAYER : players.getOrdinal(playerId);
+		if (ordinal == PlayerTable.NO_PLAYER) {
+			return hasValidMove.computeIfAbsent(playerId, id -> rules.hasValidMove(board, id));
+		}
+		return hasValidMove(ordinal);
+	}
+
+	/**
+	 * Determines if the player with the given ordinal in the player table of
+	 * the board has any valid move.
+	 */
+	boolean hasValidMove(int ordinal) {
+		byte answer = hasValidMoveByOrdinal[ordinal];
+		if (answer == UNKNOWN) {
+			answer = rules.hasValidMove(board, players.getPlayerId(ordinal)) ? HAS_MOVE : NO_MOVE;
+			hasValidMoveByOrdinal[ordinal] = answer;
+		}
+		return answer == HAS_MOVE;
+	}
+
+	/**
+	 * Determines if the game is over, that is if none of the players on the
+	 * board has a valid move.
+	 *
+	 * @return true if the game is over.
+	 */
+	public boolean isGameOver() {
+		Boolean gameOver = isGameOver;
+		if (gameOver == null) {
+			gameOver = true;
+			if (players == null) {
+				for (String playerId : board.getPlayerIDs()) {
+					if (hasValidMove(playerId)) {
+						gameOver = false;
+						break;
+					}
+				}
+			} else {
+				for (int ordinal : board.getPlayerOrdinals()) {
+					if (hasValidMove(ordinal)) {
+						gameOver = false;
+						break;
+					}
+				}
+			}
+			isGameOver = gameOver;
+		}
+		return gameOver;
+	}
+}
@@ -18,6 +18,8 @@ import kth.game.othello.model.ImmutableBoard.Direction;
 
 public class ModelRules {
 
+	private static final Direction[] DIRECTIONS = Direction.values();
+
 	/**
 	 * Creates an object with the responsibility of telling the rules of
 	 * Othello.
@@ -59,7 +61,9 @@ public class ModelRules {
 	 * Returns true iff any node (A) is not occupied and there exist a node(B)
 	 * on the board such that B is occupied with the given playerID and there
 	 * exist at least one straight (horizontal, vertical, or diagonal) line
-	 * between A and B where all nodes are occupied by the other players.
+	 * between A and B where all nodes are occupied by the other players. Only
+	 * the frontier nodes of the board are tried, since a node without any
+	 * occupied neighbour can never be a valid move.
 	 * 
 	 * @param playerId
 	 *            the id of the player making the move.
@@ -68,8 +72,8 @@ public class ModelRules {
 	 * @return true iff a valid move exists for the given player.
 	 */
 	public boolean hasValidMove(ImmutableBoard board, String playerId) {
-		Set<ImmutableNode> nodesOnBoard = board.getNodes();
-		for (ImmutableNode node : nodesOnBoard) {
+		Set<ImmutableNode> frontierNodes = board.getFrontierNodes();
+		for (ImmutableNode node : frontierNodes) {
 			if (validMove(board, node.getCoordinates(), playerId)) {
 				return true;
 			}
@@ -134,6 +138,76 @@ public class ModelRules {
 
 	}
 
+	/**
+	 * Generates every valid move of the given player on the given board,
+	 * together with the nodes that each move would swap, in one pass over the
+	 * frontier of the board. The moves are stored in the given list, replacing
+	 * its earlier content.
+	 *
+	 * @param board
+	 *            the board where the moves would be made.
+	 * @param playerId
+	 *            the id of the player making the moves.
+	 * @param moves
+	 *            the list to store the moves in.
+	 * @return the given list of moves.
+	 */
+	public MoveList generateMoves(ImmutableBoard board, String playerId, MoveList moves) {
+		moves.clear(board);
+		BoardShape shape = board.getShape();
+		int own = board.getPlayerTable().getOrdinal(playerId);
+		if (own == PlayerTable.NO_PLAYER) {
+			return moves;
+		}
+		long[] frontier = board.getFrontier();
+		for (int word = 0; word < frontier.length; word++) {
+			for (long bits = frontier[word]; bits != 0; bits &= bits - 1) {
+				addMove(board, shape, (word << 6) + Long.numberOfTrailingZeros(bits), own, moves);
+			}
+		}
+		return moves;
+	}
+
+	/*
+	 * Adds the move at the empty node with the given index to the given list,
+	 * together with the nodes it swaps, if the move is valid.
+	 */
+	private void addMove(ImmutableBoard board, BoardShape shape, int index, int own, MoveList moves) {
+		moves.addMove(index);
+		for (Direction direction : DIRECTIONS) {
+			int[] neighbours = shape.getNeighbours(direction);
+			int next = neighbours[index];
+			int length = 0;
+			while (next != BoardShape.NO_NODE && board.getOccupant(next) != PlayerTable.EMPTY
+					&& board.getOccupant(next) != own) {
+				next = neighbours[next];
+				length++;
+			}
+			if (length > 0 && next != BoardShape.NO_NODE && board.getOccupant(next) == own) {
+				for (int swapped = neighbours[index]; swapped != next; swapped = neighbours[swapped]) {
+					moves.addNodeToSwap(swapped);
+				}
+			}
+		}
+		if (moves.getNumberOfNodesToSwap(moves.size() - 1) == 0) {
+			moves.removeLastMove();
+		}
+	}
+
+	/**
+	 * Generates every valid move of the given player on the given board,
+	 * together with the nodes that each move would swap.
+	 *
+	 * @param board
+	 *            the board where the moves would be made.
+	 * @param playerId
+	 *            the id of the player making the moves.
+	 * @return a new list of the valid moves.
+	 */
+	public MoveList generateMoves(ImmutableBoard board, String playerId) {
+		return generateMoves(board, playerId, new MoveList());
+	}
+
 	/*
 	 * Returns the nodes in the given direction (in relation to the given node)
 	 * that would be swapped if the player with the given playerId would play at
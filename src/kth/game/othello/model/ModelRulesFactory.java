@@ -0,0 +1,24 @@
+package kth.game.othello.model;
+
+/**
+ * This class is responsible for choosing the rules implementation that is
+ * fastest for a given board.
+ */
+public class ModelRulesFactory {
+
+	/**
+	 * Returns the rules to use for games played on the given board. The
+	 * traditional 8x8 board gets rules based on one 64-bit word per player,
+	 * boards of any other shape get rules based on a masked bitboard.
+	 *
+	 * @param startBoard
+	 *            the board in starting position.
+	 * @return the rules to use for the given board.
+	 */
+	public ModelRules createRules(ImmutableBoard startBoard) {
+		if (startBoard.getSquareBitboard().isPresent()) {
+			return new SquareBitboardRules();
+		}
+		return new MaskedBitboardRules();
+	}
+}
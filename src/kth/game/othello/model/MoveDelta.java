@@ -0,0 +1,115 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * The change of a board made by one move: the player making the move, the
+ * node played at and the previous occupants of every node that changed. A
+ * delta is enough to take the board back to the position before the move,
+ * and is much smaller than a copy of that board.
+ */
+public final class MoveDelta {
+
+	private final BoardShape shape;
+	private final String playerId;
+	private final int placedIndex;
+	private final int[] indices;
+	private final byte[] previousOccupants;
+
+	private MoveDelta(BoardShape shape, String playerId, int placedIndex, int[] indices, byte[] previousOccupants) {
+		this.shape = shape;
+		this.playerId = playerId;
+		this.placedIndex = placedIndex;
+		this.indices = indices;
+		this.previousOccupants = previousOccupants;
+	}
+
+	/**
+	 * Returns the delta of the move that the given player made on the board
+	 * before to get the board after. Only the parts of the boards that are not
+	 * shared are compared.
+	 *
+	 * @param before
+	 *            the board before the move.
+	 * @param after
+	 *            the board after the move, derived from the board before.
+	 * @param playerId
+	 *            the id of the player making the move.
+	 * @return the delta of the move.
+	 */
+	static MoveDelta between(ImmutableBoard before, ImmutableBoard after, String playerId) {
+		int[][] changed = { new int[8] };
+		int[] numberOfChanged = { 0 };
+		ImmutableBoard.forEachDifference(before, after, index -> {
+			if (numberOfChanged[0] == changed[0].length) {
+				changed[0] = Arrays.copyOf(changed[0], numberOfChanged[0] * 2);
+			}
+			changed[0][numberOfChanged[0]++] = index;
+		});
+		int[] indices = Arrays.copyOf(changed[0], numberOfChanged[0]);
+		byte[] previousOccupants = new byte[indices.length];
+		int placedIndex = BoardShape.NO_NODE;
+		for (int i = 0; i < indices.length; i++) {
+			previousOccupants[i] = (byte) before.getOccupant(indices[i]);
+			if (previousOccupants[i] == PlayerTable.EMPTY) {
+				placedIndex = indices[i];
+			}
+		}
+		return new MoveDelta(before.getShape(), playerId, placedIndex, indices, previousOccupants);
+	}
+
+	/**
+	 * Returns the id of the player that made the move.
+	 */
+	public String getPlayerId() {
+		return playerId;
+	}
+
+	/**
+	 * Returns the coordinates of the node played at.
+	 */
+	public Coordinates getCoordinates() {
+		return shape.getCoordinates(placedIndex);
+	}
+
+	/**
+	 * Returns the coordinates of the nodes that changed by the move, including
+	 * the node played at.
+	 */
+	public Set<Coordinates> getChangedCoordinates() {
+		Set<Coordinates> changedCoordinates = new HashSet<>();
+		for (int index : indices) {
+			changedCoordinates.add(shape.getCoordinates(index));
+		}
+		return changedCoordinates;
+	}
+
+	/**
+	 * Returns the number of nodes that changed by the move, including the node
+	 * played at.
+	 */
+	public int getNumberOfChangedNodes() {
+		return indices.length;
+	}
+
+	/**
+	 * Returns the indices of the nodes that changed, in ascending order. The
+	 * returned array must not be modified.
+	 */
+	int[] getIndices() {
+		return indices;
+	}
+
+	/**
+	 * Returns the ordinals of the occupants of the changed nodes before the
+	 * move, in the order of {@link #getIndices()}. The returned array must not
+	 * be modified.
+	 */
+	byte[] getPreviousOccupants() {
+		return previousOccupants;
+	}
+}
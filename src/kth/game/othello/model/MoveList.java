@@ -0,0 +1,166 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * A list of the valid moves of a player on a board, together with the nodes
+ * that each move would swap. The list is filled by
+ * {@link ModelRules#generateMoves(ImmutableBoard, String, MoveList)} and can be
+ * reused for many boards, so that generating moves in a search does not
+ * allocate once the internal arrays have grown large enough.
+ *
+ * The moves are ordered by the y- and then x-coordinate of the node played at.
+ */
+public final class MoveList {
+
+	private ImmutableBoard board;
+	private int size;
+	private int[] moves = new int[16];
+	private int[] swapOffsets = new int[17];
+	private int[] nodesToSwap = new int[64];
+
+	/**
+	 * Creates an empty move list.
+	 */
+	public MoveList() {
+
+	}
+
+	/*
+	 * Empties the list and binds it to the given board.
+	 */
+	void clear(ImmutableBoard board) {
+		this.board = board;
+		this.size = 0;
+		this.swapOffsets[0] = 0;
+	}
+
+	/*
+	 * Adds a move at the node with the given index. The nodes swapped by the
+	 * move must be added before the next move is added.
+	 */
+	void addMove(int index) {
+		if (size == moves.length) {
+			moves = Arrays.copyOf(moves, size * 2);
+			swapOffsets = Arrays.copyOf(swapOffsets, size * 2 + 1);
+		}
+		moves[size] = index;
+		swapOffsets[size + 1] = swapOffsets[size];
+		size++;
+	}
+
+	/*
+	 * Adds a node swapped by the last added move.
+	 */
+	void addNodeToSwap(int index) {
+		int end = swapOffsets[size];
+		if (end == nodesToSwap.length) {
+			nodesToSwap = Arrays.copyOf(nodesToSwap, end * 2);
+		}
+		nodesToSwap[end] = index;
+		swapOffsets[size] = end + 1;
+	}
+
+	/*
+	 * Removes the last added move together with its swapped nodes.
+	 */
+	void removeLastMove() {
+		size--;
+	}
+
+	/**
+	 * Returns the board of the moves.
+	 */
+	public ImmutableBoard getBoard() {
+		return board;
+	}
+
+	/**
+	 * Returns the number of moves in the list.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the list has no moves.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the coordinates of the node played at by the move with the given
+	 * number.
+	 *
+	 * @param move
+	 *            the number of the move, from 0 to size() - 1.
+	 * @return the coordinates of the node played at.
+	 */
+	public Coordinates getCoordinates(int move) {
+		return board.getShape().getCoordinates(moves[move]);
+	}
+
+	/**
+	 * Returns the number of nodes swapped by the move with the given number,
+	 * excluding the node that is played at.
+	 *
+	 * @param move
+	 *            the number of the move, from 0 to size() - 1.
+	 * @return the number of nodes swapped by the move.
+	 */
+	public int getNumberOfNodesToSwap(int move) {
+		return swapOffsets[move + 1] - swapOffsets[move];
+	}
+
+	/**
+	 * Returns the nodes swapped by the move with the given number, excluding
+	 * the node that is played at. This is the same set as returned by
+	 * {@link ModelRules#getNodesToSwap(ImmutableBoard, Coordinates, String)}.
+	 *
+	 * @param move
+	 *            the number of the move, from 0 to size() - 1.
+	 * @return the nodes swapped by the move.
+	 */
+	public Set<ImmutableNode> getNodesToSwap(int move) {
+		Set<ImmutableNode> result = new HashSet<>();
+		for (int i = swapOffsets[move]; i < swapOffsets[move + 1]; i++) {
+			result.add(board.getNodeAtIndex(nodesToSwap[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the node played at by the move with the given
+	 * number. The nodes of a board have the indices from 0 to the number of
+	 * nodes, so a search may keep tables of moves by their index.
+	 *
+	 * @param move
+	 *            the number of the move in this list.
+	 * @return the index of the node of the move.
+	 */
+	public int getIndex(int move) {
+		return moves[move];
+	}
+
+	/**
+	 * Returns the offset in {@link #getNodeToSwapIndices()} of the first node
+	 * swapped by the move with the given number. The nodes of the move end at
+	 * the offset of the next move.
+	 */
+	int getSwapOffset(int move) {
+		return swapOffsets[move];
+	}
+
+	/**
+	 * Returns the indices of the nodes swapped by all moves. The returned array
+	 * must not be modified.
+	 */
+	int[] getNodeToSwapIndices() {
+		return nodesToSwap;
+	}
+}
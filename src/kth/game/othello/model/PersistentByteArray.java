@@ -0,0 +1,179 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable array of bytes that is stored as a trie with 16 children per
+ * level, where the leaves hold 16 bytes each. Updating elements copies only
+ * the paths from the root to the changed leaves, all other parts of the trie
+ * are shared with the array that was updated. An update of k elements
+ * therefore allocates in proportion to k and the depth of the trie, not to
+ * the length of the array.
+ */
+final class PersistentByteArray {
+
+	private static final int BITS = 4;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private final int length;
+	private final int shift;
+	private final Object root;
+
+	private PersistentByteArray(int length, int shift, Object root) {
+		this.length = length;
+		this.shift = shift;
+		this.root = root;
+	}
+
+	/**
+	 * Creates a persistent array with the same elements as the given array.
+	 *
+	 * @param elements
+	 *            the elements of the new array.
+	 * @return a persistent array with the given elements.
+	 */
+	static PersistentByteArray of(byte[] elements) {
+		int numberOfLeaves = Math.max(1, (elements.length + MASK) >>> BITS);
+		Object[] level = new Object[numberOfLeaves];
+		for (int i = 0; i < numberOfLeaves; i++) {
+			level[i] = Arrays.copyOfRange(elements, i << BITS, (i + 1) << BITS);
+		}
+		int shift = 0;
+		while (level.length > 1) {
+			Object[] parents = new Object[(level.length + MASK) >>> BITS];
+			for (int i = 0; i < parents.length; i++) {
+				parents[i] = Arrays.copyOfRange(level, i << BITS, (i + 1) << BITS);
+			}
+			level = parents;
+			shift += BITS;
+		}
+		return new PersistentByteArray(elements.length, shift, level[0]);
+	}
+
+	/**
+	 * Returns the number of elements of the array.
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 */
+	byte get(int index) {
+		Object node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = ((Object[]) node)[(index >>> level) & MASK];
+		}
+		return ((byte[]) node)[index & MASK];
+	}
+
+	/**
+	 * Returns an array where the elements at the given indices are set to the
+	 * given value, and all other elements are shared with this array.
+	 *
+	 * @param indices
+	 *            the indices of the elements to set, sorted in ascending
+	 *            order.
+	 * @param value
+	 *            the new value of the elements.
+	 * @return an updated copy of this array.
+	 */
+	PersistentByteArray set(int[] indices, byte value) {
+		if (indices.length == 0) {
+			return this;
+		}
+		return new PersistentByteArray(length, shift, set(root, shift, indices, 0, indices.length, null, value));
+	}
+
+	/**
+	 * Returns an array where the element at each of the given indices is set
+	 * to the value at the same position in the given values, and all other
+	 * elements are shared with this array.
+	 *
+	 * @param indices
+	 *            the indices of the elements to set, sorted in ascending
+	 *            order.
+	 * @param values
+	 *            the new values of the elements.
+	 * @return an updated copy of this array.
+	 */
+	PersistentByteArray set(int[] indices, byte[] values) {
+		if (indices.length == 0) {
+			return this;
+		}
+		return new PersistentByteArray(length, shift, set(root, shift, indices, 0, indices.length, values, (byte) 0));
+	}
+
+	/*
+	 * Returns a copy of the given node with the elements at indices[from] to
+	 * indices[to - 1], which all belong to the node, set to the corresponding
+	 * values, or to the given value if there are no values.
+	 */
+	private static Object set(Object node, int level, int[] indices, int from, int to, byte[] values, byte value) {
+		if (level == 0) {
+			byte[] leaf = ((byte[]) node).clone();
+			for (int i = from; i < to; i++) {
+				leaf[indices[i] & MASK] = values == null ? value : values[i];
+			}
+			return leaf;
+		}
+		Object[] children = ((Object[]) node).clone();
+		int start = from;
+		while (start < to) {
+			int child = (indices[start] >>> level) & MASK;
+			int end = start + 1;
+			while (end < to && ((indices[end] >>> level) & MASK) == child) {
+				end++;
+			}
+			children[child] = set(children[child], level - BITS, indices, start, end, values, value);
+			start = end;
+		}
+		return children;
+	}
+
+	/**
+	 * Calls the given consumer with every index where the two arrays have
+	 * different elements, in ascending order. Parts of the arrays that are
+	 * shared are skipped without being compared, so comparing an array with
+	 * an updated copy of itself costs in proportion to the update.
+	 *
+	 * @param array1
+	 *            an array.
+	 * @param array2
+	 *            an array of the same length as array1.
+	 * @param consumer
+	 *            the consumer of the indices that differ.
+	 */
+	static void forEachDifference(PersistentByteArray array1, PersistentByteArray array2, IntConsumer consumer) {
+		if (array1.length != array2.length) {
+			throw new IllegalArgumentException("The arrays have different lengths");
+		}
+		forEachDifference(array1.root, array2.root, array1.shift, 0, consumer);
+	}
+
+	private static void forEachDifference(Object node1, Object node2, int level, int offset, IntConsumer consumer) {
+		if (node1 == node2) {
+			return;
+		}
+		if (level == 0) {
+			byte[] leaf1 = (byte[]) node1;
+			byte[] leaf2 = (byte[]) node2;
+			for (int i = 0; i < WIDTH; i++) {
+				if (leaf1[i] != leaf2[i]) {
+					consumer.accept(offset + i);
+				}
+			}
+			return;
+		}
+		Object[] children1 = (Object[]) node1;
+		Object[] children2 = (Object[]) node2;
+		for (int i = 0; i < WIDTH; i++) {
+			if (children1[i] != null) {
+				forEachDifference(children1[i], children2[i], level - BITS, offset + (i << level), consumer);
+			}
+		}
+	}
+}
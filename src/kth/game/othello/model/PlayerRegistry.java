@@ -0,0 +1,68 @@
+package kth.game.othello.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The players of one game, each given a small ordinal. The registry is built
+ * once per game by the {@link GameModelFactory}, and the boards of the game
+ * store the ordinals of the registry instead of player ids. The first player
+ * has ordinal 1, since ordinal 0 marks nodes that are not occupied.
+ */
+public final class PlayerRegistry {
+
+	/**
+	 * The ordinal returned for player ids that are not in the registry.
+	 */
+	public static final int NO_PLAYER = PlayerTable.NO_PLAYER;
+
+	private final List<String> playerIds;
+
+	/**
+	 * Creates a registry of the given players.
+	 *
+	 * @param playerIds
+	 *            the ids of the players, in the order of their ordinals.
+	 * @throws IllegalArgumentException
+	 *             if a player id occurs more than once.
+	 */
+	public PlayerRegistry(List<String> playerIds) {
+		for (int i = 0; i < playerIds.size(); i++) {
+			if (playerIds.indexOf(playerIds.get(i)) != i) {
+				throw new IllegalArgumentException("The player " + playerIds.get(i) + " occurs more than once");
+			}
+		}
+		this.playerIds = Collections.unmodifiableList(new ArrayList<>(playerIds));
+	}
+
+	/**
+	 * Returns the ordinal of the given player, or {@link #NO_PLAYER} if the
+	 * player is not in the registry.
+	 */
+	public int getOrdinal(String playerId) {
+		int index = playerIds.indexOf(playerId);
+		return index < 0 ? NO_PLAYER : index + 1;
+	}
+
+	/**
+	 * Returns the id of the player with the given ordinal.
+	 */
+	public String getPlayerId(int ordinal) {
+		return playerIds.get(ordinal - 1);
+	}
+
+	/**
+	 * Returns the number of players in the registry.
+	 */
+	public int getNumberOfPlayers() {
+		return playerIds.size();
+	}
+
+	/**
+	 * Returns the ids of the players in the order of their ordinals.
+	 */
+	public List<String> getPlayerIds() {
+		return playerIds;
+	}
+}
@@ -0,0 +1,199 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maps the ids of the players on a board to small ordinals, so that the state
+ * of a board can be stored as one byte per node. Ordinal 0 means that a node
+ * is not occupied, and player number i in the table has ordinal i + 1. The
+ * table also keeps one {@link ImmutableNode} for every node and ordinal of
+ * its board shape, so that looking up a node never allocates, and the Zobrist
+ * key of every node and ordinal.
+ */
+final class PlayerTable {
+
+	/**
+	 * The ordinal of nodes that are not occupied.
+	 */
+	static final byte EMPTY = 0;
+
+	/**
+	 * The ordinal returned for player ids that are not in the table.
+	 */
+	static final int NO_PLAYER = -1;
+
+	private static final int MAX_PLAYERS = Byte.MAX_VALUE;
+
+	private final BoardShape shape;
+	private final String[] playerIds;
+	private final Optional<String>[] occupants;
+	private final ImmutableNode[][] nodes;
+	private final Optional<ImmutableNode>[][] optionalNodes;
+	private final long[][] zobristKeys;
+	private final long[] sideToMoveKeys;
+
+	/**
+	 * Creates a table for the given shape and players.
+	 *
+	 * @param shape
+	 *            the shape of the boards using the table.
+	 * @param playerIds
+	 *            the players of the table, in ordinal order.
+	 */
+	PlayerTable(BoardShape shape, List<String> playerIds) {
+		if (playerIds.size() > MAX_PLAYERS) {
+			throw new IllegalArgumentException("A board can have at most " + MAX_PLAYERS + " players");
+		}
+		this.shape = shape;
+		this.playerIds = playerIds.toArray(new String[playerIds.size()]);
+		this.occupants = castArray(new Optional<?>[playerIds.size() + 1]);
+		this.nodes = new ImmutableNode[playerIds.size() + 1][];
+		this.optionalNodes = castArray(new Optional<?>[playerIds.size() + 1][]);
+		this.zobristKeys = new long[playerIds.size() + 1][];
+		this.sideToMoveKeys = new long[playerIds.size() + 1];
+		for (int ordinal = 0; ordinal < occupants.length; ordinal++) {
+			initOrdinal(ordinal);
+		}
+	}
+
+	private PlayerTable(PlayerTable table, String newPlayerId) {
+		if (table.playerIds.length >= MAX_PLAYERS) {
+			throw new IllegalArgumentException("A board can have at most " + MAX_PLAYERS + " players");
+		}
+		this.shape = table.shape;
+		this.playerIds = Arrays.copyOf(table.playerIds, table.playerIds.length + 1);
+		this.playerIds[table.playerIds.length] = newPlayerId;
+		this.occupants = Arrays.copyOf(table.occupants, table.occupants.length + 1);
+		this.nodes = Arrays.copyOf(table.nodes, table.nodes.length + 1);
+		this.optionalNodes = Arrays.copyOf(table.optionalNodes, table.optionalNodes.length + 1);
+		this.zobristKeys = Arrays.copyOf(table.zobristKeys, table.zobristKeys.length + 1);
+		this.sideToMoveKeys = Arrays.copyOf(table.sideToMoveKeys, table.sideToMoveKeys.length + 1);
+		initOrdinal(occupants.length - 1);
+	}
+
+	private void initOrdinal(int ordinal) {
+		occupants[ordinal] = ordinal == EMPTY ? Optional.empty() : Optional.of(playerIds[ordinal - 1]);
+		nodes[ordinal] = new ImmutableNode[shape.size()];
+		optionalNodes[ordinal] = castArray(new Optional<?>[shape.size()]);
+		zobristKeys[ordinal] = new long[shape.size()];
+		if (ordinal != EMPTY) {
+			sideToMoveKeys[ordinal] = shape.getSideToMoveKey(playerIds[ordinal - 1]);
+		}
+		for (int index = 0; index < shape.size(); index++) {
+			nodes[ordinal][index] = new ImmutableNode(shape.getCoordinates(index), occupants[ordinal]);
+			optionalNodes[ordinal][index] = Optional.of(nodes[ordinal][index]);
+			if (ordinal != EMPTY) {
+				zobristKeys[ordinal][index] = shape.getZobristKey(playerIds[ordinal - 1], index);
+			}
+		}
+	}
+
+	/*
+	 * Returns the given array as an array of the generic type asked for. Arrays
+	 * of a generic type cannot be made, so they are made of the wildcard type
+	 * and cast here.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T[] castArray(Object[] array) {
+		return (T[]) array;
+	}
+
+	/**
+	 * Returns a table with the same players as this table and the given player
+	 * added last. The nodes of the existing players are shared.
+	 */
+	PlayerTable withPlayer(String playerId) {
+		return new PlayerTable(this, playerId);
+	}
+
+	/**
+	 * Returns true if every ordinal in both this table and the given table
+	 * stands for the same player in both tables. This holds for tables derived
+	 * from each other with {@link #withPlayer(String)}.
+	 */
+	boolean hasSameOrdinals(PlayerTable other) {
+		int numberOfCommonOrdinals = Math.min(playerIds.length, other.playerIds.length);
+		for (int i = 0; i < numberOfCommonOrdinals; i++) {
+			if (!playerIds[i].equals(other.playerIds[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the ordinal of the given player, or {@link #NO_PLAYER} if the
+	 * player is not in the table.
+	 */
+	int getOrdinal(String playerId) {
+		for (int i = 0; i < playerIds.length; i++) {
+			if (playerIds[i].equals(playerId)) {
+				return i + 1;
+			}
+		}
+		return NO_PLAYER;
+	}
+
+	/**
+	 * Returns the ordinal of the given occupant, where an empty optional has
+	 * the ordinal {@link #EMPTY}.
+	 */
+	int getOrdinal(Optional<String> occupantPlayerId) {
+		return occupantPlayerId.isPresent() ? getOrdinal(occupantPlayerId.get()) : EMPTY;
+	}
+
+	/**
+	 * Returns the id of the player with the given ordinal.
+	 */
+	String getPlayerId(int ordinal) {
+		return playerIds[ordinal - 1];
+	}
+
+	/**
+	 * Returns the number of players in the table.
+	 */
+	int getNumberOfPlayers() {
+		return playerIds.length;
+	}
+
+	/**
+	 * Returns the node with the given index occupied by the player with the
+	 * given ordinal.
+	 */
+	ImmutableNode getNode(int ordinal, int index) {
+		return nodes[ordinal][index];
+	}
+
+	/**
+	 * Returns an optional of the node with the given index occupied by the
+	 * player with the given ordinal.
+	 */
+	Optional<ImmutableNode> getOptionalNode(int ordinal, int index) {
+		return optionalNodes[ordinal][index];
+	}
+
+	/**
+	 * Returns the Zobrist key of the node with the given index occupied by the
+	 * player with the given ordinal. The key of an empty node is 0.
+	 */
+	long getZobristKey(int ordinal, int index) {
+		return zobristKeys[ordinal][index];
+	}
+
+	/**
+	 * Returns the Zobrist key of the player with the given ordinal being in
+	 * turn.
+	 */
+	long getSideToMoveKey(int ordinal) {
+		return sideToMoveKeys[ordinal];
+	}
+
+	/**
+	 * Returns the shape that the nodes of this table belong to.
+	 */
+	BoardShape getShape() {
+		return shape;
+	}
+}
@@ -0,0 +1,220 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import kth.game.othello.model.ImmutableBoard.Direction;
+
+/**
+ * A mutable board for playing games to their end from a game state with
+ * random moves, as a Monte Carlo search does many times per move. The board is
+ * set to a game state by {@link #reset(GameState)} and then changed in place,
+ * so a playout makes no game states and, once the arrays of the board have
+ * grown large enough, allocates nothing.
+ *
+ * The board may have any shape and any number of players. The players take
+ * turns in the order of their ordinals on the board, which is the order of the
+ * players of the game, and a player without a valid move is passed. A playout
+ * board must only be used by one thread at a time.
+ */
+public final class PlayoutBoard {
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private PlayerTable players;
+	private final int[][] neighbours = new int[DIRECTIONS.length][];
+	private byte[] occupants = new byte[0];
+	// The empty nodes, and the position of each empty node in the array
+	private int[] empties = new int[0];
+	private int[] emptyPositions = new int[0];
+	private int numberOfEmpties;
+	private int[] discCounts = new int[1];
+	private int numberOfPlayers;
+	private int playerInTurn;
+	// The valid moves of the player in turn
+	private int[] moves = new int[0];
+	private int numberOfMoves;
+
+	/**
+	 * Creates a playout board, which must be reset to a game state before it
+	 * is used.
+	 */
+	public PlayoutBoard() {
+
+	}
+
+	/**
+	 * Sets this board to the board and the player in turn of the given game
+	 * state.
+	 *
+	 * @param state
+	 *            the game state to play out from.
+	 */
+	public void reset(GameState state) {
+		ImmutableBoard board = state.getBoard();
+		BoardShape shape = board.getShape();
+		players = board.getPlayerTable();
+		for (Direction direction : DIRECTIONS) {
+			neighbours[direction.ordinal()] = shape.getNeighbours(direction);
+		}
+		int size = shape.size();
+		if (occupants.length < size) {
+			occupants = new byte[size];
+			empties = new int[size];
+			emptyPositions = new int[size];
+			moves = new int[size];
+		}
+		numberOfPlayers = players.getNumberOfPlayers();
+		if (discCounts.length <= numberOfPlayers) {
+			discCounts = new int[numberOfPlayers + 1];
+		}
+		Arrays.fill(discCounts, 0);
+		numberOfEmpties = 0;
+		for (int index = 0; index < size; index++) {
+			int ordinal = board.getOccupant(index);
+			occupants[index] = (byte) ordinal;
+			if (ordinal == PlayerTable.EMPTY) {
+				emptyPositions[index] = numberOfEmpties;
+				empties[numberOfEmpties++] = index;
+			} else {
+				discCounts[ordinal]++;
+			}
+		}
+		Optional<String> playerId = state.getPlayerInTurn();
+		playerInTurn = playerId.isPresent() ? players.getOrdinal(playerId.get()) : PlayerTable.EMPTY;
+		numberOfMoves = 0;
+		if (playerInTurn > 0) {
+			generateMoves(playerInTurn);
+		} else {
+			playerInTurn = PlayerTable.EMPTY;
+		}
+	}
+
+	/**
+	 * Returns true if no player can move.
+	 */
+	public boolean isGameOver() {
+		return playerInTurn == PlayerTable.EMPTY;
+	}
+
+	/**
+	 * Returns the number of valid moves of the player in turn.
+	 */
+	public int getNumberOfMoves() {
+		return numberOfMoves;
+	}
+
+	/**
+	 * Returns the number of discs of the player with the given id.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the number of discs of the player, 0 if the player has none.
+	 */
+	public int getDiscCount(String playerId) {
+		int ordinal = players.getOrdinal(playerId);
+		return ordinal == PlayerTable.NO_PLAYER ? 0 : discCounts[ordinal];
+	}
+
+	/**
+	 * Returns the share of the win of the given player, which is 1 if the
+	 * player alone has the most discs, 1 / k if k players share the most
+	 * discs and the player is one of them, and 0 otherwise.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the share of the win of the player.
+	 */
+	public double getWinShare(String playerId) {
+		int mostDiscs = 0;
+		int winners = 0;
+		for (int ordinal = 1; ordinal <= numberOfPlayers; ordinal++) {
+			if (discCounts[ordinal] > mostDiscs) {
+				mostDiscs = discCounts[ordinal];
+				winners = 1;
+			} else if (discCounts[ordinal] == mostDiscs) {
+				winners++;
+			}
+		}
+		return getDiscCount(playerId) == mostDiscs && mostDiscs > 0 ? 1.0 / winners : 0.0;
+	}
+
+	/**
+	 * Plays random moves until no player can move.
+	 *
+	 * @param random
+	 *            the random generator choosing the moves.
+	 */
+	public void playout(Random random) {
+		while (playerInTurn != PlayerTable.EMPTY) {
+			play(moves[random.nextInt(numberOfMoves)]);
+		}
+	}
+
+	/*
+	 * Makes the move of the player in turn at the given empty node, and passes
+	 * the turn to the next player that has a valid move.
+	 */
+	private void play(int index) {
+		int player = playerInTurn;
+		occupants[index] = (byte) player;
+		discCounts[player]++;
+		int last = empties[--numberOfEmpties];
+		empties[emptyPositions[index]] = last;
+		emptyPositions[last] = emptyPositions[index];
+		for (int[] neighbour : neighbours) {
+			int next = neighbour[index];
+			while (next != BoardShape.NO_NODE && occupants[next] != PlayerTable.EMPTY && occupants[next] != player) {
+				next = neighbour[next];
+			}
+			if (next != BoardShape.NO_NODE && occupants[next] == player) {
+				for (int swapped = neighbour[index]; swapped != next; swapped = neighbour[swapped]) {
+					discCounts[occupants[swapped]]--;
+					occupants[swapped] = (byte) player;
+					discCounts[player]++;
+				}
+			}
+		}
+		for (int i = 1; i <= numberOfPlayers; i++) {
+			int next = (player + i - 1) % numberOfPlayers + 1;
+			generateMoves(next);
+			if (numberOfMoves > 0) {
+				playerInTurn = next;
+				return;
+			}
+		}
+		playerInTurn = PlayerTable.EMPTY;
+	}
+
+	/*
+	 * Finds the valid moves of the player with the given ordinal.
+	 */
+	private void generateMoves(int player) {
+		numberOfMoves = 0;
+		if (discCounts[player] == 0) {
+			return;
+		}
+		for (int i = 0; i < numberOfEmpties; i++) {
+			int index = empties[i];
+			if (isValidMove(index, player)) {
+				moves[numberOfMoves++] = index;
+			}
+		}
+	}
+
+	private boolean isValidMove(int index, int player) {
+		for (int[] neighbour : neighbours) {
+			int next = neighbour[index];
+			int length = 0;
+			while (next != BoardShape.NO_NODE && occupants[next] != PlayerTable.EMPTY && occupants[next] != player) {
+				next = neighbour[next];
+				length++;
+			}
+			if (length > 0 && next != BoardShape.NO_NODE && occupants[next] == player) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
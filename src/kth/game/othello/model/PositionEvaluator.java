@@ -0,0 +1,236 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Evaluates boards for a player, for the strategies that search the game. The
+ * value of a board is positive when the board is good for the player and
+ * negative when it is good for the other players.
+ *
+ * A board of a game that is not over is valued by where the discs are, since
+ * corners can never be taken back and the nodes next to them give them away,
+ * and by how many moves each player has. On the traditional 8x8 board both
+ * are counted on the bitboard of the board, on other boards only the discs
+ * are counted.
+ */
+public class PositionEvaluator {
+
+	/**
+	 * The value of each disc a player has more than the other players when the
+	 * game is over. Since it is larger than any value of a board of a game that
+	 * is not over, a won game is better than any game that is not over.
+	 */
+	public static final int FINAL_DISC_VALUE = 10000;
+
+	private static final int MOBILITY_VALUE = 8;
+
+	// The value of a disc at each node of the traditional board, by bit number
+	private static final int[] SQUARE_VALUES = {
+			100, -20, 10, 5, 5, 10, -20, 100,
+			-20, -50, -2, -2, -2, -2, -50, -20,
+			10, -2, -1, -1, -1, -1, -2, 10,
+			5, -2, -1, -1, -1, -1, -2, 5,
+			5, -2, -1, -1, -1, -1, -2, 5,
+			10, -2, -1, -1, -1, -1, -2, 10,
+			-20, -50, -2, -2, -2, -2, -50, -20,
+			100, -20, 10, 5, 5, 10, -20, 100 };
+
+	// The nodes with the same value, so that the discs are counted per value
+	private static final int[] VALUES;
+	private static final long[] VALUE_MASKS;
+
+	static {
+		int[] values = new int[SQUARE_VALUES.length];
+		long[] masks = new long[SQUARE_VALUES.length];
+		int numberOfValues = 0;
+		for (int bitNumber = 0; bitNumber < SQUARE_VALUES.length; bitNumber++) {
+			int value = 0;
+			while (value < numberOfValues && values[value] != SQUARE_VALUES[bitNumber]) {
+				value++;
+			}
+			if (value == numberOfValues) {
+				values[numberOfValues++] = SQUARE_VALUES[bitNumber];
+			}
+			masks[value] |= 1L << bitNumber;
+		}
+		VALUES = Arrays.copyOf(values, numberOfValues);
+		VALUE_MASKS = Arrays.copyOf(masks, numberOfValues);
+	}
+
+	public PositionEvaluator() {
+
+	}
+
+	/**
+	 * Returns the value of the given board for the given player, when the game
+	 * is not over.
+	 *
+	 * @param board
+	 *            the board to evaluate.
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the value of the board for the player.
+	 */
+	public int evaluate(ImmutableBoard board, String playerId) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return getDiscDifference(board, playerId);
+		}
+		SquareBitboard bitboard = maybeBitboard.get();
+		int ordinal = board.getPlayerTable().getOrdinal(playerId);
+		long own = bitboard.getDiscs(ordinal);
+		int mobility = 0;
+		for (int playerOrdinal : bitboard.getPlayerOrdinals()) {
+			int moves = Long.bitCount(SquareBitboardRules.getMoves(bitboard, playerOrdinal));
+			mobility += playerOrdinal == ordinal ? moves : -moves;
+		}
+		return getDiscValue(own, bitboard.getOccupied() & ~own) + MOBILITY_VALUE * mobility;
+	}
+
+	/**
+	 * Returns the value of the traditional 8x8 board with the given discs for
+	 * the player with the given own discs, in a game of two players that is
+	 * not over. The value is the one {@link #evaluate(ImmutableBoard, String)}
+	 * gives the board, and the bits are numbered as by
+	 * {@link SquareBitboardRules#getMoves(long, long)}. The valid moves of the
+	 * players are given, since a search finds them to know whether the game is
+	 * over.
+	 *
+	 * @param own
+	 *            the bits of the nodes occupied by the player.
+	 * @param opponents
+	 *            the bits of the nodes occupied by the other player.
+	 * @param ownMoves
+	 *            the bits of the valid moves of the player.
+	 * @param opponentMoves
+	 *            the bits of the valid moves of the other player.
+	 * @return the value of the board for the player.
+	 */
+	public int evaluate(long own, long opponents, long ownMoves, long opponentMoves) {
+		int mobility = Long.bitCount(ownMoves) - Long.bitCount(opponentMoves);
+		return getDiscValue(own, opponents) + MOBILITY_VALUE * mobility;
+	}
+
+	/*
+	 * Returns the value of the own discs minus the value of the other discs.
+	 */
+	private static int getDiscValue(long own, long others) {
+		int value = 0;
+		for (int i = 0; i < VALUES.length; i++) {
+			value += VALUES[i] * (Long.bitCount(own & VALUE_MASKS[i]) - Long.bitCount(others & VALUE_MASKS[i]));
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the value of the given board for the given player, when the game
+	 * is over.
+	 *
+	 * @param board
+	 *            the board of the game that is over.
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the value of the board for the player.
+	 */
+	public int evaluateFinal(ImmutableBoard board, String playerId) {
+		return FINAL_DISC_VALUE * getDiscDifference(board, playerId);
+	}
+
+	/**
+	 * Returns the value of the traditional 8x8 board with the given discs for
+	 * the player with the given own discs, when the game is over. The value is
+	 * the one {@link #evaluateFinal(ImmutableBoard, String)} gives the board.
+	 *
+	 * @param own
+	 *            the bits of the nodes occupied by the player.
+	 * @param opponents
+	 *            the bits of the nodes occupied by the other players.
+	 * @return the value of the board for the player.
+	 */
+	public int evaluateFinal(long own, long opponents) {
+		return FINAL_DISC_VALUE * (Long.bitCount(own) - Long.bitCount(opponents));
+	}
+
+	/**
+	 * Returns the number of discs the given player has more than the other
+	 * players together.
+	 *
+	 * @param board
+	 *            the board.
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the number of discs of the player minus the number of discs of
+	 *         the other players.
+	 */
+	public int getDiscDifference(ImmutableBoard board, String playerId) {
+		int ordinal = board.getPlayerTable().getOrdinal(playerId);
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (maybeBitboard.isPresent()) {
+			SquareBitboard bitboard = maybeBitboard.get();
+			long own = bitboard.getDiscs(ordinal);
+			return Long.bitCount(own) - Long.bitCount(bitboard.getOccupied() & ~own);
+		}
+		int difference = 0;
+		for (int index = 0; index < board.getShape().size(); index++) {
+			int occupant = board.getOccupant(index);
+			if (occupant != PlayerTable.EMPTY) {
+				difference += occupant == ordinal ? 1 : -1;
+			}
+		}
+		return difference;
+	}
+
+	/**
+	 * Returns the number of valid moves of the player in turn in the given game
+	 * state, so that a search may try the moves that leave the other players
+	 * with the fewest moves first.
+	 *
+	 * @param state
+	 *            the game state.
+	 * @return the number of valid moves of the player in turn, or 0 if the
+	 *         game is over.
+	 */
+	public int getMobility(GameState state) {
+		Optional<String> playerInTurn = state.getPlayerInTurn();
+		if (!playerInTurn.isPresent()) {
+			return 0;
+		}
+		ImmutableBoard board = state.getBoard();
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return state.generateMoves(new MoveList()).size();
+		}
+		int ordinal = board.getPlayerTable().getOrdinal(playerInTurn.get());
+		return Long.bitCount(SquareBitboardRules.getMoves(maybeBitboard.get(), ordinal));
+	}
+
+	/**
+	 * Returns the value of the node of the given move, so that a search may
+	 * try the moves with the most valuable nodes first.
+	 *
+	 * @param moves
+	 *            the moves generated for a board.
+	 * @param move
+	 *            the number of the move in the list.
+	 * @return the value of the node of the move.
+	 */
+	public int getMoveValue(MoveList moves, int move) {
+		if (!moves.getBoard().getSquareBitboard().isPresent()) {
+			return moves.getNumberOfNodesToSwap(move);
+		}
+		return SQUARE_VALUES[moves.getIndex(move)];
+	}
+
+	/**
+	 * Returns the value of the node of a move on the traditional 8x8 board,
+	 * the value {@link #getMoveValue(MoveList, int)} gives the move.
+	 *
+	 * @param bitNumber
+	 *            the bit number of the node of the move.
+	 * @return the value of the node of the move.
+	 */
+	public int getMoveValue(int bitNumber) {
+		return SQUARE_VALUES[bitNumber];
+	}
+}
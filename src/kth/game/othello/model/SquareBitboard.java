@@ -0,0 +1,152 @@
+package kth.game.othello.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * An immutable bitboard representation of the traditional 8x8 board, where
+ * each player is represented by one 64-bit word, stored by the ordinal of the
+ * player in the {@link PlayerTable} of the board. The node with coordinates
+ * (x, y) is represented by bit number y * 8 + x.
+ */
+final class SquareBitboard {
+
+	static final int SIDE = 8;
+
+	private final int[] playerOrdinals;
+	private final long[] discs;
+	private final long occupied;
+
+	private SquareBitboard(int[] playerOrdinals, long[] discs) {
+		this.playerOrdinals = playerOrdinals;
+		this.discs = discs;
+		long occupied = 0L;
+		for (int ordinal = 1; ordinal < discs.length; ordinal++) {
+			occupied |= discs[ordinal];
+		}
+		this.occupied = occupied;
+	}
+
+	/**
+	 * Returns an Optional with the bitboard of the given board, or an empty
+	 * optional if the board is not the traditional 8x8 board with coordinates
+	 * ranging from 0 to 7.
+	 *
+	 * @param board
+	 *            the board to represent as a bitboard.
+	 * @return an Optional with the bitboard of the given board.
+	 */
+	static Optional<SquareBitboard> fromBoard(ImmutableBoard board) {
+		BoardShape shape = board.getShape();
+		if (!shape.isTraditionalSquare()) {
+			return Optional.empty();
+		}
+		long[] discs = new long[board.getPlayerTable().getNumberOfPlayers() + 1];
+		for (int index = 0; index < shape.size(); index++) {
+			discs[board.getOccupant(index)] |= 1L << index;
+		}
+		int[] playerOrdinals = new int[discs.length - 1];
+		int numberOfPlayers = 0;
+		for (int ordinal = 1; ordinal < discs.length; ordinal++) {
+			if (discs[ordinal] != 0L) {
+				playerOrdinals[numberOfPlayers++] = ordinal;
+			}
+		}
+		return Optional.of(new SquareBitboard(Arrays.copyOf(playerOrdinals, numberOfPlayers), discs));
+	}
+
+	/**
+	 * Returns the bit representing the node at the given coordinates.
+	 */
+	static long bit(int x, int y) {
+		return 1L << (y * SIDE + x);
+	}
+
+	/**
+	 * Returns true if the given coordinates are within the 8x8 board.
+	 */
+	static boolean isOnBoard(Coordinates coordinates) {
+		int x = coordinates.getX();
+		int y = coordinates.getY();
+		return x >= 0 && x < SIDE && y >= 0 && y < SIDE;
+	}
+
+	/**
+	 * Returns the coordinates of the node represented by the given bit number.
+	 */
+	static Coordinates toCoordinates(int bitNumber) {
+		return new Coordinates(bitNumber % SIDE, bitNumber / SIDE);
+	}
+
+	/**
+	 * Returns the bitboard where the given nodes are occupied by the player of
+	 * the given ordinal, such as the nodes of a move.
+	 *
+	 * @param ordinal
+	 *            the ordinal of the player, one of the ordinals of this
+	 *            bitboard.
+	 * @param changed
+	 *            the bits of the nodes occupied by the player.
+	 * @return the bitboard after the change.
+	 */
+	SquareBitboard play(int ordinal, long changed) {
+		long[] newDiscs = new long[discs.length];
+		boolean samePlayers = true;
+		for (int other = 1; other < discs.length; other++) {
+			newDiscs[other] = other == ordinal ? discs[other] | changed : discs[other] & ~changed;
+			samePlayers &= (newDiscs[other] != 0L) == (discs[other] != 0L);
+		}
+		if (samePlayers) {
+			// Most moves leave every player with discs on the board
+			return new SquareBitboard(playerOrdinals, newDiscs);
+		}
+		int[] newPlayerOrdinals = new int[discs.length - 1];
+		int numberOfPlayers = 0;
+		for (int other = 1; other < discs.length; other++) {
+			if (newDiscs[other] != 0L) {
+				newPlayerOrdinals[numberOfPlayers++] = other;
+			}
+		}
+		return new SquareBitboard(Arrays.copyOf(newPlayerOrdinals, numberOfPlayers), newDiscs);
+	}
+
+	/**
+	 * Returns the discs of the player with the given ordinal, or 0 if the
+	 * player has no discs on the board or the ordinal is
+	 * {@link PlayerTable#NO_PLAYER}.
+	 */
+	long getDiscs(int ordinal) {
+		return ordinal > 0 && ordinal < discs.length ? discs[ordinal] : 0L;
+	}
+
+	/**
+	 * Returns the ordinal of the player occupying the node of the given bit
+	 * number, or {@link PlayerTable#EMPTY} if the node is not occupied.
+	 */
+	int getOccupant(int bitNumber) {
+		long bit = 1L << bitNumber;
+		for (int ordinal : playerOrdinals) {
+			if ((discs[ordinal] & bit) != 0L) {
+				return ordinal;
+			}
+		}
+		return PlayerTable.EMPTY;
+	}
+
+	/**
+	 * Returns the discs of all players.
+	 */
+	long getOccupied() {
+		return occupied;
+	}
+
+	/**
+	 * Returns the ordinals of the players that have at least one disc on the
+	 * board. The returned array must not be modified.
+	 */
+	int[] getPlayerOrdinals() {
+		return playerOrdinals;
+	}
+}
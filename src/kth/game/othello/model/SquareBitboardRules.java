@@ -0,0 +1,263 @@
+package kth.game.othello.model;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * Represents the rules of simple Othello on the traditional 8x8 board, using a
+ * bitboard with one 64-bit word per player. Legal moves are found with
+ * shift-and-mask flood fills in all directions at once, instead of walking the
+ * board node by node. Boards that are not 8x8 are handled by the general
+ * {@link ModelRules}.
+ */
+public class SquareBitboardRules extends ModelRules {
+
+	// The nodes that are not in the west or east edge column. A shift by 1, 7
+	// or 9 bits is a step along a row or a diagonal, and a shift by 8 bits a
+	// step along a column.
+	private static final long NOT_EDGE_COLUMNS = 0x7E7E7E7E7E7E7E7EL;
+
+	/**
+	 * Creates an object with the responsibility of telling the rules of
+	 * Othello on the traditional 8x8 board.
+	 */
+	public SquareBitboardRules() {
+
+	}
+
+	@Override
+	public boolean validMove(ImmutableBoard board, Coordinates nodeCoordinates, String playerId) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return super.validMove(board, nodeCoordinates, playerId);
+		}
+		if (!SquareBitboard.isOnBoard(nodeCoordinates)) {
+			return false;
+		}
+		long move = SquareBitboard.bit(nodeCoordinates.getX(), nodeCoordinates.getY());
+		return getFlips(maybeBitboard.get(), move, board.getPlayerTable().getOrdinal(playerId)) != 0;
+	}
+
+	@Override
+	public boolean hasValidMove(ImmutableBoard board, String playerId) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return super.hasValidMove(board, playerId);
+		}
+		return getMoves(maybeBitboard.get(), board.getPlayerTable().getOrdinal(playerId)) != 0;
+	}
+
+	@Override
+	public boolean isGameOver(ImmutableBoard board) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return super.isGameOver(board);
+		}
+		SquareBitboard bitboard = maybeBitboard.get();
+		for (int ordinal : bitboard.getPlayerOrdinals()) {
+			if (getMoves(bitboard, ordinal) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public Set<ImmutableNode> getNodesToSwap(ImmutableBoard board, Coordinates nodeCoordinates, String playerId) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return super.getNodesToSwap(board, nodeCoordinates, playerId);
+		}
+		Set<ImmutableNode> result = new HashSet<>();
+		if (!SquareBitboard.isOnBoard(nodeCoordinates)) {
+			return result;
+		}
+		SquareBitboard bitboard = maybeBitboard.get();
+		long move = SquareBitboard.bit(nodeCoordinates.getX(), nodeCoordinates.getY());
+		long flips = getFlips(bitboard, move, board.getPlayerTable().getOrdinal(playerId));
+		while (flips != 0) {
+			// The index of a node on the traditional board equals its bit
+			// number
+			result.add(board.getNodeAtIndex(Long.numberOfTrailingZeros(flips)));
+			flips &= flips - 1;
+		}
+		return result;
+	}
+
+	@Override
+	public MoveList generateMoves(ImmutableBoard board, String playerId, MoveList moves) {
+		Optional<SquareBitboard> maybeBitboard = board.getSquareBitboard();
+		if (!maybeBitboard.isPresent()) {
+			return super.generateMoves(board, playerId, moves);
+		}
+		moves.clear(board);
+		SquareBitboard bitboard = maybeBitboard.get();
+		int ordinal = board.getPlayerTable().getOrdinal(playerId);
+		// The index of a node on the traditional board equals its bit number
+		long validMoves = getMoves(bitboard, ordinal);
+		while (validMoves != 0) {
+			int bitNumber = Long.numberOfTrailingZeros(validMoves);
+			validMoves &= validMoves - 1;
+			moves.addMove(bitNumber);
+			long flips = getFlips(bitboard, 1L << bitNumber, ordinal);
+			while (flips != 0) {
+				moves.addNodeToSwap(Long.numberOfTrailingZeros(flips));
+				flips &= flips - 1;
+			}
+		}
+		return moves;
+	}
+
+	/*
+	 * Returns the bits of all nodes where the player with the given ordinal can
+	 * make a valid move.
+	 */
+	static long getMoves(SquareBitboard bitboard, int ordinal) {
+		long own = bitboard.getDiscs(ordinal);
+		return getMoves(own, bitboard.getOccupied() & ~own);
+	}
+
+	/**
+	 * Returns the bits of all nodes where a player with the given discs can
+	 * make a valid move, against the given discs of the other players. The
+	 * node with coordinates (x, y) is bit number y * 8 + x, which is also the
+	 * index of the node on the traditional board. A search may thereby make
+	 * moves on two 64-bit words alone.
+	 *
+	 * @param own
+	 *            the bits of the nodes occupied by the player.
+	 * @param opponents
+	 *            the bits of the nodes occupied by the other players.
+	 * @return the bits of the nodes of the valid moves of the player.
+	 */
+	public static long getMoves(long own, long opponents) {
+		if (own == 0) {
+			return 0L;
+		}
+		long empty = ~(own | opponents);
+		// Discs in the edge columns cannot be flanked along a row or a
+		// diagonal, which also keeps the lines from wrapping around the edges
+		long innerOpponents = opponents & NOT_EDGE_COLUMNS;
+		return getMovesUp(own, innerOpponents, empty, 1) | getMovesDown(own, innerOpponents, empty, 1)
+				| getMovesUp(own, innerOpponents, empty, 7) | getMovesDown(own, innerOpponents, empty, 7)
+				| getMovesUp(own, opponents, empty, 8) | getMovesDown(own, opponents, empty, 8)
+				| getMovesUp(own, innerOpponents, empty, 9) | getMovesDown(own, innerOpponents, empty, 9);
+	}
+
+	/**
+	 * Returns a 64-bit key of the traditional board with the given discs where
+	 * the player with the own discs is in turn, for a table of the results of
+	 * searches. The words are mixed as by the finalizer of SplitMix64, so the
+	 * keys of boards that differ in a few nodes differ in about half their
+	 * bits.
+	 *
+	 * @param own
+	 *            the bits of the nodes occupied by the player in turn.
+	 * @param opponents
+	 *            the bits of the nodes occupied by the other players.
+	 * @return the key of the board.
+	 */
+	public static long getKey(long own, long opponents) {
+		return mix(mix(own) ^ opponents);
+	}
+
+	private static long mix(long bits) {
+		bits = (bits ^ (bits >>> 30)) * 0xBF58476D1CE4E5B9L;
+		bits = (bits ^ (bits >>> 27)) * 0x94D049BB133111EBL;
+		return bits ^ (bits >>> 31);
+	}
+
+	/*
+	 * Flood fills from the own discs over the opponent discs towards the higher
+	 * bit numbers, an empty node directly after such a line is a valid move. At
+	 * most six opponent discs fit between two nodes on an 8x8 board.
+	 */
+	private static long getMovesUp(long own, long opponents, long empty, int shift) {
+		long line = (own << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		return (line << shift) & empty;
+	}
+
+	/*
+	 * Like getMovesUp, towards the lower bit numbers.
+	 */
+	private static long getMovesDown(long own, long opponents, long empty, int shift) {
+		long line = (own >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		return (line >>> shift) & empty;
+	}
+
+	/*
+	 * Returns the bits of the nodes that would be swapped if the player with
+	 * the given ordinal made a move at the given node, or 0 if the move is not
+	 * valid.
+	 */
+	private static long getFlips(SquareBitboard bitboard, long move, int ordinal) {
+		long own = bitboard.getDiscs(ordinal);
+		return getFlips(move, own, bitboard.getOccupied() & ~own);
+	}
+
+	/**
+	 * Returns the bits of the nodes that would be swapped if a player with the
+	 * given discs made a move at the given node, against the given discs of
+	 * the other players. The bits are numbered as by
+	 * {@link #getMoves(long, long)}.
+	 *
+	 * @param move
+	 *            the bit of the node of the move.
+	 * @param own
+	 *            the bits of the nodes occupied by the player.
+	 * @param opponents
+	 *            the bits of the nodes occupied by the other players.
+	 * @return the bits of the nodes to swap, or 0 if the move is not valid.
+	 */
+	public static long getFlips(long move, long own, long opponents) {
+		if (((own | opponents) & move) != 0) {
+			return 0L;
+		}
+		long innerOpponents = opponents & NOT_EDGE_COLUMNS;
+		return getFlipsUp(move, own, innerOpponents, 1) | getFlipsDown(move, own, innerOpponents, 1)
+				| getFlipsUp(move, own, innerOpponents, 7) | getFlipsDown(move, own, innerOpponents, 7)
+				| getFlipsUp(move, own, opponents, 8) | getFlipsDown(move, own, opponents, 8)
+				| getFlipsUp(move, own, innerOpponents, 9) | getFlipsDown(move, own, innerOpponents, 9);
+	}
+
+	/*
+	 * Returns the opponent discs flanked by the move and an own disc towards
+	 * the higher bit numbers. The line of opponent discs from the move is
+	 * flood filled like in getMovesUp, without a branch per disc.
+	 */
+	private static long getFlipsUp(long move, long own, long opponents, int shift) {
+		long line = (move << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		line |= (line << shift) & opponents;
+		return ((line << shift) & own) != 0 ? line : 0L;
+	}
+
+	/*
+	 * Like getFlipsUp, towards the lower bit numbers.
+	 */
+	private static long getFlipsDown(long move, long own, long opponents, int shift) {
+		long line = (move >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		line |= (line >>> shift) & opponents;
+		return ((line >>> shift) & own) != 0 ? line : 0L;
+	}
+}
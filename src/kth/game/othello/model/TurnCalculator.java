@@ -1,5 +1,6 @@
 package kth.game.othello.model;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,7 +10,9 @@ import java.util.Optional;
  */
 public class TurnCalculator {
 
-	private List<String> players;
+	private PlayerRegistry players;
+	// The answer when each player is in turn, by ordinal - 1
+	private final List<Optional<String>> playersInTurn = new ArrayList<>();
 
 	/**
 	 * Create a new TurnCalculator.
@@ -18,7 +21,21 @@ public class TurnCalculator {
 	 *            the players that the turn keeper is to cycle between.
 	 */
 	public TurnCalculator(List<String> playerIds) {
-		this.players = playerIds;
+		this(new PlayerRegistry(playerIds));
+	}
+
+	/**
+	 * Create a new TurnCalculator cycling between the players of the given
+	 * registry, in the order of their ordinals.
+	 * 
+	 * @param players
+	 *            the players that the turn keeper is to cycle between.
+	 */
+	public TurnCalculator(PlayerRegistry players) {
+		this.players = players;
+		for (String playerId : players.getPlayerIds()) {
+			playersInTurn.add(Optional.of(playerId));
+		}
 	}
 
 	/**
@@ -34,22 +51,34 @@ public class TurnCalculator {
 	 *            the rules with which the players are playing.
 	 */
 	public Optional<String> getPlayerInTurn(String previousPlayer, ImmutableBoard board, ModelRules rules) {
-		if (rules.isGameOver(board)) {
-			return Optional.empty();
-		}
-		int playerIndex = players.indexOf(previousPlayer);
-		if (playerIndex < 0) {
+		return getPlayerInTurn(previousPlayer, new Mobility(board, rules));
+	}
+
+	/**
+	 * Returns an Optional with the id of the player in turn. Given the previous
+	 * player and the mobility of the players on the resulting board of the
+	 * previous players move. If no player can do any move return an empty
+	 * Optional
+	 * 
+	 * @param previousPlayer
+	 *            the id of the previous player.
+	 * @param mobility
+	 *            the mobility of the players on the board on which they are
+	 *            playing.
+	 */
+	public Optional<String> getPlayerInTurn(String previousPlayer, Mobility mobility) {
+		int ordinal = players.getOrdinal(previousPlayer);
+		if (ordinal == PlayerRegistry.NO_PLAYER) {
 			return Optional.empty();
 		}
-		playerIndex = (playerIndex + 1) % players.size(); // jump to player
-															// after the
-															// previous player
-		for (int i = 0; i < players.size(); i++) {
-			String possiblePlayerInTurn = players.get(playerIndex);
-			if (rules.hasValidMove(board, possiblePlayerInTurn)) {
-				return Optional.of(possiblePlayerInTurn);
+		int numberOfPlayers = players.getNumberOfPlayers();
+		for (int i = 0; i < numberOfPlayers; i++) {
+			// jump to the player after the previous player
+			ordinal = ordinal % numberOfPlayers + 1;
+			String possiblePlayerInTurn = players.getPlayerId(ordinal);
+			if (mobility.hasValidMove(possiblePlayerInTurn)) {
+				return playersInTurn.get(ordinal - 1);
 			}
-			playerIndex = (playerIndex + 1) % players.size();
 		}
 		return Optional.empty();
 	}
@@ -0,0 +1,573 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.model.PositionEvaluator;
+import kth.game.othello.model.SquareBitboardRules;
+
+/**
+ * The negamax alpha-beta search of one move from the root, deepened one move
+ * at a time until the time is up. A search is only used by the thread that
+ * makes it, but many searches of the same root may run at once and share a
+ * transposition table. One of them is the main search, which decides when
+ * the searches are done, and the others are helpers, which skip some depths
+ * so that they search ahead of the main search.
+ *
+ * A game of two players on the traditional 8x8 board is searched on the bits
+ * of the discs of the two players alone, so that a move is made and taken
+ * back without making a game state. Other games are searched on the immutable
+ * game states of the model.
+ */
+final class AlphaBetaSearch {
+
+	// Larger than the value of any board
+	private static final int INFINITY = 1000 * PositionEvaluator.FINAL_DISC_VALUE;
+	// The clock is read once per this many visited game states
+	private static final int CLOCK_INTERVAL_MASK = 1023;
+	// The moves of game states searched at least this deep are ordered by the
+	// number of moves left to the other player, each move costing this much
+	private static final int MOBILITY_ORDERING_DEPTH = 3;
+	private static final int MOBILITY_ORDERING_VALUE = 64;
+	// Larger than the ordering value of any other move
+	private static final int BEST_MOVE_ORDERING_VALUE = 1 << 20;
+	// The search on the bits of the traditional board only keeps game states
+	// searched at least this deep in the table, since the game states next to
+	// the leaves are searched faster than they are looked up
+	private static final int SQUARE_TABLE_DEPTH = 2;
+	// More than the valid moves of any player on the traditional board
+	private static final int MAX_SQUARE_MOVES = 64;
+	// The helpers skip blocks of depths, helper i skips SKIP_SIZES[i] depths
+	// in every other block, starting at phase SKIP_PHASES[i]
+	private static final int[] SKIP_SIZES = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+	private static final int[] SKIP_PHASES = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+	private final PositionEvaluator evaluator;
+	private final TranspositionTable transpositionTable;
+	private final String playerId;
+	private final long startTime;
+	private final long timeBudgetNanos;
+	private final int maxDepth;
+	private final AtomicBoolean isStopped;
+	private final int helperNumber;
+	private MoveList[] moveLists = new MoveList[0];
+	// The moves of the search on the bits of the traditional board, the bit
+	// numbers, swapped nodes and ordering values of MAX_SQUARE_MOVES per ply
+	private int[] squareMoves = new int[0];
+	private long[] squareFlips = new long[0];
+	private int[] squareValues = new int[0];
+	// The discs of the players of the root, if it is searched on the bits
+	private boolean isSquareSearch = false;
+	private long rootOwn;
+	private long rootOpponents;
+	private long nodes = 0;
+	private int completedDepth = 0;
+	private int bestMove = 0;
+	private long[] timeToDepthNanos = new long[0];
+	private boolean isAborted = false;
+	// Whether every line of the latest search reached the end of the game
+	private boolean isExact;
+
+	/**
+	 * Creates a search of a move of the given player.
+	 *
+	 * @param evaluator
+	 *            the evaluator of the game states at the leaves.
+	 * @param transpositionTable
+	 *            the table of the results of searches.
+	 * @param playerId
+	 *            the id of the player in turn at the root.
+	 * @param startTime
+	 *            the time the move was asked for, by System.nanoTime.
+	 * @param timeBudgetNanos
+	 *            the time the search may take, in nanoseconds.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 * @param isStopped
+	 *            set when the searches of the move must stop. The main search
+	 *            sets it when it is done.
+	 * @param helperNumber
+	 *            0 for the main search, and from 1 for the helpers.
+	 */
+	AlphaBetaSearch(PositionEvaluator evaluator, TranspositionTable transpositionTable, String playerId,
+			long startTime, long timeBudgetNanos, int maxDepth, AtomicBoolean isStopped, int helperNumber) {
+		this.evaluator = evaluator;
+		this.transpositionTable = transpositionTable;
+		this.playerId = playerId;
+		this.startTime = startTime;
+		this.timeBudgetNanos = timeBudgetNanos;
+		this.maxDepth = maxDepth;
+		this.isStopped = isStopped;
+		this.helperNumber = helperNumber;
+	}
+
+	/**
+	 * @return the number of game states visited.
+	 */
+	long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return the depth of the deepest completed search, or 0 if none was.
+	 */
+	int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	/**
+	 * @return the number of the best move of the deepest completed search.
+	 */
+	int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return the time from the start until each depth was completed, by
+	 *         depth, in nanoseconds. Depths that were skipped or not
+	 *         completed are 0.
+	 */
+	long[] getTimeToDepthNanos() {
+		return Arrays.copyOf(timeToDepthNanos, completedDepth + 1);
+	}
+
+	private MoveList getMoveList(int ply) {
+		if (ply >= moveLists.length) {
+			MoveList[] newMoveLists = new MoveList[ply + 8];
+			System.arraycopy(moveLists, 0, newMoveLists, 0, moveLists.length);
+			for (int i = moveLists.length; i < newMoveLists.length; i++) {
+				newMoveLists[i] = new MoveList();
+			}
+			moveLists = newMoveLists;
+		}
+		return moveLists[ply];
+	}
+
+	/*
+	 * Makes sure that the moves of the given ply of the search on the bits of
+	 * the traditional board fit in the arrays of the moves.
+	 */
+	private void ensureSquareMoves(int ply) {
+		int length = (ply + 1) * MAX_SQUARE_MOVES;
+		if (length > squareMoves.length) {
+			length += 8 * MAX_SQUARE_MOVES;
+			squareMoves = Arrays.copyOf(squareMoves, length);
+			squareFlips = Arrays.copyOf(squareFlips, length);
+			squareValues = Arrays.copyOf(squareValues, length);
+		}
+	}
+
+	/*
+	 * Returns whether a helper skips the given depth. The main search skips
+	 * none.
+	 */
+	private boolean isSkipped(int depth) {
+		if (helperNumber == 0) {
+			return false;
+		}
+		int i = (helperNumber - 1) % SKIP_SIZES.length;
+		return (depth + SKIP_PHASES[i]) / SKIP_SIZES[i] % 2 != 0;
+	}
+
+	/**
+	 * Searches the given moves of the root, deepening the search until the
+	 * time is up or the searches are stopped. The best move is then found by
+	 * {@link #getBestMove()}.
+	 *
+	 * @param root
+	 *            the game state where the player is in turn.
+	 * @param rootMoves
+	 *            the moves of the root.
+	 */
+	void searchRoot(GameState root, MoveList rootMoves) {
+		try {
+			deepen(root, rootMoves);
+		} finally {
+			if (helperNumber == 0) {
+				isStopped.set(true);
+			}
+		}
+	}
+
+	/*
+	 * Searches the moves of the root one move deeper at a time.
+	 */
+	private void deepen(GameState root, MoveList rootMoves) {
+		prepareSquareSearch(root);
+		int numberOfMoves = rootMoves.size();
+		int[] order = new int[numberOfMoves];
+		int[] values = new int[numberOfMoves];
+		for (int move = 0; move < numberOfMoves; move++) {
+			order[move] = move;
+			values[move] = evaluator.getMoveValue(rootMoves, move);
+		}
+		sortByValue(order, values);
+		bestMove = order[0];
+		if (numberOfMoves == 1) {
+			return;
+		}
+		timeToDepthNanos = new long[Math.min(maxDepth, 64) + 1];
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			// The deepest depth is never skipped, or a helper would idle
+			if (isSkipped(depth) && depth < maxDepth) {
+				continue;
+			}
+			isExact = true;
+			int alpha = -INFINITY;
+			for (int i = 0; i < numberOfMoves && !isAborted; i++) {
+				int move = order[i];
+				int value = searchRootMove(root, rootMoves, move, depth, alpha, i == 0);
+				values[move] = value;
+				if (value > alpha) {
+					alpha = value;
+				}
+			}
+			if (isAborted) {
+				break;
+			}
+			sortByValue(order, values);
+			bestMove = order[0];
+			completedDepth = depth;
+			long elapsed = System.nanoTime() - startTime;
+			if (depth >= timeToDepthNanos.length) {
+				timeToDepthNanos = Arrays.copyOf(timeToDepthNanos, 2 * depth);
+			}
+			timeToDepthNanos[depth] = elapsed;
+			// A deeper search takes longer than all searches before it
+			// together, so it would hardly be completed
+			if (isExact || (helperNumber == 0 && elapsed > timeBudgetNanos * 7 / 10)) {
+				break;
+			}
+		}
+	}
+
+	/*
+	 * Searches the root on the bits of the traditional board if the game is
+	 * one of two players on it.
+	 */
+	private void prepareSquareSearch(GameState root) {
+		OptionalLong own = root.getBoard().getSquareDiscs(playerId);
+		if (!own.isPresent()) {
+			return;
+		}
+		long opponents = 0L;
+		int numberOfOpponents = 0;
+		for (String otherPlayerId : root.getBoard().getPlayerIDs()) {
+			if (!otherPlayerId.equals(playerId)) {
+				opponents |= root.getBoard().getSquareDiscs(otherPlayerId).getAsLong();
+				numberOfOpponents++;
+			}
+		}
+		if (numberOfOpponents <= 1) {
+			isSquareSearch = true;
+			rootOwn = own.getAsLong();
+			rootOpponents = opponents;
+		}
+	}
+
+	/*
+	 * Returns the value for the player of the root of the given move of the
+	 * root, searched to the given depth.
+	 */
+	private int searchRootMove(GameState root, MoveList rootMoves, int move, int depth, int alpha,
+			boolean isExpectedBest) {
+		if (!isSquareSearch) {
+			return search(root.play(rootMoves, move), playerId, depth - 1, alpha, INFINITY, 1, isExpectedBest);
+		}
+		long moveBit = 1L << rootMoves.getIndex(move);
+		long flips = SquareBitboardRules.getFlips(moveBit, rootOwn, rootOpponents);
+		return searchSquare(rootOwn | moveBit | flips, rootOpponents & ~flips, depth - 1, alpha, INFINITY, 1,
+				isExpectedBest);
+	}
+
+	/*
+	 * Returns the value for the given player of the given game state, where
+	 * the player made the latest move. Unless the move is expected to be the
+	 * best move, it is first only searched to show that it is not better than
+	 * alpha, and searched again if it is.
+	 */
+	private int search(GameState state, String previousPlayerId, int depth, int alpha, int beta, int ply,
+			boolean isExpectedBest) {
+		if (isExpectedBest || beta - alpha == 1) {
+			return getValue(state, previousPlayerId, depth, alpha, beta, ply);
+		}
+		int value = getValue(state, previousPlayerId, depth, alpha, alpha + 1, ply);
+		if (value > alpha && value < beta && !isAborted) {
+			value = getValue(state, previousPlayerId, depth, alpha, beta, ply);
+		}
+		return value;
+	}
+
+	/*
+	 * Returns the value for the given player of the given game state, where
+	 * the player made the latest move.
+	 */
+	private int getValue(GameState state, String previousPlayerId, int depth, int alpha, int beta, int ply) {
+		Optional<String> playerInTurn = state.getPlayerInTurn();
+		if (!playerInTurn.isPresent() || playerInTurn.get().equals(previousPlayerId)) {
+			// The other player passes, or the game is over
+			return negamax(state, previousPlayerId, depth, alpha, beta, ply);
+		}
+		return -negamax(state, playerInTurn.get(), depth, -beta, -alpha, ply);
+	}
+
+	/*
+	 * Returns the value for the given player of the given game state, where
+	 * the player is in turn unless the game is over. The value is only exact
+	 * if it lies between alpha and beta.
+	 */
+	private int negamax(GameState state, String playerInTurn, int depth, int alpha, int beta, int ply) {
+		nodes++;
+		if ((nodes & CLOCK_INTERVAL_MASK) == 0 && (System.nanoTime() - startTime > timeBudgetNanos || isStopped.get())) {
+			isAborted = true;
+		}
+		if (isAborted) {
+			return 0;
+		}
+		if (state.isGameOver()) {
+			return evaluator.evaluateFinal(state.getBoard(), playerInTurn);
+		}
+		if (depth <= 0) {
+			isExact = false;
+			return evaluator.evaluate(state.getBoard(), playerInTurn);
+		}
+		long key = state.getZobristKey();
+		long entry = transpositionTable.probe(key);
+		int bestMoveIndex = TranspositionTable.NO_MOVE;
+		if (entry != TranspositionTable.NO_ENTRY) {
+			bestMoveIndex = TranspositionTable.getBestMove(entry);
+			int entryDepth = TranspositionTable.getDepth(entry);
+			int score = TranspositionTable.getScore(entry);
+			int bound = TranspositionTable.getBound(entry);
+			if (entryDepth >= depth
+					&& (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+					|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha))) {
+				if (entryDepth != TranspositionTable.MAX_DEPTH) {
+					isExact = false;
+				}
+				return score;
+			}
+		}
+		// Whether every line from this game state reaches the end of the game
+		// is found while searching it
+		boolean wasExact = isExact;
+		isExact = true;
+		int originalAlpha = alpha;
+		MoveList moves = state.generateMoves(getMoveList(ply));
+		int numberOfMoves = moves.size();
+		int[] values = new int[numberOfMoves];
+		GameState[] children = null;
+		if (depth >= MOBILITY_ORDERING_DEPTH) {
+			// Far from the leaves it pays to make every move first, and try the
+			// moves that leave the other player with few moves first
+			children = new GameState[numberOfMoves];
+			for (int move = 0; move < numberOfMoves; move++) {
+				children[move] = state.play(moves, move);
+				values[move] = evaluator.getMoveValue(moves, move);
+				if (!children[move].getPlayerInTurn().equals(Optional.of(playerInTurn))) {
+					values[move] -= MOBILITY_ORDERING_VALUE * evaluator.getMobility(children[move]);
+				}
+			}
+		} else {
+			for (int move = 0; move < numberOfMoves; move++) {
+				values[move] = evaluator.getMoveValue(moves, move);
+			}
+		}
+		for (int move = 0; move < numberOfMoves; move++) {
+			if (moves.getIndex(move) == bestMoveIndex) {
+				// The best move of an earlier search of the game state
+				values[move] += BEST_MOVE_ORDERING_VALUE;
+			}
+		}
+		int bestValue = -INFINITY;
+		for (int i = 0; i < numberOfMoves; i++) {
+			// Pick the most valuable of the moves left
+			int move = 0;
+			for (int other = 1; other < numberOfMoves; other++) {
+				if (values[other] > values[move]) {
+					move = other;
+				}
+			}
+			values[move] = Integer.MIN_VALUE;
+			GameState child = children == null ? state.play(moves, move) : children[move];
+			int value = search(child, playerInTurn, depth - 1, alpha, beta, ply + 1, i == 0);
+			if (isAborted) {
+				return 0;
+			}
+			if (value > bestValue) {
+				bestValue = value;
+				bestMoveIndex = moves.getIndex(move);
+				if (value > alpha) {
+					alpha = value;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		int bound = TranspositionTable.EXACT;
+		if (bestValue <= originalAlpha) {
+			bound = TranspositionTable.UPPER_BOUND;
+		} else if (bestValue >= beta) {
+			bound = TranspositionTable.LOWER_BOUND;
+		}
+		transpositionTable.store(key, isExact ? TranspositionTable.MAX_DEPTH : depth, bound, bestValue, bestMoveIndex);
+		isExact &= wasExact;
+		return bestValue;
+	}
+
+	/*
+	 * Like search, on the bits of the traditional board: returns the value for
+	 * the player with the given own discs, who made the latest move, of the
+	 * board where the other player is in turn.
+	 */
+	private int searchSquare(long own, long opponents, int depth, int alpha, int beta, int ply,
+			boolean isExpectedBest) {
+		if (isExpectedBest || beta - alpha == 1) {
+			return -negamaxSquare(opponents, own, depth, -beta, -alpha, ply);
+		}
+		int value = -negamaxSquare(opponents, own, depth, -alpha - 1, -alpha, ply);
+		if (value > alpha && value < beta && !isAborted) {
+			value = -negamaxSquare(opponents, own, depth, -beta, -alpha, ply);
+		}
+		return value;
+	}
+
+	/*
+	 * Like negamax, on the bits of the traditional board: returns the value
+	 * for the player with the given own discs, who is in turn unless the
+	 * player has no valid move. The moves are made on the bits, so the search
+	 * makes no game states.
+	 */
+	private int negamaxSquare(long own, long opponents, int depth, int alpha, int beta, int ply) {
+		nodes++;
+		if ((nodes & CLOCK_INTERVAL_MASK) == 0 && (System.nanoTime() - startTime > timeBudgetNanos || isStopped.get())) {
+			isAborted = true;
+		}
+		if (isAborted) {
+			return 0;
+		}
+		long validMoves = SquareBitboardRules.getMoves(own, opponents);
+		if (depth <= 0) {
+			long opponentMoves = SquareBitboardRules.getMoves(opponents, own);
+			if (validMoves == 0 && opponentMoves == 0) {
+				return evaluator.evaluateFinal(own, opponents);
+			}
+			isExact = false;
+			return evaluator.evaluate(own, opponents, validMoves, opponentMoves);
+		}
+		if (validMoves == 0) {
+			if (SquareBitboardRules.getMoves(opponents, own) == 0) {
+				return evaluator.evaluateFinal(own, opponents);
+			}
+			// The player passes, which is no move of the depth
+			return -negamaxSquare(opponents, own, depth, -beta, -alpha, ply);
+		}
+		long key = SquareBitboardRules.getKey(own, opponents);
+		long entry = depth >= SQUARE_TABLE_DEPTH ? transpositionTable.probe(key) : TranspositionTable.NO_ENTRY;
+		int bestMoveIndex = TranspositionTable.NO_MOVE;
+		if (entry != TranspositionTable.NO_ENTRY) {
+			bestMoveIndex = TranspositionTable.getBestMove(entry);
+			int entryDepth = TranspositionTable.getDepth(entry);
+			int score = TranspositionTable.getScore(entry);
+			int bound = TranspositionTable.getBound(entry);
+			if (entryDepth >= depth
+					&& (bound == TranspositionTable.EXACT || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+					|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha))) {
+				if (entryDepth != TranspositionTable.MAX_DEPTH) {
+					isExact = false;
+				}
+				return score;
+			}
+		}
+		boolean wasExact = isExact;
+		isExact = true;
+		int originalAlpha = alpha;
+		ensureSquareMoves(ply);
+		int first = ply * MAX_SQUARE_MOVES;
+		int end = first;
+		while (validMoves != 0) {
+			int bitNumber = Long.numberOfTrailingZeros(validMoves);
+			validMoves &= validMoves - 1;
+			int value = evaluator.getMoveValue(bitNumber);
+			// A valid move swaps at least one node, so no swapped nodes mean
+			// that they are found when the move is made
+			long flips = 0L;
+			if (depth >= MOBILITY_ORDERING_DEPTH) {
+				long moveBit = 1L << bitNumber;
+				flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+				value -= MOBILITY_ORDERING_VALUE
+						* Long.bitCount(SquareBitboardRules.getMoves(opponents & ~flips, own | moveBit | flips));
+			}
+			if (bitNumber == bestMoveIndex) {
+				value += BEST_MOVE_ORDERING_VALUE;
+			}
+			squareMoves[end] = bitNumber;
+			squareFlips[end] = flips;
+			squareValues[end] = value;
+			end++;
+		}
+		int bestValue = -INFINITY;
+		for (int i = first; i < end; i++) {
+			int move = first;
+			for (int other = first + 1; other < end; other++) {
+				if (squareValues[other] > squareValues[move]) {
+					move = other;
+				}
+			}
+			squareValues[move] = Integer.MIN_VALUE;
+			long moveBit = 1L << squareMoves[move];
+			long flips = squareFlips[move];
+			if (flips == 0L) {
+				flips = SquareBitboardRules.getFlips(moveBit, own, opponents);
+			}
+			int value = searchSquare(own | moveBit | flips, opponents & ~flips, depth - 1, alpha, beta, ply + 1,
+					i == first);
+			if (isAborted) {
+				return 0;
+			}
+			if (value > bestValue) {
+				bestValue = value;
+				bestMoveIndex = squareMoves[move];
+				if (value > alpha) {
+					alpha = value;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		int bound = TranspositionTable.EXACT;
+		if (bestValue <= originalAlpha) {
+			bound = TranspositionTable.UPPER_BOUND;
+		} else if (bestValue >= beta) {
+			bound = TranspositionTable.LOWER_BOUND;
+		}
+		if (depth >= SQUARE_TABLE_DEPTH) {
+			transpositionTable.store(key, isExact ? TranspositionTable.MAX_DEPTH : depth, bound, bestValue,
+					bestMoveIndex);
+		}
+		isExact &= wasExact;
+		return bestValue;
+	}
+
+	/*
+	 * Sorts the given moves by decreasing value, keeping the order of moves of
+	 * equal value.
+	 */
+	private static void sortByValue(int[] order, int[] values) {
+		for (int i = 1; i < order.length; i++) {
+			int move = order[i];
+			int j = i;
+			while (j > 0 && values[order[j - 1]] < values[move]) {
+				order[j] = order[j - 1];
+				j--;
+			}
+			order[j] = move;
+		}
+	}
+}
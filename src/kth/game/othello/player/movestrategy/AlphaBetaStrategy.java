@@ -0,0 +1,276 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.BoardAdapter;
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.EndgameSolution;
+import kth.game.othello.model.EndgameSolver;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ImmutableNode;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.model.PositionEvaluator;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A strategy for a computer player in a game of two players, which searches
+ * the moves of both players a number of moves ahead with negamax alpha-beta
+ * search and makes the move that leads to the best board it can be sure to
+ * reach. The search is deepened one move at a time for as long as the time
+ * budget of a move lasts, and the move of the deepest completed search is
+ * made. Each deeper search tries the moves at the start in the order the
+ * previous search found them to be best. The other moves are tried in the
+ * order of the value of their nodes and, far from the leaves, of how few moves
+ * they leave to the other player, which lets alpha-beta cut off most of them.
+ *
+ * The results of the searches are kept in a {@link TranspositionTable}, so a
+ * game state reached again, through another order of moves or by a deeper
+ * search, is cut off at once when its result is deep enough, and otherwise has
+ * its best move tried first.
+ *
+ * When few enough nodes are empty, the game is instead solved to its end by an
+ * {@link EndgameSolver}, and the move with the best final disc difference is
+ * made.
+ *
+ * The search is made on immutable game states of the model, or on the bits of
+ * the discs of the two players on the traditional 8x8 board, so the board of
+ * the game is never changed by the search, and one strategy may search for
+ * many players at once. The number of game states visited per second is
+ * kept, both for the latest search and for all searches together.
+ */
+public class AlphaBetaStrategy implements MoveStrategy {
+
+	/**
+	 * The time budget of a move unless another is given, in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+	private final long timeBudgetNanos;
+	private final int maxDepth;
+	private final int endgameEmpties;
+	private final PositionEvaluator evaluator = new PositionEvaluator();
+	private final TranspositionTable transpositionTable;
+	private volatile SearchStatistics lastSearchStatistics;
+	private final AtomicLong searchedNodes = new AtomicLong();
+	private final AtomicLong searchNanos = new AtomicLong();
+
+	/**
+	 * Creates a strategy with the default time budget of a move.
+	 */
+	public AlphaBetaStrategy() {
+		this(DEFAULT_TIME_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates a strategy with the given time budget of a move.
+	 *
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 */
+	public AlphaBetaStrategy(long timeBudget, TimeUnit unit) {
+		this(timeBudget, unit, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a strategy with the given time budget of a move, that searches
+	 * at most the given number of moves ahead.
+	 *
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 */
+	public AlphaBetaStrategy(long timeBudget, TimeUnit unit, int maxDepth) {
+		this(timeBudget, unit, maxDepth, new TranspositionTable());
+	}
+
+	/**
+	 * Creates a strategy with the given time budget of a move, that searches
+	 * at most the given number of moves ahead and keeps the results of its
+	 * searches in the given table. The table may be shared with other
+	 * strategies.
+	 *
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 * @param transpositionTable
+	 *            the table of the results of searches.
+	 */
+	public AlphaBetaStrategy(long timeBudget, TimeUnit unit, int maxDepth, TranspositionTable transpositionTable) {
+		this(timeBudget, unit, maxDepth, transpositionTable, EndgameSolver.DEFAULT_MAX_EMPTIES);
+	}
+
+	/**
+	 * Creates a strategy with the given time budget of a move, that searches
+	 * at most the given number of moves ahead, keeps the results of its
+	 * searches in the given table, and solves the game to its end when at most
+	 * the given number of nodes are empty. Solving is not limited by the time
+	 * budget.
+	 *
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 * @param transpositionTable
+	 *            the table of the results of searches.
+	 * @param endgameEmpties
+	 *            the largest number of empty nodes of a game to solve, or 0
+	 *            to never solve.
+	 */
+	public AlphaBetaStrategy(long timeBudget, TimeUnit unit, int maxDepth, TranspositionTable transpositionTable,
+			int endgameEmpties) {
+		if (timeBudget <= 0 || maxDepth <= 0 || endgameEmpties < 0) {
+			throw new IllegalArgumentException(
+					"The time budget and the depth must be positive, and the empty nodes not negative");
+		}
+		this.timeBudgetNanos = unit.toNanos(timeBudget);
+		this.maxDepth = maxDepth;
+		this.endgameEmpties = endgameEmpties;
+		this.transpositionTable = transpositionTable;
+	}
+
+	@Override
+	public String getName() {
+		return "alpha-beta-strategy";
+	}
+
+	/**
+	 * Returns the node of the best move found within the time budget, or null
+	 * if no move is possible.
+	 *
+	 * @param playerId
+	 *            the id of the player that will make a move
+	 * @param rules
+	 *            the rules of this game.
+	 * @param board
+	 *            the current board of this game.
+	 * @return the node where the player wants to move. If the player is not
+	 *         able to move then null is returned.
+	 * @throws IllegalArgumentException
+	 *             if the game has more than two players.
+	 */
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		long startTime = System.nanoTime();
+		ImmutableBoard immutableBoard = toImmutableBoard(board);
+		requireTwoPlayers(immutableBoard, playerId);
+		GameState root = GameState.of(immutableBoard, playerId);
+		if (!root.getPlayerInTurn().equals(Optional.of(playerId))) {
+			return null;
+		}
+		// A solver is made per move, since a strategy may move for many
+		// players at once
+		EndgameSolver solver = new EndgameSolver(endgameEmpties);
+		if (solver.canSolve(root)) {
+			return solve(solver, root, board, startTime);
+		}
+		transpositionTable.newSearch();
+		AlphaBetaSearch search = new AlphaBetaSearch(evaluator, transpositionTable, playerId, startTime,
+				timeBudgetNanos, maxDepth, new AtomicBoolean(), 0);
+		MoveList rootMoves = root.generateMoves(new MoveList());
+		search.searchRoot(root, rootMoves);
+
+		long elapsed = System.nanoTime() - startTime;
+		lastSearchStatistics = new SearchStatistics(search.getCompletedDepth(), search.getNodes(), elapsed,
+				search.getTimeToDepthNanos());
+		searchedNodes.addAndGet(search.getNodes());
+		searchNanos.addAndGet(elapsed);
+		Coordinates coordinates = rootMoves.getCoordinates(search.getBestMove());
+		return board.getNode(coordinates.getX(), coordinates.getY());
+	}
+
+	/*
+	 * Returns the node of the best move of the solved game state, keeping the
+	 * solving as a search to the end of the game.
+	 */
+	private Node solve(EndgameSolver solver, GameState root, Board board, long startTime) {
+		EndgameSolution solution = solver.solve(root);
+		long elapsed = System.nanoTime() - startTime;
+		lastSearchStatistics = new SearchStatistics(solution.getEmptyNodes(), solution.getNodes(), elapsed);
+		searchedNodes.addAndGet(solution.getNodes());
+		searchNanos.addAndGet(elapsed);
+		Coordinates coordinates = solution.getBestMove();
+		return board.getNode(coordinates.getX(), coordinates.getY());
+	}
+
+	/**
+	 * @return an Optional with the statistics of the latest search, or an
+	 *         empty Optional if the strategy has not searched yet.
+	 */
+	public Optional<SearchStatistics> getLastSearchStatistics() {
+		return Optional.ofNullable(lastSearchStatistics);
+	}
+
+	/**
+	 * @return the number of game states visited by all searches.
+	 */
+	public long getSearchedNodes() {
+		return searchedNodes.get();
+	}
+
+	/**
+	 * @return the number of game states visited per second by all searches.
+	 */
+	public long getNodesPerSecond() {
+		long nanos = searchNanos.get();
+		return nanos == 0 ? 0 : (long) (searchedNodes.get() * 1e9 / nanos);
+	}
+
+	/**
+	 * @return the table where the results of the searches are kept.
+	 */
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
+
+	/*
+	 * Throws an IllegalArgumentException if the game of the given board has
+	 * more than two players. The search takes the value of a board for the
+	 * player in turn to be the opposite of its value for the player before,
+	 * which only holds in a game of two players.
+	 */
+	static void requireTwoPlayers(ImmutableBoard board, String playerId) {
+		Set<String> playerIds = new HashSet<>(board.getDiscCounts().keySet());
+		playerIds.add(playerId);
+		if (playerIds.size() > 2) {
+			throw new IllegalArgumentException("The strategy only plays games of two players");
+		}
+	}
+
+	/*
+	 * Returns the model board of the given board, copying the board unless it
+	 * is a view of one.
+	 */
+	static ImmutableBoard toImmutableBoard(Board board) {
+		if (board instanceof BoardAdapter) {
+			return ((BoardAdapter) board).getImmutableBoard();
+		}
+		if (board instanceof ImmutableBoardView) {
+			return ((ImmutableBoardView) board).getImmutableBoard();
+		}
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (Node node : board.getNodes()) {
+			nodes.add(new ImmutableNode(new Coordinates(node.getXCoordinate(), node.getYCoordinate()), Optional
+					.ofNullable(node.getOccupantPlayerId())));
+		}
+		return new ImmutableBoard(nodes);
+	}
+}
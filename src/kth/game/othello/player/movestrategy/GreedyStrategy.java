@@ -1,5 +1,7 @@
 package kth.game.othello.player.movestrategy;
 
+import java.util.Map;
+
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
 import kth.game.othello.rules.Rules;
@@ -36,21 +38,14 @@ public class GreedyStrategy implements MoveStrategy {
 	 */
 	@Override
 	public Node move(String playerId, Rules rules, Board board) {
-		// Check if there is any valid move for this player.
-		if (!rules.hasValidMove(playerId)) {
-			return null;
-		}
-
 		int maxSwaps = 0;
 		Node bestNode = null;
 		// Find the move which grants the player the most swapped nodes
-		for (Node node : board.getNodes()) {
-			if (rules.isMoveValid(playerId, node.getId())) {
-				int numberOfNodesSwapped = rules.getNodesToSwap(playerId, node.getId()).size();
-				if (numberOfNodesSwapped > maxSwaps) {
-					maxSwaps = numberOfNodesSwapped;
-					bestNode = node;
-				}
+		for (Map.Entry<Node, Integer> move : rules.getNumberOfNodesToSwap(playerId, board).entrySet()) {
+			int numberOfNodesSwapped = move.getValue();
+			if (numberOfNodesSwapped > maxSwaps) {
+				maxSwaps = numberOfNodesSwapped;
+				bestNode = move.getKey();
 			}
 		}
 		return bestNode;
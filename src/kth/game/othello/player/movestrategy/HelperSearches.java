@@ -0,0 +1,124 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the searches of a move of a strategy that searches on many threads: a
+ * main search on the thread making the move, and helper searches on an
+ * executor. The main search decides when the helpers must stop. A helper that
+ * has not started when the main search is done is never started, so a busy
+ * executor does not hold up the move.
+ */
+final class HelperSearches {
+
+	/**
+	 * A helper search, run once by the executor unless the main search is
+	 * done before the helper started.
+	 */
+	private static final class Helper implements Runnable {
+		private final Runnable search;
+		private final CountDownLatch done;
+		private final AtomicBoolean isClaimed = new AtomicBoolean();
+
+		private Helper(Runnable search, CountDownLatch done) {
+			this.search = search;
+			this.done = done;
+		}
+
+		/*
+		 * Returns true if the helper was not started before, and may not be
+		 * started afterwards.
+		 */
+		private boolean claim() {
+			return isClaimed.compareAndSet(false, true);
+		}
+
+		@Override
+		public void run() {
+			if (claim()) {
+				try {
+					search.run();
+				} finally {
+					done.countDown();
+				}
+			}
+		}
+	}
+
+	private HelperSearches() {
+
+	}
+
+	/**
+	 * Returns an executor with a thread for each of the given number of
+	 * helpers. The threads are daemon threads, which end when they have been
+	 * idle for a while.
+	 *
+	 * @param threadName
+	 *            the name of the threads, which are numbered after it.
+	 * @param helpers
+	 *            the number of helper searches run at once.
+	 * @return the executor of the helpers.
+	 */
+	static Executor createExecutor(String threadName, int helpers) {
+		AtomicInteger threadNumber = new AtomicInteger();
+		int threads = Math.max(1, helpers);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, threadName + "-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Runs the main search on the current thread and the helper searches on
+	 * the given executor, and returns when the main search and every helper
+	 * that started are done. The main search must make the helpers stop when
+	 * it is done.
+	 *
+	 * @param mainSearch
+	 *            the main search.
+	 * @param helperSearches
+	 *            the helper searches.
+	 * @param executor
+	 *            the executor that runs the helpers.
+	 */
+	static void run(Runnable mainSearch, List<Runnable> helperSearches, Executor executor) {
+		CountDownLatch done = new CountDownLatch(helperSearches.size());
+		Helper[] helpers = new Helper[helperSearches.size()];
+		for (int i = 0; i < helpers.length; i++) {
+			helpers[i] = new Helper(helperSearches.get(i), done);
+			executor.execute(helpers[i]);
+		}
+		mainSearch.run();
+		for (Helper helper : helpers) {
+			if (helper.claim()) {
+				// The helper never started
+				done.countDown();
+			}
+		}
+		boolean isInterrupted = false;
+		while (true) {
+			try {
+				// The helpers are soon done, since they were stopped
+				done.await();
+				break;
+			} catch (InterruptedException e) {
+				isInterrupted = true;
+			}
+		}
+		if (isInterrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.model.PositionEvaluator;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A strategy that searches like the {@link AlphaBetaStrategy} on many threads
+ * at once. The thread making the move runs the main search, and helper threads
+ * search the same moves at the same time, all sharing one
+ * {@link TranspositionTable}. The helpers skip some depths, each helper
+ * others, so they search ahead of the main search and fill the table with
+ * results that the main search and the other helpers cut off with. When the
+ * main search is done all searches stop, and the move of the deepest
+ * completed search is made.
+ *
+ * The statistics of a search count the game states visited by all threads,
+ * and keep the time until each depth was completed by any thread, so the
+ * number of game states per second and the time to reach a depth may be
+ * compared between numbers of threads.
+ */
+public class LazySmpStrategy implements MoveStrategy {
+
+	private final int threads;
+	private final long timeBudgetNanos;
+	private final int maxDepth;
+	private final PositionEvaluator evaluator = new PositionEvaluator();
+	private final TranspositionTable transpositionTable;
+	private final Executor helperExecutor;
+	private volatile SearchStatistics lastSearchStatistics;
+	private final AtomicLong searchedNodes = new AtomicLong();
+	private final AtomicLong searchNanos = new AtomicLong();
+
+	/**
+	 * Creates a strategy with one thread per processor and the default time
+	 * budget of a move.
+	 */
+	public LazySmpStrategy() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the default time
+	 * budget of a move.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 */
+	public LazySmpStrategy(int threads) {
+		this(threads, AlphaBetaStrategy.DEFAULT_TIME_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the given time
+	 * budget of a move.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 */
+	public LazySmpStrategy(int threads, long timeBudget, TimeUnit unit) {
+		this(threads, timeBudget, unit, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the given time
+	 * budget of a move, that searches at most the given number of moves ahead.
+	 * The helpers run on threads of the strategy, which end when they have
+	 * been idle for a while.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 */
+	public LazySmpStrategy(int threads, long timeBudget, TimeUnit unit, int maxDepth) {
+		this(threads, timeBudget, unit, maxDepth, new TranspositionTable(), HelperSearches.createExecutor(
+				"lazy-smp-helper", threads - 1));
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the given time
+	 * budget of a move, that searches at most the given number of moves ahead,
+	 * keeps the results of its searches in the given table and runs its
+	 * helpers on the given executor.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxDepth
+	 *            the largest number of moves to search ahead.
+	 * @param transpositionTable
+	 *            the table of the results of searches.
+	 * @param helperExecutor
+	 *            the executor that runs the helper searches. It should have a
+	 *            thread for each helper, since a helper that has not started
+	 *            when the main search is done is not run.
+	 */
+	public LazySmpStrategy(int threads, long timeBudget, TimeUnit unit, int maxDepth,
+			TranspositionTable transpositionTable, Executor helperExecutor) {
+		if (threads <= 0 || timeBudget <= 0 || maxDepth <= 0) {
+			throw new IllegalArgumentException("The threads, the time budget and the depth must be positive");
+		}
+		this.threads = threads;
+		this.timeBudgetNanos = unit.toNanos(timeBudget);
+		this.maxDepth = maxDepth;
+		this.transpositionTable = transpositionTable;
+		this.helperExecutor = helperExecutor;
+	}
+
+	@Override
+	public String getName() {
+		return "lazy-smp-strategy";
+	}
+
+	/**
+	 * Returns the node of the best move found within the time budget, or null
+	 * if no move is possible.
+	 *
+	 * @param playerId
+	 *            the id of the player that will make a move
+	 * @param rules
+	 *            the rules of this game.
+	 * @param board
+	 *            the current board of this game.
+	 * @return the node where the player wants to move. If the player is not
+	 *         able to move then null is returned.
+	 * @throws IllegalArgumentException
+	 *             if the game has more than two players.
+	 */
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		long startTime = System.nanoTime();
+		ImmutableBoard immutableBoard = AlphaBetaStrategy.toImmutableBoard(board);
+		AlphaBetaStrategy.requireTwoPlayers(immutableBoard, playerId);
+		GameState root = GameState.of(immutableBoard, playerId);
+		if (!root.getPlayerInTurn().equals(Optional.of(playerId))) {
+			return null;
+		}
+		transpositionTable.newSearch();
+		MoveList rootMoves = root.generateMoves(new MoveList());
+		AtomicBoolean isStopped = new AtomicBoolean();
+		AlphaBetaSearch[] searches = new AlphaBetaSearch[threads];
+		for (int i = 0; i < threads; i++) {
+			searches[i] = new AlphaBetaSearch(evaluator, transpositionTable, playerId, startTime, timeBudgetNanos,
+					maxDepth, isStopped, i);
+		}
+		List<Runnable> helpers = new ArrayList<>();
+		for (int i = 1; i < threads; i++) {
+			AlphaBetaSearch helper = searches[i];
+			helpers.add(() -> helper.searchRoot(root, rootMoves));
+		}
+		HelperSearches.run(() -> searches[0].searchRoot(root, rootMoves), helpers, helperExecutor);
+
+		long elapsed = System.nanoTime() - startTime;
+		AlphaBetaSearch deepestSearch = searches[0];
+		long nodes = 0;
+		long[] timeToDepthNanos = new long[0];
+		for (AlphaBetaSearch search : searches) {
+			nodes += search.getNodes();
+			if (search.getCompletedDepth() > deepestSearch.getCompletedDepth()) {
+				deepestSearch = search;
+			}
+			timeToDepthNanos = getEarliest(timeToDepthNanos, search.getTimeToDepthNanos());
+		}
+		lastSearchStatistics = new SearchStatistics(deepestSearch.getCompletedDepth(), nodes, elapsed,
+				timeToDepthNanos);
+		searchedNodes.addAndGet(nodes);
+		searchNanos.addAndGet(elapsed);
+		Coordinates coordinates = rootMoves.getCoordinates(deepestSearch.getBestMove());
+		return board.getNode(coordinates.getX(), coordinates.getY());
+	}
+
+	/*
+	 * Returns the earliest of the two times to each depth, where 0 means that
+	 * the depth was not completed.
+	 */
+	private static long[] getEarliest(long[] timeToDepthNanos, long[] otherTimeToDepthNanos) {
+		long[] earliest = timeToDepthNanos.length >= otherTimeToDepthNanos.length ? timeToDepthNanos.clone()
+				: otherTimeToDepthNanos.clone();
+		for (int depth = 0; depth < Math.min(timeToDepthNanos.length, otherTimeToDepthNanos.length); depth++) {
+			long time = timeToDepthNanos[depth];
+			long otherTime = otherTimeToDepthNanos[depth];
+			earliest[depth] = time == 0 || (otherTime != 0 && otherTime < time) ? otherTime : time;
+		}
+		return earliest;
+	}
+
+	/**
+	 * @return the number of threads that search, including the thread making
+	 *         the move.
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * @return an Optional with the statistics of the latest search, or an
+	 *         empty Optional if the strategy has not searched yet.
+	 */
+	public Optional<SearchStatistics> getLastSearchStatistics() {
+		return Optional.ofNullable(lastSearchStatistics);
+	}
+
+	/**
+	 * @return the number of game states visited by all searches.
+	 */
+	public long getSearchedNodes() {
+		return searchedNodes.get();
+	}
+
+	/**
+	 * @return the number of game states visited per second by all searches.
+	 */
+	public long getNodesPerSecond() {
+		long nanos = searchNanos.get();
+		return nanos == 0 ? 0 : (long) (searchedNodes.get() * 1e9 / nanos);
+	}
+
+	/**
+	 * @return the table where the results of the searches are kept.
+	 */
+	public TranspositionTable getTranspositionTable() {
+		return transpositionTable;
+	}
+}
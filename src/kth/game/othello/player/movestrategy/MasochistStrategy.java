@@ -3,6 +3,8 @@
  */
 package kth.game.othello.player.movestrategy;
 
+import java.util.Map;
+
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
 import kth.game.othello.rules.Rules;
@@ -39,21 +41,14 @@ public class MasochistStrategy implements MoveStrategy {
 	 */
 	@Override
 	public Node move(String playerId, Rules rules, Board board) {
-		// Check if there is any valid move for this player.
-		if (!rules.hasValidMove(playerId)) {
-			return null;
-		}
-
 		int minSwaps = Integer.MAX_VALUE;
 		Node worstNode = null;
 		// Find the move which grants the player the least swapped nodes
-		for (Node node : board.getNodes()) {
-			if (rules.isMoveValid(playerId, node.getId())) {
-				int numberOfNodesSwapped = rules.getNodesToSwap(playerId, node.getId()).size();
-				if (numberOfNodesSwapped < minSwaps) {
-					minSwaps = numberOfNodesSwapped;
-					worstNode = node;
-				}
+		for (Map.Entry<Node, Integer> move : rules.getNumberOfNodesToSwap(playerId, board).entrySet()) {
+			int numberOfNodesSwapped = move.getValue();
+			if (numberOfNodesSwapped < minSwaps) {
+				minSwaps = numberOfNodesSwapped;
+				worstNode = move.getKey();
 			}
 		}
 		return worstNode;
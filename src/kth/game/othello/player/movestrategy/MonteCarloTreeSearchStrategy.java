@@ -0,0 +1,409 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.model.PlayoutBoard;
+import kth.game.othello.rules.Rules;
+
+/**
+ * A strategy for a computer player that needs no evaluation of boards, so it
+ * plays on boards of any shape and with any number of players. It grows a tree
+ * of game states with Monte Carlo tree search: from the root it follows the
+ * moves with the best upper confidence bound (UCT) to a game state that has
+ * not been expanded, plays a game from there to its end with random moves, and
+ * counts the share of the win of each player along the way back. Each move of
+ * the tree is valued for the player making it, so with more than two players
+ * every player is assumed to make its own best moves. When the time budget of
+ * a move is spent, the move visited most often is made.
+ *
+ * Many threads grow the same tree at once. A thread passing a game state adds
+ * a virtual loss to it until its playout is counted, which leads the other
+ * threads to other moves. The playouts are made on a {@link PlayoutBoard} per
+ * thread, so no game state is made per random move. The tree of the previous
+ * move is kept, and when the next move of the game is asked for from one of
+ * its game states, the search goes on from there. The number of playouts per
+ * second is kept, both for the latest search and for all searches together.
+ */
+public class MonteCarloTreeSearchStrategy implements MoveStrategy {
+
+	/**
+	 * The time budget of a move unless another is given, in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 100;
+
+	// The weight of how seldom a move was visited against how often it won
+	private static final double EXPLORATION = Math.sqrt(2);
+	// The visits added to each game state on the way down, and taken back
+	// when the playout is counted, each a visit without a win
+	private static final int VIRTUAL_LOSS = 3;
+	// The wins are counted in fixed point, a whole win being this much
+	private static final long WIN = 1L << 20;
+
+	private final int threads;
+	private final long timeBudgetNanos;
+	private final long maxPlayouts;
+	private final Executor helperExecutor;
+	// The game state after the latest move, with the tree searched from it
+	private volatile TreeNode lastTree;
+	private volatile long lastPlayouts;
+	private volatile long lastReusedPlayouts;
+	private volatile long lastSearchNanos;
+	private final AtomicLong playouts = new AtomicLong();
+	private final AtomicLong searchNanos = new AtomicLong();
+
+	/**
+	 * A game state of the tree, with the visits and wins of the move leading
+	 * to it for the player that made the move.
+	 */
+	private static final class TreeNode {
+		private final GameState state;
+		private final String playerId;
+		private final Coordinates move;
+		private final AtomicInteger visits = new AtomicInteger();
+		private final AtomicLong wins = new AtomicLong();
+		private volatile TreeNode[] children;
+
+		/*
+		 * Creates the node of the given state, reached by the given move of the
+		 * given player, which are null at a root.
+		 */
+		private TreeNode(GameState state, String playerId, Coordinates move) {
+			this.state = state;
+			this.playerId = playerId;
+			this.move = move;
+		}
+
+		/*
+		 * Returns the children of the node, making them if no thread did yet.
+		 */
+		private TreeNode[] expand() {
+			TreeNode[] result = children;
+			if (result == null) {
+				synchronized (this) {
+					result = children;
+					if (result == null) {
+						MoveList moves = state.generateMoves(new MoveList());
+						String player = state.getPlayerInTurn().orElse(null);
+						result = new TreeNode[moves.size()];
+						for (int move = 0; move < moves.size(); move++) {
+							result[move] = new TreeNode(state.play(moves, move), player, moves.getCoordinates(move));
+						}
+						children = result;
+					}
+				}
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The search of one move by one thread, growing the tree of the move.
+	 */
+	private final class Search implements Runnable {
+		private final TreeNode root;
+		private final long deadline;
+		private final AtomicBoolean isStopped;
+		private final boolean isMain;
+		private final PlayoutBoard playoutBoard = new PlayoutBoard();
+		private final List<TreeNode> path = new ArrayList<>();
+		// The playouts started by all searches of the move
+		private final AtomicLong startedPlayouts;
+		private long playouts = 0;
+
+		private Search(TreeNode root, long deadline, AtomicBoolean isStopped, boolean isMain,
+				AtomicLong startedPlayouts) {
+			this.root = root;
+			this.deadline = deadline;
+			this.isStopped = isStopped;
+			this.isMain = isMain;
+			this.startedPlayouts = startedPlayouts;
+		}
+
+		@Override
+		public void run() {
+			try {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				while (!isStopped.get() && System.nanoTime() < deadline
+						&& startedPlayouts.getAndIncrement() < maxPlayouts) {
+					searchOnce(random);
+					playouts++;
+				}
+			} finally {
+				if (isMain) {
+					isStopped.set(true);
+				}
+			}
+		}
+
+		/*
+		 * Follows the best moves from the root to a leaf of the tree, expands
+		 * the leaf if it was visited before, plays a game out from there and
+		 * counts the playout in every game state passed.
+		 */
+		private void searchOnce(ThreadLocalRandom random) {
+			path.clear();
+			TreeNode node = root;
+			int visits = node.visits.addAndGet(VIRTUAL_LOSS);
+			path.add(node);
+			while (!node.state.isGameOver() && (node.children != null || visits > VIRTUAL_LOSS)) {
+				// A leaf is expanded the second time it is reached
+				node = select(node.expand(), visits);
+				visits = node.visits.addAndGet(VIRTUAL_LOSS);
+				path.add(node);
+			}
+			playoutBoard.reset(node.state);
+			playoutBoard.playout(random);
+			for (TreeNode passed : path) {
+				if (passed.playerId != null) {
+					passed.wins.addAndGet((long) (playoutBoard.getWinShare(passed.playerId) * WIN));
+				}
+				passed.visits.addAndGet(1 - VIRTUAL_LOSS);
+			}
+		}
+	}
+
+	/**
+	 * Creates a strategy with one thread per processor and the default time
+	 * budget of a move.
+	 */
+	public MonteCarloTreeSearchStrategy() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the default time
+	 * budget of a move.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 */
+	public MonteCarloTreeSearchStrategy(int threads) {
+		this(threads, DEFAULT_TIME_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the given time
+	 * budget of a move. The helper threads belong to the strategy, and end
+	 * when they have been idle for a while.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 */
+	public MonteCarloTreeSearchStrategy(int threads, long timeBudget, TimeUnit unit) {
+		this(threads, timeBudget, unit, Long.MAX_VALUE, HelperSearches.createExecutor("mcts-helper", threads - 1));
+	}
+
+	/**
+	 * Creates a strategy with the given number of threads and the given time
+	 * budget of a move, that makes at most the given number of playouts per
+	 * move and runs its helper threads on the given executor.
+	 *
+	 * @param threads
+	 *            the number of threads that search, including the thread
+	 *            making the move.
+	 * @param timeBudget
+	 *            the time the strategy may search for a move.
+	 * @param unit
+	 *            the unit of the time budget.
+	 * @param maxPlayouts
+	 *            the largest number of playouts of a move.
+	 * @param helperExecutor
+	 *            the executor that runs the helper threads. It should have a
+	 *            thread for each helper, since a helper that has not started
+	 *            when the time is up is not run.
+	 */
+	public MonteCarloTreeSearchStrategy(int threads, long timeBudget, TimeUnit unit, long maxPlayouts,
+			Executor helperExecutor) {
+		if (threads <= 0 || timeBudget <= 0 || maxPlayouts <= 0) {
+			throw new IllegalArgumentException("The threads, the time budget and the playouts must be positive");
+		}
+		this.threads = threads;
+		this.timeBudgetNanos = unit.toNanos(timeBudget);
+		this.maxPlayouts = maxPlayouts;
+		this.helperExecutor = helperExecutor;
+	}
+
+	@Override
+	public String getName() {
+		return "mcts-strategy";
+	}
+
+	/**
+	 * Returns the node of the move visited most often within the time budget,
+	 * or null if no move is possible.
+	 *
+	 * @param playerId
+	 *            the id of the player that will make a move
+	 * @param rules
+	 *            the rules of this game.
+	 * @param board
+	 *            the current board of this game.
+	 * @return the node where the player wants to move. If the player is not
+	 *         able to move then null is returned.
+	 */
+	@Override
+	public Node move(String playerId, Rules rules, Board board) {
+		long startTime = System.nanoTime();
+		GameState state = GameState.of(AlphaBetaStrategy.toImmutableBoard(board), playerId);
+		if (!state.getPlayerInTurn().equals(Optional.of(playerId))) {
+			return null;
+		}
+		TreeNode root = findInLastTree(state);
+		long reusedPlayouts = root == null ? 0 : root.visits.get();
+		if (root == null) {
+			root = new TreeNode(state, null, null);
+		}
+		TreeNode[] children = root.expand();
+
+		List<Search> searches = new ArrayList<>();
+		if (children.length > 1) {
+			AtomicBoolean isStopped = new AtomicBoolean();
+			AtomicLong startedPlayouts = new AtomicLong();
+			long deadline = startTime + timeBudgetNanos;
+			for (int i = 0; i < threads; i++) {
+				searches.add(new Search(root, deadline, isStopped, i == 0, startedPlayouts));
+			}
+			HelperSearches.run(searches.get(0), new ArrayList<>(searches.subList(1, threads)), helperExecutor);
+		}
+		long madePlayouts = 0;
+		for (Search search : searches) {
+			madePlayouts += search.playouts;
+		}
+		TreeNode best = children[0];
+		for (TreeNode child : children) {
+			if (child.visits.get() > best.visits.get()) {
+				best = child;
+			}
+		}
+		lastTree = best;
+
+		long elapsed = System.nanoTime() - startTime;
+		lastPlayouts = madePlayouts;
+		lastReusedPlayouts = reusedPlayouts;
+		lastSearchNanos = elapsed;
+		playouts.addAndGet(madePlayouts);
+		searchNanos.addAndGet(elapsed);
+		return board.getNode(best.move.getX(), best.move.getY());
+	}
+
+	/*
+	 * Returns the node of the given game state in the tree of the latest
+	 * move, looking as many moves ahead as there are players, or null if the
+	 * tree has no such node.
+	 */
+	private TreeNode findInLastTree(GameState state) {
+		TreeNode tree = lastTree;
+		if (tree == null) {
+			return null;
+		}
+		int players = state.getBoard().getPlayerIDs().size();
+		List<TreeNode> level = new ArrayList<>();
+		level.add(tree);
+		for (int depth = 0; depth <= players && !level.isEmpty(); depth++) {
+			List<TreeNode> nextLevel = new ArrayList<>();
+			for (TreeNode node : level) {
+				if (node.state.getZobristKey() == state.getZobristKey()
+						&& node.state.getBoard().equals(state.getBoard())
+						&& node.state.getPlayerInTurn().equals(state.getPlayerInTurn())) {
+					return node;
+				}
+				TreeNode[] children = node.children;
+				if (children != null) {
+					for (TreeNode child : children) {
+						nextLevel.add(child);
+					}
+				}
+			}
+			level = nextLevel;
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the child with the best upper confidence bound, or the first
+	 * child that was never visited.
+	 */
+	private static TreeNode select(TreeNode[] children, int parentVisits) {
+		double logVisits = Math.log(parentVisits);
+		TreeNode best = null;
+		double bestBound = Double.NEGATIVE_INFINITY;
+		for (TreeNode child : children) {
+			int visits = child.visits.get();
+			if (visits == 0) {
+				return child;
+			}
+			double bound = (double) child.wins.get() / WIN / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+			if (bound > bestBound) {
+				bestBound = bound;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return the number of threads that search, including the thread making
+	 *         the move.
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * @return the number of playouts made by the latest search.
+	 */
+	public long getLastPlayouts() {
+		return lastPlayouts;
+	}
+
+	/**
+	 * @return the number of playouts of the root of the latest search that
+	 *         were made by the search of an earlier move, or 0 if the tree
+	 *         was not kept.
+	 */
+	public long getLastReusedPlayouts() {
+		return lastReusedPlayouts;
+	}
+
+	/**
+	 * @return the number of playouts per second of the latest search.
+	 */
+	public long getLastPlayoutsPerSecond() {
+		long nanos = lastSearchNanos;
+		return nanos == 0 ? 0 : (long) (lastPlayouts * 1e9 / nanos);
+	}
+
+	/**
+	 * @return the number of playouts made by all searches.
+	 */
+	public long getPlayouts() {
+		return playouts.get();
+	}
+
+	/**
+	 * @return the number of playouts per second of all searches.
+	 */
+	public long getPlayoutsPerSecond() {
+		long nanos = searchNanos.get();
+		return nanos == 0 ? 0 : (long) (playouts.get() * 1e9 / nanos);
+	}
+}
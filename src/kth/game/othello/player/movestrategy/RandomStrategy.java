@@ -46,15 +46,8 @@ public class RandomStrategy implements MoveStrategy {
 	@Override
 	public Node move(String playerId, Rules rules, Board board) {
 
-		if (rules.hasValidMove(playerId)) {
-			List<Node> nodes = board.getNodes();
-			List<Node> possibleMoves = new ArrayList<Node>();
-			// remove the nodes which there is no valid move for.
-			for (Node node : nodes) {
-				if (rules.isMoveValid(playerId, node.getId())) {
-					possibleMoves.add(node);
-				}
-			}
+		List<Node> possibleMoves = new ArrayList<Node>(rules.getNumberOfNodesToSwap(playerId, board).keySet());
+		if (!possibleMoves.isEmpty()) {
 			// pick one of the valid moves randomly
 			return possibleMoves.get(random.nextInt(possibleMoves.size()));
 		}
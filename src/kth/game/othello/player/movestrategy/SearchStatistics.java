@@ -0,0 +1,108 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of one search of a strategy that searches the game for its
+ * move: how deep it searched, how many game states it visited, how long it
+ * took and how long it took to complete each depth.
+ */
+public final class SearchStatistics {
+
+	private final int depth;
+	private final long nodes;
+	private final long elapsedNanos;
+	private final long[] timeToDepthNanos;
+
+	/**
+	 * Creates the statistics of a search.
+	 *
+	 * @param depth
+	 *            the depth of the deepest search that was completed.
+	 * @param nodes
+	 *            the number of game states that were visited.
+	 * @param elapsedNanos
+	 *            the time the search took, in nanoseconds.
+	 */
+	public SearchStatistics(int depth, long nodes, long elapsedNanos) {
+		this(depth, nodes, elapsedNanos, new long[0]);
+	}
+
+	/**
+	 * Creates the statistics of a search that kept the time it took to
+	 * complete each depth.
+	 *
+	 * @param depth
+	 *            the depth of the deepest search that was completed.
+	 * @param nodes
+	 *            the number of game states that were visited.
+	 * @param elapsedNanos
+	 *            the time the search took, in nanoseconds.
+	 * @param timeToDepthNanos
+	 *            the time from the start until each depth was completed, by
+	 *            depth, in nanoseconds, or 0 for a depth that was not.
+	 */
+	public SearchStatistics(int depth, long nodes, long elapsedNanos, long[] timeToDepthNanos) {
+		this.depth = depth;
+		this.nodes = nodes;
+		this.elapsedNanos = elapsedNanos;
+		this.timeToDepthNanos = timeToDepthNanos.clone();
+	}
+
+	/**
+	 * @return the depth of the deepest search that was completed, in moves.
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return the number of game states that were visited.
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Returns the time the search took.
+	 *
+	 * @param unit
+	 *            the unit of the returned time.
+	 * @return the time the search took.
+	 */
+	public long getElapsedTime(TimeUnit unit) {
+		return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Returns the time from the start of the search until the given depth was
+	 * completed.
+	 *
+	 * @param depth
+	 *            the depth of a search.
+	 * @param unit
+	 *            the unit of the returned time.
+	 * @return an Optional with the time until the depth was completed, or an
+	 *         empty Optional if it was not or if the time was not kept.
+	 */
+	public Optional<Long> getTimeToDepth(int depth, TimeUnit unit) {
+		if (depth < 0 || depth >= timeToDepthNanos.length || timeToDepthNanos[depth] == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(unit.convert(timeToDepthNanos[depth], TimeUnit.NANOSECONDS));
+	}
+
+	/**
+	 * @return the number of game states visited per second.
+	 */
+	public long getNodesPerSecond() {
+		return elapsedNanos == 0 ? 0 : (long) (nodes * 1e9 / elapsedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "SearchStatistics [depth=" + depth + ", nodes=" + nodes + ", elapsedMillis="
+				+ getElapsedTime(TimeUnit.MILLISECONDS) + ", nodesPerSecond=" + getNodesPerSecond() + "]";
+	}
+}
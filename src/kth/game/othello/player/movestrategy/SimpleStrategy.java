@@ -1,5 +1,7 @@
 package kth.game.othello.player.movestrategy;
 
+import java.util.Iterator;
+
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
 import kth.game.othello.rules.Rules;
@@ -34,16 +36,8 @@ public class SimpleStrategy implements MoveStrategy {
 	 */
 	@Override
 	public Node move(String playerId, Rules rules, Board board) {
-		if (!rules.hasValidMove(playerId)) {
-			return null;
-		}
-		java.util.List<Node> nodesOnBoard = board.getNodes();
-		for (Node node : nodesOnBoard) {
-			if (rules.isMoveValid(playerId, node.getId())) {
-				return node;
-			}
-
-		}
-		return null;
+		// The valid moves are ordered in the same way as the nodes of the board
+		Iterator<Node> validMoves = rules.getNumberOfNodesToSwap(playerId, board).keySet().iterator();
+		return validMoves.hasNext() ? validMoves.next() : null;
 	}
 }
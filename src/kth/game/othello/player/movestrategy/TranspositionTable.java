@@ -0,0 +1,285 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of the results of searches, by the Zobrist keys of the
+ * searched game states, so that a search that reaches a game state through
+ * another order of moves can reuse the result. The table may be shared by
+ * many threads and many strategies, which read and write it without locks.
+ * <p>
+ * The table is a power-of-two array of buckets of two entries. Each entry is
+ * two longs: the data of the entry, packing the score, the bound, the depth,
+ * the best move and the search that wrote it, and the key of the game state
+ * XOR the data. An entry is only used when its key XOR its data is the key of
+ * the game state, so an entry torn by two threads writing it at once is not
+ * mistaken for a result. The first entry of a bucket keeps the deepest result
+ * of the current search and the second entry the latest result of any depth.
+ * <p>
+ * The data returned by {@link #probe(long)} is read with the static methods
+ * of the table, such as {@link #getScore(long)}, so probing allocates nothing.
+ */
+public final class TranspositionTable {
+
+	/**
+	 * The memory of a table unless another budget is given, in bytes.
+	 */
+	public static final long DEFAULT_MEMORY_BYTES = 16L << 20;
+
+	/**
+	 * The data returned by {@link #probe(long)} when the table has no entry of
+	 * the key.
+	 */
+	public static final long NO_ENTRY = 0L;
+
+	/**
+	 * The score is exact.
+	 */
+	public static final int EXACT = 1;
+	/**
+	 * The score is a lower bound, the search was cut off since the game state
+	 * was too good.
+	 */
+	public static final int LOWER_BOUND = 2;
+	/**
+	 * The score is an upper bound, no move of the game state reached alpha.
+	 */
+	public static final int UPPER_BOUND = 3;
+
+	/**
+	 * The largest depth of an entry. An entry of this depth holds the result
+	 * of a search that reached the end of the game on every line, which is
+	 * valid at any depth.
+	 */
+	public static final int MAX_DEPTH = 0xFF;
+
+	/**
+	 * The best move of an entry that has none, such as a game state whose
+	 * player in turn had no moves.
+	 */
+	public static final int NO_MOVE = 0xFFFF;
+
+	// Two entries of two longs per bucket
+	private static final int LONGS_PER_BUCKET = 4;
+	private static final int BYTES_PER_BUCKET = LONGS_PER_BUCKET * Long.BYTES;
+
+	// The data of an entry, from the lowest bits: the bound, the depth, the
+	// best move, the search, and the score in the 32 highest bits
+	private static final int DEPTH_SHIFT = 2;
+	private static final int MOVE_SHIFT = 10;
+	private static final int SEARCH_SHIFT = 26;
+	private static final int SCORE_SHIFT = 32;
+	private static final long BOUND_MASK = 0x3L;
+	private static final long SEARCH_MASK = 0x3FL;
+
+	private final long[] entries;
+	private final int bucketMask;
+	// Only changed by newSearch, a thread may see a late value for a while
+	private volatile int search = 0;
+
+	private final LongAdder probes = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder stores = new LongAdder();
+	private final LongAdder collisions = new LongAdder();
+
+	/**
+	 * Creates a table that takes the default memory.
+	 */
+	public TranspositionTable() {
+		this(DEFAULT_MEMORY_BYTES);
+	}
+
+	/**
+	 * Creates a table that takes at most the given memory. The number of
+	 * buckets is the largest power of two that fits.
+	 *
+	 * @param memoryBytes
+	 *            the memory the entries of the table may take, in bytes.
+	 * @throws IllegalArgumentException
+	 *             if not even one bucket fits in the memory, or if the
+	 *             buckets would not fit in one array.
+	 */
+	public TranspositionTable(long memoryBytes) {
+		long buckets = Long.highestOneBit(memoryBytes / BYTES_PER_BUCKET);
+		if (buckets < 1 || buckets * LONGS_PER_BUCKET > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The memory of the table must be from " + BYTES_PER_BUCKET
+					+ " bytes to 16 GB: " + memoryBytes);
+		}
+		this.entries = new long[(int) buckets * LONGS_PER_BUCKET];
+		this.bucketMask = (int) buckets - 1;
+	}
+
+	/**
+	 * Returns the data of the entry of the given key, or {@link #NO_ENTRY} if
+	 * the table has none.
+	 *
+	 * @param key
+	 *            the Zobrist key of a game state.
+	 * @return the data of the entry, to be read by the static methods of the
+	 *         table.
+	 */
+	public long probe(long key) {
+		probes.increment();
+		int bucket = getBucket(key);
+		for (int entry = bucket; entry < bucket + LONGS_PER_BUCKET; entry += 2) {
+			long data = entries[entry];
+			if ((entries[entry + 1] ^ data) == key && data != NO_ENTRY) {
+				hits.increment();
+				return data;
+			}
+		}
+		if (entries[bucket] != NO_ENTRY) {
+			collisions.increment();
+		}
+		return NO_ENTRY;
+	}
+
+	/**
+	 * Stores the result of a search of the game state of the given key. The
+	 * result replaces the deepest entry of its bucket if it is at least as
+	 * deep, or if the deepest entry is of the same game state or of an earlier
+	 * search, and the other entry otherwise.
+	 *
+	 * @param key
+	 *            the Zobrist key of the game state.
+	 * @param depth
+	 *            the depth of the search, at most {@link #MAX_DEPTH}.
+	 * @param bound
+	 *            the bound of the score, {@link #EXACT},
+	 *            {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+	 * @param score
+	 *            the score of the game state.
+	 * @param bestMove
+	 *            the index of the node of the best move, from 0 to 65534, or
+	 *            {@link #NO_MOVE}.
+	 */
+	public void store(long key, int depth, int bound, int score, int bestMove) {
+		stores.increment();
+		int currentSearch = search;
+		long data = (long) score << SCORE_SHIFT | (long) currentSearch << SEARCH_SHIFT | (long) bestMove << MOVE_SHIFT
+				| (long) Math.min(depth, MAX_DEPTH) << DEPTH_SHIFT | bound;
+		int bucket = getBucket(key);
+		long deepest = entries[bucket];
+		boolean isSameState = (entries[bucket + 1] ^ deepest) == key;
+		int entry = bucket;
+		if (deepest != NO_ENTRY && !isSameState && getDepth(deepest) > depth
+				&& (deepest >>> SEARCH_SHIFT & SEARCH_MASK) == currentSearch) {
+			entry = bucket + 2;
+		}
+		if (deepest != NO_ENTRY && !isSameState) {
+			collisions.increment();
+		}
+		entries[entry] = data;
+		entries[entry + 1] = key ^ data;
+	}
+
+	private int getBucket(long key) {
+		// The high bits of the key, since the low bits of the keys of
+		// neighbouring game states may be alike
+		return ((int) (key >>> 32) & bucketMask) * LONGS_PER_BUCKET;
+	}
+
+	/**
+	 * Starts a new search. The entries of earlier searches are kept, but are
+	 * replaced before the entries of the new search.
+	 */
+	public void newSearch() {
+		search = (search + 1) & (int) SEARCH_MASK;
+	}
+
+	/**
+	 * Removes all entries, and resets the counters. It must not be called
+	 * while the table is used by a search.
+	 */
+	public void clear() {
+		Arrays.fill(entries, 0L);
+		probes.reset();
+		hits.reset();
+		stores.reset();
+		collisions.reset();
+	}
+
+	/**
+	 * @return the number of entries the table can hold.
+	 */
+	public int getCapacity() {
+		return entries.length / 2;
+	}
+
+	/**
+	 * @return the number of times the table was probed.
+	 */
+	public long getProbes() {
+		return probes.sum();
+	}
+
+	/**
+	 * @return the number of probes that found an entry of the key.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the share of the probes that found an entry of the key, from 0
+	 *         to 1.
+	 */
+	public double getHitRate() {
+		long numberOfProbes = probes.sum();
+		return numberOfProbes == 0 ? 0 : (double) hits.sum() / numberOfProbes;
+	}
+
+	/**
+	 * @return the number of times a result was stored.
+	 */
+	public long getStores() {
+		return stores.sum();
+	}
+
+	/**
+	 * @return the number of probes that missed and stores that were made in a
+	 *         bucket holding the deepest entry of another game state, whose
+	 *         key has the same bits in the bucket number.
+	 */
+	public long getCollisions() {
+		return collisions.sum();
+	}
+
+	/**
+	 * @param data
+	 *            the data of an entry.
+	 * @return the score of the entry.
+	 */
+	public static int getScore(long data) {
+		return (int) (data >> SCORE_SHIFT);
+	}
+
+	/**
+	 * @param data
+	 *            the data of an entry.
+	 * @return the bound of the score of the entry.
+	 */
+	public static int getBound(long data) {
+		return (int) (data & BOUND_MASK);
+	}
+
+	/**
+	 * @param data
+	 *            the data of an entry.
+	 * @return the depth of the search of the entry.
+	 */
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & MAX_DEPTH;
+	}
+
+	/**
+	 * @param data
+	 *            the data of an entry.
+	 * @return the index of the node of the best move of the entry, or
+	 *         {@link #NO_MOVE}.
+	 */
+	public static int getBestMove(long data) {
+		return (int) (data >>> MOVE_SHIFT) & NO_MOVE;
+	}
+}
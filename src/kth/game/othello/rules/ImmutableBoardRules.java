@@ -0,0 +1,119 @@
+package kth.game.othello.rules;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.ImmutableNodeView;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.ImmutableNode;
+import kth.game.othello.model.Mobility;
+import kth.game.othello.model.ModelRules;
+import kth.game.othello.model.MoveList;
+
+/**
+ * The {@link kth.game.othello.rules.Rules} of one state of a board, seen
+ * through an {@link kth.game.othello.board.ImmutableBoardView}. The nodes
+ * returned are views of the nodes of that state, so no node adapters have to
+ * be kept in sync with the game.
+ */
+public class ImmutableBoardRules implements Rules {
+
+	private final ModelRules modelRules;
+	private final ImmutableBoardView board;
+
+	/**
+	 * Creates the rules of the given state of a board.
+	 *
+	 * @param modelRules
+	 *            the rules of the game.
+	 * @param board
+	 *            the view of the state of the board.
+	 */
+	public ImmutableBoardRules(ModelRules modelRules, ImmutableBoardView board) {
+		this.modelRules = modelRules;
+		this.board = board;
+	}
+
+	@Override
+	public List<Node> getNodesToSwap(String playerId, String nodeId) {
+		ImmutableNodeView node = (ImmutableNodeView) board.getNodeById(nodeId);
+		List<Node> nodesToSwap = new ArrayList<>();
+		for (ImmutableNode immutableNode : modelRules.getNodesToSwap(board.getImmutableBoard(), node.getCoordinates(),
+				playerId)) {
+			nodesToSwap.add(new ImmutableNodeView(immutableNode));
+		}
+		return nodesToSwap;
+	}
+
+	@Override
+	public boolean isMoveValid(String playerId, String nodeId) {
+		ImmutableNodeView node = (ImmutableNodeView) board.getNodeById(nodeId);
+		return modelRules.validMove(board.getImmutableBoard(), node.getCoordinates(), playerId);
+	}
+
+	@Override
+	public boolean hasValidMove(String playerId) {
+		return Mobility.of(board.getImmutableBoard(), modelRules).hasValidMove(playerId);
+	}
+
+	/**
+	 * Returns every valid move of a player together with the nodes that each
+	 * move would swap, generated in one pass over the board of these rules.
+	 * The moves are ordered in the same way as the nodes of the board.
+	 *
+	 * @param playerId
+	 *            the id of the player
+	 * @param board
+	 *            not used, since the rules know their board.
+	 * @return a map from the nodes where the player can move to the nodes that
+	 *         will be swapped by each move
+	 */
+	@Override
+	public Map<Node, List<Node>> getValidMoves(String playerId, Board board) {
+		MoveList moves = modelRules.generateMoves(this.board.getImmutableBoard(), playerId);
+		Map<Node, List<Node>> validMoves = new LinkedHashMap<>();
+		for (int move = 0; move < moves.size(); move++) {
+			List<Node> nodesToSwap = new ArrayList<>(moves.getNumberOfNodesToSwap(move));
+			for (ImmutableNode immutableNode : moves.getNodesToSwap(move)) {
+				nodesToSwap.add(new ImmutableNodeView(immutableNode));
+			}
+			validMoves.put(this.board.getNode(moves.getCoordinates(move)), nodesToSwap);
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Returns every valid move of a player together with the number of nodes
+	 * that each move would swap, generated in one pass over the board of these
+	 * rules without making the swapped nodes.
+	 *
+	 * @param playerId
+	 *            the id of the player
+	 * @param board
+	 *            not used, since the rules know their board.
+	 * @return a map from the nodes where the player can move to the number of
+	 *         nodes that will be swapped by each move
+	 */
+	@Override
+	public Map<Node, Integer> getNumberOfNodesToSwap(String playerId, Board board) {
+		MoveList moves = modelRules.generateMoves(this.board.getImmutableBoard(), playerId);
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		for (int move = 0; move < moves.size(); move++) {
+			validMoves.put(this.board.getNode(moves.getCoordinates(move)), moves.getNumberOfNodesToSwap(move));
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Determines if no player on the board has a valid move.
+	 *
+	 * @return true if the game is over.
+	 */
+	public boolean isGameOver() {
+		return Mobility.of(board.getImmutableBoard(), modelRules).isGameOver();
+	}
+}
@@ -1,8 +1,11 @@
 package kth.game.othello.rules;
 
+import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The responsibility of the Rules is to define when a player can make a move and in that case also determine what nodes
@@ -38,4 +41,44 @@ public interface Rules {
      */
     public boolean hasValidMove(String playerId);
 
+    /**
+     * Returns every valid move of a player together with the nodes that each
+     * move would swap. The moves are ordered in the same way as the nodes of
+     * the board. By default every node of the board is tried with
+     * {@link #isMoveValid(String, String)} and
+     * {@link #getNodesToSwap(String, String)}; rules that know their board
+     * generate all moves at once instead.
+     *
+     * @param playerId the id of the player
+     * @param board the board of the game the rules are for
+     * @return a map from the nodes where the player can move to the nodes
+     *         that will be swapped by each move
+     */
+    public default Map<Node, List<Node>> getValidMoves(String playerId, Board board) {
+        Map<Node, List<Node>> validMoves = new LinkedHashMap<>();
+        for (Node node : board.getNodes()) {
+            if (isMoveValid(playerId, node.getId())) {
+                validMoves.put(node, getNodesToSwap(playerId, node.getId()));
+            }
+        }
+        return validMoves;
+    }
+
+    /**
+     * Returns every valid move of a player together with the number of nodes
+     * that each move would swap, for the strategies that only count the
+     * swapped nodes. The moves are ordered in the same way as the nodes of
+     * the board.
+     *
+     * @param playerId the id of the player
+     * @param board the board of the game the rules are for
+     * @return a map from the nodes where the player can move to the number of
+     *         nodes that will be swapped by each move
+     */
+    public default Map<Node, Integer> getNumberOfNodesToSwap(String playerId, Board board) {
+        Map<Node, Integer> validMoves = new LinkedHashMap<>();
+        getValidMoves(playerId, board).forEach((node, nodesToSwap) -> validMoves.put(node, nodesToSwap.size()));
+        return validMoves;
+    }
+
 }
@@ -1,14 +1,19 @@
 package kth.game.othello.rules;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import kth.game.othello.board.Board;
 import kth.game.othello.board.BoardAdapter;
 import kth.game.othello.board.Node;
 import kth.game.othello.board.Coordinates;
 import kth.game.othello.model.ImmutableNode;
+import kth.game.othello.model.Mobility;
 import kth.game.othello.model.ModelRules;
+import kth.game.othello.model.MoveList;
 
 /**
  * This class adapts the {@link kth.game.othello.model.Rules} class to the
@@ -83,10 +88,58 @@ public class RulesAdapter implements Rules {
 	 */
 	@Override
 	public boolean hasValidMove(String playerId) {
-		return this.modelRules.hasValidMove(boardAdapter.getImmutableBoard(), playerId);
+		return Mobility.of(boardAdapter.getImmutableBoard(), modelRules).hasValidMove(playerId);
+	}
+
+	/**
+	 * Returns every valid move of a player together with the nodes that each
+	 * move would swap, generated in one pass over the board of these rules.
+	 * The moves are ordered in the same way as the nodes of the board.
+	 *
+	 * @param playerId
+	 *            the id of the player
+	 * @param board
+	 *            not used, since the rules know their board.
+	 * @return a map from the nodes where the player can move to the nodes that
+	 *         will be swapped by each move
+	 */
+	@Override
+	public Map<Node, List<Node>> getValidMoves(String playerId, Board board) {
+		MoveList moves = this.modelRules.generateMoves(boardAdapter.getImmutableBoard(), playerId);
+		Map<Node, List<Node>> validMoves = new LinkedHashMap<>();
+		for (int move = 0; move < moves.size(); move++) {
+			List<Node> nodesToSwap = new ArrayList<>(moves.getNumberOfNodesToSwap(move));
+			for (ImmutableNode immutableNode : moves.getNodesToSwap(move)) {
+				nodesToSwap.add(boardAdapter.getNode(immutableNode.getCoordinates()));
+			}
+			validMoves.put(boardAdapter.getNode(moves.getCoordinates(move)), nodesToSwap);
+		}
+		return validMoves;
+	}
+
+	/**
+	 * Returns every valid move of a player together with the number of nodes
+	 * that each move would swap, generated in one pass over the board of these
+	 * rules without making the swapped nodes.
+	 *
+	 * @param playerId
+	 *            the id of the player
+	 * @param board
+	 *            not used, since the rules know their board.
+	 * @return a map from the nodes where the player can move to the number of
+	 *         nodes that will be swapped by each move
+	 */
+	@Override
+	public Map<Node, Integer> getNumberOfNodesToSwap(String playerId, Board board) {
+		MoveList moves = this.modelRules.generateMoves(boardAdapter.getImmutableBoard(), playerId);
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		for (int move = 0; move < moves.size(); move++) {
+			validMoves.put(boardAdapter.getNode(moves.getCoordinates(move)), moves.getNumberOfNodesToSwap(move));
+		}
+		return validMoves;
 	}
 
 	public boolean isGameOver() {
-		return this.modelRules.isGameOver(boardAdapter.getImmutableBoard());
+		return Mobility.of(boardAdapter.getImmutableBoard(), modelRules).isGameOver();
 	}
 }
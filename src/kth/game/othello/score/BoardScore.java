@@ -0,0 +1,59 @@
+package kth.game.othello.score;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Observer;
+
+import kth.game.othello.model.ImmutableBoard;
+
+/**
+ * The score of one state of a board. The nodes are counted once when the
+ * score is created, and since the state never changes the observers of the
+ * score are never notified.
+ */
+public class BoardScore implements Score {
+
+	private final Map<String, Integer> points = new HashMap<>();
+	private final List<ScoreItem> scoreItems = new ArrayList<>();
+
+	/**
+	 * Creates the score of the given board.
+	 *
+	 * @param board
+	 *            the state of the board.
+	 * @param playerIds
+	 *            the players of the game, which are all given a score even if
+	 *            they do not occupy any node.
+	 */
+	public BoardScore(ImmutableBoard board, List<String> playerIds) {
+		playerIds.forEach(playerId -> points.put(playerId, 0));
+		points.putAll(board.getDiscCounts());
+		points.forEach((playerId, playerPoints) -> scoreItems.add(new ScoreItem(playerId, playerPoints)));
+		scoreItems.sort(SimpleScore.ScoreComparator);
+	}
+
+	/**
+	 * Does nothing, since the score of a state never changes and so never
+	 * notifies its observers.
+	 */
+	@Override
+	public void addObserver(Observer observer) {
+
+	}
+
+	/**
+	 * A list of the score of all players. The list is sorted in decreasing
+	 * order regarding the score.
+	 */
+	@Override
+	public List<ScoreItem> getPlayersScore() {
+		return new ArrayList<>(scoreItems);
+	}
+
+	@Override
+	public int getPoints(String playerId) {
+		return points.getOrDefault(playerId, 0);
+	}
+}
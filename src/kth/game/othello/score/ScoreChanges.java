@@ -0,0 +1,57 @@
+package kth.game.othello.score;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The net changes of the scores of the players by one change of the board,
+ * for example by a move. This is the list of ids of the players whose score
+ * changed, so that it can be passed to observers of a score that expect a
+ * list of updated players, and it also tells how much each score changed.
+ */
+public final class ScoreChanges extends AbstractList<String> {
+
+	private final List<String> playerIds;
+	private final int[] deltas;
+
+	/**
+	 * Creates new score changes.
+	 *
+	 * @param playerIds
+	 *            the ids of the players whose score changed.
+	 * @param deltas
+	 *            the change of the score of each player, in the same order as
+	 *            the player ids.
+	 */
+	public ScoreChanges(List<String> playerIds, int[] deltas) {
+		if (playerIds.size() != deltas.length) {
+			throw new IllegalArgumentException("Every player must have a delta");
+		}
+		this.playerIds = new ArrayList<>(playerIds);
+		this.deltas = deltas.clone();
+	}
+
+	@Override
+	public String get(int index) {
+		return playerIds.get(index);
+	}
+
+	@Override
+	public int size() {
+		return playerIds.size();
+	}
+
+	/**
+	 * Returns the change of the score of the given player, which is 0 if the
+	 * score of the player did not change.
+	 *
+	 * @param playerId
+	 *            the id of the player.
+	 * @return the change of the score of the player.
+	 */
+	public int getDelta(String playerId) {
+		int index = playerIds.indexOf(playerId);
+		return index < 0 ? 0 : deltas[index];
+	}
+}
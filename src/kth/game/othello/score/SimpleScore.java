@@ -1,8 +1,9 @@
 package kth.game.othello.score;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+import kth.game.othello.board.BoardAdapter;
+import kth.game.othello.board.BoardChange;
 import kth.game.othello.board.Node;
 import kth.game.othello.score.Score;
 import kth.game.othello.score.ScoreItem;
@@ -10,11 +11,34 @@ import kth.game.othello.score.ScoreItem;
 /**
  * A simple implementation of the {@link kth.game.othello.score.Score}
  * interface. Keeps the score of all nodes that it observes.
+ *
+ * The score of every player is counted as the observed nodes change, and the
+ * players are kept ranked by their scores. Since a changed node moves the
+ * score of a player by one, a player only moves past players with the same
+ * score, so reading the scores never counts nodes or sorts.
+ *
+ * A score observing a {@link BoardAdapter} in batch mode notifies its
+ * observers once per change of the board, with the {@link ScoreChanges} of
+ * all nodes changed at once, and ignores the notifications of the nodes that
+ * follow.
  */
 public class SimpleScore extends Observable implements Score, Observer {
 
-	private Set<String> playerIds = new HashSet<>();
 	private Map<String, String> occupiedNodes = new HashMap<>();
+	private Map<String, PlayerScore> playerScores = new HashMap<>();
+	// The scores of the players in decreasing order
+	private List<PlayerScore> ranking = new ArrayList<>();
+
+	private static class PlayerScore {
+		private final String playerId;
+		private int points;
+		private int rank;
+
+		private PlayerScore(String playerId, int rank) {
+			this.playerId = playerId;
+			this.rank = rank;
+		}
+	}
 
 	/**
 	 * Creates a SimpleScore object, initiating its score to that in the given
@@ -31,12 +55,91 @@ public class SimpleScore extends Observable implements Score, Observer {
 		startingNodes.forEach(node -> {
 			node.addObserver(this);
 			if (node.getOccupantPlayerId() != null) {
-				playerIds.add(node.getOccupantPlayerId());
-				occupiedNodes.put(node.getId(), node.getOccupantPlayerId());
+				setOccupant(node.getId(), node.getOccupantPlayerId());
 			}
 		});
 	}
 
+	/**
+	 * Creates a SimpleScore object, initiating its score to that of the nodes
+	 * of the given board adapter. Observes both the nodes and the board
+	 * adapter, so the score is kept whether the board adapter notifies the
+	 * changes of its nodes one by one or in batches.
+	 *
+	 * @param boardAdapter
+	 *            the board adapter whose nodes are scored.
+	 */
+	public SimpleScore(BoardAdapter boardAdapter) {
+		this(new HashSet<>(boardAdapter.getNodes()));
+		boardAdapter.addObserver(this);
+	}
+
+	/**
+	 * Counts the score again from the given nodes, forgetting every player
+	 * that no longer occupies any of them. The observers are not notified.
+	 *
+	 * @param nodes
+	 *            the nodes whose score is kept, the same nodes as observed.
+	 */
+	public void recount(Collection<Node> nodes) {
+		occupiedNodes.clear();
+		playerScores.clear();
+		ranking.clear();
+		for (Node node : nodes) {
+			if (node.getOccupantPlayerId() != null) {
+				setOccupant(node.getId(), node.getOccupantPlayerId());
+			}
+		}
+	}
+
+	/*
+	 * Records that the node with the given id is occupied by the given player,
+	 * or not occupied if the player id is null, and returns the previous
+	 * occupant of the node.
+	 */
+	private String setOccupant(String nodeId, String playerId) {
+		String oldPlayerId = playerId == null ? occupiedNodes.remove(nodeId) : occupiedNodes.put(nodeId, playerId);
+		if (oldPlayerId != null) {
+			removePoint(oldPlayerId);
+		}
+		if (playerId != null) {
+			addPoint(playerId);
+		}
+		return oldPlayerId;
+	}
+
+	private void addPoint(String playerId) {
+		PlayerScore playerScore = playerScores.get(playerId);
+		if (playerScore == null) {
+			playerScore = new PlayerScore(playerId, ranking.size());
+			playerScores.put(playerId, playerScore);
+			ranking.add(playerScore);
+		}
+		playerScore.points++;
+		// Move the player up past the players it now has more points than
+		while (playerScore.rank > 0 && ranking.get(playerScore.rank - 1).points < playerScore.points) {
+			swapRanks(playerScore.rank - 1, playerScore.rank);
+		}
+	}
+
+	private void removePoint(String playerId) {
+		PlayerScore playerScore = playerScores.get(playerId);
+		playerScore.points--;
+		// Move the player down past the players that now have more points
+		while (playerScore.rank < ranking.size() - 1 && ranking.get(playerScore.rank + 1).points > playerScore.points) {
+			swapRanks(playerScore.rank, playerScore.rank + 1);
+		}
+	}
+
+	private void swapRanks(int rank1, int rank2) {
+		PlayerScore playerScore1 = ranking.get(rank1);
+		PlayerScore playerScore2 = ranking.get(rank2);
+		ranking.set(rank1, playerScore2);
+		ranking.set(rank2, playerScore1);
+		playerScore2.rank = rank1;
+		playerScore1.rank = rank2;
+	}
+
 	/**
 	 * A list of the score of all players. The list is sorted in decreasing
 	 * order regarding the score.
@@ -46,9 +149,10 @@ public class SimpleScore extends Observable implements Score, Observer {
 	 */
 	@Override
 	public List<ScoreItem> getPlayersScore() {
-		List<ScoreItem> scoreItems = playerIds.stream().map(playerId -> new ScoreItem(playerId, getPoints(playerId)))
-				.collect(Collectors.toList());
-		scoreItems.sort(ScoreComparator);
+		List<ScoreItem> scoreItems = new ArrayList<>(ranking.size());
+		for (PlayerScore playerScore : ranking) {
+			scoreItems.add(new ScoreItem(playerScore.playerId, playerScore.points));
+		}
 		return scoreItems;
 	}
 
@@ -69,8 +173,8 @@ public class SimpleScore extends Observable implements Score, Observer {
 	 */
 	@Override
 	public int getPoints(String requestedPlayerId) {
-		return (int) occupiedNodes.values().stream().filter(nodePlayerId -> nodePlayerId.equals(requestedPlayerId))
-				.count();
+		PlayerScore playerScore = playerScores.get(requestedPlayerId);
+		return playerScore == null ? 0 : playerScore.points;
 	}
 
 	/**
@@ -86,10 +190,16 @@ public class SimpleScore extends Observable implements Score, Observer {
 	 */
 	@Override
 	public void update(Observable o, Object arg) {
-		if (o instanceof Node) {
+		if (arg instanceof BoardChange) {
+			updateAll((BoardChange) arg);
+		} else if (o instanceof Node) {
 			Node node = (Node) o;
+			// A node changed in a batch of the board adapter is already counted
+			if (Objects.equals(occupiedNodes.get(node.getId()), node.getOccupantPlayerId())) {
+				return;
+			}
 			if (node.getOccupantPlayerId() == null) {
-				String oldPlayer = occupiedNodes.remove(node.getId());
+				String oldPlayer = setOccupant(node.getId(), null);
 				if (oldPlayer != null) {
 					ArrayList<String> updatedPlayers = new ArrayList<>();
 					updatedPlayers.add(oldPlayer);
@@ -97,7 +207,7 @@ public class SimpleScore extends Observable implements Score, Observer {
 				}
 			} else {
 
-				String oldPlayer = occupiedNodes.put(node.getId(), node.getOccupantPlayerId());
+				String oldPlayer = setOccupant(node.getId(), node.getOccupantPlayerId());
 				List<String> updatedPlayers = new ArrayList<>();
 				if (oldPlayer != null) {
 					updatedPlayers.add(oldPlayer);
@@ -108,4 +218,35 @@ public class SimpleScore extends Observable implements Score, Observer {
 			}
 		}
 	}
+
+	/*
+	 * Updates the score with all nodes of the given change and notifies the
+	 * observers once with the net change of the score of each player.
+	 */
+	private void updateAll(BoardChange boardChange) {
+		Map<String, Integer> deltas = new LinkedHashMap<>();
+		for (Node node : boardChange.getChangedNodes()) {
+			String newPlayer = node.getOccupantPlayerId();
+			String oldPlayer = setOccupant(node.getId(), newPlayer);
+			if (oldPlayer != null) {
+				deltas.merge(oldPlayer, -1, Integer::sum);
+			}
+			if (newPlayer != null) {
+				deltas.merge(newPlayer, 1, Integer::sum);
+			}
+		}
+		List<String> updatedPlayers = new ArrayList<>();
+		List<Integer> updatedDeltas = new ArrayList<>();
+		deltas.forEach((playerId, delta) -> {
+			if (delta != 0) {
+				updatedPlayers.add(playerId);
+				updatedDeltas.add(delta);
+			}
+		});
+		if (!updatedPlayers.isEmpty()) {
+			setChanged();
+			notifyObservers(new ScoreChanges(updatedPlayers, updatedDeltas.stream().mapToInt(Integer::intValue)
+					.toArray()));
+		}
+	}
 }
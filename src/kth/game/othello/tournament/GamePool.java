@@ -0,0 +1,77 @@
+package kth.game.othello.tournament;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import kth.game.othello.ComputerGameFactory;
+import kth.game.othello.Othello;
+import kth.game.othello.ReusableOthello;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.Player;
+
+/**
+ * A pool of games on square boards of one size. A game is built only when no
+ * game that has been released is idle, otherwise an idle game is reset for the
+ * new players. Thus the number of games built is the largest number of
+ * matches played at once, not the number of matches.
+ */
+class GamePool {
+
+	private final ComputerGameFactory othelloFactory;
+	private final int boardSize;
+	private final Deque<ReusableOthello> idleGames = new ArrayDeque<>();
+	private int numberOfCreatedGames = 0;
+
+	/**
+	 * Create a new pool of games.
+	 *
+	 * @param othelloFactory
+	 *            the factory of the games of the pool.
+	 * @param boardSize
+	 *            the number of nodes of each side of the boards.
+	 */
+	public GamePool(ComputerGameFactory othelloFactory, int boardSize) {
+		this.othelloFactory = othelloFactory;
+		this.boardSize = boardSize;
+	}
+
+	/**
+	 * Returns a game, not started, of the given players. The game must be
+	 * released when it is no longer played.
+	 *
+	 * @param players
+	 *            the players of the game.
+	 * @return an idle game reset for the players, or a new game if no game is
+	 *         idle.
+	 */
+	public synchronized Othello acquire(List<Player> players) {
+		ReusableOthello idleGame = idleGames.pollFirst();
+		if (idleGame != null) {
+			idleGame.reset(players);
+			return idleGame;
+		}
+		numberOfCreatedGames++;
+		return othelloFactory.createGame(new Square().getNodes(boardSize, players), players);
+	}
+
+	/**
+	 * Releases a game acquired from this pool, so that it may be reset for
+	 * another match. Games that cannot be reset are dropped.
+	 *
+	 * @param othello
+	 *            the game that is no longer played.
+	 */
+	public synchronized void release(Othello othello) {
+		if (othello instanceof ReusableOthello) {
+			idleGames.addFirst((ReusableOthello) othello);
+		}
+	}
+
+	/**
+	 * @return the number of games that the pool has built.
+	 */
+	public synchronized int getNumberOfCreatedGames() {
+		return numberOfCreatedGames;
+	}
+}
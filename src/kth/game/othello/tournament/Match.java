@@ -3,6 +3,7 @@ package kth.game.othello.tournament;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import kth.game.othello.Othello;
 import kth.game.othello.player.Player;
@@ -15,6 +16,8 @@ class Match {
 
 	private Optional<List<ScoreItem>> matchResults;
 	private Othello othello;
+	private List<Player> players;
+	private GamePool gamePool;
 
 	/**
 	 * Create a new match given its players and the Othello game to play.
@@ -29,6 +32,27 @@ class Match {
 		this.othello = othello;
 	}
 
+	private Match(GamePool gamePool, List<Player> players) {
+		this.matchResults = Optional.empty();
+		this.players = new ArrayList<Player>(players);
+		this.gamePool = gamePool;
+	}
+
+	/**
+	 * Create a new match given its players and the pool from which the game
+	 * is taken when the match is run. The game is given back to the pool when
+	 * the match is over.
+	 * 
+	 * @param players
+	 *            the players of the game.
+	 * @param gamePool
+	 *            the pool of games.
+	 * @return the match.
+	 */
+	public static Match withPooledGame(List<Player> players, GamePool gamePool) {
+		return new Match(gamePool, players);
+	}
+
 	private void setScore(List<ScoreItem> playerScores) {
 		List<ScoreItem> results = new ArrayList<ScoreItem>();
 		results.addAll(playerScores);
@@ -40,7 +64,7 @@ class Match {
 	 */
 	public List<Player> getPlayers() {
 		List<Player> playersCopy = new ArrayList<Player>();
-		playersCopy.addAll(othello.getPlayers());
+		playersCopy.addAll(othello != null ? othello.getPlayers() : players);
 		return playersCopy;
 	}
 
@@ -63,10 +87,30 @@ class Match {
 	 *            the strategy to run this match.
 	 */
 	public void runMatch(RunMatchStrategy runMatchStrategy) {
-		List<ScoreItem> result = runMatchStrategy.runMatch(othello);
-
-		this.setScore(result);
+		runMatch(runMatchStrategy, game -> {
+		});
+	}
 
+	/**
+	 * Run the match given the runMatchStrategy to use, after handing the game
+	 * of the match to the given consumer.
+	 * 
+	 * @param runMatchStrategy
+	 *            the strategy to run this match.
+	 * @param beforeRun
+	 *            the consumer of the game before the match is run.
+	 */
+	public void runMatch(RunMatchStrategy runMatchStrategy, Consumer<Othello> beforeRun) {
+		Othello game = othello != null ? othello : gamePool.acquire(players);
+		try {
+			beforeRun.accept(game);
+			List<ScoreItem> result = runMatchStrategy.runMatch(game);
+			this.setScore(result);
+		} finally {
+			if (othello == null) {
+				gamePool.release(game);
+			}
+		}
 	}
 
 }
\ No newline at end of file
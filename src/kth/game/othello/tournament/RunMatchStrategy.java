@@ -2,7 +2,9 @@ package kth.game.othello.tournament;
 
 import java.util.List;
 
+import kth.game.othello.ComputerGameFactory;
 import kth.game.othello.Othello;
+import kth.game.othello.OthelloFacadeFactory;
 import kth.game.othello.score.ScoreItem;
 
 /**
@@ -12,4 +14,14 @@ public interface RunMatchStrategy {
 
 	public List<ScoreItem> runMatch(Othello othello);
 
+	/**
+	 * Returns the factory of the games that this strategy is able to run. By
+	 * default the games can be observed.
+	 * 
+	 * @return the factory of the games to run
+	 */
+	public default ComputerGameFactory getOthelloFactory() {
+		return new OthelloFacadeFactory();
+	}
+
 }
@@ -2,6 +2,8 @@ package kth.game.othello.tournament;
 
 import java.util.List;
 
+import kth.game.othello.ComputerGameFactory;
+import kth.game.othello.HeadlessOthelloFactory;
 import kth.game.othello.Othello;
 import kth.game.othello.score.ScoreItem;
 
@@ -30,4 +32,15 @@ public class SilentRunner implements RunMatchStrategy {
 		return othello.getScore().getPlayersScore();
 	}
 
+	/**
+	 * Since nothing observes the games run silently, they are created
+	 * headless.
+	 * 
+	 * @return a factory of headless games
+	 */
+	@Override
+	public ComputerGameFactory getOthelloFactory() {
+		return new HeadlessOthelloFactory();
+	}
+
 }
@@ -1,8 +1,18 @@
 package kth.game.othello.tournament;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import kth.game.othello.MovePublishingOthello;
+import kth.game.othello.Othello;
+import kth.game.othello.event.MoveEvent;
+import kth.game.othello.event.MovePublisher;
+import kth.game.othello.event.MoveSubscriber;
+import kth.game.othello.event.MoveSubscription;
+import kth.game.othello.event.SubmissionMovePublisher;
 import kth.game.othello.player.Player;
 
 /**
@@ -11,9 +21,41 @@ import kth.game.othello.player.Player;
  */
 public class Tournament {
 
+	/*
+	 * Forwards every move of one match to the publisher of the tournament.
+	 */
+	private class MoveForwarder implements MoveSubscriber {
+
+		@Override
+		public void onSubscribe(MoveSubscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(MoveEvent moveEvent) {
+			movePublisher.submit(moveEvent);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			forwarderIsDone();
+		}
+
+		@Override
+		public void onComplete() {
+			forwarderIsDone();
+		}
+	}
+
 	private List<Player> players;
 	private List<Match> matches;
 	private final RunMatchStrategy runMatchStrategy;
+	// Made when first asked for, so that no events are made if no one listens
+	private SubmissionMovePublisher movePublisher;
+	private final AtomicInteger activeForwarders = new AtomicInteger();
+	// The forwarders of the publishers of the games forwarded to the publisher of the tournament
+	private final Map<SubmissionMovePublisher, MoveForwarder> forwarders = new IdentityHashMap<>();
+	private boolean isFinished = false;
 
 	/**
 	 * Create a new tournament, given its players, matches and runStrategy.
@@ -39,11 +81,66 @@ public class Tournament {
 	public List<Match> startTournament() {
 		// play each match with the given runMatchStrategy
 		for (Match match : matches) {
-			match.runMatch(runMatchStrategy);
+			match.runMatch(runMatchStrategy, this::forwardMoves);
+		}
+		synchronized (this) {
+			isFinished = true;
+			if (movePublisher != null) {
+				/*
+				 * The games may be played again after the tournament, so only the
+				 * forwarders stop. The publisher of the tournament completes when
+				 * every forwarder has forwarded the last move of its game.
+				 */
+				forwarders.forEach(SubmissionMovePublisher::unsubscribe);
+				forwarderIsDone();
+			}
 		}
 		return matches;
 	}
 
+	/*
+	 * Forwards the moves of the game of a match that is about to be run, unless
+	 * they are already forwarded since the game was played in an earlier match.
+	 */
+	private synchronized void forwardMoves(Othello othello) {
+		if (movePublisher == null || !(othello instanceof MovePublishingOthello)) {
+			return;
+		}
+		SubmissionMovePublisher gamePublisher = ((MovePublishingOthello) othello).getMovePublisher();
+		if (!forwarders.containsKey(gamePublisher)) {
+			MoveForwarder forwarder = new MoveForwarder();
+			forwarders.put(gamePublisher, forwarder);
+			activeForwarders.incrementAndGet();
+			gamePublisher.subscribe(forwarder);
+		}
+	}
+
+	/**
+	 * Returns a publisher of the moves of every match of this tournament that
+	 * publishes its moves and is run after the publisher was asked for. The
+	 * moves of each match are published in order. The publisher is closed when
+	 * the tournament is over.
+	 * 
+	 * @return the publisher of the moves of the tournament.
+	 */
+	public synchronized MovePublisher getMovePublisher() {
+		if (movePublisher == null) {
+			movePublisher = new SubmissionMovePublisher();
+			// Counted as a forwarder until every match has been run
+			activeForwarders.incrementAndGet();
+			if (isFinished) {
+				forwarderIsDone();
+			}
+		}
+		return movePublisher;
+	}
+
+	private void forwarderIsDone() {
+		if (activeForwarders.decrementAndGet() == 0) {
+			movePublisher.close();
+		}
+	}
+
 	public List<Player> getPlayers() {
 		return new ArrayList<Player>(this.players);
 	}
@@ -5,36 +5,67 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
+import kth.game.othello.ComputerGameFactory;
 import kth.game.othello.Othello;
-import kth.game.othello.OthelloFacadeFactory;
-import kth.game.othello.OthelloFactory;
 import kth.game.othello.board.factory.NodeData;
 import kth.game.othello.board.factory.Square;
 import kth.game.othello.player.Player;
 
 public class TournamentFactory {
 
+	private static final int BOARD_SIZE = 8;
+
 	public Tournament generateTournament(List<Player> computerPlayers, RunMatchStrategy runMatchStrategy) {
 
-		OthelloFactory othelloFactory = new OthelloFacadeFactory();
+		ComputerGameFactory othelloFactory = runMatchStrategy.getOthelloFactory();
 		List<Match> matches = generateMatchups(computerPlayers, othelloFactory);
 
 		Tournament tournament = new Tournament(computerPlayers, matches, runMatchStrategy);
 		return tournament;
 	}
 
-	private List<Match> generateMatchups(List<Player> players, OthelloFactory othelloFactory) {
-		List<Match> matchesToPlay = new ArrayList<>();
+	/**
+	 * Generates a tournament whose matches share a pool of games, so that a
+	 * game is reset for the next match instead of a new game being built for
+	 * every match.
+	 * 
+	 * @param computerPlayers
+	 *            the players of the tournament.
+	 * @param runMatchStrategy
+	 *            the strategy on how to run each match.
+	 * @return the tournament.
+	 */
+	public Tournament generatePooledTournament(List<Player> computerPlayers, RunMatchStrategy runMatchStrategy) {
+
+		GamePool gamePool = new GamePool(runMatchStrategy.getOthelloFactory(), BOARD_SIZE);
+		List<Match> matches = new ArrayList<>();
+		for (List<Player> matchup : generatePairings(computerPlayers)) {
+			matches.add(Match.withPooledGame(matchup, gamePool));
+		}
+
+		Tournament tournament = new Tournament(computerPlayers, matches, runMatchStrategy);
+		return tournament;
+	}
+
+	private List<List<Player>> generatePairings(List<Player> players) {
+		List<List<Player>> pairings = new ArrayList<>();
 		for (Player playerOne : players) {
 			for (Player playerTwo : players) {
 				if (playerOne != playerTwo) { // players cannot play against themselves
-					List<Player> matchup = Arrays.asList(playerOne, playerTwo);
-					Set<NodeData> nodesData = new Square().getNodes(8, matchup);
-					Othello othello = othelloFactory.createGame(nodesData, matchup);
-					matchesToPlay.add(new Match(matchup, othello));
+					pairings.add(Arrays.asList(playerOne, playerTwo));
 				}
 			}
 		}
+		return pairings;
+	}
+
+	private List<Match> generateMatchups(List<Player> players, ComputerGameFactory othelloFactory) {
+		List<Match> matchesToPlay = new ArrayList<>();
+		for (List<Player> matchup : generatePairings(players)) {
+			Set<NodeData> nodesData = new Square().getNodes(BOARD_SIZE, matchup);
+			Othello othello = othelloFactory.createGame(nodesData, matchup);
+			matchesToPlay.add(new Match(matchup, othello));
+		}
 		return matchesToPlay;
 	}
 }
@@ -0,0 +1,190 @@
+package kth.game.othello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Board;
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.SimplePlayer;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.SimpleStrategy;
+import kth.game.othello.score.Score;
+import kth.game.othello.score.ScoreItem;
+
+import org.junit.Test;
+
+public class ConcurrentOthelloIT {
+
+	private Othello createComputerGame(ComputerGameFactory othelloFactory) {
+		List<Player> players = Arrays.asList(new SimplePlayer("Simple", "SimpleID", new SimpleStrategy()),
+				new SimplePlayer("Greedy", "GreedyID", new GreedyStrategy()));
+		return othelloFactory.createGame(new Square().getNodes(8, players), players);
+	}
+
+	private int countOccupiedNodes(Board board) {
+		int occupied = 0;
+		for (Node node : board.getNodes()) {
+			if (node.isMarked()) {
+				occupied++;
+			}
+		}
+		return occupied;
+	}
+
+	@Test
+	public void testReadsAreConsistentWhileMovesAreMade() throws InterruptedException {
+		ExecutorService writerPool = Executors.newFixedThreadPool(2);
+		ExecutorService notificationPool = Executors.newFixedThreadPool(2);
+		ConcurrentOthelloFactory othelloFactory = new ConcurrentOthelloFactory(writerPool, notificationPool);
+		Othello othello = createComputerGame(othelloFactory);
+		othello.start("SimpleID");
+
+		// A reader checks every board it sees while the game is played
+		AtomicBoolean tornRead = new AtomicBoolean();
+		AtomicBoolean playing = new AtomicBoolean(true);
+		Thread reader = new Thread(() -> {
+			while (playing.get()) {
+				Board board = othello.getBoard();
+				Score score = othello.getScore();
+				int points = 0;
+				for (Player player : othello.getPlayers()) {
+					points += score.getPoints(player.getId());
+				}
+				int occupied = countOccupiedNodes(board);
+				if (occupied < 4 || points < 4) {
+					tornRead.set(true);
+				}
+			}
+		});
+		reader.start();
+
+		// Every move is notified once and in order
+		List<Integer> notifiedMoves = new ArrayList<>();
+		AtomicInteger gameFinished = new AtomicInteger();
+		CountDownLatch finished = new CountDownLatch(1);
+		othello.addMoveObserver((observable, swappedNodes) -> notifiedMoves.add(((Collection<?>) swappedNodes).size()));
+		othello.addGameFinishedObserver((observable, arg) -> {
+			gameFinished.incrementAndGet();
+			finished.countDown();
+		});
+
+		List<Integer> moves = new ArrayList<>();
+		while (othello.isActive()) {
+			moves.add(othello.move().size());
+		}
+		assertTrue(finished.await(10, TimeUnit.SECONDS));
+		playing.set(false);
+		reader.join();
+		writerPool.shutdown();
+		notificationPool.shutdown();
+
+		assertFalse(tornRead.get());
+		assertEquals(moves, notifiedMoves);
+		assertEquals(1, gameFinished.get());
+	}
+
+	@Test
+	public void testManyGamesShareAFewThreads() {
+		ExecutorService writerPool = Executors.newFixedThreadPool(2);
+		ConcurrentOthelloFactory othelloFactory = new ConcurrentOthelloFactory(writerPool, writerPool);
+		List<ConcurrentOthello> games = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			ConcurrentOthello othello = (ConcurrentOthello) createComputerGame(othelloFactory);
+			othello.start("SimpleID");
+			games.add(othello);
+		}
+
+		// Let every game make its moves asynchronously until all are over
+		boolean active = true;
+		while (active) {
+			List<CompletableFuture<List<Node>>> moves = new ArrayList<>();
+			for (ConcurrentOthello othello : games) {
+				if (othello.isActive()) {
+					moves.add(othello.moveAsync());
+				}
+			}
+			CompletableFuture.allOf(moves.toArray(new CompletableFuture<?>[0])).join();
+			active = !moves.isEmpty();
+		}
+		writerPool.shutdown();
+
+		Othello headless = createComputerGame(new HeadlessOthelloFactory());
+		headless.start("SimpleID");
+		while (headless.isActive()) {
+			headless.move();
+		}
+		for (ConcurrentOthello othello : games) {
+			assertEquals(headless.getScore().getPoints("SimpleID"), othello.getScore().getPoints("SimpleID"));
+			assertEquals(headless.getScore().getPoints("GreedyID"), othello.getScore().getPoints("GreedyID"));
+		}
+	}
+
+	@Test
+	public void testPlayersAreReadFromTheSnapshotWhileTheGameIsReset() throws InterruptedException {
+		ExecutorService writerPool = Executors.newFixedThreadPool(2);
+		ConcurrentOthelloFactory othelloFactory = new ConcurrentOthelloFactory(writerPool, writerPool);
+		List<Player> otherPlayers = Arrays.asList(new SimplePlayer("Simple", "OtherSimpleID", new SimpleStrategy()),
+				new SimplePlayer("Greedy", "OtherGreedyID", new GreedyStrategy()));
+		ConcurrentOthello othello = (ConcurrentOthello) createComputerGame(othelloFactory);
+		List<Player> players = othello.getPlayers();
+		othello.start();
+
+		// A reader checks that the player in turn and the score belong to the players of one game
+		AtomicBoolean tornRead = new AtomicBoolean();
+		AtomicBoolean playing = new AtomicBoolean(true);
+		Thread reader = new Thread(() -> {
+			while (playing.get()) {
+				try {
+					othello.getPlayerInTurn();
+					Set<String> scoredPlayerIds = othello.getScore().getPlayersScore().stream()
+							.map(ScoreItem::getPlayerId).collect(Collectors.toSet());
+					if (scoredPlayerIds.size() != 2) {
+						tornRead.set(true);
+					}
+				} catch (RuntimeException e) {
+					tornRead.set(true);
+				}
+			}
+		});
+		reader.start();
+
+		for (int game = 0; game < 100; game++) {
+			othello.reset(game % 2 == 0 ? otherPlayers : players);
+			othello.start();
+			othello.move();
+		}
+		playing.set(false);
+		reader.join();
+		writerPool.shutdown();
+
+		assertFalse(tornRead.get());
+		assertEquals(2, othello.getPlayers().size());
+		assertTrue(othello.getPlayers().containsAll(players));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidMoveIsThrownToTheCaller() {
+		List<Player> players = Arrays.asList(new SimplePlayer("player1", "player1ID"), new SimplePlayer("player2",
+				"player2ID"));
+		Othello othello = new ConcurrentOthelloFactory().createGame(new Square().getNodes(8, players), players);
+		othello.start("player1ID");
+		othello.move("player2ID", othello.getBoard().getNode(3, 2).getId());
+	}
+}
@@ -0,0 +1,256 @@
+package kth.game.othello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Observer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.EventDispatcher.OverflowPolicy;
+import kth.game.othello.board.Node;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+public class EventDispatcherTest {
+
+	/*
+	 * An executor that runs its tasks when the test asks it to.
+	 */
+	private static class ManualExecutor implements Executor {
+		private final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+		void runAll() {
+			while (!tasks.isEmpty()) {
+				tasks.remove(0).run();
+			}
+		}
+	}
+
+	private Node mockNode(String id) {
+		Node node = Mockito.mock(Node.class);
+		Mockito.when(node.getId()).thenReturn(id);
+		return node;
+	}
+
+	private MoveNotifier createMoveNotifier(EventDispatcher eventDispatcher, Observer observer) {
+		MoveNotifier moveNotifier = new MoveNotifier();
+		moveNotifier.initiateUnderlyingOthello(Mockito.mock(Othello.class));
+		moveNotifier.setEventDispatcher(eventDispatcher);
+		moveNotifier.addMoveObserver(observer);
+		return moveNotifier;
+	}
+
+	@Test
+	public void testEventsAreDispatchedInOrderOnTheExecutor() {
+		ManualExecutor executor = new ManualExecutor();
+		EventDispatcher eventDispatcher = new EventDispatcher(executor, 10, OverflowPolicy.DROP);
+		Observer moveObserver = Mockito.mock(Observer.class);
+		Observer gameFinishedObserver = Mockito.mock(Observer.class);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, moveObserver);
+		GameFinishedNotifier gameFinishedNotifier = new GameFinishedNotifier();
+		gameFinishedNotifier.initiateUnderlyingOthello(Mockito.mock(Othello.class));
+		gameFinishedNotifier.setEventDispatcher(eventDispatcher);
+		gameFinishedNotifier.addGameFinishedObserver(gameFinishedObserver);
+
+		List<Node> firstMove = Arrays.asList(mockNode("1"));
+		List<Node> secondMove = Arrays.asList(mockNode("2"));
+		moveNotifier.moveWasMade(firstMove);
+		moveNotifier.moveWasMade(secondMove);
+		gameFinishedNotifier.gameDidFinish();
+
+		Mockito.verifyZeroInteractions(moveObserver, gameFinishedObserver);
+		assertEquals(3, eventDispatcher.getQueueDepth());
+
+		executor.runAll();
+		InOrder inOrder = Mockito.inOrder(moveObserver, gameFinishedObserver);
+		inOrder.verify(moveObserver).update(moveNotifier, firstMove);
+		inOrder.verify(moveObserver).update(moveNotifier, secondMove);
+		inOrder.verify(gameFinishedObserver).update(gameFinishedNotifier, null);
+		assertEquals(0, eventDispatcher.getQueueDepth());
+		assertEquals(3, eventDispatcher.getDispatchedEvents());
+		assertTrue(eventDispatcher.getMaxDispatchLag(TimeUnit.NANOSECONDS) > 0);
+	}
+
+	@Test
+	public void testDropPolicyKeepsTheGameFinishedEvent() {
+		ManualExecutor executor = new ManualExecutor();
+		EventDispatcher eventDispatcher = new EventDispatcher(executor, 1, OverflowPolicy.DROP);
+		Observer moveObserver = Mockito.mock(Observer.class);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, moveObserver);
+		GameFinishedNotifier gameFinishedNotifier = new GameFinishedNotifier();
+		gameFinishedNotifier.initiateUnderlyingOthello(Mockito.mock(Othello.class));
+		gameFinishedNotifier.setEventDispatcher(eventDispatcher);
+		Observer gameFinishedObserver = Mockito.mock(Observer.class);
+		gameFinishedNotifier.addGameFinishedObserver(gameFinishedObserver);
+
+		List<Node> firstMove = Arrays.asList(mockNode("1"));
+		moveNotifier.moveWasMade(firstMove);
+		moveNotifier.moveWasMade(Arrays.asList(mockNode("2")));
+		gameFinishedNotifier.gameDidFinish();
+		executor.runAll();
+
+		Mockito.verify(moveObserver).update(moveNotifier, firstMove);
+		Mockito.verifyNoMoreInteractions(moveObserver);
+		Mockito.verify(gameFinishedObserver).update(gameFinishedNotifier, null);
+		assertEquals(1, eventDispatcher.getDroppedEvents());
+	}
+
+	@Test
+	public void testCoalescePolicyMergesTheSwappedNodes() {
+		ManualExecutor executor = new ManualExecutor();
+		EventDispatcher eventDispatcher = new EventDispatcher(executor, 1, OverflowPolicy.COALESCE);
+		Observer moveObserver = Mockito.mock(Observer.class);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, moveObserver);
+
+		Node node1 = mockNode("1");
+		Node node2 = mockNode("2");
+		Node node3 = mockNode("3");
+		moveNotifier.moveWasMade(Arrays.asList(node1, node2));
+		moveNotifier.moveWasMade(Arrays.asList(node2, node3));
+		executor.runAll();
+
+		Mockito.verify(moveObserver).update(moveNotifier, Arrays.asList(node1, node2, node3));
+		Mockito.verifyNoMoreInteractions(moveObserver);
+		assertEquals(1, eventDispatcher.getCoalescedEvents());
+		assertEquals(0, eventDispatcher.getDroppedEvents());
+	}
+
+	@Test
+	public void testBlockPolicyWaitsForRoomInTheQueue() throws InterruptedException {
+		CountDownLatch observerMayReturn = new CountDownLatch(1);
+		CountDownLatch allNotified = new CountDownLatch(3);
+		List<Object> notifiedMoves = new ArrayList<>();
+		Observer slowObserver = (observable, swappedNodes) -> {
+			try {
+				observerMayReturn.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			notifiedMoves.add(swappedNodes);
+			allNotified.countDown();
+		};
+		Executor newThreadExecutor = task -> new Thread(task).start();
+		EventDispatcher eventDispatcher = new EventDispatcher(newThreadExecutor, 1, OverflowPolicy.BLOCK);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, slowObserver);
+
+		List<List<Node>> moves = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			moves.add(Arrays.asList(mockNode(Integer.toString(i))));
+		}
+		Thread mover = new Thread(() -> moves.forEach(moveNotifier::moveWasMade));
+		mover.start();
+		// The first move is being delivered and the second one fills the queue
+		mover.join(200);
+		assertTrue(mover.isAlive());
+
+		observerMayReturn.countDown();
+		mover.join(10000);
+		assertFalse(mover.isAlive());
+		assertTrue(allNotified.await(10, TimeUnit.SECONDS));
+		assertEquals(moves, notifiedMoves);
+		assertEquals(0, eventDispatcher.getDroppedEvents());
+	}
+
+	/*
+	 * Tests that an observer throwing while the moves of a game are posted
+	 * faster than they are delivered does not stop the dispatcher with the
+	 * given policy: the game is not held up, the exception is counted, and the
+	 * moves posted after it are still delivered.
+	 */
+	private void assertThrowingObserverDoesNotStopTheDispatcher(OverflowPolicy overflowPolicy)
+			throws InterruptedException {
+		List<Object> notifiedMoves = new ArrayList<>();
+		CountDownLatch lastMoveNotified = new CountDownLatch(1);
+		List<Node> lastMove = Arrays.asList(mockNode("last"));
+		Observer throwingObserver = (observable, swappedNodes) -> {
+			if (notifiedMoves.isEmpty()) {
+				notifiedMoves.add(swappedNodes);
+				throw new IllegalStateException("The first move fails");
+			}
+			notifiedMoves.add(swappedNodes);
+			if (swappedNodes == lastMove) {
+				lastMoveNotified.countDown();
+			}
+		};
+		Executor newThreadExecutor = task -> new Thread(task).start();
+		EventDispatcher eventDispatcher = new EventDispatcher(newThreadExecutor, 2, overflowPolicy);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, throwingObserver);
+
+		Thread mover = new Thread(() -> {
+			for (int i = 0; i < 100; i++) {
+				moveNotifier.moveWasMade(Arrays.asList(mockNode(Integer.toString(i))));
+			}
+		});
+		mover.start();
+		mover.join(10000);
+		assertFalse(mover.isAlive());
+		while (eventDispatcher.getQueueDepth() > 0) {
+			Thread.sleep(1);
+		}
+		moveNotifier.moveWasMade(lastMove);
+
+		assertTrue(lastMoveNotified.await(10, TimeUnit.SECONDS));
+		assertEquals(1, eventDispatcher.getFailedEvents());
+	}
+
+	@Test
+	public void testThrowingObserverDoesNotStopTheDispatcherThatDrops() throws InterruptedException {
+		assertThrowingObserverDoesNotStopTheDispatcher(OverflowPolicy.DROP);
+	}
+
+	@Test
+	public void testThrowingObserverDoesNotStopTheDispatcherThatBlocks() throws InterruptedException {
+		assertThrowingObserverDoesNotStopTheDispatcher(OverflowPolicy.BLOCK);
+	}
+
+	@Test
+	public void testThrowingObserverDoesNotStopTheDispatcherThatCoalesces() throws InterruptedException {
+		assertThrowingObserverDoesNotStopTheDispatcher(OverflowPolicy.COALESCE);
+	}
+
+	@Test
+	public void testRefusingExecutorDoesNotStopTheDispatcher() {
+		ManualExecutor manualExecutor = new ManualExecutor();
+		boolean[] refuse = { true };
+		Executor refusingExecutor = task -> {
+			if (refuse[0]) {
+				throw new RejectedExecutionException();
+			}
+			manualExecutor.execute(task);
+		};
+		EventDispatcher eventDispatcher = new EventDispatcher(refusingExecutor, 1, OverflowPolicy.BLOCK);
+		Observer moveObserver = Mockito.mock(Observer.class);
+		MoveNotifier moveNotifier = createMoveNotifier(eventDispatcher, moveObserver);
+
+		List<Node> firstMove = Arrays.asList(mockNode("1"));
+		List<Node> secondMove = Arrays.asList(mockNode("2"));
+		try {
+			moveNotifier.moveWasMade(firstMove);
+		} catch (RejectedExecutionException e) {
+			// The executor refused, so the event waits for the next one
+		}
+		refuse[0] = false;
+		// The queue is full, but no drain is scheduled to make room
+		moveNotifier.moveWasMade(secondMove);
+		manualExecutor.runAll();
+
+		InOrder inOrder = Mockito.inOrder(moveObserver);
+		inOrder.verify(moveObserver).update(moveNotifier, firstMove);
+		inOrder.verify(moveObserver).update(moveNotifier, secondMove);
+		assertEquals(0, eventDispatcher.getQueueDepth());
+	}
+}
@@ -2,6 +2,7 @@ package kth.game.othello;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -64,7 +65,7 @@ public class GameControllerTest {
 		// Verify change was made on model
 		verify(mockGameModel, times(1)).move(anyString(), any(Coordinates.class));
 		// Verify change was made on boardAdapter
-		verify(mockBoardAdapter, times(callsToSetBoardState)).setBoardState(any(ImmutableBoard.class));
+		verify(mockBoardAdapter, times(callsToSetBoardState)).setBoardState(any(ImmutableBoard.class), anySetOf(Coordinates.class));
 
 		// Test valid move with arguments
 		gameController.move(movePlayerId, "node");
@@ -72,7 +73,7 @@ public class GameControllerTest {
 		// Verify change was made on model
 		verify(mockGameModel, times(2)).move(anyString(), any(Coordinates.class));
 		// Verify change was made on boardAdapter
-		verify(mockBoardAdapter, times(callsToSetBoardState)).setBoardState(any(ImmutableBoard.class));
+		verify(mockBoardAdapter, times(callsToSetBoardState)).setBoardState(any(ImmutableBoard.class), anySetOf(Coordinates.class));
 
 	}
 
@@ -0,0 +1,201 @@
+package kth.game.othello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Node;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.event.MoveEvent;
+import kth.game.othello.event.MoveSubscriber;
+import kth.game.othello.event.MoveSubscription;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.SimplePlayer;
+import kth.game.othello.player.movestrategy.GreedyStrategy;
+import kth.game.othello.player.movestrategy.SimpleStrategy;
+
+import org.junit.Test;
+
+public class HeadlessOthelloIT {
+
+	private Othello createGame(ComputerGameFactory othelloFactory) {
+		List<Player> players = Arrays.asList(new SimplePlayer("Simple", "SimpleID", new SimpleStrategy()),
+				new SimplePlayer("Greedy", "GreedyID", new GreedyStrategy()));
+		return othelloFactory.createGame(new Square().getNodes(8, players), players);
+	}
+
+	private List<String> getNodeIds(List<Node> nodes) {
+		return nodes.stream().map(Node::getId).sorted().collect(Collectors.toList());
+	}
+
+	private List<String> getOccupants(Othello othello) {
+		List<String> occupants = new ArrayList<>();
+		for (Node node : othello.getBoard().getNodes()) {
+			occupants.add(node.getId() + "=" + node.getOccupantPlayerId());
+		}
+		return occupants;
+	}
+
+	@Test
+	public void testHeadlessGameIsPlayedAsTheObservedGame() {
+		Othello observed = createGame(new OthelloFacadeFactory());
+		Othello headless = createGame(new HeadlessOthelloFactory());
+		observed.start("SimpleID");
+		headless.start("SimpleID");
+
+		while (observed.isActive()) {
+			assertEquals(observed.getPlayerInTurn().getId(), headless.getPlayerInTurn().getId());
+			assertEquals(getNodeIds(observed.move()), getNodeIds(headless.move()));
+			assertEquals(getOccupants(observed), getOccupants(headless));
+		}
+		assertFalse(headless.isActive());
+		for (Player player : observed.getPlayers()) {
+			assertEquals(observed.getScore().getPoints(player.getId()), headless.getScore().getPoints(player.getId()));
+		}
+	}
+
+	@Test
+	public void testHumanMoveAndUndo() {
+		List<Player> players = Arrays.asList(new SimplePlayer("player1", "player1ID"), new SimplePlayer("player2",
+				"player2ID"));
+		Othello othello = new HeadlessOthelloFactory().createGame(new Square().getNodes(8, players), players);
+		othello.start("player1ID");
+		List<String> startOccupants = getOccupants(othello);
+		Node node = othello.getBoard().getNode(3, 2);
+
+		assertEquals(2, othello.move("player1ID", node.getId()).size());
+		assertEquals(4, othello.getScore().getPoints("player1ID"));
+		assertEquals("player2ID", othello.getPlayerInTurn().getId());
+
+		othello.undo();
+		assertEquals(startOccupants, getOccupants(othello));
+		assertEquals("player1ID", othello.getPlayerInTurn().getId());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMoveOfPlayerNotInTurn() {
+		List<Player> players = Arrays.asList(new SimplePlayer("player1", "player1ID"), new SimplePlayer("player2",
+				"player2ID"));
+		Othello othello = new HeadlessOthelloFactory().createGame(new Square().getNodes(8, players), players);
+		othello.start("player1ID");
+		othello.move("player2ID", othello.getBoard().getNode(3, 2).getId());
+	}
+
+	@Test
+	public void testObserversAreNotified() {
+		Othello othello = new HeadlessOthelloFactory().createComputerGame();
+		List<Integer> notifiedMoves = new ArrayList<>();
+		List<Object> finishedGames = new ArrayList<>();
+		othello.addMoveObserver((observable, swappedNodes) -> notifiedMoves.add(((List<?>) swappedNodes).size()));
+		othello.addGameFinishedObserver((observable, argument) -> finishedGames.add(observable));
+		// The views of the board and of the score never change, so observing them does nothing
+		othello.getBoard().getNodes().get(0).addObserver((observable, argument) -> {
+		});
+		othello.getScore().addObserver((observable, argument) -> {
+		});
+
+		othello.start();
+		List<Integer> moves = new ArrayList<>();
+		while (othello.isActive()) {
+			moves.add(othello.move().size());
+		}
+		assertEquals(moves, notifiedMoves);
+		assertEquals(1, finishedGames.size());
+	}
+
+	@Test
+	public void testMovesArePublished() throws InterruptedException {
+		HeadlessOthello othello = (HeadlessOthello) createGame(new HeadlessOthelloFactory());
+		List<MoveEvent> moveEvents = new ArrayList<>();
+		CountDownLatch completed = new CountDownLatch(1);
+		othello.getMovePublisher().subscribe(new MoveSubscriber() {
+
+			@Override
+			public void onSubscribe(MoveSubscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(MoveEvent moveEvent) {
+				moveEvents.add(moveEvent);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+
+		othello.start("SimpleID");
+		List<List<Node>> moves = new ArrayList<>();
+		while (othello.isActive()) {
+			moves.add(othello.move());
+		}
+		othello.getMovePublisher().close();
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+
+		assertEquals(moves.size(), moveEvents.size());
+		for (int i = 0; i < moves.size(); i++) {
+			MoveEvent moveEvent = moveEvents.get(i);
+			assertEquals(othello.getId(), moveEvent.getGameId());
+			assertEquals(moves.get(i).size(), moveEvent.getFlips().size() + 1);
+		}
+		MoveEvent lastMove = moveEvents.get(moveEvents.size() - 1);
+		assertEquals(othello.getScore().getPoints("SimpleID"), lastMove.getDiscCount("SimpleID"));
+		assertEquals(othello.getScore().getPoints("GreedyID"), lastMove.getDiscCount("GreedyID"));
+	}
+
+	private void testResetGameIsPlayedAsNewGame(ComputerGameFactory othelloFactory) {
+		ReusableOthello reused = (ReusableOthello) createGame(othelloFactory);
+		reused.start("SimpleID");
+		while (reused.isActive()) {
+			reused.move();
+		}
+		List<Player> newPlayers = Arrays.asList(new SimplePlayer("Greedy", "NewGreedyID", new GreedyStrategy()),
+				new SimplePlayer("Simple", "NewSimpleID", new SimpleStrategy()));
+		Othello fresh = othelloFactory.createGame(new Square().getNodes(8, newPlayers), newPlayers);
+
+		reused.reset(newPlayers);
+		assertEquals(newPlayers, reused.getPlayers());
+		assertEquals(getOccupants(fresh), getOccupants(reused));
+		reused.start("NewSimpleID");
+		fresh.start("NewSimpleID");
+		while (fresh.isActive()) {
+			assertEquals(fresh.getPlayerInTurn().getId(), reused.getPlayerInTurn().getId());
+			assertEquals(getNodeIds(fresh.move()), getNodeIds(reused.move()));
+			assertEquals(getOccupants(fresh), getOccupants(reused));
+		}
+		assertFalse(reused.isActive());
+		assertEquals(2, reused.getScore().getPlayersScore().size());
+		for (Player player : newPlayers) {
+			assertEquals(fresh.getScore().getPoints(player.getId()), reused.getScore().getPoints(player.getId()));
+		}
+		assertEquals(0, reused.getScore().getPoints("SimpleID"));
+	}
+
+	@Test
+	public void testResetObservedGameIsPlayedAsNewGame() {
+		testResetGameIsPlayedAsNewGame(new OthelloFacadeFactory());
+	}
+
+	@Test
+	public void testResetHeadlessGameIsPlayedAsNewGame() {
+		testResetGameIsPlayedAsNewGame(new HeadlessOthelloFactory());
+	}
+
+	@Test
+	public void testResetConcurrentGameIsPlayedAsNewGame() {
+		testResetGameIsPlayedAsNewGame(new ConcurrentOthelloFactory());
+	}
+}
@@ -0,0 +1,62 @@
+package kth.game.othello;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Node;
+
+import org.junit.Test;
+
+public class OthelloFacadeIT {
+
+	private List<String> getNodeIds(List<Node> nodes) {
+		return nodes.stream().map(Node::getId).sorted().collect(Collectors.toList());
+	}
+
+	private int countNodes(Othello othello, String playerId) {
+		int count = 0;
+		for (Node node : othello.getBoard().getNodes()) {
+			if (playerId.equals(node.getOccupantPlayerId())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Test that the observers of the nodes of a game are notified of every
+	 * node changed by a move, when the score is already updated, and that the
+	 * observers of the score are notified once per move.
+	 */
+	@Test
+	public void testNodeObserversAreNotifiedAfterMove() {
+		Othello othello = new OthelloFacadeFactory().createComputerGame();
+		List<Node> notifiedNodes = new ArrayList<>();
+		List<Integer> scoreOfNotifiedNodes = new ArrayList<>();
+		List<Integer> countOfNotifiedNodes = new ArrayList<>();
+		for (Node node : othello.getBoard().getNodes()) {
+			node.addObserver((observable, arg) -> {
+				notifiedNodes.add(node);
+				scoreOfNotifiedNodes.add(othello.getScore().getPoints(node.getOccupantPlayerId()));
+				countOfNotifiedNodes.add(countNodes(othello, node.getOccupantPlayerId()));
+			});
+		}
+		List<Object> scoreChanges = new ArrayList<>();
+		othello.getScore().addObserver((observable, arg) -> scoreChanges.add(arg));
+
+		othello.start();
+		int moves = 0;
+		while (othello.isActive()) {
+			notifiedNodes.clear();
+			List<Node> changedNodes = othello.move();
+			moves++;
+			assertEquals(getNodeIds(changedNodes), getNodeIds(notifiedNodes));
+			assertEquals(moves, scoreChanges.size());
+		}
+		assertEquals(countOfNotifiedNodes, scoreOfNotifiedNodes);
+	}
+
+}
@@ -0,0 +1,56 @@
+package kth.game.othello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class SerialExecutorTest {
+
+	@Test
+	public void testTasksRunOneAtATimeInOrder() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		SerialExecutor serialExecutor = new SerialExecutor(pool);
+		List<Integer> order = new ArrayList<>();
+		AtomicBoolean running = new AtomicBoolean();
+		AtomicBoolean overlapped = new AtomicBoolean();
+		CountDownLatch done = new CountDownLatch(1000);
+		for (int i = 0; i < 1000; i++) {
+			int task = i;
+			serialExecutor.execute(() -> {
+				if (!running.compareAndSet(false, true)) {
+					overlapped.set(true);
+				}
+				order.add(task);
+				running.set(false);
+				done.countDown();
+			});
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		pool.shutdown();
+
+		assertFalse(overlapped.get());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, (int) order.get(i));
+		}
+	}
+
+	@Test
+	public void testIsRunningInCurrentThread() throws InterruptedException {
+		SerialExecutor serialExecutor = new SerialExecutor(Runnable::run);
+		AtomicBoolean runningInTask = new AtomicBoolean();
+		serialExecutor.execute(() -> runningInTask.set(serialExecutor.isRunningInCurrentThread()));
+
+		assertTrue(runningInTask.get());
+		assertFalse(serialExecutor.isRunningInCurrentThread());
+	}
+}
@@ -0,0 +1,112 @@
+package kth.game.othello.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ImmutableNode;
+
+import org.junit.Test;
+
+/**
+ * Checks that the lookups of nodes in the BoardAdapter class do not scan the
+ * nodes, on boards of different sizes.
+ */
+public class BoardAdapterIT {
+
+	private static final int LOOKUPS = 1 << 12;
+
+	/*
+	 * A node adapter that counts how many times it is asked for its id or its
+	 * coordinates.
+	 */
+	private static class CountingNodeAdapter extends NodeAdapter {
+		private final int[] reads;
+
+		private CountingNodeAdapter(ImmutableNode node, int[] reads) {
+			super(node);
+			this.reads = reads;
+		}
+
+		@Override
+		public String getId() {
+			reads[0]++;
+			return super.getId();
+		}
+
+		@Override
+		public int getXCoordinate() {
+			reads[0]++;
+			return super.getXCoordinate();
+		}
+
+		@Override
+		public int getYCoordinate() {
+			reads[0]++;
+			return super.getYCoordinate();
+		}
+	}
+
+	private BoardAdapter createBoardAdapter(int side, int[] reads) {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		List<NodeAdapter> nodeAdapters = new ArrayList<>();
+		for (int y = 0; y < side; y++) {
+			for (int x = 0; x < side; x++) {
+				ImmutableNode node = new ImmutableNode(new Coordinates(x, y), Optional.empty());
+				nodes.add(node);
+				nodeAdapters.add(new CountingNodeAdapter(node, reads));
+			}
+		}
+		return new BoardAdapter(new ImmutableBoard(nodes), nodeAdapters);
+	}
+
+	/*
+	 * Returns the number of times the nodes of the given board were asked for
+	 * their id or coordinates while looking up nodes by coordinates and by id.
+	 */
+	private int countReadsOfLookups(BoardAdapter boardAdapter, int side, int[] reads) {
+		List<String> nodeIds = new ArrayList<>();
+		List<Node> expectedNodes = new ArrayList<>();
+		for (int i = 0; i < LOOKUPS; i++) {
+			Node node = boardAdapter.getNodes().get((i * 7919) % (side * side));
+			nodeIds.add(node.getId());
+			expectedNodes.add(node);
+		}
+		List<Node> foundNodes = new ArrayList<>();
+
+		reads[0] = 0;
+		for (int i = 0; i < LOOKUPS; i++) {
+			int x = (i * 7) % side;
+			int y = (i * 13) % side;
+			assertTrue(boardAdapter.hasNode(x, y));
+			boardAdapter.getNode(x, y);
+			foundNodes.add(boardAdapter.getNodeById(nodeIds.get(i)));
+		}
+		int lookupReads = reads[0];
+
+		assertEquals(expectedNodes, foundNodes);
+		return lookupReads;
+	}
+
+	@Test
+	public void testLookupsDoNotScanTheBoard() {
+		int[] smallBoardReads = new int[1];
+		int[] largeBoardReads = new int[1];
+		BoardAdapter smallBoard = createBoardAdapter(8, smallBoardReads);
+		BoardAdapter largeBoard = createBoardAdapter(128, largeBoardReads);
+		assertEquals(127, largeBoard.getMaxX());
+		assertEquals(127, largeBoard.getMaxY());
+
+		int smallBoardLookupReads = countReadsOfLookups(smallBoard, 8, smallBoardReads);
+		int largeBoardLookupReads = countReadsOfLookups(largeBoard, 128, largeBoardReads);
+		// A lookup by id checks the id of the one node it finds, and no other node is read
+		assertTrue(smallBoardLookupReads <= LOOKUPS);
+		assertEquals(smallBoardLookupReads, largeBoardLookupReads);
+	}
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Observer;
 import java.util.Optional;
 import java.util.Set;
 
@@ -14,6 +15,8 @@ import kth.game.othello.model.ImmutableBoard;
 import kth.game.othello.model.ImmutableNode;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 public class BoardAdapterTest {
@@ -123,6 +126,22 @@ public class BoardAdapterTest {
 		boardAdapter.getNodeById("fdgdfgfdg");
 	}
 
+	@Test
+	public void testGetNodeByIdDecodesTheId() {
+		List<NodeAdapter> nodeAdapters = new ArrayList<>();
+		Set<ImmutableNode> nodes = new HashSet<>();
+		int[][] coordinates = { { 0, 0 }, { 3, 5 }, { -1, 2 }, { 70000, 1 } };
+		for (int[] xy : coordinates) {
+			ImmutableNode node = new ImmutableNode(new Coordinates(xy[0], xy[1]), Optional.empty());
+			nodes.add(node);
+			nodeAdapters.add(new NodeAdapter(node));
+		}
+		BoardAdapter boardAdapter = new BoardAdapter(new ImmutableBoard(nodes), nodeAdapters);
+		for (NodeAdapter nodeAdapter : nodeAdapters) {
+			assertEquals(nodeAdapter, boardAdapter.getNodeById(nodeAdapter.getId()));
+		}
+	}
+
 	@Test
 	public void testGetMaxXAndGetMaxY() {
 		NodeAdapter mockNodeAdapter1 = Mockito.mock(NodeAdapter.class);
@@ -140,4 +159,61 @@ public class BoardAdapterTest {
 		assertEquals(3, boardAdapter.getMaxY());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testHasNodeWithHolesAndNegativeCoordinates() {
+		NodeAdapter mockNodeAdapter1 = Mockito.mock(NodeAdapter.class);
+		Mockito.when(mockNodeAdapter1.getXCoordinate()).thenReturn(-1);
+		Mockito.when(mockNodeAdapter1.getYCoordinate()).thenReturn(0);
+		NodeAdapter mockNodeAdapter2 = Mockito.mock(NodeAdapter.class);
+		Mockito.when(mockNodeAdapter2.getXCoordinate()).thenReturn(1);
+		Mockito.when(mockNodeAdapter2.getYCoordinate()).thenReturn(2);
+		ImmutableBoard mockBoard = Mockito.mock(ImmutableBoard.class);
+		List<NodeAdapter> nodeAdapters = new ArrayList<>();
+		nodeAdapters.add(mockNodeAdapter1);
+		nodeAdapters.add(mockNodeAdapter2);
+		BoardAdapter boardAdapter = new BoardAdapter(mockBoard, nodeAdapters);
+		assertEquals(true, boardAdapter.hasNode(-1, 0));
+		assertEquals(mockNodeAdapter2, boardAdapter.getNode(1, 2));
+		assertEquals(false, boardAdapter.hasNode(0, 1));
+		assertEquals(false, boardAdapter.hasNode(2, 2));
+		assertEquals(false, boardAdapter.hasNode(-2, 0));
+	}
+
+	@Test
+	public void testSetBoardStateInBatchModeNotifiesBoardBeforeNodes() {
+		ImmutableNode node00 = new ImmutableNode(new Coordinates(0, 0), Optional.of("a"));
+		ImmutableNode node10 = new ImmutableNode(new Coordinates(1, 0), Optional.empty());
+		Set<ImmutableNode> nodes = new HashSet<>();
+		nodes.add(node00);
+		nodes.add(node10);
+		ImmutableBoard board = new ImmutableBoard(nodes);
+		List<NodeAdapter> nodeAdapters = new ArrayList<>();
+		nodeAdapters.add(new NodeAdapter(node00));
+		nodeAdapters.add(new NodeAdapter(node10));
+		BoardAdapter boardAdapter = new BoardAdapter(board, nodeAdapters);
+		boardAdapter.setBatchNotifications(true);
+
+		Observer mockBoardObserver = Mockito.mock(Observer.class);
+		Observer mockNodeObserver = Mockito.mock(Observer.class);
+		boardAdapter.addObserver(mockBoardObserver);
+		nodeAdapters.forEach(nodeAdapter -> nodeAdapter.addObserver(mockNodeObserver));
+
+		ImmutableBoard newBoard = board.swapNodes(board.getNodes(), "b");
+		List<Node> changedNodes = boardAdapter.setBoardState(newBoard);
+
+		assertEquals(2, changedNodes.size());
+		assertEquals("b", boardAdapter.getNode(1, 0).getOccupantPlayerId());
+		ArgumentCaptor<Object> boardChange = ArgumentCaptor.forClass(Object.class);
+		InOrder inOrder = Mockito.inOrder(mockBoardObserver, mockNodeObserver);
+		inOrder.verify(mockBoardObserver, Mockito.times(1)).update(Mockito.eq(boardAdapter), boardChange.capture());
+		inOrder.verify(mockNodeObserver, Mockito.times(2)).update(Mockito.any(), Mockito.any());
+		Mockito.verify(mockNodeObserver).update(nodeAdapters.get(0), "a");
+		Mockito.verify(mockNodeObserver).update(nodeAdapters.get(1), null);
+		Mockito.verifyNoMoreInteractions(mockBoardObserver, mockNodeObserver);
+		assertEquals(changedNodes, ((BoardChange) boardChange.getValue()).getChangedNodes());
+		List<String> previousOccupants = ((BoardChange) boardChange.getValue()).getPreviousOccupantPlayerIds();
+		assertEquals(previousOccupants.indexOf("a"), changedNodes.indexOf(boardAdapter.getNode(0, 0)));
+		assertEquals(previousOccupants.indexOf(null), changedNodes.indexOf(boardAdapter.getNode(1, 0)));
+	}
+
+}
@@ -0,0 +1,48 @@
+package kth.game.othello.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class NodeIdTest {
+
+	@Test
+	public void testIdFormatIsUnchanged() {
+		assertEquals("0", NodeId.of(0, 0));
+		assertEquals("3", NodeId.of(3, 0));
+		assertEquals(Integer.toString(2 | (5 << 16)), NodeId.of(2, 5));
+		assertEquals(Integer.toString(100 | (200 << 16)), NodeId.of(100, 200));
+		assertEquals(Integer.toString(-1 | (4 << 16)), NodeId.of(-1, 4));
+	}
+
+	@Test
+	public void testIdsOfSmallCoordinatesAreShared() {
+		assertSame(NodeId.of(7, 7), NodeId.of(7, 7));
+		assertSame(Integer.toString(7 | (7 << 16)).intern(), NodeId.of(7, 7));
+	}
+
+	@Test
+	public void testDecodableIdsAreDecoded() {
+		int[][] coordinates = { { 0, 0 }, { 7, 3 }, { 65535, 0 }, { 12, -3 }, { 0, 32767 }, { 1, -32768 } };
+		for (int[] xy : coordinates) {
+			long packedId = NodeId.parse(NodeId.of(xy[0], xy[1]));
+			assertEquals(xy[0], NodeId.getX(packedId));
+			assertEquals(xy[1], NodeId.getY(packedId));
+		}
+		// Coordinates out of range make ids of other coordinates
+		long packedId = NodeId.parse(NodeId.of(-1, 0));
+		assertEquals(65535, NodeId.getX(packedId));
+		assertEquals(-1, NodeId.getY(packedId));
+	}
+
+	@Test
+	public void testStringsThatAreNotIdsAreNotParsed() {
+		String[] notIds = { "", "-", "a", "12a", "007", "-0", "+5", "99999999999", "4294967296" };
+		for (String notId : notIds) {
+			assertEquals(notId, NodeId.NOT_AN_ID, NodeId.parse(notId));
+		}
+		assertEquals(Integer.MIN_VALUE, NodeId.parse(Integer.toString(Integer.MIN_VALUE)));
+		assertEquals(Integer.MAX_VALUE, NodeId.parse(Integer.toString(Integer.MAX_VALUE)));
+	}
+}
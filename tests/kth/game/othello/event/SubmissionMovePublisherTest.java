@@ -0,0 +1,151 @@
+package kth.game.othello.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import kth.game.othello.board.Coordinates;
+
+import org.junit.Test;
+
+public class SubmissionMovePublisherTest {
+
+	/*
+	 * A subscriber that records what it receives.
+	 */
+	private static class RecordingSubscriber implements MoveSubscriber {
+		private MoveSubscription subscription;
+		private final List<MoveEvent> events = new ArrayList<>();
+		private Throwable error;
+		private boolean completed = false;
+
+		@Override
+		public void onSubscribe(MoveSubscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(MoveEvent moveEvent) {
+			events.add(moveEvent);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	private MoveEvent createMoveEvent(int x) {
+		return new MoveEvent("gameId", "playerId", new Coordinates(x, 0), Collections.emptyList(), new HashMap<>());
+	}
+
+	@Test
+	public void testEventsAreSentAsRequested() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		assertTrue(publisher.hasSubscribers());
+
+		MoveEvent first = createMoveEvent(0);
+		MoveEvent second = createMoveEvent(1);
+		publisher.submit(first);
+		publisher.submit(second);
+		assertTrue(subscriber.events.isEmpty());
+
+		subscriber.subscription.request(1);
+		assertEquals(Collections.singletonList(first), subscriber.events);
+		subscriber.subscription.request(5);
+		assertEquals(2, subscriber.events.size());
+		assertEquals(second, subscriber.events.get(1));
+	}
+
+	@Test
+	public void testEventsAreDroppedWhenTheBufferIsFull() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 2);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		for (int x = 0; x < 5; x++) {
+			publisher.submit(createMoveEvent(x));
+		}
+		assertEquals(3, publisher.getDroppedEvents());
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(2, subscriber.events.size());
+		assertEquals(1, subscriber.events.get(1).getCoordinates().getX());
+	}
+
+	@Test
+	public void testCloseCompletesAfterTheBufferedEvents() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		publisher.submit(createMoveEvent(0));
+		publisher.close();
+		assertFalse(subscriber.completed);
+
+		subscriber.subscription.request(1);
+		assertEquals(1, subscriber.events.size());
+		assertTrue(subscriber.completed);
+		assertFalse(publisher.hasSubscribers());
+
+		RecordingSubscriber lateSubscriber = new RecordingSubscriber();
+		publisher.subscribe(lateSubscriber);
+		assertTrue(lateSubscriber.completed);
+	}
+
+	@Test
+	public void testUnsubscribeCompletesAfterTheBufferedEvents() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		RecordingSubscriber otherSubscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		publisher.subscribe(otherSubscriber);
+		publisher.submit(createMoveEvent(0));
+		publisher.unsubscribe(subscriber);
+		publisher.submit(createMoveEvent(1));
+		assertFalse(subscriber.completed);
+
+		subscriber.subscription.request(10);
+		otherSubscriber.subscription.request(10);
+		assertEquals(1, subscriber.events.size());
+		assertTrue(subscriber.completed);
+		assertEquals(2, otherSubscriber.events.size());
+		assertFalse(otherSubscriber.completed);
+		assertFalse(publisher.isClosed());
+	}
+
+	@Test
+	public void testCancelStopsTheEvents() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(10);
+		publisher.submit(createMoveEvent(0));
+		subscriber.subscription.cancel();
+		publisher.submit(createMoveEvent(1));
+
+		assertEquals(1, subscriber.events.size());
+		assertFalse(publisher.hasSubscribers());
+	}
+
+	@Test
+	public void testRequestOfNoEventsIsAnError() {
+		SubmissionMovePublisher publisher = new SubmissionMovePublisher(Runnable::run, 10);
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		publisher.subscribe(subscriber);
+		subscriber.subscription.request(0);
+
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertFalse(publisher.hasSubscribers());
+	}
+}
@@ -0,0 +1,201 @@
+package kth.game.othello.model;
+
+import static kth.game.othello.model.GameFixtures.countEmptyNodes;
+import static kth.game.othello.model.GameFixtures.generateDiamondBoard;
+import static kth.game.othello.model.GameFixtures.generateSquareBoard;
+import static kth.game.othello.model.GameFixtures.playRandomMoves;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.Coordinates;
+
+import org.junit.Test;
+
+public class EndgameSolverTest {
+
+	/*
+	 * Returns a traditional board from its rows, from the top, where each
+	 * character is a node from the left: '-' for an empty node and otherwise
+	 * the id of the player occupying it.
+	 */
+	private ImmutableBoard generateBoard(String... rows) {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < rows.length; y++) {
+			for (int x = 0; x < rows[y].length(); x++) {
+				char occupant = rows[y].charAt(x);
+				nodes.add(new ImmutableNode(new Coordinates(x, y), occupant == '-' ? Optional.empty()
+						: Optional.of(String.valueOf(occupant))));
+			}
+		}
+		return new ImmutableBoard(nodes);
+	}
+
+	/*
+	 * Returns the final disc difference of the given player, by searching all
+	 * moves of all players to the end of the game, when the other players
+	 * play together against the player.
+	 */
+	private int solveByBruteForce(GameState state, String playerId) {
+		if (state.isGameOver()) {
+			int difference = 0;
+			for (Map.Entry<String, Integer> entry : state.getBoard().getDiscCounts().entrySet()) {
+				difference += entry.getKey().equals(playerId) ? entry.getValue() : -entry.getValue();
+			}
+			return difference;
+		}
+		boolean isPlayerInTurn = state.getPlayerInTurn().get().equals(playerId);
+		MoveList moves = state.generateMoves(new MoveList());
+		int bestValue = isPlayerInTurn ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		for (int move = 0; move < moves.size(); move++) {
+			int value = solveByBruteForce(state.play(moves, move), playerId);
+			bestValue = isPlayerInTurn ? Math.max(bestValue, value) : Math.min(bestValue, value);
+		}
+		return bestValue;
+	}
+
+	/*
+	 * Tests that the solver finds the disc difference found by brute force,
+	 * and a move leading to it, in positions of random games on the given
+	 * board with the given number of empty nodes left.
+	 */
+	private void assertSolvesLikeBruteForce(ImmutableBoard startBoard, String startingPlayerId, int emptyNodes,
+			long seed) {
+		Random random = new Random(seed);
+		EndgameSolver solver = new EndgameSolver(emptyNodes);
+		int solved = 0;
+		for (int game = 0; game < 20; game++) {
+			GameState state = playRandomMoves(GameState.of(startBoard, startingPlayerId), emptyNodes, random);
+			if (state.isGameOver()) {
+				continue;
+			}
+			String playerId = state.getPlayerInTurn().get();
+			EndgameSolution solution = solver.solve(state);
+			assertEquals(solveByBruteForce(state, playerId), solution.getDiscDifference());
+			GameState afterBestMove = state.tryMove(playerId, solution.getBestMove()).get();
+			assertEquals(solution.getDiscDifference(), solveByBruteForce(afterBestMove, playerId));
+			assertEquals(countEmptyNodes(state.getBoard()), solution.getEmptyNodes());
+			solved++;
+		}
+		assertTrue(solved >= 10);
+	}
+
+	/**
+	 * Test that the solver agrees with brute force on the traditional board,
+	 * both near the end where the moves are ordered by parity, and further
+	 * from it where they are ordered by the moves they leave.
+	 */
+	@Test
+	public void testSolveTraditionalBoard() {
+		assertSolvesLikeBruteForce(generateSquareBoard(8), "a", 5, 1);
+		assertSolvesLikeBruteForce(generateSquareBoard(8), "a", 9, 2);
+	}
+
+	/**
+	 * Test that the solver agrees with brute force on a small board, where
+	 * the players often have to pass and games end before the board is full.
+	 */
+	@Test
+	public void testSolveSmallBoard() {
+		assertSolvesLikeBruteForce(generateSquareBoard(4), "b", 8, 3);
+	}
+
+	/**
+	 * Test that the solver agrees with brute force on a diamond board of
+	 * three players, where the two other players play together against the
+	 * player in turn.
+	 */
+	@Test
+	public void testSolveDiamondBoardOfThreePlayers() {
+		assertSolvesLikeBruteForce(generateDiamondBoard(7), "a", 8, 4);
+	}
+
+	/*
+	 * Tests that the solver finds the given disc difference of the given
+	 * player in turn of the given board, and one of the given best moves.
+	 */
+	private void assertSolvesKnownPosition(ImmutableBoard board, String playerId, int discDifference,
+			Coordinates... bestMoves) {
+		EndgameSolution solution = new EndgameSolver().solve(GameState.of(board, playerId));
+		assertEquals(discDifference, solution.getDiscDifference());
+		assertTrue(Arrays.asList(bestMoves).contains(solution.getBestMove()));
+	}
+
+	/**
+	 * Test that the solver finds the known disc differences and best moves of
+	 * a fixed set of positions on the traditional board. The disc differences
+	 * and all the best moves were found once by a plain minimax search over
+	 * the general rules, without pruning, the bits of the board or a table.
+	 */
+	@Test
+	public void testSolveKnownPositions() {
+		assertSolvesKnownPosition(
+				generateBoard("---bb-a-", "aaabbbbb", "aabababb", "ababbbbb", "aabbbbba", "aabbbbba", "aabbbbba",
+						"--b-b-b-"), "a", 14, new Coordinates(7, 0));
+		assertSolvesKnownPosition(
+				generateBoard("-aaaaaab", "-aabaab-", "bababbaa", "bbbabba-", "bbbbbaaa", "ba-baaaa", "a-aabbaa",
+						"-a--bbb-"), "a", -40, new Coordinates(2, 5), new Coordinates(3, 7));
+		assertSolvesKnownPosition(
+				generateBoard("-bbbbaa-", "aabbaaaa", "abbaaaa-", "abbbaaaa", "aaabbaa-", "aaaabaaa", "ababbb--",
+						"-bba-b--"), "a", 16, new Coordinates(0, 0));
+		assertSolvesKnownPosition(
+				generateBoard("-ab--b-b", "bbaabbbb", "aaabab-b", "babbbaab", "bbabbabb", "baaaabbb", "--bb-bbb",
+						"-bbb-bbb"), "a", 6, new Coordinates(0, 0));
+		assertSolvesKnownPosition(
+				generateBoard("-bbbbb-a", "-baaaaa-", "bbabaaaa", "babaaaaa", "aaaaaaaa", "--aaabba", "--aaaaaa",
+						"-bbbbbbb"), "b", -9, new Coordinates(0, 5));
+		assertSolvesKnownPosition(
+				generateBoard("aaabbbbb", "aaaabbbb", "aaabbbbb", "aabbbabb", "abbbbbab", "abbaa-bb", "-a-aaa-b",
+						"-baa----"), "b", 8, new Coordinates(0, 7), new Coordinates(4, 7), new Coordinates(6, 7));
+	}
+
+	/**
+	 * Test that the same solver may solve boards of different sizes, and
+	 * reports the game states it visited and the time it took.
+	 */
+	@Test
+	public void testSolveReusedSolver() {
+		EndgameSolver solver = new EndgameSolver();
+		Random random = new Random(5);
+		GameState diamondState = playRandomMoves(GameState.of(generateDiamondBoard(7), "a"), 6, random);
+		GameState squareState = playRandomMoves(GameState.of(generateSquareBoard(8), "a"), 10, random);
+		String playerId = squareState.getPlayerInTurn().get();
+
+		solver.solve(diamondState);
+		EndgameSolution solution = solver.solve(squareState);
+		assertEquals(solveByBruteForce(squareState, playerId), solution.getDiscDifference());
+		assertTrue(solution.getNodes() > 10);
+		assertTrue(solution.getElapsedTime(TimeUnit.NANOSECONDS) > 0);
+	}
+
+	/**
+	 * Test that a game state is only solved if it has few enough empty nodes
+	 * and is not over.
+	 */
+	@Test
+	public void testCanSolve() {
+		EndgameSolver solver = new EndgameSolver(12);
+		assertFalse(solver.canSolve(GameState.of(generateSquareBoard(8), "a")));
+		assertTrue(solver.canSolve(GameState.of(generateSquareBoard(4), "a")));
+
+		// A full board, where the game is over
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int x = 0; x < 3; x++) {
+			nodes.add(new ImmutableNode(new Coordinates(x, 0), Optional.of(x == 0 ? "b" : "a")));
+		}
+		assertFalse(solver.canSolve(GameState.of(new ImmutableBoard(nodes), "a")));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSolveRejectsTooManyEmptyNodes() {
+		new EndgameSolver(10).solve(GameState.of(generateSquareBoard(8), "a"));
+	}
+}
@@ -0,0 +1,108 @@
+package kth.game.othello.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * Boards and games shared by the tests of the model and of the strategies.
+ */
+public final class GameFixtures {
+
+	private GameFixtures() {
+	}
+
+	/**
+	 * Returns a square board of the given size with the four discs of the
+	 * players "a" and "b" in the middle, as at the start of a game on the
+	 * traditional board when the size is 8.
+	 *
+	 * @param size
+	 *            the number of nodes on a side of the board.
+	 * @return the board.
+	 */
+	public static ImmutableBoard generateSquareBoard(int size) {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		int middle = size / 2;
+		occupants.put(new Coordinates(middle - 1, middle - 1), "b");
+		occupants.put(new Coordinates(middle, middle), "b");
+		occupants.put(new Coordinates(middle - 1, middle), "a");
+		occupants.put(new Coordinates(middle, middle - 1), "a");
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				Coordinates coordinates = new Coordinates(x, y);
+				nodes.add(new ImmutableNode(coordinates, Optional.ofNullable(occupants.get(coordinates))));
+			}
+		}
+		return new ImmutableBoard(nodes);
+	}
+
+	/**
+	 * Returns a diamond board of the given odd size with the nine discs of the
+	 * players "a", "b" and "c" in the middle.
+	 *
+	 * @param size
+	 *            the number of nodes across the middle of the board.
+	 * @return the board.
+	 */
+	public static ImmutableBoard generateDiamondBoard(int size) {
+		String[] players = { "a", "b", "c" };
+		int middle = (size - 1) / 2;
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < size; y++) {
+			int halfWidth = y <= middle ? y : size - 1 - y;
+			for (int x = middle - halfWidth; x <= middle + halfWidth; x++) {
+				Optional<String> occupant = Optional.empty();
+				if (Math.abs(x - middle) <= 1 && Math.abs(y - middle) <= 1) {
+					occupant = Optional.of(players[(x - middle + 1 + y - middle + 1) % 3]);
+				}
+				nodes.add(new ImmutableNode(new Coordinates(x, y), occupant));
+			}
+		}
+		return new ImmutableBoard(nodes);
+	}
+
+	/**
+	 * Makes random moves from the given game state until the given number of
+	 * empty nodes is left or the game is over.
+	 *
+	 * @param state
+	 *            the game state to start from.
+	 * @param emptyNodes
+	 *            the number of empty nodes to leave.
+	 * @param random
+	 *            the random numbers choosing the moves.
+	 * @return the game state after the moves.
+	 */
+	public static GameState playRandomMoves(GameState state, int emptyNodes, Random random) {
+		MoveList moves = new MoveList();
+		while (!state.isGameOver() && countEmptyNodes(state.getBoard()) > emptyNodes) {
+			state.generateMoves(moves);
+			state = state.play(moves, random.nextInt(moves.size()));
+		}
+		return state;
+	}
+
+	/**
+	 * Returns the number of nodes of the given board that no player occupies.
+	 *
+	 * @param board
+	 *            the board to count the empty nodes of.
+	 * @return the number of empty nodes.
+	 */
+	public static int countEmptyNodes(ImmutableBoard board) {
+		int empty = 0;
+		for (ImmutableNode node : board.getNodes()) {
+			if (!node.isMarked()) {
+				empty++;
+			}
+		}
+		return empty;
+	}
+}
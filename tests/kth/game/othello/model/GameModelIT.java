@@ -204,8 +204,11 @@ public class GameModelIT {
 		ModelRules rules = new ModelRules();
 		GameModelFactory gameModelFactory = new GameModelFactory(startingBoard, playerIds, rules);
 		GameModel gameModel = gameModelFactory.newGameModel(playerA);
-		gameModel.move(playerA, new Coordinates(1, 0));
-		gameModel.move(playerB, new Coordinates(4, 0));
+		Set<Coordinates> changedCoordinates = new HashSet<>();
+		changedCoordinates.add(new Coordinates(1, 0));
+		changedCoordinates.add(new Coordinates(2, 0));
+		assertEquals(changedCoordinates, gameModel.move(playerA, new Coordinates(1, 0)));
+		assertEquals(4, gameModel.move(playerB, new Coordinates(4, 0)).size());
 
 		gameModel.undo();
 		GameState stateAfterTwiceUndo = gameModel.undo().get();
@@ -221,4 +224,62 @@ public class GameModelIT {
 		assertEquals(false, gameModel.undo().isPresent());
 	}
 
+	/**
+	 * Test that undoing every move of a game on the three player board gives
+	 * back every earlier game state, and that redoing the moves gives back
+	 * the same game states again.
+	 */
+	@Test
+	public void testThatUndoAndRedoRestoreEveryGameState() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add(player1Id);
+		playerIds.add(player2Id);
+		playerIds.add(player3Id);
+		GameModelFactory gameModelFactory = new GameModelFactory(generateBoard(), playerIds, new ModelRules());
+		GameModel gameModel = gameModelFactory.newGameModel(player1Id);
+
+		List<GameState> gameStates = new ArrayList<>();
+		gameStates.add(gameModel.getGameState());
+		while (gameModel.getPlayerInTurn().isPresent()) {
+			String playerId = gameModel.getPlayerInTurn().get();
+			MoveList moves = new ModelRules().generateMoves(gameModel.getGameState().getBoard(), playerId);
+			gameModel.move(playerId, moves.getCoordinates(moves.size() - 1));
+			gameStates.add(gameModel.getGameState());
+		}
+
+		for (int i = gameStates.size() - 2; i >= 0; i--) {
+			GameState gameState = gameModel.undo().get();
+			assertEquals(gameStates.get(i).getBoard(), gameState.getBoard());
+			assertEquals(gameStates.get(i).getPlayerInTurn(), gameState.getPlayerInTurn());
+			assertEquals(gameStates.get(i).getZobristKey(), gameState.getZobristKey());
+		}
+		assertEquals(false, gameModel.undo().isPresent());
+
+		for (int i = 1; i < gameStates.size(); i++) {
+			GameState gameState = gameModel.redo().get();
+			assertEquals(gameStates.get(i).getBoard(), gameState.getBoard());
+			assertEquals(gameStates.get(i).getPlayerInTurn(), gameState.getPlayerInTurn());
+		}
+		assertEquals(false, gameModel.redo().isPresent());
+	}
+
+	@Test
+	public void testThatMoveClearsTheMovesToRedo() {
+		Set<ImmutableNode> nodes = getRowOfNodes("b - b a -", 0);
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add(player1Id);
+		playerIds.add(player2Id);
+		GameModelFactory gameModelFactory = new GameModelFactory(new ImmutableBoard(nodes), playerIds,
+				new ModelRules());
+		GameModel gameModel = gameModelFactory.newGameModel(player1Id);
+		gameModel.move(player1Id, new Coordinates(1, 0));
+		gameModel.undo();
+		gameModel.move(player1Id, new Coordinates(1, 0));
+		assertEquals(false, gameModel.redo().isPresent());
+
+		MoveDelta lastMove = gameModel.getGameState().getLastMove().get();
+		assertEquals(player1Id, lastMove.getPlayerId());
+		assertEquals(new Coordinates(1, 0), lastMove.getCoordinates());
+		assertEquals(2, lastMove.getNumberOfChangedNodes());
+	}
 }
@@ -1,9 +1,13 @@
 package kth.game.othello.model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 import kth.game.othello.board.Coordinates;
@@ -19,9 +23,10 @@ public class GameStateTest {
 	@Test
 	public void testTryMoveReturnOptionalEmptyIfPlayerIsNotPlayerInTurn() {
 		String playerInTurn = "1";
+		ImmutableBoard mockBoard = Mockito.mock(ImmutableBoard.class);
 		ModelRules mockRules = Mockito.mock(ModelRules.class);
-		Mockito.when(mockRules.hasValidMove(null, playerInTurn)).thenReturn(true);
-		GameState gameState = new GameState(null, null, mockRules, Optional.of(playerInTurn));
+		Mockito.when(mockRules.hasValidMove(mockBoard, playerInTurn)).thenReturn(true);
+		GameState gameState = new GameState(mockBoard, null, mockRules, Optional.of(playerInTurn));
 		Optional<GameState> res = gameState.tryMove("2", null);
 		assertFalse(res.isPresent());
 	}
@@ -57,7 +62,8 @@ public class GameStateTest {
 		ImmutableBoard mockBoard = Mockito.mock(ImmutableBoard.class);
 		ModelRules mockRules = Mockito.mock(ModelRules.class);
 		TurnCalculator mockTurnCalculator = Mockito.mock(TurnCalculator.class);
-		Mockito.when(mockTurnCalculator.getPlayerInTurn(player1, mockBoard, mockRules)).thenReturn(Optional.empty());
+		Mockito.when(mockTurnCalculator.getPlayerInTurn(Mockito.eq(player1), Mockito.any(Mobility.class))).thenReturn(
+				Optional.empty());
 		Mockito.when(mockRules.hasValidMove(mockBoard, player1)).thenReturn(true);
 		GameState gameState = new GameState(mockBoard, mockTurnCalculator, mockRules, Optional.of(player1));
 		Mockito.verify(mockRules).hasValidMove(mockBoard, player1);
@@ -73,4 +79,88 @@ public class GameStateTest {
 		Mockito.verify(mockBoard).swapNodes(nodesActuallyChangedOfThisMove, player1);
 
 	}
+
+	/**
+	 * Test that the mobility of the players is computed at most once per
+	 * player, however many times it is asked for.
+	 */
+	@Test
+	public void testMobilityIsComputedOnce() {
+		String player1 = "1";
+		String player2 = "2";
+		ImmutableBoard mockBoard = Mockito.mock(ImmutableBoard.class);
+		Mockito.when(mockBoard.getPlayerIDs()).thenReturn(new HashSet<>(Arrays.asList(player1, player2)));
+		ModelRules mockRules = Mockito.mock(ModelRules.class);
+		Mockito.when(mockRules.hasValidMove(mockBoard, player1)).thenReturn(false);
+		Mockito.when(mockRules.hasValidMove(mockBoard, player2)).thenReturn(true);
+		TurnCalculator turnCalculator = new TurnCalculator(Arrays.asList(player1, player2));
+
+		GameState gameState = new GameState(mockBoard, turnCalculator, mockRules, Optional.of(player1));
+		assertEquals(Optional.of(player2), gameState.getPlayerInTurn());
+		assertFalse(gameState.isGameOver());
+		assertFalse(gameState.hasValidMove(player1));
+		assertTrue(gameState.hasValidMove(player2));
+
+		Mockito.verify(mockRules, Mockito.times(1)).hasValidMove(mockBoard, player1);
+		Mockito.verify(mockRules, Mockito.times(1)).hasValidMove(mockBoard, player2);
+		Mockito.verify(mockRules, Mockito.never()).isGameOver(mockBoard);
+	}
+
+	/**
+	 * Test that playing a move of a move list leads to the same game state as
+	 * trying the move, during a number of random games on the traditional
+	 * board and on a smaller board.
+	 */
+	@Test
+	public void testPlayAgreesWithTryMove() {
+		Random random = new Random(17);
+		for (int side : new int[] { 8, 6 }) {
+			for (int game = 0; game < 10; game++) {
+				GameState triedState = GameState.of(generateStartBoard(side, "a", "b"), "a");
+				GameState playedState = GameState.of(triedState.getBoard(), "a");
+				MoveList moves = new MoveList();
+				while (!playedState.isGameOver()) {
+					playedState.generateMoves(moves);
+					int move = random.nextInt(moves.size());
+					String playerId = playedState.getPlayerInTurn().get();
+					triedState = triedState.tryMove(playerId, moves.getCoordinates(move)).get();
+					playedState = playedState.play(moves, move);
+
+					assertEquals(triedState.getPlayerInTurn(), playedState.getPlayerInTurn());
+					assertEquals(triedState.getBoard().getZobristKey(), playedState.getBoard().getZobristKey());
+					assertEquals(triedState.getBoard().getNodes(), playedState.getBoard().getNodes());
+					assertEquals(triedState.getBoard().getFrontierNodes(), playedState.getBoard().getFrontierNodes());
+				}
+				assertTrue(triedState.isGameOver());
+			}
+		}
+	}
+
+	/**
+	 * Test that a move list can only be played on the game state it was
+	 * generated for.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlayMovesOfAnotherGameState() {
+		GameState gameState = GameState.of(generateStartBoard(8, "a", "b"), "a");
+		MoveList moves = gameState.generateMoves(new MoveList());
+		gameState.play(moves, 0).play(moves, 0);
+	}
+
+	private ImmutableBoard generateStartBoard(int side, String player1Id, String player2Id) {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		int middle = side / 2;
+		for (int y = 0; y < side; y++) {
+			for (int x = 0; x < side; x++) {
+				Optional<String> occupant = Optional.empty();
+				if ((x == middle - 1 && y == middle) || (x == middle && y == middle - 1)) {
+					occupant = Optional.of(player1Id);
+				} else if ((x == middle - 1 && y == middle - 1) || (x == middle && y == middle)) {
+					occupant = Optional.of(player2Id);
+				}
+				nodes.add(new ImmutableNode(new Coordinates(x, y), occupant));
+			}
+		}
+		return new ImmutableBoard(nodes);
+	}
 }
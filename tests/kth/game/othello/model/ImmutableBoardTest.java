@@ -1,10 +1,15 @@
 package kth.game.othello.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 
 import kth.game.othello.board.Coordinates;
@@ -199,4 +204,200 @@ public class ImmutableBoardTest {
 		assertEquals(swapID, newBoard.getNodeAtCoordinates(new Coordinates(1, 0)).getOccupantPlayerId().get());
 
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetNextNodeInDirectionStopsAtEdgesAndHoles() {
+		// A 3x1 row with a hole in the middle
+		Set<ImmutableNode> nodes = new HashSet<>();
+		ImmutableNode westNode = new ImmutableNode(new Coordinates(0, 0), dummyID);
+		ImmutableNode eastNode = new ImmutableNode(new Coordinates(2, 0), Optional.empty());
+		nodes.add(westNode);
+		nodes.add(eastNode);
+		ImmutableBoard board = new ImmutableBoard(nodes);
+
+		assertEquals(false, board.hasCoordinates(new Coordinates(1, 0)));
+		for (ImmutableBoard.Direction direction : ImmutableBoard.Direction.values()) {
+			assertEquals(Optional.empty(), board.getNextNodeInDirection(westNode, direction));
+			assertEquals(Optional.empty(), board.getNextNodeInDirection(eastNode, direction));
+		}
+	}
+
+	@Test
+	public void testCompareWithSwappedBoard() {
+		ImmutableBoard board = generateBoardWithSide(3);
+		Set<ImmutableNode> nodesToSwap = new HashSet<>();
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(2, 1)));
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(0, 2)));
+		ImmutableBoard swappedBoard = board.swapNodes(nodesToSwap, "swapped");
+
+		Set<Coordinates> correctDiff = new HashSet<>();
+		correctDiff.add(new Coordinates(2, 1));
+		correctDiff.add(new Coordinates(0, 2));
+		assertEquals(correctDiff, ImmutableBoard.compare(board, swappedBoard));
+		assertEquals(new HashSet<>(), ImmutableBoard.compare(swappedBoard, swappedBoard));
+	}
+
+	@Test
+	public void testZobristKeyIsUpdatedIncrementally() {
+		ImmutableBoard board = generateBoardWithSide(4);
+		Set<ImmutableNode> nodesToSwap = new HashSet<>();
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(1, 2)));
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(3, 0)));
+		ImmutableBoard swappedBoard = board.swapNodes(nodesToSwap, "swapped");
+
+		// A board built from scratch with the same nodes has the same key
+		ImmutableBoard rebuiltBoard = new ImmutableBoard(swappedBoard.getNodes());
+		assertEquals(rebuiltBoard.getZobristKey(), swappedBoard.getZobristKey());
+		assertEquals(rebuiltBoard, swappedBoard);
+		assertEquals(rebuiltBoard.hashCode(), swappedBoard.hashCode());
+		assertNotEquals(board.getZobristKey(), swappedBoard.getZobristKey());
+		assertNotEquals(board, swappedBoard);
+
+		// Swapping the nodes back gives the original key
+		ImmutableBoard restoredBoard = swappedBoard.swapNodes(nodesToSwap, dummyID.get());
+		assertEquals(board.getZobristKey(), restoredBoard.getZobristKey());
+		assertEquals(board, restoredBoard);
+	}
+
+	@Test
+	public void testZobristKeyDependsOnShapeAndPlayers() {
+		ImmutableBoard board = generateBoardWithSide(3);
+		assertNotEquals(board.getZobristKey(), generateBoardWithSide(4).getZobristKey());
+		assertNotEquals(board.getSideToMoveKey("a"), board.getSideToMoveKey("b"));
+		assertNotEquals(board.getSideToMoveKey("a"), generateBoardWithSide(4).getSideToMoveKey("a"));
+
+		ImmutableBoard otherPlayerBoard = board.swapNodes(board.getNodes(), "other");
+		assertNotEquals(board.getZobristKey(), otherPlayerBoard.getZobristKey());
+	}
+
+	@Test
+	public void testFrontierIsUpdatedIncrementally() {
+		// An empty 5x5 board with one occupied node in the middle
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < 5; y++) {
+			for (int x = 0; x < 5; x++) {
+				nodes.add(new ImmutableNode(new Coordinates(x, y), x == 2 && y == 2 ? dummyID : Optional.empty()));
+			}
+		}
+		ImmutableBoard board = new ImmutableBoard(nodes);
+		assertEquals(8, board.getFrontierNodes().size());
+
+		Random random = new Random(3);
+		while (!board.getFrontierNodes().isEmpty()) {
+			List<ImmutableNode> frontierNodes = new ArrayList<>(board.getFrontierNodes());
+			Set<ImmutableNode> nodesToSwap = new HashSet<>();
+			nodesToSwap.add(frontierNodes.get(random.nextInt(frontierNodes.size())));
+			board = board.swapNodes(nodesToSwap, "swapped");
+			assertEquals(new ImmutableBoard(board.getNodes()).getFrontierNodes(), board.getFrontierNodes());
+		}
+		assertEquals(2, board.getPlayerIDs().size());
+		for (ImmutableNode node : board.getNodes()) {
+			assertEquals(true, node.isMarked());
+		}
+	}
+
+	@Test
+	public void testWithPlayersUsesTheOrdinalsOfTheRegistry() {
+		ImmutableBoard board = generateBoardWithSide(3);
+		Set<ImmutableNode> nodesToSwap = new HashSet<>();
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(1, 1)));
+		board = board.swapNodes(nodesToSwap, "second");
+
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("first");
+		playerIds.add("second");
+		ImmutableBoard registryBoard = board.withPlayers(new PlayerRegistry(playerIds));
+		assertEquals(board, registryBoard);
+		assertEquals(board.getZobristKey(), registryBoard.getZobristKey());
+		assertEquals(2, registryBoard.getPlayerTable().getOrdinal("second"));
+		assertEquals(3, registryBoard.getPlayerTable().getOrdinal(dummyID.get()));
+
+		// Boards with different ordinals are still compared by their players
+		nodesToSwap.clear();
+		nodesToSwap.add(registryBoard.getNodeAtCoordinates(new Coordinates(0, 0)));
+		ImmutableBoard swappedBoard = registryBoard.swapNodes(nodesToSwap, "first");
+		Set<Coordinates> correctDiff = new HashSet<>();
+		correctDiff.add(new Coordinates(0, 0));
+		assertEquals(correctDiff, ImmutableBoard.compare(board, swappedBoard));
+	}
+
+	@Test
+	public void testEqualsComparesBoardsWithDifferentOrdinalsByTheirPlayers() {
+		ImmutableBoard board = generateBoardWithSide(3);
+		Set<ImmutableNode> nodesToSwap = new HashSet<>();
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(1, 1)));
+		board = board.swapNodes(nodesToSwap, "second");
+
+		// The registry gives the players other ordinals than the board has
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("second");
+		playerIds.add(dummyID.get());
+		ImmutableBoard registryBoard = board.withPlayers(new PlayerRegistry(playerIds));
+		assertEquals(false, board.getPlayerTable().hasSameOrdinals(registryBoard.getPlayerTable()));
+		assertEquals(board, registryBoard);
+		assertEquals(registryBoard, board);
+
+		nodesToSwap.clear();
+		nodesToSwap.add(registryBoard.getNodeAtCoordinates(new Coordinates(2, 2)));
+		ImmutableBoard swappedBoard = registryBoard.swapNodes(nodesToSwap, "second");
+		assertNotEquals(board, swappedBoard);
+		assertNotEquals(swappedBoard, board);
+		assertEquals(swappedBoard, board.swapNodes(nodesToSwap, "second"));
+	}
+
+	@Test
+	public void testGetDiscCountsCountsEveryPlayerOfTheRegistry() {
+		ImmutableBoard board = generateBoardWithSide(3);
+		Set<ImmutableNode> nodesToSwap = new HashSet<>();
+		nodesToSwap.add(board.getNodeAtCoordinates(new Coordinates(1, 1)));
+		board = board.swapNodes(nodesToSwap, "second");
+
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("first");
+		playerIds.add("second");
+		Map<String, Integer> discCounts = board.withPlayers(new PlayerRegistry(playerIds)).getDiscCounts();
+		assertEquals(0, (int) discCounts.get("first"));
+		assertEquals(1, (int) discCounts.get("second"));
+		assertEquals(8, (int) discCounts.get(dummyID.get()));
+	}
+
+	@Test
+	public void testReplacePlayersIsTheBoardOfTheNewPlayers() {
+		List<String> oldPlayerIds = new ArrayList<>();
+		oldPlayerIds.add("first");
+		oldPlayerIds.add("second");
+		List<String> newPlayerIds = new ArrayList<>();
+		newPlayerIds.add("third");
+		newPlayerIds.add("fourth");
+		Set<ImmutableNode> oldNodes = new HashSet<>();
+		Set<ImmutableNode> newNodes = new HashSet<>();
+		for (int x = 0; x < 3; x++) {
+			for (int y = 0; y < 3; y++) {
+				Coordinates coordinates = new Coordinates(x, y);
+				int ordinal = (x + 2 * y) % 3;
+				oldNodes.add(new ImmutableNode(coordinates, ordinal == 0 ? Optional.empty() : Optional.of(oldPlayerIds
+						.get(ordinal - 1))));
+				newNodes.add(new ImmutableNode(coordinates, ordinal == 0 ? Optional.empty() : Optional.of(newPlayerIds
+						.get(ordinal - 1))));
+			}
+		}
+		ImmutableBoard oldBoard = new ImmutableBoard(oldNodes).withPlayers(new PlayerRegistry(oldPlayerIds));
+		ImmutableBoard newBoard = new ImmutableBoard(newNodes).withPlayers(new PlayerRegistry(newPlayerIds));
+
+		ImmutableBoard replacedBoard = oldBoard.replacePlayers(new PlayerRegistry(newPlayerIds));
+		assertEquals(newBoard.getNodes(), replacedBoard.getNodes());
+		assertEquals(newBoard.getZobristKey(), replacedBoard.getZobristKey());
+		assertEquals(newBoard.getDiscCounts(), replacedBoard.getDiscCounts());
+		assertEquals(0, ImmutableBoard.compare(newBoard, replacedBoard).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReplacePlayersByFewerPlayers() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("first");
+		playerIds.add(dummyID.get());
+		ImmutableBoard board = generateBoardWithSide(2).withPlayers(new PlayerRegistry(playerIds));
+		playerIds.remove(1);
+		board.replacePlayers(new PlayerRegistry(playerIds));
+	}
+}
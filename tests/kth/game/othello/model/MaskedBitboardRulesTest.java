@@ -0,0 +1,112 @@
+package kth.game.othello.model;
+
+import static kth.game.othello.model.RulesAssertions.assertGeneratedMovesAgree;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.DoubleSquare;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.SimplePlayer;
+
+import org.junit.Test;
+
+public class MaskedBitboardRulesTest {
+
+	private final Player player1 = new SimplePlayer("a", "a");
+	private final Player player2 = new SimplePlayer("b", "b");
+	private final Player player3 = new SimplePlayer("c", "c");
+
+	private ImmutableBoard toBoard(Set<NodeData> nodesData) {
+		return new ImmutableBoard(nodesData
+				.stream()
+				.map(nodeData -> new ImmutableNode(new Coordinates(nodeData.getXCoordinate(), nodeData
+						.getYCoordinate()), Optional.ofNullable(nodeData.getOccupantPlayerId())))
+				.collect(Collectors.toSet()));
+	}
+
+	@Test
+	public void testAgreesWithModelRulesOnDiamond() {
+		List<Player> players = Arrays.asList(player1, player2, player3);
+		assertAgreesWithModelRules(toBoard(new Diamond().getNodes(11, players)), players);
+	}
+
+	@Test
+	public void testAgreesWithModelRulesOnCastle() {
+		List<Player> players = Arrays.asList(player1, player2);
+		assertAgreesWithModelRules(toBoard(new Castle().getNodes(players)), players);
+	}
+
+	@Test
+	public void testAgreesWithModelRulesOnDoubleSquare() {
+		List<Player> players = Arrays.asList(player1, player2);
+		assertAgreesWithModelRules(toBoard(new DoubleSquare().getNodes(8, players)), players);
+	}
+
+	@Test
+	public void testAgreesWithModelRulesOnLargeSquare() {
+		List<Player> players = Arrays.asList(player1, player2);
+		assertAgreesWithModelRules(toBoard(new Square().getNodes(12, players)), players);
+	}
+
+	/*
+	 * Plays a random game on the given board and checks that the masked
+	 * bitboard rules agree with the general rules for every node and every
+	 * player in every position of the game.
+	 */
+	private void assertAgreesWithModelRules(ImmutableBoard startBoard, List<Player> players) {
+		ModelRules modelRules = new ModelRules();
+		MaskedBitboardRules bitboardRules = new MaskedBitboardRules();
+		Random random = new Random(17);
+		ImmutableBoard board = startBoard;
+		int playerIndex = 0;
+		int passes = 0;
+		while (passes < players.size()) {
+			assertEquals(modelRules.isGameOver(board), bitboardRules.isGameOver(board));
+			String playerInTurn = players.get(playerIndex).getId();
+			List<Coordinates> validMoves = new ArrayList<>();
+			for (Player player : players) {
+				String playerId = player.getId();
+				assertEquals(modelRules.hasValidMove(board, playerId), bitboardRules.hasValidMove(board, playerId));
+				assertGeneratedMovesAgree(modelRules, modelRules, board, playerId);
+				assertGeneratedMovesAgree(modelRules, bitboardRules, board, playerId);
+				for (ImmutableNode node : board.getNodes()) {
+					Coordinates coordinates = node.getCoordinates();
+					boolean valid = modelRules.validMove(board, coordinates, playerId);
+					assertEquals(valid, bitboardRules.validMove(board, coordinates, playerId));
+					assertEquals(modelRules.getNodesToSwap(board, coordinates, playerId),
+							bitboardRules.getNodesToSwap(board, coordinates, playerId));
+					if (valid && playerId.equals(playerInTurn)) {
+						validMoves.add(coordinates);
+					}
+				}
+			}
+			// Coordinates outside the board are never valid
+			assertEquals(false, bitboardRules.validMove(board, new Coordinates(-1, 3), playerInTurn));
+			assertEquals(false, bitboardRules.validMove(board, new Coordinates(100, 100), playerInTurn));
+
+			if (validMoves.isEmpty()) {
+				passes++;
+			} else {
+				passes = 0;
+				Coordinates move = validMoves.get(random.nextInt(validMoves.size()));
+				Set<ImmutableNode> nodesToSwap = modelRules.getNodesToSwap(board, move, playerInTurn);
+				nodesToSwap.add(new ImmutableNode(move, Optional.empty()));
+				board = board.swapNodes(nodesToSwap, playerInTurn);
+			}
+			playerIndex = (playerIndex + 1) % players.size();
+		}
+		assertEquals(true, bitboardRules.isGameOver(board));
+	}
+}
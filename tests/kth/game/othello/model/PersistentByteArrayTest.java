@@ -0,0 +1,66 @@
+package kth.game.othello.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PersistentByteArrayTest {
+
+	/**
+	 * Test that random updates of persistent arrays of different lengths give
+	 * the same elements as updates of plain arrays, and that the updated
+	 * arrays are left unchanged.
+	 */
+	@Test
+	public void testSetAgreesWithPlainArray() {
+		Random random = new Random(42);
+		for (int length : new int[] { 0, 1, 15, 16, 17, 64, 255, 256, 257, 1000 }) {
+			byte[] expected = new byte[length];
+			PersistentByteArray array = PersistentByteArray.of(expected);
+			for (int round = 0; round < 20 && length > 0; round++) {
+				byte[] before = expected.clone();
+				PersistentByteArray arrayBefore = array;
+
+				int[] indices = random.ints(random.nextInt(5) + 1, 0, length).sorted().toArray();
+				byte value = (byte) random.nextInt(10);
+				for (int index : indices) {
+					expected[index] = value;
+				}
+				array = array.set(indices, value);
+
+				assertEquals(length, array.length());
+				for (int i = 0; i < length; i++) {
+					assertEquals(expected[i], array.get(i));
+					assertEquals(before[i], arrayBefore.get(i));
+				}
+
+				List<Integer> expectedDifferences = new ArrayList<>();
+				for (int i = 0; i < length; i++) {
+					if (before[i] != expected[i]) {
+						expectedDifferences.add(i);
+					}
+				}
+				assertEquals(expectedDifferences, differences(arrayBefore, array));
+			}
+		}
+	}
+
+	@Test
+	public void testSetWithoutIndicesReturnsSameArray() {
+		PersistentByteArray array = PersistentByteArray.of(new byte[100]);
+		assertSame(array, array.set(new int[0], (byte) 1));
+		assertEquals(Arrays.asList(), differences(array, array));
+	}
+
+	private List<Integer> differences(PersistentByteArray array1, PersistentByteArray array2) {
+		List<Integer> differences = new ArrayList<>();
+		PersistentByteArray.forEachDifference(array1, array2, differences::add);
+		return differences;
+	}
+}
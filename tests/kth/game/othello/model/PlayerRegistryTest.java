@@ -0,0 +1,34 @@
+package kth.game.othello.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PlayerRegistryTest {
+
+	@Test
+	public void testOrdinalsFollowTheOrderOfThePlayers() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("black");
+		playerIds.add("white");
+		PlayerRegistry registry = new PlayerRegistry(playerIds);
+
+		assertEquals(2, registry.getNumberOfPlayers());
+		assertEquals(1, registry.getOrdinal("black"));
+		assertEquals(2, registry.getOrdinal("white"));
+		assertEquals(PlayerRegistry.NO_PLAYER, registry.getOrdinal("orange"));
+		assertEquals("white", registry.getPlayerId(2));
+		assertEquals(playerIds, registry.getPlayerIds());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicatePlayersShouldThrowIllegalArgumentException() {
+		List<String> playerIds = new ArrayList<>();
+		playerIds.add("black");
+		playerIds.add("black");
+		new PlayerRegistry(playerIds);
+	}
+}
@@ -0,0 +1,107 @@
+package kth.game.othello.model;
+
+import static kth.game.othello.model.GameFixtures.generateDiamondBoard;
+import static kth.game.othello.model.GameFixtures.generateSquareBoard;
+import static kth.game.othello.model.GameFixtures.playRandomMoves;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class PlayoutBoardTest {
+
+	/*
+	 * Adds the disc counts of the given players at the end of every game that
+	 * can be played from the given game state.
+	 */
+	private void collectFinalDiscCounts(GameState state, List<String> playerIds, Set<List<Integer>> discCounts) {
+		if (state.isGameOver()) {
+			List<Integer> counts = new ArrayList<>();
+			for (String playerId : playerIds) {
+				counts.add(state.getBoard().getDiscCounts().getOrDefault(playerId, 0));
+			}
+			discCounts.add(counts);
+			return;
+		}
+		MoveList moves = state.generateMoves(new MoveList());
+		for (int move = 0; move < moves.size(); move++) {
+			collectFinalDiscCounts(state.play(moves, move), playerIds, discCounts);
+		}
+	}
+
+	/*
+	 * Tests that playouts from positions of random games on the given board
+	 * end in games that the game states can play too.
+	 */
+	private void assertPlayoutsEndInPossibleGames(ImmutableBoard startBoard, List<String> playerIds) {
+		Random random = new Random(3);
+		PlayoutBoard playoutBoard = new PlayoutBoard();
+		for (int game = 0; game < 10; game++) {
+			GameState state = playRandomMoves(GameState.of(startBoard, playerIds.get(0)), 6, random);
+			Set<List<Integer>> possibleDiscCounts = new HashSet<>();
+			collectFinalDiscCounts(state, playerIds, possibleDiscCounts);
+			for (int playout = 0; playout < 10; playout++) {
+				playoutBoard.reset(state);
+				playoutBoard.playout(random);
+				assertTrue(playoutBoard.isGameOver());
+				assertEquals(0, playoutBoard.getNumberOfMoves());
+				List<Integer> counts = new ArrayList<>();
+				for (String playerId : playerIds) {
+					counts.add(playoutBoard.getDiscCount(playerId));
+				}
+				assertTrue(counts + " is not a possible end of the game", possibleDiscCounts.contains(counts));
+			}
+		}
+	}
+
+	/**
+	 * Test that playouts on the traditional board end in possible games.
+	 */
+	@Test
+	public void testPlayoutsOnTraditionalBoard() {
+		assertPlayoutsEndInPossibleGames(generateSquareBoard(8), Arrays.asList("a", "b"));
+	}
+
+	/**
+	 * Test that playouts on a diamond board of three players end in possible
+	 * games, when the same playout board was used for another board before.
+	 */
+	@Test
+	public void testPlayoutsOnDiamondBoardOfThreePlayers() {
+		PlayoutBoard playoutBoard = new PlayoutBoard();
+		playoutBoard.reset(GameState.of(generateSquareBoard(8), "a"));
+		assertEquals(4, playoutBoard.getNumberOfMoves());
+		assertPlayoutsEndInPossibleGames(generateDiamondBoard(9), Arrays.asList("a", "b", "c"));
+	}
+
+	/**
+	 * Test that the win is shared by the players with the most discs.
+	 */
+	@Test
+	public void testWinShare() {
+		PlayoutBoard playoutBoard = new PlayoutBoard();
+		Random random = new Random(5);
+		for (int game = 0; game < 20; game++) {
+			playoutBoard.reset(GameState.of(generateDiamondBoard(7), "a"));
+			playoutBoard.playout(random);
+			double total = 0;
+			int mostDiscs = 0;
+			for (String playerId : Arrays.asList("a", "b", "c")) {
+				total += playoutBoard.getWinShare(playerId);
+				mostDiscs = Math.max(mostDiscs, playoutBoard.getDiscCount(playerId));
+			}
+			assertEquals(1.0, total, 1e-9);
+			for (String playerId : Arrays.asList("a", "b", "c")) {
+				assertEquals(playoutBoard.getDiscCount(playerId) == mostDiscs,
+						playoutBoard.getWinShare(playerId) > 0);
+			}
+		}
+	}
+}
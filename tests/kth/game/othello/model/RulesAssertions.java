@@ -0,0 +1,49 @@
+package kth.game.othello.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import kth.game.othello.board.Coordinates;
+
+/**
+ * Assertions shared by the tests of the rules of the model.
+ */
+final class RulesAssertions {
+
+	private RulesAssertions() {
+	}
+
+	/**
+	 * Checks that the moves generated by the given rules are the valid moves
+	 * of the general rules, ordered by y- and then x-coordinate, with the same
+	 * nodes to swap.
+	 *
+	 * @param modelRules
+	 *            the general rules that give the expected moves.
+	 * @param rules
+	 *            the rules whose generated moves are checked.
+	 * @param board
+	 *            the board to generate the moves on.
+	 * @param playerId
+	 *            the id of the player making the moves.
+	 */
+	static void assertGeneratedMovesAgree(ModelRules modelRules, ModelRules rules, ImmutableBoard board,
+			String playerId) {
+		List<Coordinates> expectedMoves = board.getNodes().stream().map(ImmutableNode::getCoordinates)
+				.filter(coordinates -> modelRules.validMove(board, coordinates, playerId))
+				.sorted(Comparator.comparing(Coordinates::getY).thenComparing(Coordinates::getX))
+				.collect(Collectors.toList());
+		MoveList moves = rules.generateMoves(board, playerId, new MoveList());
+		assertEquals(expectedMoves.size(), moves.size());
+		for (int move = 0; move < moves.size(); move++) {
+			assertEquals(expectedMoves.get(move), moves.getCoordinates(move));
+			Set<ImmutableNode> nodesToSwap = modelRules.getNodesToSwap(board, expectedMoves.get(move), playerId);
+			assertEquals(nodesToSwap, moves.getNodesToSwap(move));
+			assertEquals(nodesToSwap.size(), moves.getNumberOfNodesToSwap(move));
+		}
+	}
+}
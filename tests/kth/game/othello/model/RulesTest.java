@@ -305,6 +305,9 @@ public class RulesTest {
 			}
 		}
 		Mockito.when(mockBoard.getNodes()).thenReturn(nodesOnBoard);
+		Set<ImmutableNode> frontierNodes = new HashSet<>();
+		frontierNodes.add(boardNode2);
+		Mockito.when(mockBoard.getFrontierNodes()).thenReturn(frontierNodes);
 		Set<String> playerIDs = new HashSet<>();
 		playerIDs.add(player1Id);
 		playerIDs.add(player2Id);
@@ -329,7 +332,8 @@ public class RulesTest {
 	 * The mocked board are able to answer the question
 	 * getNextNodeInDirection for all nodes and all directions. 
 	 * Calling getNodes on the mockedBoard will return a a list
-	 * of nodes sorted in increasing node number order.
+	 * of nodes sorted in increasing node number order, and calling
+	 * getFrontierNodes will return node number 2.
 	 * 
 	 * <pre>
 	 */
@@ -372,6 +376,9 @@ public class RulesTest {
 			}
 		}
 		Mockito.when(mockBoard.getNodes()).thenReturn(nodesOnBoard);
+		Set<ImmutableNode> frontierNodes = new HashSet<>();
+		frontierNodes.add(boardNode2);
+		Mockito.when(mockBoard.getFrontierNodes()).thenReturn(frontierNodes);
 		return mockBoard;
 	}
 }
@@ -0,0 +1,130 @@
+package kth.game.othello.model;
+
+import static kth.game.othello.model.RulesAssertions.assertGeneratedMovesAgree;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+
+import org.junit.Test;
+
+public class SquareBitboardRulesTest {
+
+	private final String player1Id = "a";
+	private final String player2Id = "b";
+
+	private ImmutableBoard generateStartBoard(int side) {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		int middle = side / 2;
+		for (int y = 0; y < side; y++) {
+			for (int x = 0; x < side; x++) {
+				Optional<String> occupant = Optional.empty();
+				if ((x == middle - 1 && y == middle) || (x == middle && y == middle - 1)) {
+					occupant = Optional.of(player1Id);
+				} else if ((x == middle - 1 && y == middle - 1) || (x == middle && y == middle)) {
+					occupant = Optional.of(player2Id);
+				}
+				nodes.add(new ImmutableNode(new Coordinates(x, y), occupant));
+			}
+		}
+		return new ImmutableBoard(nodes);
+	}
+
+	/**
+	 * Test that the traditional 8x8 board gets the 64-bit bitboard rules while
+	 * other boards get the masked bitboard rules.
+	 */
+	@Test
+	public void testFactoryChoosesBitboardRulesForSquareBoard() {
+		ModelRulesFactory factory = new ModelRulesFactory();
+		assertEquals(SquareBitboardRules.class, factory.createRules(generateStartBoard(8)).getClass());
+		assertEquals(MaskedBitboardRules.class, factory.createRules(generateStartBoard(6)).getClass());
+	}
+
+	/**
+	 * Test that the bitboard rules agree with the general rules for every node
+	 * and every player during a number of random games.
+	 */
+	@Test
+	public void testBitboardRulesAgreeWithModelRules() {
+		ModelRules modelRules = new ModelRules();
+		SquareBitboardRules bitboardRules = new SquareBitboardRules();
+		Random random = new Random(4711);
+		String[] players = { player1Id, player2Id };
+
+		for (int game = 0; game < 10; game++) {
+			ImmutableBoard board = generateStartBoard(8);
+			int playerIndex = 0;
+			while (!modelRules.isGameOver(board)) {
+				assertEquals(modelRules.isGameOver(board), bitboardRules.isGameOver(board));
+				List<Coordinates> validMoves = new ArrayList<>();
+				for (String playerId : players) {
+					assertEquals(modelRules.hasValidMove(board, playerId), bitboardRules.hasValidMove(board, playerId));
+					assertGeneratedMovesAgree(modelRules, modelRules, board, playerId);
+					assertGeneratedMovesAgree(modelRules, bitboardRules, board, playerId);
+					for (ImmutableNode node : board.getNodes()) {
+						Coordinates coordinates = node.getCoordinates();
+						assertEquals(modelRules.validMove(board, coordinates, playerId),
+								bitboardRules.validMove(board, coordinates, playerId));
+						assertEquals(modelRules.getNodesToSwap(board, coordinates, playerId),
+								bitboardRules.getNodesToSwap(board, coordinates, playerId));
+						if (playerId.equals(players[playerIndex]) && modelRules.validMove(board, coordinates, playerId)) {
+							validMoves.add(coordinates);
+						}
+					}
+				}
+				if (!validMoves.isEmpty()) {
+					Coordinates move = validMoves.get(random.nextInt(validMoves.size()));
+					Set<ImmutableNode> nodesToSwap = modelRules.getNodesToSwap(board, move, players[playerIndex]);
+					nodesToSwap.add(new ImmutableNode(move, Optional.empty()));
+					board = board.swapNodes(nodesToSwap, players[playerIndex]);
+				}
+				playerIndex = 1 - playerIndex;
+			}
+			assertEquals(true, bitboardRules.isGameOver(board));
+		}
+	}
+
+	/**
+	 * Test that the moves found on the bits of the discs of the players are
+	 * the moves generated for the board, with the same nodes to swap.
+	 */
+	@Test
+	public void testMovesOnBitsAgreeWithGeneratedMoves() {
+		SquareBitboardRules rules = new SquareBitboardRules();
+		Random random = new Random(17);
+		ImmutableBoard board = generateStartBoard(8);
+		String playerId = player1Id;
+		while (!rules.isGameOver(board)) {
+			String otherPlayerId = playerId.equals(player1Id) ? player2Id : player1Id;
+			long own = board.getSquareDiscs(playerId).getAsLong();
+			long opponents = board.getSquareDiscs(otherPlayerId).getAsLong();
+			MoveList moves = rules.generateMoves(board, playerId, new MoveList());
+			long expectedMoves = 0L;
+			for (int move = 0; move < moves.size(); move++) {
+				long moveBit = 1L << moves.getIndex(move);
+				expectedMoves |= moveBit;
+				long expectedFlips = 0L;
+				for (ImmutableNode node : moves.getNodesToSwap(move)) {
+					expectedFlips |= SquareBitboard.bit(node.getCoordinates().getX(), node.getCoordinates().getY());
+				}
+				assertEquals(expectedFlips, SquareBitboardRules.getFlips(moveBit, own, opponents));
+			}
+			assertEquals(expectedMoves, SquareBitboardRules.getMoves(own, opponents));
+			if (moves.size() > 0) {
+				int move = random.nextInt(moves.size());
+				Set<ImmutableNode> nodesToSwap = new HashSet<>(moves.getNodesToSwap(move));
+				nodesToSwap.add(new ImmutableNode(moves.getCoordinates(move), Optional.empty()));
+				board = board.swapNodes(nodesToSwap, playerId);
+			}
+			playerId = otherPlayerId;
+		}
+		assertEquals(false, generateStartBoard(6).getSquareDiscs(player1Id).isPresent());
+	}
+}
@@ -0,0 +1,86 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import kth.game.othello.HeadlessOthelloFactory;
+import kth.game.othello.Othello;
+import kth.game.othello.board.factory.Square;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.SimplePlayer;
+
+import org.junit.Test;
+
+public class AlphaBetaStrategyIT {
+
+	private static final int FIRST_MIDDLEGAME_PLY = 20;
+	private static final int LAST_MIDDLEGAME_PLY = 40;
+	private static final int MIDDLEGAME_DEPTH = 8;
+
+	/*
+	 * Plays a game of the strategy against a random player, and adds the depth
+	 * of every search of the middlegame to the given counts by depth. Returns
+	 * true if the strategy won.
+	 */
+	private boolean playGame(AlphaBetaStrategy strategy, long seed, int[] searchesByDepth) {
+		List<Player> players = Arrays.asList(new SimplePlayer("alphaBeta", "alphaBetaID", strategy), new SimplePlayer(
+				"random", "randomID", new RandomStrategy(new Random(seed))));
+		Othello othello = new HeadlessOthelloFactory().createGame(new Square().getNodes(8, players), players);
+		othello.start(seed % 2 == 0 ? "alphaBetaID" : "randomID");
+		int ply = 0;
+		while (othello.isActive()) {
+			boolean isSearching = othello.getPlayerInTurn().getId().equals("alphaBetaID");
+			othello.move();
+			if (isSearching && ply >= FIRST_MIDDLEGAME_PLY && ply <= LAST_MIDDLEGAME_PLY) {
+				searchesByDepth[strategy.getLastSearchStatistics().get().getDepth()]++;
+			}
+			ply++;
+		}
+		return othello.getScore().getPoints("alphaBetaID") > othello.getScore().getPoints("randomID");
+	}
+
+	/**
+	 * Test that the strategy beats a random player, and that every search of
+	 * the middlegame reaches a depth of 8 within the default time budget of a
+	 * move. On a single core most searches complete depth 8 within a quarter
+	 * of the budget and about half of them go on to depth 9 or 10.
+	 */
+	@Test
+	public void testMiddlegameDepthWithinDefaultTimeBudget() {
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy();
+		// A first game lets the search be compiled
+		playGame(strategy, 0, new int[65]);
+
+		int[] searchesByDepth = new int[65];
+		int wins = 0;
+		for (int seed = 1; seed <= 6; seed++) {
+			if (playGame(strategy, seed, searchesByDepth)) {
+				wins++;
+			}
+		}
+		int searches = 0;
+		int shallowSearches = 0;
+		for (int depth = 0; depth < searchesByDepth.length; depth++) {
+			searches += searchesByDepth[depth];
+			if (depth < MIDDLEGAME_DEPTH) {
+				shallowSearches += searchesByDepth[depth];
+			}
+		}
+		System.out.println("Alpha-beta middlegame depth over " + searches + " searches at "
+				+ strategy.getNodesPerSecond() + " nodes/s");
+		System.out.println("depth  searches");
+		for (int depth = 0; depth < searchesByDepth.length; depth++) {
+			if (searchesByDepth[depth] > 0) {
+				System.out.println(String.format("%5d  %8d", depth, searchesByDepth[depth]));
+			}
+		}
+		assertTrue(wins >= 5);
+		assertTrue(searches > 0);
+		assertEquals(0, shallowSearches);
+		assertTrue(strategy.getNodesPerSecond() > 0);
+	}
+}
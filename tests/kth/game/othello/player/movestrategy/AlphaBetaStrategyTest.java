@@ -0,0 +1,172 @@
+package kth.game.othello.player.movestrategy;
+
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateStartBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.solve;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AlphaBetaStrategyTest {
+
+	/**
+	 * Test that the strategy returns null when the player has no valid move.
+	 */
+	@Test
+	public void testMoveReturnNullWhenNoValidMoveExist() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "b");
+
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy();
+		assertNull(strategy.move("a", Mockito.mock(Rules.class), generateBoard(occupants)));
+		assertEquals(Optional.empty(), strategy.getLastSearchStatistics());
+	}
+
+	/**
+	 * Test that the strategy makes a best move when it can search to the end
+	 * of the game, in positions of random games with few empty nodes left.
+	 */
+	@Test
+	public void testMoveIsBestInTheEndgame() {
+		Random random = new Random(7);
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy(10, TimeUnit.SECONDS);
+		for (int game = 0; game < 5; game++) {
+			GameState state = GameState.of(generateStartBoard().getImmutableBoard(), "a");
+			MoveList moves = new MoveList();
+			for (int ply = 0; ply < 52 && !state.isGameOver(); ply++) {
+				state.generateMoves(moves);
+				state = state.play(moves, random.nextInt(moves.size()));
+			}
+			if (state.isGameOver()) {
+				continue;
+			}
+			String playerId = state.getPlayerInTurn().get();
+			ImmutableBoardView board = new ImmutableBoardView(state.getBoard());
+			Node node = strategy.move(playerId, Mockito.mock(Rules.class), board);
+
+			state.generateMoves(moves);
+			int bestValue = Integer.MIN_VALUE;
+			int valueOfMove = Integer.MIN_VALUE;
+			for (int move = 0; move < moves.size(); move++) {
+				int value = solve(state.play(moves, move), playerId);
+				bestValue = Math.max(bestValue, value);
+				Coordinates coordinates = moves.getCoordinates(move);
+				if (coordinates.getX() == node.getXCoordinate() && coordinates.getY() == node.getYCoordinate()) {
+					valueOfMove = value;
+				}
+			}
+			assertEquals(bestValue, valueOfMove);
+		}
+	}
+
+	/**
+	 * Test that the strategy makes one of the valid moves of the start board,
+	 * and that the statistics of the search are kept.
+	 */
+	@Test
+	public void testMoveIsValidAndStatisticsAreKept() {
+		ImmutableBoardView board = generateStartBoard();
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy(20, TimeUnit.MILLISECONDS);
+
+		Node node = strategy.move("a", Mockito.mock(Rules.class), board);
+		Set<Node> validNodes = new HashSet<>();
+		validNodes.add(board.getNode(3, 2));
+		validNodes.add(board.getNode(2, 3));
+		validNodes.add(board.getNode(5, 4));
+		validNodes.add(board.getNode(4, 5));
+		assertTrue(validNodes.contains(node));
+
+		SearchStatistics statistics = strategy.getLastSearchStatistics().get();
+		assertTrue(statistics.getDepth() >= 1);
+		assertTrue(statistics.getNodes() > 0);
+		assertEquals(statistics.getNodes(), strategy.getSearchedNodes());
+		assertTrue(strategy.getNodesPerSecond() > 0);
+	}
+
+	/**
+	 * Test that the search is not deepened beyond the largest depth.
+	 */
+	@Test
+	public void testMaxDepthLimitsTheSearch() {
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy(10, TimeUnit.SECONDS, 3);
+		strategy.move("a", Mockito.mock(Rules.class), generateStartBoard());
+		assertEquals(3, strategy.getLastSearchStatistics().get().getDepth());
+	}
+
+	/**
+	 * Test that the game is solved to its end when few enough nodes are
+	 * empty, whatever the largest depth of the search.
+	 */
+	@Test
+	public void testEndgameIsSolved() {
+		Random random = new Random(13);
+		AlphaBetaStrategy strategy = new AlphaBetaStrategy(10, TimeUnit.SECONDS, 2, new TranspositionTable(), 10);
+		for (int game = 0; game < 5; game++) {
+			GameState state = GameState.of(generateStartBoard().getImmutableBoard(), "a");
+			MoveList moves = new MoveList();
+			// Each move adds a disc, so 10 nodes are left empty
+			for (int ply = 0; ply < 50 && !state.isGameOver(); ply++) {
+				state.generateMoves(moves);
+				state = state.play(moves, random.nextInt(moves.size()));
+			}
+			if (state.isGameOver()) {
+				continue;
+			}
+			String playerId = state.getPlayerInTurn().get();
+			Node node = strategy.move(playerId, Mockito.mock(Rules.class), new ImmutableBoardView(state.getBoard()));
+			assertEquals(10, strategy.getLastSearchStatistics().get().getDepth());
+
+			state.generateMoves(moves);
+			int bestValue = Integer.MIN_VALUE;
+			int valueOfMove = Integer.MIN_VALUE;
+			for (int move = 0; move < moves.size(); move++) {
+				int value = solve(state.play(moves, move), playerId);
+				bestValue = Math.max(bestValue, value);
+				Coordinates coordinates = moves.getCoordinates(move);
+				if (coordinates.getX() == node.getXCoordinate() && coordinates.getY() == node.getYCoordinate()) {
+					valueOfMove = value;
+				}
+			}
+			assertEquals(bestValue, valueOfMove);
+		}
+	}
+
+	/**
+	 * Test that the strategy refuses to move in a game of three players, since
+	 * its search assumes that the players are two.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGameOfThreePlayersIsRejected() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "c");
+		occupants.put(new Coordinates(3, 4), "a");
+		occupants.put(new Coordinates(4, 3), "a");
+		occupants.put(new Coordinates(5, 5), "c");
+		new AlphaBetaStrategy().move("a", Mockito.mock(Rules.class), generateBoard(occupants));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTimeBudgetMustBePositive() {
+		new AlphaBetaStrategy(0, TimeUnit.MILLISECONDS);
+	}
+}
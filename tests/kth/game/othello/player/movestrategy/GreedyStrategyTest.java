@@ -3,7 +3,9 @@ package kth.game.othello.player.movestrategy;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
@@ -26,7 +28,7 @@ public class GreedyStrategyTest {
 		Rules rules = Mockito.mock(Rules.class);
 		Board board = Mockito.mock(Board.class);
 
-		Mockito.when(rules.hasValidMove(playerId)).thenReturn(false);
+		Mockito.when(rules.getNumberOfNodesToSwap(playerId, board)).thenReturn(new LinkedHashMap<>());
 		assertEquals(null, strategy.move(playerId, rules, board));
 	}
 
@@ -40,7 +42,6 @@ public class GreedyStrategyTest {
 		// Mock the rules and the board
 		Rules mockRules = Mockito.mock(Rules.class);
 		String playerId = "id";
-		Mockito.when(mockRules.hasValidMove(playerId)).thenReturn(true);
 		Board mockBoard = Mockito.mock(Board.class);
 
 		// Mock the nodes of the board
@@ -55,15 +56,11 @@ public class GreedyStrategyTest {
 		twoNodes.add(nodeBad);
 		Mockito.when(mockBoard.getNodes()).thenReturn(twoNodes);
 
-		// Create a smaller list to return when the bad node is tried
-		List<Node> oneNode = new ArrayList<>();
-		oneNode.add(nodeBad);
 		// Setup so both nodes are valid moves but one gives more swapped nodes
-		Mockito.when(mockRules.isMoveValid(playerId, nodeGoodID)).thenReturn(true);
-		Mockito.when(mockRules.isMoveValid(playerId, nodeBadID)).thenReturn(true);
-
-		Mockito.when(mockRules.getNodesToSwap(playerId, nodeBadID)).thenReturn(oneNode);
-		Mockito.when(mockRules.getNodesToSwap(playerId, nodeGoodID)).thenReturn(twoNodes);
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		validMoves.put(nodeBad, 1);
+		validMoves.put(nodeGood, 2);
+		Mockito.when(mockRules.getNumberOfNodesToSwap(playerId, mockBoard)).thenReturn(validMoves);
 
 		// Perform the test
 		GreedyStrategy greedy = new GreedyStrategy();
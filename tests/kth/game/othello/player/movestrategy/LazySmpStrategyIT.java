@@ -0,0 +1,104 @@
+package kth.game.othello.player.movestrategy;
+
+import static kth.game.othello.model.GameFixtures.generateSquareBoard;
+import static kth.game.othello.model.GameFixtures.playRandomMoves;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class LazySmpStrategyIT {
+
+	private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+	private static final int DEPTH = 7;
+	private static final int POSITIONS = 6;
+	private static final int WARM_UP_RUNS = 2;
+	private static final int RUNS = 3;
+
+	/*
+	 * Returns the middlegame positions of the benchmark, which are the same on
+	 * every run.
+	 */
+	private List<GameState> generatePositions() {
+		GameState start = GameState.of(generateSquareBoard(8), "a");
+		Random random = new Random(23);
+		MoveList moves = new MoveList();
+		List<GameState> positions = new ArrayList<>();
+		while (positions.size() < POSITIONS) {
+			// The positions are 20 moves and then two more moves each from the
+			// start, and each move fills an empty node
+			GameState state = playRandomMoves(start, 60 - 20 - 2 * positions.size(), random);
+			if (!state.isGameOver() && state.generateMoves(moves).size() > 1) {
+				positions.add(state);
+			}
+		}
+		return positions;
+	}
+
+	/*
+	 * Searches every position to the depth of the benchmark, and returns the
+	 * total time to reach the depth and the nodes per second, in that order.
+	 */
+	private long[] runBenchmark(int threads, List<GameState> positions) {
+		LazySmpStrategy strategy = new LazySmpStrategy(threads, 1, TimeUnit.MINUTES, DEPTH);
+		long timeToDepth = 0;
+		for (GameState position : positions) {
+			ImmutableBoardView board = new ImmutableBoardView(position.getBoard());
+			strategy.move(position.getPlayerInTurn().get(), Mockito.mock(Rules.class), board);
+			SearchStatistics statistics = strategy.getLastSearchStatistics().get();
+			assertEquals(DEPTH, statistics.getDepth());
+			timeToDepth += statistics.getTimeToDepth(DEPTH, TimeUnit.MICROSECONDS).get();
+		}
+		return new long[] { timeToDepth, strategy.getNodesPerSecond() };
+	}
+
+	/**
+	 * Benchmarks the strategy on 1 to 32 threads over a fixed set of
+	 * positions, and prints the time to reach a depth, the nodes per second
+	 * and the speedup and efficiency of each number of threads. Every number
+	 * of threads is run a few times in turn and its best run is kept, after
+	 * runs that let the search be compiled. The speedup depends on the
+	 * processors of the machine, so it is only checked that the nodes per
+	 * second grow with the threads when there are processors for them.
+	 */
+	@Test
+	public void testScalingWithThreads() {
+		List<GameState> positions = generatePositions();
+		long[][] bestResults = new long[THREADS.length][];
+		for (int run = -WARM_UP_RUNS; run < RUNS; run++) {
+			for (int i = 0; i < THREADS.length; i++) {
+				long[] result = runBenchmark(THREADS[i], positions);
+				if (run >= 0 && (bestResults[i] == null || result[0] < bestResults[i][0])) {
+					bestResults[i] = result;
+				}
+			}
+		}
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		System.out.println("Lazy SMP to depth " + DEPTH + " over " + POSITIONS + " positions, " + processors
+				+ " processors");
+		System.out.println("threads  time-to-depth-ms  nodes/s  speedup  efficiency");
+		long[] single = bestResults[0];
+		for (int i = 0; i < THREADS.length; i++) {
+			long[] result = bestResults[i];
+			double speedup = (double) single[0] / result[0];
+			System.out.println(String.format("%7d  %16d  %7d  %7.2f  %10.2f", THREADS[i], result[0] / 1000,
+					result[1], speedup, speedup / THREADS[i]));
+			if (THREADS[i] > 1 && THREADS[i] <= processors / 2) {
+				assertTrue("Only " + result[1] + " nodes per second on " + THREADS[i] + " threads",
+						result[1] > single[1] * THREADS[i] / 2);
+			}
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package kth.game.othello.player.movestrategy;
+
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateStartBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.solve;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class LazySmpStrategyTest {
+
+	/**
+	 * Test that the strategy returns null when the player has no valid move.
+	 */
+	@Test
+	public void testMoveReturnNullWhenNoValidMoveExist() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "b");
+
+		LazySmpStrategy strategy = new LazySmpStrategy(2);
+		assertNull(strategy.move("a", Mockito.mock(Rules.class), generateBoard(occupants)));
+		assertEquals(Optional.empty(), strategy.getLastSearchStatistics());
+	}
+
+	/**
+	 * Test that the strategy makes a best move when its threads can search to
+	 * the end of the game, in positions of random games with few empty nodes
+	 * left.
+	 */
+	@Test
+	public void testMoveIsBestInTheEndgame() {
+		Random random = new Random(11);
+		LazySmpStrategy strategy = new LazySmpStrategy(3, 10, TimeUnit.SECONDS);
+		for (int game = 0; game < 5; game++) {
+			GameState state = GameState.of(generateStartBoard().getImmutableBoard(), "a");
+			MoveList moves = new MoveList();
+			for (int ply = 0; ply < 52 && !state.isGameOver(); ply++) {
+				state.generateMoves(moves);
+				state = state.play(moves, random.nextInt(moves.size()));
+			}
+			if (state.isGameOver()) {
+				continue;
+			}
+			String playerId = state.getPlayerInTurn().get();
+			Node node = strategy.move(playerId, Mockito.mock(Rules.class), new ImmutableBoardView(state.getBoard()));
+
+			state.generateMoves(moves);
+			int bestValue = Integer.MIN_VALUE;
+			int valueOfMove = Integer.MIN_VALUE;
+			for (int move = 0; move < moves.size(); move++) {
+				int value = solve(state.play(moves, move), playerId);
+				bestValue = Math.max(bestValue, value);
+				Coordinates coordinates = moves.getCoordinates(move);
+				if (coordinates.getX() == node.getXCoordinate() && coordinates.getY() == node.getYCoordinate()) {
+					valueOfMove = value;
+				}
+			}
+			assertEquals(bestValue, valueOfMove);
+		}
+	}
+
+	/**
+	 * Test that the statistics count the game states of all threads and keep
+	 * the time until each depth was completed.
+	 */
+	@Test
+	public void testStatisticsOfAllThreadsAreKept() {
+		LazySmpStrategy strategy = new LazySmpStrategy(4, 10, TimeUnit.SECONDS, 5);
+		strategy.move("a", Mockito.mock(Rules.class), generateStartBoard());
+
+		SearchStatistics statistics = strategy.getLastSearchStatistics().get();
+		assertEquals(5, statistics.getDepth());
+		assertEquals(statistics.getNodes(), strategy.getSearchedNodes());
+		long timeToDepth = statistics.getTimeToDepth(5, TimeUnit.NANOSECONDS).get();
+		assertTrue(timeToDepth > 0 && timeToDepth <= statistics.getElapsedTime(TimeUnit.NANOSECONDS));
+		assertEquals(Optional.empty(), statistics.getTimeToDepth(6, TimeUnit.NANOSECONDS));
+		assertTrue(strategy.getTranspositionTable().getStores() > 0);
+	}
+
+	/**
+	 * Test that the move is made without waiting for helpers that never
+	 * started, when the executor of the helpers is busy.
+	 */
+	@Test
+	public void testHelpersThatNeverStartedAreNotWaitedFor() {
+		LazySmpStrategy strategy = new LazySmpStrategy(4, 20, TimeUnit.MILLISECONDS, 4, new TranspositionTable(),
+				runnable -> {
+				});
+		Node node = strategy.move("a", Mockito.mock(Rules.class), generateStartBoard());
+		assertTrue(node.getXCoordinate() >= 2 && node.getXCoordinate() <= 5);
+		assertEquals(4, strategy.getLastSearchStatistics().get().getDepth());
+	}
+
+	/**
+	 * Test that the strategy refuses to move in a game of three players, since
+	 * its search assumes that the players are two.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testGameOfThreePlayersIsRejected() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "c");
+		occupants.put(new Coordinates(3, 4), "a");
+		occupants.put(new Coordinates(4, 3), "a");
+		occupants.put(new Coordinates(5, 5), "c");
+		new LazySmpStrategy(2).move("a", Mockito.mock(Rules.class), generateBoard(occupants));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testThreadsMustBePositive() {
+		new LazySmpStrategy(0);
+	}
+}
@@ -3,7 +3,9 @@ package kth.game.othello.player.movestrategy;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import kth.game.othello.board.Board;
 import kth.game.othello.board.Node;
@@ -26,7 +28,7 @@ public class MasochistStrategyTest {
 		Rules rules = Mockito.mock(Rules.class);
 		Board board = Mockito.mock(Board.class);
 
-		Mockito.when(rules.hasValidMove(playerId)).thenReturn(false);
+		Mockito.when(rules.getNumberOfNodesToSwap(playerId, board)).thenReturn(new LinkedHashMap<>());
 		assertEquals(null, strategy.move(playerId, rules, board));
 	}
 
@@ -39,7 +41,6 @@ public class MasochistStrategyTest {
 	public void testMoveIsLeastGreedy() {
 		Rules mockRules = Mockito.mock(Rules.class);
 		String playerId = "id";
-		Mockito.when(mockRules.hasValidMove(playerId)).thenReturn(true);
 		Board mockBoard = Mockito.mock(Board.class);
 
 		// Mock the nodes of the board
@@ -54,15 +55,11 @@ public class MasochistStrategyTest {
 		twoNodes.add(nodeLeast);
 		Mockito.when(mockBoard.getNodes()).thenReturn(twoNodes);
 
-		// Create a smaller list to return when the bad node is tried
-		List<Node> oneNode = new ArrayList<>();
-		oneNode.add(nodeLeast);
 		// Setup so both nodes are valid moves but one gives more swapped nodes
-		Mockito.when(mockRules.isMoveValid(playerId, nodeMostID)).thenReturn(true);
-		Mockito.when(mockRules.isMoveValid(playerId, nodeLeastID)).thenReturn(true);
-
-		Mockito.when(mockRules.getNodesToSwap(playerId, nodeLeastID)).thenReturn(oneNode);
-		Mockito.when(mockRules.getNodesToSwap(playerId, nodeMostID)).thenReturn(twoNodes);
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		validMoves.put(nodeMost, 2);
+		validMoves.put(nodeLeast, 1);
+		Mockito.when(mockRules.getNumberOfNodesToSwap(playerId, mockBoard)).thenReturn(validMoves);
 
 		// Perform the test
 		MasochistStrategy masochist = new MasochistStrategy();
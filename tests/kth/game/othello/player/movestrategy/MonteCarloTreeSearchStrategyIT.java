@@ -0,0 +1,84 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import kth.game.othello.HeadlessOthelloFactory;
+import kth.game.othello.Othello;
+import kth.game.othello.board.factory.Castle;
+import kth.game.othello.board.factory.Diamond;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.Player;
+import kth.game.othello.player.SimplePlayer;
+
+import org.junit.Test;
+
+public class MonteCarloTreeSearchStrategyIT {
+
+	/*
+	 * Plays a game of the strategy against random players on a diamond board,
+	 * or on a castle board if there is only one random player, and returns
+	 * true if the strategy won alone.
+	 */
+	private boolean playGame(MonteCarloTreeSearchStrategy strategy, int randomPlayers, long seed) {
+		List<Player> players = new ArrayList<>();
+		players.add(new SimplePlayer("mcts", "mctsID", strategy));
+		for (int i = 0; i < randomPlayers; i++) {
+			players.add(new SimplePlayer("random", "randomID" + i, new RandomStrategy(new Random(seed + i))));
+		}
+		// Every player gets to start
+		Collections.rotate(players, (int) (seed % players.size()));
+		Set<NodeData> nodes = randomPlayers == 1 ? new Castle().getNodes(players) : new Diamond().getNodes(9,
+				players);
+		Othello othello = new HeadlessOthelloFactory().createGame(nodes, players);
+		othello.start(players.get(0).getId());
+		while (othello.isActive()) {
+			othello.move();
+		}
+		int points = othello.getScore().getPoints("mctsID");
+		for (int i = 0; i < randomPlayers; i++) {
+			if (othello.getScore().getPoints("randomID" + i) >= points) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Test that the strategy beats two random players on a diamond board
+	 * within the default time budget of a move.
+	 */
+	@Test
+	public void testBeatsRandomPlayersOnDiamondBoard() {
+		MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy();
+		int wins = 0;
+		for (int seed = 0; seed < 6; seed++) {
+			if (playGame(strategy, 2, seed)) {
+				wins++;
+			}
+		}
+		assertTrue(wins >= 5);
+		assertTrue(strategy.getPlayoutsPerSecond() > 0);
+	}
+
+	/**
+	 * Test that the strategy beats a random player on a castle board within
+	 * the default time budget of a move.
+	 */
+	@Test
+	public void testBeatsRandomPlayerOnCastleBoard() {
+		MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy();
+		int wins = 0;
+		for (int seed = 0; seed < 6; seed++) {
+			if (playGame(strategy, 1, seed)) {
+				wins++;
+			}
+		}
+		assertTrue(wins >= 5);
+	}
+}
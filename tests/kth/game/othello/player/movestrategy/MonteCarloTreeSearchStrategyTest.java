@@ -0,0 +1,143 @@
+package kth.game.othello.player.movestrategy;
+
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.generateStartBoard;
+import static kth.game.othello.player.movestrategy.StrategyFixtures.solve;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.board.Node;
+import kth.game.othello.model.GameFixtures;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.MoveList;
+import kth.game.othello.rules.Rules;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class MonteCarloTreeSearchStrategyTest {
+
+	/*
+	 * Returns a diamond board of size 7 with the nine discs of three players
+	 * in the middle.
+	 */
+	private ImmutableBoardView generateDiamondBoard() {
+		return new ImmutableBoardView(GameFixtures.generateDiamondBoard(7));
+	}
+
+	/*
+	 * Returns the move of the given list to the given node, or -1 if the node
+	 * is not a valid move.
+	 */
+	private int findMove(MoveList moves, Node node) {
+		for (int move = 0; move < moves.size(); move++) {
+			Coordinates coordinates = moves.getCoordinates(move);
+			if (coordinates.getX() == node.getXCoordinate() && coordinates.getY() == node.getYCoordinate()) {
+				return move;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Test that the strategy returns null when the player has no valid move.
+	 */
+	@Test
+	public void testMoveReturnNullWhenNoValidMoveExist() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "b");
+
+		MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy(2);
+		assertNull(strategy.move("a", Mockito.mock(Rules.class), generateBoard(occupants)));
+		assertEquals(0, strategy.getPlayouts());
+	}
+
+	/**
+	 * Test that the strategy makes a winning move whenever there is one, in
+	 * positions of random games with few empty nodes left.
+	 */
+	@Test
+	public void testMoveWinsInTheEndgame() {
+		Random random = new Random(17);
+		for (int game = 0; game < 5; game++) {
+			GameState state = GameState.of(generateStartBoard().getImmutableBoard(), "a");
+			MoveList moves = new MoveList();
+			for (int ply = 0; ply < 55 && !state.isGameOver(); ply++) {
+				state.generateMoves(moves);
+				state = state.play(moves, random.nextInt(moves.size()));
+			}
+			if (state.isGameOver()) {
+				continue;
+			}
+			MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy(2, 10, TimeUnit.SECONDS, 20000,
+					HelperSearches.createExecutor("mcts-test", 1));
+			String playerId = state.getPlayerInTurn().get();
+			Node node = strategy.move(playerId, Mockito.mock(Rules.class), new ImmutableBoardView(state.getBoard()));
+
+			state.generateMoves(moves);
+			int bestValue = Integer.MIN_VALUE;
+			for (int move = 0; move < moves.size(); move++) {
+				bestValue = Math.max(bestValue, solve(state.play(moves, move), playerId));
+			}
+			int valueOfMove = solve(state.play(moves, findMove(moves, node)), playerId);
+			assertTrue(bestValue <= 0 || valueOfMove > 0);
+		}
+	}
+
+	/**
+	 * Test that the strategy makes a valid move on a diamond board of three
+	 * players.
+	 */
+	@Test
+	public void testMoveOnDiamondBoardOfThreePlayers() {
+		ImmutableBoardView board = generateDiamondBoard();
+		GameState state = GameState.of(board.getImmutableBoard(), "b");
+		MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy(1, 10, TimeUnit.SECONDS, 2000,
+				runnable -> {
+				});
+		Node node = strategy.move("b", Mockito.mock(Rules.class), board);
+
+		assertNotNull(node);
+		assertTrue(findMove(state.generateMoves(new MoveList()), node) >= 0);
+		assertEquals(2000, strategy.getLastPlayouts());
+	}
+
+	/**
+	 * Test that the tree of a move is searched on from the game state after
+	 * the reply of the opponent.
+	 */
+	@Test
+	public void testTreeIsReusedAfterTheReply() {
+		MonteCarloTreeSearchStrategy strategy = new MonteCarloTreeSearchStrategy(1, 10, TimeUnit.SECONDS, 5000,
+				runnable -> {
+				});
+		GameState state = GameState.of(generateStartBoard().getImmutableBoard(), "a");
+		Node node = strategy.move("a", Mockito.mock(Rules.class), new ImmutableBoardView(state.getBoard()));
+		assertEquals(0, strategy.getLastReusedPlayouts());
+
+		MoveList moves = state.generateMoves(new MoveList());
+		state = state.play(moves, findMove(moves, node));
+		state = state.play(state.generateMoves(moves), 0);
+		strategy.move("a", Mockito.mock(Rules.class), new ImmutableBoardView(state.getBoard()));
+
+		assertTrue(strategy.getLastReusedPlayouts() > 0);
+		assertEquals(10000, strategy.getPlayouts());
+		assertTrue(strategy.getLastPlayoutsPerSecond() > 0);
+		assertTrue(strategy.getPlayoutsPerSecond() > 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testThreadsMustBePositive() {
+		new MonteCarloTreeSearchStrategy(0);
+	}
+}
@@ -3,7 +3,9 @@ package kth.game.othello.player.movestrategy;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import kth.game.othello.board.Board;
@@ -28,7 +30,7 @@ public class RandomStrategyTest {
 		Rules rules = Mockito.mock(Rules.class);
 		Board board = Mockito.mock(Board.class);
 
-		Mockito.when(rules.hasValidMove(playerId)).thenReturn(false);
+		Mockito.when(rules.getNumberOfNodesToSwap(playerId, board)).thenReturn(new LinkedHashMap<>());
 		assertEquals(null, strategy.move(playerId, rules, board));
 	}
 
@@ -53,9 +55,10 @@ public class RandomStrategyTest {
 		mockNodeList.add(mockNodeGood);
 		Mockito.when(board.getNodes()).thenReturn(mockNodeList);
 
-		Mockito.when(rules.hasValidMove(playerId)).thenReturn(true);
-		Mockito.when(rules.isMoveValid(playerId, "bad")).thenReturn(false);
-		Mockito.when(rules.isMoveValid(playerId, "good")).thenReturn(true);
+		// Only the good node is a valid move
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		validMoves.put(mockNodeGood, 1);
+		Mockito.when(rules.getNumberOfNodesToSwap(playerId, board)).thenReturn(validMoves);
 
 		Mockito.when(mockRandom.nextInt(1)).thenReturn(0);
 
@@ -3,6 +3,8 @@ package kth.game.othello.player.movestrategy;
 import static org.junit.Assert.assertEquals;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import kth.game.othello.board.BoardAdapter;
 import kth.game.othello.board.Node;
@@ -27,8 +29,9 @@ public class SimpleStrategyTest {
 		Mockito.when(mockBoard.getNodes()).thenReturn(nodesOnBoard);
 		Rules mockRules = Mockito.mock(Rules.class);
 		String playerId = "player";
-		Mockito.when(mockRules.hasValidMove(playerId)).thenReturn(true);
-		Mockito.when(mockRules.isMoveValid(playerId, nodeId)).thenReturn(true);
+		Map<Node, Integer> validMoves = new LinkedHashMap<>();
+		validMoves.put(mockNode, 1);
+		Mockito.when(mockRules.getNumberOfNodesToSwap(playerId, mockBoard)).thenReturn(validMoves);
 
 		SimpleStrategy strategy = new SimpleStrategy();
 		assertEquals(mockNode, strategy.move(playerId, mockRules, mockBoard));
@@ -42,7 +45,7 @@ public class SimpleStrategyTest {
 	public void testMoveReturnNullWhenNoValidMoveExist() {
 		Rules mockRules = Mockito.mock(Rules.class);
 		String playerId = "player";
-		Mockito.when(mockRules.hasValidMove(playerId)).thenReturn(false);
+		Mockito.when(mockRules.getNumberOfNodesToSwap(playerId, null)).thenReturn(new LinkedHashMap<>());
 		SimpleStrategy strategy = new SimpleStrategy();
 		assertEquals(null, strategy.move(playerId, mockRules, null));
 	}
@@ -0,0 +1,80 @@
+package kth.game.othello.player.movestrategy;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.ImmutableBoardView;
+import kth.game.othello.model.GameFixtures;
+import kth.game.othello.model.GameState;
+import kth.game.othello.model.ImmutableBoard;
+import kth.game.othello.model.ImmutableNode;
+import kth.game.othello.model.MoveList;
+
+/**
+ * Boards and solutions shared by the tests of the strategies that search.
+ */
+final class StrategyFixtures {
+
+	private StrategyFixtures() {
+	}
+
+	/**
+	 * Returns an 8x8 board with the given occupants and all other nodes empty.
+	 *
+	 * @param occupants
+	 *            the ids of the players occupying nodes, by coordinates.
+	 * @return the board.
+	 */
+	static ImmutableBoardView generateBoard(Map<Coordinates, String> occupants) {
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 8; x++) {
+				Coordinates coordinates = new Coordinates(x, y);
+				nodes.add(new ImmutableNode(coordinates, Optional.ofNullable(occupants.get(coordinates))));
+			}
+		}
+		return new ImmutableBoardView(new ImmutableBoard(nodes));
+	}
+
+	/**
+	 * Returns the traditional 8x8 board at the start of a game of the players
+	 * "a" and "b".
+	 *
+	 * @return the board.
+	 */
+	static ImmutableBoardView generateStartBoard() {
+		return new ImmutableBoardView(GameFixtures.generateSquareBoard(8));
+	}
+
+	/**
+	 * Returns the final disc difference of the given player when every player
+	 * makes their best moves from the given game state, the other players
+	 * playing together against the player.
+	 *
+	 * @param state
+	 *            the game state to solve.
+	 * @param playerId
+	 *            the id of the player whose disc difference is returned.
+	 * @return the final disc difference of the player.
+	 */
+	static int solve(GameState state, String playerId) {
+		if (state.isGameOver()) {
+			int difference = 0;
+			for (Map.Entry<String, Integer> entry : state.getBoard().getDiscCounts().entrySet()) {
+				difference += entry.getKey().equals(playerId) ? entry.getValue() : -entry.getValue();
+			}
+			return difference;
+		}
+		boolean isPlayerInTurn = state.getPlayerInTurn().get().equals(playerId);
+		MoveList moves = state.generateMoves(new MoveList());
+		int bestValue = isPlayerInTurn ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+		for (int move = 0; move < moves.size(); move++) {
+			int value = solve(state.play(moves, move), playerId);
+			bestValue = isPlayerInTurn ? Math.max(bestValue, value) : Math.min(bestValue, value);
+		}
+		return bestValue;
+	}
+}
@@ -0,0 +1,160 @@
+package kth.game.othello.player.movestrategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+	/*
+	 * Returns a key of the given bucket of a table with the given capacity.
+	 */
+	private long generateKey(int bucket, int capacity, long lowBits) {
+		int buckets = capacity / 2;
+		return ((long) (bucket & (buckets - 1)) << 32) | (lowBits & 0xFFFFFFFFL) | ((lowBits + 1) << 48);
+	}
+
+	/**
+	 * Test that a stored result is found again with its score, bound, depth
+	 * and best move, and that another key is not found.
+	 */
+	@Test
+	public void testStoreAndProbe() {
+		TranspositionTable table = new TranspositionTable();
+		long key = 0x123456789ABCDEFL;
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+
+		table.store(key, 7, TranspositionTable.LOWER_BOUND, -42, 19);
+		long data = table.probe(key);
+		assertEquals(-42, TranspositionTable.getScore(data));
+		assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.getBound(data));
+		assertEquals(7, TranspositionTable.getDepth(data));
+		assertEquals(19, TranspositionTable.getBestMove(data));
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(key + 1));
+
+		table.store(key, TranspositionTable.MAX_DEPTH, TranspositionTable.EXACT, Integer.MAX_VALUE,
+				TranspositionTable.NO_MOVE);
+		data = table.probe(key);
+		assertEquals(Integer.MAX_VALUE, TranspositionTable.getScore(data));
+		assertEquals(TranspositionTable.EXACT, TranspositionTable.getBound(data));
+		assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.getDepth(data));
+		assertEquals(TranspositionTable.NO_MOVE, TranspositionTable.getBestMove(data));
+	}
+
+	/**
+	 * Test that a shallower result of another game state in the same bucket
+	 * does not replace a deeper result of the current search, but that it does
+	 * once a new search has started.
+	 */
+	@Test
+	public void testDeeperResultIsKept() {
+		TranspositionTable table = new TranspositionTable(1024);
+		long deepKey = generateKey(3, table.getCapacity(), 1);
+		long shallowKey = generateKey(3, table.getCapacity(), 2);
+		long latestKey = generateKey(3, table.getCapacity(), 3);
+
+		table.store(deepKey, 10, TranspositionTable.EXACT, 1, 0);
+		table.store(shallowKey, 2, TranspositionTable.EXACT, 2, 0);
+		assertEquals(10, TranspositionTable.getDepth(table.probe(deepKey)));
+		assertEquals(2, TranspositionTable.getDepth(table.probe(shallowKey)));
+
+		// The latest result replaces the other shallow one
+		table.store(latestKey, 3, TranspositionTable.EXACT, 3, 0);
+		assertEquals(10, TranspositionTable.getDepth(table.probe(deepKey)));
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(shallowKey));
+		assertEquals(3, TranspositionTable.getDepth(table.probe(latestKey)));
+
+		table.newSearch();
+		table.store(shallowKey, 2, TranspositionTable.EXACT, 2, 0);
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(deepKey));
+		assertEquals(2, TranspositionTable.getDepth(table.probe(shallowKey)));
+	}
+
+	/**
+	 * Test that the counters count the probes, hits, stores and collisions,
+	 * and that clearing the table resets them.
+	 */
+	@Test
+	public void testCounters() {
+		TranspositionTable table = new TranspositionTable(1024);
+		long key = generateKey(5, table.getCapacity(), 1);
+		long otherKey = generateKey(5, table.getCapacity(), 2);
+		table.probe(key);
+		table.store(key, 4, TranspositionTable.EXACT, 0, 0);
+		table.probe(key);
+		table.probe(otherKey);
+		table.store(otherKey, 1, TranspositionTable.EXACT, 0, 0);
+
+		assertEquals(3, table.getProbes());
+		assertEquals(1, table.getHits());
+		assertEquals(1.0 / 3, table.getHitRate(), 1e-9);
+		assertEquals(2, table.getStores());
+		assertEquals(2, table.getCollisions());
+
+		table.clear();
+		assertEquals(0, table.getProbes());
+		assertEquals(0.0, table.getHitRate(), 0.0);
+		assertEquals(TranspositionTable.NO_ENTRY, table.probe(key));
+	}
+
+	/**
+	 * Test that the table takes the largest power of two of buckets that fits
+	 * in its memory.
+	 */
+	@Test
+	public void testCapacityFitsTheMemory() {
+		assertEquals(2, new TranspositionTable(32).getCapacity());
+		assertEquals(64, new TranspositionTable(1500).getCapacity());
+		assertEquals(TranspositionTable.DEFAULT_MEMORY_BYTES / 16, new TranspositionTable().getCapacity());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMemoryMustFitABucket() {
+		new TranspositionTable(31);
+	}
+
+	/**
+	 * Test that threads storing and probing the same small table at once never
+	 * find an entry that was not stored with the key probed.
+	 */
+	@Test
+	public void testConcurrentProbesFindOnlyStoredResults() throws InterruptedException {
+		TranspositionTable table = new TranspositionTable(256);
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			long seed = t;
+			threads.add(new Thread(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 200000; i++) {
+					long key = random.nextInt(64) * 0x9E3779B97F4A7C15L;
+					// Every result of a key has a score derived from the key
+					int score = (int) (key >>> 40);
+					if (random.nextBoolean()) {
+						table.store(key, random.nextInt(20), TranspositionTable.EXACT, score, (int) (key & 0xFF));
+					} else {
+						long data = table.probe(key);
+						if (data != TranspositionTable.NO_ENTRY
+								&& (TranspositionTable.getScore(data) != score || TranspositionTable
+										.getBestMove(data) != (int) (key & 0xFF))) {
+							synchronized (failures) {
+								failures.add(new AssertionError("Wrong entry of key " + key));
+							}
+							return;
+						}
+					}
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(failures.toString(), failures.isEmpty());
+	}
+}
@@ -1,18 +1,26 @@
 package kth.game.othello.rules;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import kth.game.othello.board.BoardAdapter;
 import kth.game.othello.board.Node;
 import kth.game.othello.board.Coordinates;
+import kth.game.othello.board.NodeAdapter;
 import kth.game.othello.model.ImmutableBoard;
 import kth.game.othello.model.ImmutableNode;
 import kth.game.othello.model.ModelRules;
+import kth.game.othello.model.ModelRulesFactory;
 
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -100,4 +108,58 @@ public class RulesAdapterTest {
 		Mockito.verify(mockRules).hasValidMove(mockImmutableBoard, playerId);
 
 	}
+
+	/**
+	 * Test that the valid moves generated in one pass are those found by
+	 * trying every node of the board, as the rules of the API do by default.
+	 */
+	@Test
+	public void testValidMovesAreThoseOfEveryNode() {
+		Map<Coordinates, String> occupants = new HashMap<>();
+		occupants.put(new Coordinates(3, 3), "b");
+		occupants.put(new Coordinates(4, 4), "b");
+		occupants.put(new Coordinates(3, 4), "a");
+		occupants.put(new Coordinates(4, 3), "a");
+		occupants.put(new Coordinates(5, 3), "b");
+		Set<ImmutableNode> nodes = new HashSet<>();
+		for (int y = 0; y < 8; y++) {
+			for (int x = 0; x < 8; x++) {
+				Coordinates coordinates = new Coordinates(x, y);
+				nodes.add(new ImmutableNode(coordinates, Optional.ofNullable(occupants.get(coordinates))));
+			}
+		}
+		ImmutableBoard board = new ImmutableBoard(nodes);
+		List<NodeAdapter> nodeAdapters = nodes.stream().map(NodeAdapter::new).collect(Collectors.toList());
+		BoardAdapter boardAdapter = new BoardAdapter(board, nodeAdapters);
+		RulesAdapter rulesAdapter = new RulesAdapter(new ModelRulesFactory().createRules(board), boardAdapter);
+		// Rules that only have the methods every implementation must have
+		Rules nodeByNodeRules = new Rules() {
+
+			@Override
+			public List<Node> getNodesToSwap(String playerId, String nodeId) {
+				return rulesAdapter.getNodesToSwap(playerId, nodeId);
+			}
+
+			@Override
+			public boolean isMoveValid(String playerId, String nodeId) {
+				return rulesAdapter.isMoveValid(playerId, nodeId);
+			}
+
+			@Override
+			public boolean hasValidMove(String playerId) {
+				return rulesAdapter.hasValidMove(playerId);
+			}
+		};
+
+		for (String playerId : Arrays.asList("a", "b")) {
+			Map<Node, List<Node>> validMoves = nodeByNodeRules.getValidMoves(playerId, boardAdapter);
+			assertFalse(validMoves.isEmpty());
+			assertEquals(new ArrayList<>(validMoves.keySet()), new ArrayList<>(rulesAdapter.getValidMoves(playerId,
+					boardAdapter).keySet()));
+			validMoves.forEach((node, nodesToSwap) -> assertEquals(new HashSet<>(nodesToSwap), new HashSet<>(
+					rulesAdapter.getValidMoves(playerId, boardAdapter).get(node))));
+			assertEquals(nodeByNodeRules.getNumberOfNodesToSwap(playerId, boardAdapter),
+					rulesAdapter.getNumberOfNodesToSwap(playerId, boardAdapter));
+		}
+	}
 }
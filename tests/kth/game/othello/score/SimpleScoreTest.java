@@ -4,12 +4,14 @@ import static org.junit.Assert.assertEquals;
 
 import java.util.*;
 
+import kth.game.othello.board.BoardChange;
 import kth.game.othello.board.Node;
 import kth.game.othello.board.NodeAdapter;
 import kth.game.othello.score.ScoreItem;
 
 import kth.game.othello.score.SimpleScore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 public class SimpleScoreTest {
@@ -156,4 +158,83 @@ public class SimpleScoreTest {
 		Mockito.verify(mockObserver).update(score, updatedPlayers);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Tests that given two nodes occupied by player 1 and one node occupied by
+	 * player 2, the ranking and the points follow the updates when player 2
+	 * takes both nodes of player 1.
+	 */
+	@Test
+	public void testRankingFollowsUpdates() {
+		String player1Id = "player1";
+		String player2Id = "player2";
+		Set<Node> startingNodes = new HashSet<>();
+		List<NodeAdapter> nodes = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			NodeAdapter node = Mockito.mock(NodeAdapter.class);
+			Mockito.when(node.getOccupantPlayerId()).thenReturn(i < 2 ? player1Id : player2Id);
+			Mockito.when(node.getId()).thenReturn("node" + i);
+			startingNodes.add(node);
+			nodes.add(node);
+		}
+		SimpleScore score = new SimpleScore(startingNodes);
+		assertEquals(player1Id, score.getPlayersScore().get(0).getPlayerId());
+
+		Mockito.when(nodes.get(0).getOccupantPlayerId()).thenReturn(player2Id);
+		score.update(nodes.get(0), player1Id);
+		Mockito.when(nodes.get(1).getOccupantPlayerId()).thenReturn(player2Id);
+		score.update(nodes.get(1), player1Id);
+
+		List<ScoreItem> res = score.getPlayersScore();
+		assertEquals(2, res.size());
+		assertEquals(player2Id, res.get(0).getPlayerId());
+		assertEquals(3, res.get(0).getScore());
+		assertEquals(player1Id, res.get(1).getPlayerId());
+		assertEquals(0, res.get(1).getScore());
+		assertEquals(0, score.getPoints(player1Id));
+		assertEquals(0, score.getPoints("unknown"));
+	}
+
+	/**
+	 * Tests that a board change of three nodes, where player 2 takes two nodes
+	 * of player 1 and one empty node, is notified as one change with the net
+	 * delta of each player, and that the notifications of the nodes following
+	 * it are not counted again.
+	 */
+	@Test
+	public void testBoardChangeIsNotifiedOnce() {
+		String player1Id = "player1";
+		String player2Id = "player2";
+		Set<Node> startingNodes = new HashSet<>();
+		List<Node> nodes = new ArrayList<>();
+		List<String> previousOccupants = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			NodeAdapter node = Mockito.mock(NodeAdapter.class);
+			Mockito.when(node.getOccupantPlayerId()).thenReturn(i < 2 ? player1Id : null);
+			Mockito.when(node.getId()).thenReturn("node" + i);
+			startingNodes.add(node);
+			nodes.add(node);
+			previousOccupants.add(node.getOccupantPlayerId());
+		}
+		SimpleScore score = new SimpleScore(startingNodes);
+		Observer mockObserver = Mockito.mock(Observer.class);
+		score.addObserver(mockObserver);
+
+		for (Node node : nodes) {
+			Mockito.when(node.getOccupantPlayerId()).thenReturn(player2Id);
+		}
+		score.update(Mockito.mock(Observable.class), new BoardChange(nodes, previousOccupants));
+		for (int i = 0; i < nodes.size(); i++) {
+			score.update((NodeAdapter) nodes.get(i), previousOccupants.get(i));
+		}
+
+		ArgumentCaptor<Object> scoreChanges = ArgumentCaptor.forClass(Object.class);
+		Mockito.verify(mockObserver, Mockito.times(1)).update(Mockito.eq(score), scoreChanges.capture());
+		ScoreChanges changes = (ScoreChanges) scoreChanges.getValue();
+		assertEquals(2, changes.size());
+		assertEquals(-2, changes.getDelta(player1Id));
+		assertEquals(3, changes.getDelta(player2Id));
+		assertEquals(3, score.getPoints(player2Id));
+		assertEquals(0, score.getPoints(player1Id));
+	}
+
+}
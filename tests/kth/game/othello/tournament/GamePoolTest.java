@@ -0,0 +1,57 @@
+package kth.game.othello.tournament;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kth.game.othello.Othello;
+import kth.game.othello.OthelloFactory;
+import kth.game.othello.ReusableOthello;
+import kth.game.othello.board.factory.NodeData;
+import kth.game.othello.player.Player;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+
+public class GamePoolTest {
+
+	@Test
+	public void testReleasedGameIsReset() {
+		OthelloFactory othelloFactory = Mockito.mock(OthelloFactory.class);
+		ReusableOthello othello = Mockito.mock(ReusableOthello.class);
+		Mockito.when(othelloFactory.createGame(Matchers.anySetOf(NodeData.class),
+				Matchers.anyListOf(Player.class))).thenReturn(othello);
+		List<Player> players = new ArrayList<>();
+		players.add(Mockito.mock(Player.class));
+		players.add(Mockito.mock(Player.class));
+		GamePool gamePool = new GamePool(othelloFactory, 4);
+
+		Othello first = gamePool.acquire(players);
+		gamePool.release(first);
+		Othello second = gamePool.acquire(players);
+
+		assertSame(othello, second);
+		Mockito.verify(othello).reset(players);
+		assertEquals(1, gamePool.getNumberOfCreatedGames());
+	}
+
+	@Test
+	public void testGameIsCreatedWhenNoGameIsIdle() {
+		OthelloFactory othelloFactory = Mockito.mock(OthelloFactory.class);
+		Mockito.when(othelloFactory.createGame(Matchers.anySetOf(NodeData.class),
+				Matchers.anyListOf(Player.class))).thenReturn(Mockito.mock(ReusableOthello.class),
+				Mockito.mock(ReusableOthello.class));
+		List<Player> players = new ArrayList<>();
+		players.add(Mockito.mock(Player.class));
+		players.add(Mockito.mock(Player.class));
+		GamePool gamePool = new GamePool(othelloFactory, 4);
+
+		gamePool.acquire(players);
+		gamePool.acquire(players);
+
+		assertEquals(2, gamePool.getNumberOfCreatedGames());
+	}
+}
@@ -1,12 +1,25 @@
 package kth.game.othello.tournament;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import kth.game.othello.HeadlessOthelloFactory;
+import kth.game.othello.MovePublishingOthello;
+import kth.game.othello.Othello;
+import kth.game.othello.event.MoveEvent;
+import kth.game.othello.event.MoveSubscriber;
+import kth.game.othello.event.MoveSubscription;
+import kth.game.othello.event.SubmissionMovePublisher;
 import kth.game.othello.player.Player;
 import kth.game.othello.player.SimplePlayer;
 import kth.game.othello.player.movestrategy.GreedyStrategy;
@@ -47,6 +60,162 @@ public class TournamentIT {
 
 	}
 
+	@Test
+	public void testMovesOfEveryMatchArePublished() throws InterruptedException {
+		TournamentFactory tournamentFactory = new TournamentFactory();
+		List<Player> computerPlayers = new ArrayList<Player>();
+		computerPlayers.add(new SimplePlayer("Simple", "SimpleID", new SimpleStrategy()));
+		computerPlayers.add(new SimplePlayer("Greedy", "GreedyID", new GreedyStrategy()));
+		Tournament tournament = tournamentFactory.generateTournament(computerPlayers, new SilentRunner());
+
+		Map<String, Integer> movesPerGame = new ConcurrentHashMap<>();
+		CountDownLatch completed = new CountDownLatch(1);
+		tournament.getMovePublisher().subscribe(new MoveSubscriber() {
+
+			@Override
+			public void onSubscribe(MoveSubscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(MoveEvent moveEvent) {
+				movesPerGame.merge(moveEvent.getGameId(), 1, Integer::sum);
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+
+		tournament.startTournament();
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		// Both matches played a full game
+		assertEquals(2, movesPerGame.size());
+		for (int moves : movesPerGame.values()) {
+			assertTrue(moves >= 9);
+		}
+	}
+
+	@Test
+	public void testPooledTournament() throws InterruptedException {
+		TournamentFactory tournamentFactory = new TournamentFactory();
+		List<Player> computerPlayers = new ArrayList<Player>();
+		computerPlayers.add(new SimplePlayer("Simple", "SimpleID", new SimpleStrategy()));
+		computerPlayers.add(new SimplePlayer("Greedy", "GreedyID", new GreedyStrategy()));
+		computerPlayers.add(new SimplePlayer("Masochist", "MasochistID", new MasochistStrategy()));
+		computerPlayers.add(new SimplePlayer("Random", "RandomID", new RandomStrategy(new Random())));
+		Tournament tournament = tournamentFactory.generatePooledTournament(computerPlayers, new SilentRunner());
+
+		CountDownLatch completed = new CountDownLatch(1);
+		int[] moves = new int[1];
+		tournament.getMovePublisher().subscribe(new MoveSubscriber() {
+
+			@Override
+			public void onSubscribe(MoveSubscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(MoveEvent moveEvent) {
+				moves[0]++;
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+		List<Match> matchesPlayed = tournament.startTournament();
+
+		assertEquals(12, matchesPlayed.size());
+		// Every match is scored for its own players only
+		for (Match match : matchesPlayed) {
+			List<ScoreItem> results = match.getResults().get();
+			assertEquals(2, results.size());
+			for (ScoreItem scoreItem : results) {
+				assertTrue(match.getPlayers().stream().anyMatch(player -> player.getId().equals(
+						scoreItem.getPlayerId())));
+			}
+			assertTrue(results.get(0).getScore() + results.get(1).getScore() <= 64);
+		}
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertTrue(moves[0] >= 12 * 9);
+	}
+
+	@Test
+	public void testPooledGamesArePublishedAfterTheTournament() throws InterruptedException {
+		List<Player> computerPlayers = new ArrayList<Player>();
+		computerPlayers.add(new SimplePlayer("Simple", "SimpleID", new SimpleStrategy()));
+		computerPlayers.add(new SimplePlayer("Greedy", "GreedyID", new GreedyStrategy()));
+		GamePool gamePool = new GamePool(new HeadlessOthelloFactory(), 8);
+		List<Match> matches = Arrays.asList(Match.withPooledGame(computerPlayers, gamePool),
+				Match.withPooledGame(computerPlayers, gamePool));
+		Tournament tournament = new Tournament(computerPlayers, matches, new SilentRunner());
+
+		CountDownLatch completed = new CountDownLatch(1);
+		tournament.getMovePublisher().subscribe(new MoveSubscriber() {
+
+			@Override
+			public void onSubscribe(MoveSubscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(MoveEvent moveEvent) {
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+				completed.countDown();
+			}
+		});
+		tournament.startTournament();
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(1, gamePool.getNumberOfCreatedGames());
+
+		// The game of the tournament is played again with a subscriber of its own
+		Othello othello = gamePool.acquire(computerPlayers);
+		SubmissionMovePublisher gamePublisher = ((MovePublishingOthello) othello).getMovePublisher();
+		assertFalse(gamePublisher.isClosed());
+		CountDownLatch published = new CountDownLatch(1);
+		gamePublisher.subscribe(new MoveSubscriber() {
+
+			@Override
+			public void onSubscribe(MoveSubscription subscription) {
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onNext(MoveEvent moveEvent) {
+				published.countDown();
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+			}
+
+			@Override
+			public void onComplete() {
+			}
+		});
+		othello.start();
+		othello.move();
+		assertTrue(published.await(10, TimeUnit.SECONDS));
+	}
+
 	@Test
 	public void testTournamentWithView() {
 		TournamentFactory tournamentFactory = new TournamentFactory();